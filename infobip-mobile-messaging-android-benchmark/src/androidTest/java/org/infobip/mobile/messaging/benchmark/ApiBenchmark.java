@@ -0,0 +1,112 @@
+package org.infobip.mobile.messaging.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.infobip.mobile.messaging.api.messages.MobileApiMessages;
+import org.infobip.mobile.messaging.api.messages.SyncMessagesBody;
+import org.infobip.mobile.messaging.api.messages.SyncMessagesResponse;
+import org.infobip.mobile.messaging.api.support.Generator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import fi.iki.elonen.NanoHTTPD;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link Generator} proxy invocation end-to-end against a local server: request building, serialization,
+ * loopback HTTP and response parsing.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ApiBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private LocalServer server;
+    private MobileApiMessages mobileApiMessages;
+    private SyncMessagesBody syncMessagesBody;
+
+    /**
+     * Always responds with the same body and, unlike test debug servers, keeps nothing from requests.
+     */
+    private static class LocalServer extends NanoHTTPD {
+
+        private final String responseBody;
+
+        LocalServer(String responseBody) {
+            super(0);
+            this.responseBody = responseBody;
+        }
+
+        @Override
+        public Response serve(IHTTPSession session) {
+            // request body has to be consumed, otherwise it is read as the next request on a kept-alive connection
+            String contentLength = session.getHeaders().get("content-length");
+            if (contentLength != null) {
+                try {
+                    skipFully(session.getInputStream(), Long.parseLong(contentLength));
+                } catch (IOException e) {
+                    return new Response(Response.Status.BAD_REQUEST, "text/plain", e.getMessage());
+                }
+            }
+            return new Response(Response.Status.OK, "application/json", responseBody);
+        }
+
+        private static void skipFully(InputStream inputStream, long bytes) throws IOException {
+            byte[] buffer = new byte[1024];
+            while (bytes > 0) {
+                int read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, bytes));
+                if (read == -1) {
+                    throw new EOFException();
+                }
+                bytes -= read;
+            }
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        server = new LocalServer(BenchmarkData.syncMessagesResponse());
+        server.start();
+
+        Properties properties = new Properties();
+        properties.put("api.key", "someApiKey");
+        mobileApiMessages = new Generator.Builder()
+                .withBaseUrl("http://127.0.0.1:" + server.getListeningPort())
+                .withProperties(properties)
+                .build()
+                .create(MobileApiMessages.class);
+        syncMessagesBody = SyncMessagesBody.make(
+                new String[]{"messageId1", "messageId2", "messageId3"},
+                new String[]{"messageId4", "messageId5"});
+
+        assertEquals(BenchmarkData.SYNC_PAYLOADS, mobileApiMessages.sync(syncMessagesBody).getPayloads().size());
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void mobileApiMessages_sync() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            SyncMessagesResponse response = mobileApiMessages.sync(syncMessagesBody);
+            if (response == null) {
+                throw new AssertionError("No response");
+            }
+        }
+    }
+}
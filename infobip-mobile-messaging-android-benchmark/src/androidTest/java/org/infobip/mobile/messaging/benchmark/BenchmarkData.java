@@ -0,0 +1,82 @@
+package org.infobip.mobile.messaging.benchmark;
+
+/**
+ * Representative payloads shared by benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static final String INTERNAL_DATA = "{" +
+            "\"sendDateTime\":1539615600000," +
+            "\"bulkId\":\"someBulkId\"," +
+            "\"initialMessageId\":\"someInitialMessageId\"," +
+            "\"silent\":{\"title\":\"silentTitle\",\"body\":\"silentBody\",\"sound\":\"default\",\"vibrate\":true,\"category\":\"someCategory\"}," +
+            "\"atts\":[{\"url\":\"https://www.some-content.com.ru/image.jpg\"}]," +
+            "\"inAppStyle\":\"MODAL\"," +
+            "\"inAppExpiryDateTime\":1539702000000," +
+            "\"webViewUrl\":\"https://www.infobip.com\"," +
+            "\"browserUrl\":\"https://www.infobip.com/browser\"," +
+            "\"messageType\":\"chat\"," +
+            "\"deeplink\":\"myapp://deeplink/screen\"," +
+            "\"inAppOpenTitle\":\"Open\"," +
+            "\"inAppDismissTitle\":\"Dismiss\"" +
+            "}";
+
+    static final String CUSTOM_PAYLOAD = "{\"key\":\"value\",\"number\":1,\"flag\":true,\"nested\":{\"key\":\"value\"}}";
+
+    static final String IB_DATA = "{" +
+            "\"messageId\":\"someMessageId\"," +
+            "\"text\":\"Some text of a message which is long enough to be realistic\"," +
+            "\"notification\":{\"icon\":\"icon\",\"title\":\"Title\",\"sound\":\"default\",\"category\":\"category\",\"vibrate\":true,\"silent\":false,\"contentUrl\":\"https://www.some-content.com/image.jpg\",\"inAppStyle\":0}," +
+            "\"custom\":" + CUSTOM_PAYLOAD + "," +
+            "\"internal\":" + INTERNAL_DATA +
+            "}";
+
+    static final String USER_BODY = "{" +
+            "\"externalUserId\":\"someExternalUserId\"," +
+            "\"firstName\":\"John\"," +
+            "\"lastName\":\"Smith\"," +
+            "\"middleName\":\"Matthew\"," +
+            "\"birthday\":\"1985-01-15\"," +
+            "\"gender\":\"Male\"," +
+            "\"emails\":[{\"address\":\"john@example.com\"},{\"address\":\"john.smith@example.com\"}]," +
+            "\"phones\":[{\"number\":\"385911234567\"}]," +
+            "\"tags\":[\"premium\",\"sports\",\"news\"]," +
+            "\"customAttributes\":{\"loyaltyLevel\":\"gold\",\"visits\":42,\"subscribed\":true,\"lastPurchase\":\"2018-10-15\"}," +
+            "\"instances\":[" +
+            "{\"pushRegId\":\"somePushRegId\",\"regEnabled\":true,\"notificationsEnabled\":true,\"sdkVersion\":\"6.0.0\",\"appVersion\":\"1.0\",\"os\":\"Android\",\"osVersion\":\"11\",\"deviceManufacturer\":\"Google\",\"deviceModel\":\"Pixel 4\",\"deviceSecure\":true,\"language\":\"en\",\"deviceTimezoneOffset\":\"GMT+01:00\",\"isPrimary\":true}," +
+            "{\"pushRegId\":\"otherPushRegId\",\"regEnabled\":true,\"notificationsEnabled\":false,\"sdkVersion\":\"6.0.0\",\"appVersion\":\"1.0\",\"os\":\"Android\",\"osVersion\":\"10\",\"deviceManufacturer\":\"Samsung\",\"deviceModel\":\"SM-G973F\",\"deviceSecure\":false,\"language\":\"de\",\"deviceTimezoneOffset\":\"GMT+02:00\",\"isPrimary\":false}" +
+            "]" +
+            "}";
+
+    static final int SYNC_PAYLOADS = 20;
+
+    /**
+     * @return sync response with {@link #SYNC_PAYLOADS} messages
+     */
+    static String syncMessagesResponse() {
+        StringBuilder sb = new StringBuilder("{\"payloads\":[");
+        for (int i = 0; i < SYNC_PAYLOADS; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"gcm.notification.messageId\":\"messageId").append(i).append("\",")
+                    .append("\"gcm.notification.title\":\"Title ").append(i).append("\",")
+                    .append("\"gcm.notification.body\":\"Some text of a message which is long enough to be realistic\",")
+                    .append("\"gcm.notification.sound\":\"default\",")
+                    .append("\"gcm.notification.vibrate\":\"true\",")
+                    .append("\"gcm.notification.silent\":\"false\",")
+                    .append("\"gcm.notification.category\":\"category\",")
+                    .append("\"customPayload\":").append(quote(CUSTOM_PAYLOAD)).append(',')
+                    .append("\"internalData\":").append(quote(INTERNAL_DATA))
+                    .append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static String quote(String json) {
+        return "\"" + json.replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,94 @@
+package org.infobip.mobile.messaging.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.infobip.mobile.messaging.MobileMessagingProperty;
+import org.infobip.mobile.messaging.util.CryptorImpl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Encryption of preference keys and values: new cryptor per value vs. reused cryptor vs. batch API.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CryptorBenchmark {
+
+    private static final String KEY_SECRET = "thisIsMySuperSecretKey";
+    private static final int BATCH_SIZE = 10;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final CryptorImpl cryptor = new CryptorImpl(KEY_SECRET);
+    private final String data = MobileMessagingProperty.INFOBIP_REGISTRATION_ID.getKey();
+    private String encrypted;
+    private String[] batch;
+    private String[] encryptedBatch;
+
+    @Before
+    public void setUp() {
+        encrypted = cryptor.encrypt(data);
+        assertEquals(data, cryptor.decrypt(encrypted));
+
+        batch = new String[BATCH_SIZE];
+        Arrays.fill(batch, data);
+        encryptedBatch = new String[BATCH_SIZE];
+        Arrays.fill(encryptedBatch, encrypted);
+    }
+
+    @Test
+    public void encrypt_newCryptor() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            new CryptorImpl(KEY_SECRET).encrypt(data);
+        }
+    }
+
+    @Test
+    public void encrypt_reusedCryptor() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            cryptor.encrypt(data);
+        }
+    }
+
+    @Test
+    public void encryptAll() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            cryptor.encryptAll(batch);
+        }
+    }
+
+    @Test
+    public void decrypt_newCryptor() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            new CryptorImpl(KEY_SECRET).decrypt(encrypted);
+        }
+    }
+
+    @Test
+    public void decrypt_reusedCryptor() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            cryptor.decrypt(encrypted);
+        }
+    }
+
+    @Test
+    public void decryptAll() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            cryptor.decryptAll(encryptedBatch);
+        }
+    }
+}
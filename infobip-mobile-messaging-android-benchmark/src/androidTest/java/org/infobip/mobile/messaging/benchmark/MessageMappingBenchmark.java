@@ -0,0 +1,131 @@
+package org.infobip.mobile.messaging.benchmark;
+
+import android.os.Bundle;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.google.firebase.messaging.RemoteMessage;
+
+import org.infobip.mobile.messaging.CustomAttributeValue;
+import org.infobip.mobile.messaging.CustomAttributesMapper;
+import org.infobip.mobile.messaging.Message;
+import org.infobip.mobile.messaging.cloud.firebase.FirebaseMessageMapper;
+import org.infobip.mobile.messaging.dal.bundle.MessageBundleMapper;
+import org.infobip.mobile.messaging.dal.json.InternalDataMapper;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Mapping of incoming messages, their internal data and custom attributes.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MessageMappingBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final FirebaseMessageMapper firebaseMessageMapper = new FirebaseMessageMapper();
+    private RemoteMessage remoteMessage;
+    private Message message;
+    private Map<String, CustomAttributeValue> customAttributes;
+    private Map<String, Object> backendCustomAttributes;
+
+    @Before
+    public void setUp() {
+        Bundle bundle = new Bundle();
+        bundle.putString("org_ib_d", BenchmarkData.IB_DATA);
+        remoteMessage = new RemoteMessage(bundle);
+        message = firebaseMessageMapper.createMessage(remoteMessage);
+        assertNotNull(message);
+
+        customAttributes = new HashMap<>();
+        customAttributes.put("loyaltyLevel", new CustomAttributeValue("gold"));
+        customAttributes.put("visits", new CustomAttributeValue(42));
+        customAttributes.put("subscribed", new CustomAttributeValue(true));
+        customAttributes.put("lastPurchase", new CustomAttributeValue(new Date(1539615600000L)));
+        customAttributes.put("lastLogin", new CustomAttributeValue(new CustomAttributeValue.DateTime(new Date(1539615600000L))));
+        backendCustomAttributes = CustomAttributesMapper.customAttsToBackend(customAttributes);
+        assertEquals(customAttributes.size(), CustomAttributesMapper.customAttsFromBackend(backendCustomAttributes).size());
+    }
+
+    @Test
+    public void firebaseMessageMapper_createMessage() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            firebaseMessageMapper.createMessage(remoteMessage);
+        }
+    }
+
+    @Test
+    public void messageBundleMapper_messageToBundle() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            MessageBundleMapper.messageToBundle(message);
+        }
+    }
+
+    @Test
+    public void messageBundleMapper_roundTrip() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            MessageBundleMapper.messageFromBundle(MessageBundleMapper.messageToBundle(message));
+        }
+    }
+
+    /**
+     * Field by field access through static getters, as done by code which is not yet using views.
+     */
+    @Test
+    public void internalDataMapper_staticGetters() {
+        String json = BenchmarkData.INTERNAL_DATA;
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            InternalDataMapper.getInternalDataSendDateTime(json);
+            InternalDataMapper.getInternalDataInAppExpiryDateTime(json);
+            InternalDataMapper.getInternalDataWebViewUrl(json);
+            InternalDataMapper.getInternalDataBrowserUrl(json);
+            InternalDataMapper.getInternalDataMessageType(json);
+        }
+    }
+
+    @Test
+    public void internalDataMapper_view() {
+        String json = BenchmarkData.INTERNAL_DATA;
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            InternalDataMapper.InternalDataView view = InternalDataMapper.view(json);
+            view.getSendDateTime();
+            view.getInAppExpiryDateTime();
+            view.getWebViewUrl();
+            view.getBrowserUrl();
+            view.getMessageType();
+        }
+    }
+
+    @Test
+    public void customAttributesMapper_toBackend() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            CustomAttributesMapper.customAttsToBackend(customAttributes);
+        }
+    }
+
+    @Test
+    public void customAttributesMapper_fromBackend() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            CustomAttributesMapper.customAttsFromBackend(backendCustomAttributes);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.infobip.mobile.messaging.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.infobip.mobile.messaging.api.appinstance.UserBody;
+import org.infobip.mobile.messaging.api.messages.SyncMessagesResponse;
+import org.infobip.mobile.messaging.api.support.http.serialization.JsonSerializer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link JsonSerializer} round-trips of the largest request and response bodies.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SerializationBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final JsonSerializer serializer = new JsonSerializer(false);
+    private String syncMessagesJson;
+    private SyncMessagesResponse syncMessagesResponse;
+    private UserBody userBody;
+
+    @Before
+    public void setUp() {
+        syncMessagesJson = BenchmarkData.syncMessagesResponse();
+        syncMessagesResponse = serializer.deserialize(syncMessagesJson, SyncMessagesResponse.class);
+        userBody = serializer.deserialize(BenchmarkData.USER_BODY, UserBody.class);
+        assertEquals(BenchmarkData.SYNC_PAYLOADS, syncMessagesResponse.getPayloads().size());
+        assertEquals(2, userBody.getInstances().size());
+    }
+
+    @Test
+    public void syncMessagesResponse_deserialize() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            serializer.deserialize(syncMessagesJson, SyncMessagesResponse.class);
+        }
+    }
+
+    @Test
+    public void syncMessagesResponse_roundTrip() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            serializer.deserialize(serializer.serialize(syncMessagesResponse), SyncMessagesResponse.class);
+        }
+    }
+
+    @Test
+    public void userBody_serialize() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            serializer.serialize(userBody);
+        }
+    }
+
+    @Test
+    public void userBody_roundTrip() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            serializer.deserialize(serializer.serialize(userBody), UserBody.class);
+        }
+    }
+}
@@ -74,4 +74,12 @@ public abstract class InAppChat {
      */
     public abstract int getMessageCounter();
 
+    /**
+     * Enables creating and loading of in-app chat WebView in background after widget configuration is synced, so that the chat
+     * is interactive as soon as InAppChatFragment/Activity appears on screen. Widget scripts and styles are also cached on disk.
+     * Disabled by default, pre-warmed WebView is kept in memory until it's disabled or chat data is cleaned up.
+     * @param enabled true to pre-warm WebView
+     */
+    public abstract void setWebViewPrewarmEnabled(boolean enabled);
+
 }
@@ -30,6 +30,7 @@ import org.infobip.mobile.messaging.chat.properties.PropertyHelper;
 import org.infobip.mobile.messaging.chat.view.InAppChatActivity;
 import org.infobip.mobile.messaging.chat.view.InAppChatFragment;
 import org.infobip.mobile.messaging.chat.view.InAppChatWebView;
+import org.infobip.mobile.messaging.chat.view.InAppChatWebViewHolder;
 import org.infobip.mobile.messaging.dal.bundle.MessageBundleMapper;
 import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
 import org.infobip.mobile.messaging.mobileapi.MobileApiResourceProvider;
@@ -134,6 +135,25 @@ public class InAppChatImpl extends InAppChat implements MessageHandlerModule {
         propertyHelper().saveClasses(MobileMessagingChatProperty.ON_MESSAGE_TAP_ACTIVITY_CLASSES, activityClasses);
     }
 
+    @Override
+    public void setWebViewPrewarmEnabled(boolean enabled) {
+        propertyHelper().saveBoolean(MobileMessagingChatProperty.IN_APP_CHAT_WEBVIEW_PREWARM_ENABLED, enabled);
+        if (enabled) {
+            prewarmWebViewIfNeeded();
+        } else {
+            new Handler(Looper.getMainLooper()).post(new Runnable() {
+                @Override
+                public void run() {
+                    InAppChatWebViewHolder.getInstance(context).destroy();
+                }
+            });
+        }
+    }
+
+    public boolean isWebViewPrewarmEnabled() {
+        return propertyHelper().findBoolean(MobileMessagingChatProperty.IN_APP_CHAT_WEBVIEW_PREWARM_ENABLED);
+    }
+
     public static Boolean getIsChatWidgetConfigSynced() {
         return isChatWidgetConfigSynced;
     }
@@ -205,11 +225,7 @@ public class InAppChatImpl extends InAppChat implements MessageHandlerModule {
         mobileApiResourceProvider = null;
         inAppChatSynchronizer = null;
         cleanupWidgetData();
-        propertyHelper().remove(MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_ID);
-        propertyHelper().remove(MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_TITLE);
-        propertyHelper().remove(MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_PRIMARY_COLOR);
-        propertyHelper().remove(MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_BACKGROUND_COLOR);
-        propertyHelper().remove(MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_MAX_UPLOAD_CONTENT_SIZE);
+        propertyHelper().removeChatPrefs();
         resetMessageCounter();
     }
 
@@ -224,6 +240,7 @@ public class InAppChatImpl extends InAppChat implements MessageHandlerModule {
                 public void run() {
                     webView().clearHistory();
                     webView().clearCache(true);
+                    InAppChatWebViewHolder.getInstance(context).destroy();
                     MobileMessagingLogger.d("Deleted local widget history");
                 }
             });
@@ -240,16 +257,36 @@ public class InAppChatImpl extends InAppChat implements MessageHandlerModule {
 
     @Override
     public void performSyncActions() {
-        if (isActivated() && (isChatWidgetConfigSynced == null || !isChatWidgetConfigSynced)) {
+        // synchronizer skips the fetch while stored configuration is fresh, so it's refreshed on foreground once it expires
+        if (isActivated()) {
             inAppChatSynchronizer().getWidgetConfiguration(new MobileMessaging.ResultListener<WidgetInfo>() {
                 @Override
                 public void onResult(Result<WidgetInfo, MobileMessagingError> result) {
                     isChatWidgetConfigSynced = result.isSuccess();
+                    if (result.isSuccess()) {
+                        prewarmWebViewIfNeeded();
+                    }
                 }
             });
         }
     }
 
+    private void prewarmWebViewIfNeeded() {
+        if (!isActivated() || !isWebViewPrewarmEnabled() || MobileMessagingCore.getInstance(context).getPushRegistrationId() == null) {
+            return;
+        }
+        final WidgetInfo widgetInfo = propertyHelper().findWidgetInfo();
+        if (widgetInfo == null) {
+            return;
+        }
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                InAppChatWebViewHolder.getInstance(context).prewarm(widgetInfo);
+            }
+        });
+    }
+
     @NonNull
     private TaskStackBuilder stackBuilderForNotificationTap(Message message) {
         TaskStackBuilder stackBuilder = TaskStackBuilder.create(context);
@@ -0,0 +1,208 @@
+package org.infobip.mobile.messaging.chat.attachments;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.os.SystemClock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileDescriptor;
+
+/**
+ * Downscales and re-encodes images to JPEG which fits into the given size.
+ * <ol>
+ * <li>Only image bounds are decoded first, then the image is decoded with the largest sample size which keeps it
+ * at least as large as the target dimension.</li>
+ * <li>Sampled bitmap is scaled down to the target dimension and rotated in a single transformation, the full resolution
+ * bitmap is never allocated.</li>
+ * <li>Image is decoded as {@link Bitmap.Config#ARGB_8888}, {@link Bitmap.Config#RGB_565} which takes half of the memory
+ * is used only if there's not enough memory for it.</li>
+ * <li>The highest JPEG quality between {@link #MIN_QUALITY} and {@link #MAX_QUALITY} which fits is found with binary search.
+ * If even the lowest quality does not fit, target dimension is reduced by {@link #DIMENSION_STEP} and the search is repeated.</li>
+ * </ol>
+ */
+class InAppChatImageEncoder {
+
+    static final int MAX_DIMENSION = 2560;
+    static final int MIN_DIMENSION = 320;
+    static final int MAX_QUALITY = 90;
+    static final int MIN_QUALITY = 40;
+    static final float DIMENSION_STEP = 0.75f;
+    private static final int INITIAL_BUFFER_SIZE = 256 * 1024;
+
+    static class Result {
+        private final byte[] bytes;
+        private final int width;
+        private final int height;
+        private final int quality;
+        private final int attempts;
+        private final long peakMemoryBytes;
+        private final long encodeMillis;
+        private final boolean fits;
+
+        Result(byte[] bytes, int width, int height, int quality, int attempts, long peakMemoryBytes, long encodeMillis, boolean fits) {
+            this.bytes = bytes;
+            this.width = width;
+            this.height = height;
+            this.quality = quality;
+            this.attempts = attempts;
+            this.peakMemoryBytes = peakMemoryBytes;
+            this.encodeMillis = encodeMillis;
+            this.fits = fits;
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return estimated peak memory used by bitmaps and encoder buffers
+         */
+        long getPeakMemoryBytes() {
+            return peakMemoryBytes;
+        }
+
+        long getEncodeMillis() {
+            return encodeMillis;
+        }
+
+        /**
+         * @return false if the image does not fit even at minimal dimension and quality
+         */
+        boolean fits() {
+            return fits;
+        }
+
+        @Override
+        public String toString() {
+            return "Image encoded to " + width + "x" + height + ", quality " + quality + ", " + bytes.length + " bytes" +
+                    " in " + encodeMillis + " ms and " + attempts + " attempts, peak memory " + peakMemoryBytes + " bytes";
+        }
+    }
+
+    /**
+     * Encodes image so that it fits into maxSizeBytes.
+     *
+     * @param fileDescriptor    seekable descriptor of the image, it's decoded more than once
+     * @param orientationDegree clockwise rotation to apply, usually from EXIF orientation
+     * @param maxSizeBytes      maximum size of the result
+     * @return encoded image or null if image can't be decoded, see {@link Result#fits()} for the case when image is too large
+     */
+    static Result encode(FileDescriptor fileDescriptor, int orientationDegree, long maxSizeBytes) {
+        long startedAt = SystemClock.elapsedRealtime();
+
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeFileDescriptor(fileDescriptor, null, bounds);
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            return null;
+        }
+
+        int longSide = Math.max(bounds.outWidth, bounds.outHeight);
+        int targetDimension = Math.min(MAX_DIMENSION, longSide);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream((int) Math.min(maxSizeBytes, INITIAL_BUFFER_SIZE));
+        long peakMemoryBytes = 0;
+        int attempts = 0;
+        Bitmap.Config config = Bitmap.Config.ARGB_8888;
+        while (true) {
+            Bitmap sampled = null;
+            Bitmap bitmap;
+            try {
+                sampled = decode(fileDescriptor, calculateSampleSize(longSide, targetDimension), config);
+                if (sampled == null) {
+                    return null;
+                }
+                bitmap = transform(sampled, targetDimension, orientationDegree);
+            } catch (OutOfMemoryError e) {
+                if (sampled != null) {
+                    sampled.recycle();
+                }
+                if (config == Bitmap.Config.RGB_565) {
+                    throw e;
+                }
+                config = Bitmap.Config.RGB_565;
+                continue;
+            }
+            long sampledBytes = sampled.getByteCount();
+            long bitmapBytes = bitmap.getByteCount();
+            if (bitmap != sampled) {
+                peakMemoryBytes = Math.max(peakMemoryBytes, sampledBytes + bitmapBytes);
+                sampled.recycle();
+            }
+
+            byte[] fitting = null;
+            int fittingQuality = -1;
+            long maxOutputBytes = 0;
+            // try the best quality first, it usually fits for photos which are not too large
+            int low = MIN_QUALITY;
+            int high = MAX_QUALITY;
+            int quality = MAX_QUALITY;
+            while (low <= high) {
+                attempts++;
+                int size = compress(bitmap, quality, outputStream);
+                maxOutputBytes = Math.max(maxOutputBytes, size);
+                if (size <= maxSizeBytes) {
+                    fitting = outputStream.toByteArray();
+                    fittingQuality = quality;
+                    low = quality + 1;
+                } else {
+                    high = quality - 1;
+                }
+                quality = (low + high) >>> 1;
+            }
+            int width = bitmap.getWidth();
+            int height = bitmap.getHeight();
+            bitmap.recycle();
+            peakMemoryBytes = Math.max(peakMemoryBytes, bitmapBytes + maxOutputBytes + (fitting != null ? fitting.length : 0));
+
+            if (fitting != null) {
+                return new Result(fitting, width, height, fittingQuality, attempts, peakMemoryBytes, SystemClock.elapsedRealtime() - startedAt, true);
+            }
+
+            int nextDimension = (int) (targetDimension * DIMENSION_STEP);
+            if (nextDimension < MIN_DIMENSION) {
+                // last attempt was done with minimal quality
+                return new Result(outputStream.toByteArray(), width, height, MIN_QUALITY, attempts, peakMemoryBytes, SystemClock.elapsedRealtime() - startedAt, false);
+            }
+            targetDimension = nextDimension;
+        }
+    }
+
+    /**
+     * @return the largest power of two which keeps the long side of sampled image not smaller than target dimension
+     */
+    static int calculateSampleSize(int longSide, int targetDimension) {
+        int sampleSize = 1;
+        while (longSide / (sampleSize * 2) >= targetDimension) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private static Bitmap decode(FileDescriptor fileDescriptor, int sampleSize, Bitmap.Config config) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sampleSize;
+        options.inPreferredConfig = config;
+        options.inTempStorage = new byte[16 * 1024];
+        return BitmapFactory.decodeFileDescriptor(fileDescriptor, null, options);
+    }
+
+    private static Bitmap transform(Bitmap sampled, int targetDimension, int orientationDegree) {
+        int width = sampled.getWidth();
+        int height = sampled.getHeight();
+        float scale = Math.min(1f, (float) targetDimension / Math.max(width, height));
+        if (scale == 1f && orientationDegree == 0) {
+            return sampled;
+        }
+        Matrix matrix = new Matrix();
+        matrix.postScale(scale, scale);
+        matrix.postRotate(orientationDegree);
+        return Bitmap.createBitmap(sampled, 0, 0, width, height, matrix, true);
+    }
+
+    private static int compress(Bitmap bitmap, int quality, ByteArrayOutputStream outputStream) {
+        outputStream.reset();
+        bitmap.compress(Bitmap.CompressFormat.JPEG, quality, outputStream);
+        return outputStream.size();
+    }
+}
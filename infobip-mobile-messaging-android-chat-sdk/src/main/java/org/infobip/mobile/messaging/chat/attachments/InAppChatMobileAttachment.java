@@ -2,10 +2,6 @@ package org.infobip.mobile.messaging.chat.attachments;
 
 import android.content.Context;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.graphics.Matrix;
-import android.graphics.Rect;
 import android.net.Uri;
 import android.os.Build;
 import android.os.ParcelFileDescriptor;
@@ -13,14 +9,14 @@ import androidx.exifinterface.media.ExifInterface;
 import android.util.Base64;
 import android.webkit.MimeTypeMap;
 
-import org.infobip.mobile.messaging.chat.properties.MobileMessagingChatProperty;
+import org.infobip.mobile.messaging.MobileMessagingCore;
+import org.infobip.mobile.messaging.api.chat.WidgetInfo;
+import org.infobip.mobile.messaging.chat.properties.PropertyHelper;
 import org.infobip.mobile.messaging.chat.utils.CommonUtils;
 import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
 import org.infobip.mobile.messaging.mobileapi.InternalSdkError;
-import org.infobip.mobile.messaging.util.PreferenceHelper;
 
-import java.io.ByteArrayOutputStream;
-import java.io.FileInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.UUID;
@@ -31,6 +27,9 @@ public class InAppChatMobileAttachment {
     String base64;
     String mimeType;
     String fileName;
+    Uri uri;
+    byte[] bytes;
+    long size = -1;
 
     public InAppChatMobileAttachment(String mimeType, String base64, String filename) {
         this.base64 = base64;
@@ -38,20 +37,49 @@ public class InAppChatMobileAttachment {
         this.fileName = filename;
     }
 
+    InAppChatMobileAttachment(String mimeType, String fileName, Uri uri, byte[] bytes, long size) {
+        this.mimeType = mimeType;
+        this.fileName = fileName;
+        this.uri = uri;
+        this.bytes = bytes;
+        this.size = size;
+    }
+
+    /**
+     * Creates attachment which refers to the picked or captured content, content itself is read only when it is streamed
+     * to the chat with {@link #openStream(Context)}. Only images captured by camera are scaled and kept in memory as JPEG.
+     */
     public static InAppChatMobileAttachment makeAttachment(Context context, Intent data, Uri capturedMediaStoreUri, Uri capturedMediaRealUri, ParcelFileDescriptor fileDescriptor) throws InternalSdkError.InternalSdkException {
         String mimeType = getMimeType(context, data, capturedMediaRealUri);
-        byte[] bytesArray = getBytes(context, data, capturedMediaStoreUri, capturedMediaRealUri, fileDescriptor, mimeType);
-
-        if (bytesArray == null) {
+        if (mimeType == null) {
             return null;
         }
 
-        if (bytesArray.length > getAttachmentMaxSize(context)) {
+        //data.getData() will be null for images captured by camera
+        Uri uriFromIntent = (data != null && data.getData() != null) ? data.getData() : null;
+        Uri contentUri = null;
+        byte[] scaledBytes = null;
+        long contentSize;
+        //Ony images captured by camera are scaled for now
+        if (mimeType.equals("image/jpeg") && uriFromIntent == null) {
+            scaledBytes = getBytesWithBitmapScaling(context, capturedMediaStoreUri, capturedMediaRealUri, fileDescriptor);
+            if (scaledBytes == null) {
+                return null;
+            }
+            contentSize = scaledBytes.length;
+        } else {
+            contentUri = uriFromIntent != null ? uriFromIntent : capturedMediaRealUri;
+            if (contentUri == null) {
+                return null;
+            }
+            contentSize = getContentSize(context, contentUri);
+        }
+
+        if (contentSize > getAttachmentMaxSize(context)) {
             throw InternalSdkError.ERROR_ATTACHMENT_MAX_SIZE_EXCEEDED.getException();
         }
 
-        String encodedString = Base64.encodeToString(bytesArray, Base64.DEFAULT);
-        Uri uri = (data != null && data.getData() != null) ? data.getData() : capturedMediaRealUri;
+        Uri uri = uriFromIntent != null ? uriFromIntent : capturedMediaRealUri;
         String fileName = (uri != null) ? uri.getLastPathSegment() : UUID.randomUUID().toString();
 
         MimeTypeMap mime = MimeTypeMap.getSingleton();
@@ -60,16 +88,59 @@ public class InAppChatMobileAttachment {
             fileName += "." + extension;
         }
 
-        if (encodedString != null && mimeType != null) {
-            return new InAppChatMobileAttachment(mimeType, encodedString, fileName);
-        }
-        return null;
+        return new InAppChatMobileAttachment(mimeType, fileName, contentUri, scaledBytes, contentSize);
     }
 
+    /**
+     * Returns data url of attachment created from Base64 string.
+     *
+     * @return data url or null if attachment content has to be streamed with {@link #openStream(Context)}
+     */
     public String base64UrlString() {
+        if (base64 == null) {
+            return null;
+        }
         return "data:" + mimeType + ";base64," + CommonUtils.escapeJsonString(base64);
     }
 
+    /**
+     * Opens raw (not encoded) attachment content, caller has to close the stream.
+     *
+     * @return content stream or null if content is not available
+     */
+    public InputStream openStream(Context context) {
+        if (bytes != null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        if (base64 != null) {
+            return new ByteArrayInputStream(Base64.decode(base64, Base64.DEFAULT));
+        }
+        if (uri == null) {
+            return null;
+        }
+        try {
+            if (Build.VERSION.SDK_INT >= 24) {
+                ParcelFileDescriptor fileDescriptor = context.getContentResolver().openFileDescriptor(uri, "r", null);
+                return fileDescriptor != null ? new ParcelFileDescriptor.AutoCloseInputStream(fileDescriptor) : null;
+            }
+            return context.getContentResolver().openInputStream(uri);
+        } catch (Exception e) {
+            MobileMessagingLogger.e("[InAppChat] Can't open attachment content", e);
+            return null;
+        }
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * @return size of raw content in bytes, -1 if it's not known upfront
+     */
+    public long getSize() {
+        return size;
+    }
+
     public String getFileName() {
         return fileName;
     }
@@ -87,29 +158,11 @@ public class InAppChatMobileAttachment {
         return mimeType;
     }
 
-    private static byte[] getBytes(Context context, Intent data, Uri capturedMediaStoreUri, Uri capturedMediaRealUri, ParcelFileDescriptor fileDescriptor, String mimeType) {
-        Uri uriFromIntent = null;
-
-        //data.getData() will be null for images captured by camera
-        if (data != null && data.getData() != null) {
-            uriFromIntent = data.getData();
-        }
-        //Ony images captured by camera are scaled for now
-        if (mimeType.equals("image/jpeg") && uriFromIntent == null) {
-            return getBytesWithBitmapScaling(context, capturedMediaStoreUri, capturedMediaRealUri, fileDescriptor);
-        } else if (uriFromIntent != null) {
-            return getBytes(context, uriFromIntent);
-        } else {
-            return getBytes(context, capturedMediaRealUri);
-        }
-    }
-
     public static byte[] getBytesWithBitmapScaling(Context context, Uri mediaStoreUri, Uri imageUri, ParcelFileDescriptor fileDescriptor) {
         if (imageUri == null) {
             return null;
         }
 
-        long fileSize = fileDescriptor.getStatSize();
         String filePath;
         try {
             filePath = imageUri.getPath();
@@ -118,40 +171,26 @@ public class InAppChatMobileAttachment {
             return null;
         }
 
-        boolean shouldScaleImage = fileSize > getAttachmentMaxSize(context);
-        int imageQuality = fileSize > DEFAULT_MAX_UPLOAD_CONTENT_SIZE / 2 ? 80 : 100;
-
-        BitmapFactory.Options options = new BitmapFactory.Options();
-        //  setting inSampleSize value allows to load a scaled down version of the original image
-        options.inSampleSize = shouldScaleImage ? 2 : 1;
-        // set to false to load the actual bitmap
-        options.inJustDecodeBounds = false;
-        //  this options allow android to claim the bitmap memory if it runs low on memory
-        options.inPurgeable = true;
-        options.inInputShareable = true;
-        options.inTempStorage = new byte[16 * 1024];
+        //  check the rotation of the image and display it properly
+        int orientationDegree = getExifOrientationDegree(context, filePath, mediaStoreUri);
 
-        Bitmap bitmap;
+        InAppChatImageEncoder.Result result;
         try {
-//            bitmap = BitmapFactory.decodeFile(filePath, options);
-//            if (bitmap == null) {
-                bitmap = BitmapFactory.decodeFileDescriptor(fileDescriptor.getFileDescriptor(), new Rect(-1, -1, -1, -1), options);
-//            }
+            result = InAppChatImageEncoder.encode(fileDescriptor.getFileDescriptor(), orientationDegree, getAttachmentMaxSize(context));
         } catch (Exception exception) {
             MobileMessagingLogger.e("[InAppChat] can't load image to send attachment", exception);
             return null;
         }
+        if (result == null) {
+            MobileMessagingLogger.e("[InAppChat] can't decode image to send attachment");
+            return null;
+        }
 
-        //  check the rotation of the image and display it properly
-        int orientationDegree = getExifOrientationDegree(context, filePath, mediaStoreUri);
-        Matrix rotationMatrix = new Matrix();
-        rotationMatrix.postRotate(orientationDegree);
-        bitmap = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), rotationMatrix, true);
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.JPEG, imageQuality, outputStream);
-        bitmap.recycle();
-        return outputStream.toByteArray();
+        MobileMessagingLogger.d("[InAppChat] " + result);
+        MobileMessagingCore.getInstance(context).getStats().getMetrics()
+                .timer("chat.attachment.encode")
+                .record(result.getEncodeMillis(), result.fits());
+        return result.getBytes();
     }
 
     private static int getExifOrientationDegree(Context context, String filepath, Uri mediaStoreUri) {
@@ -196,44 +235,26 @@ public class InAppChatMobileAttachment {
         return degree;
     }
 
-    private static byte[] getBytes(Context context, Uri uri) {
-        if (uri == null) {
-            return null;
-        }
+    private static long getContentSize(Context context, Uri uri) {
+        ParcelFileDescriptor fileDescriptor = null;
         try {
-            InputStream stream = null;
-            if (Build.VERSION.SDK_INT >= 24) {
-                ParcelFileDescriptor fileDescriptor = context.getContentResolver().openFileDescriptor(uri, "r", null);
-                stream = new FileInputStream(fileDescriptor.getFileDescriptor());
-            } else {
-                stream = context.getContentResolver().openInputStream(uri);
-            }
-            if (stream == null) {
-                MobileMessagingLogger.e("[InAppChat] Can't get base64 from Uri");
-                return null;
-            }
-            byte[] bytes = getBytes(stream);
-            stream.close();
-            return bytes;
+            fileDescriptor = context.getContentResolver().openFileDescriptor(uri, "r");
+            return fileDescriptor != null ? fileDescriptor.getStatSize() : -1;
         } catch (Exception e) {
-            MobileMessagingLogger.e("[InAppChat] Can't get base64 from Uri", e);
-            return null;
-        }
-    }
-
-    private static byte[] getBytes(InputStream inputStream) throws IOException {
-        ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
-        int bufferSize = 1024;
-        byte[] buffer = new byte[bufferSize];
-
-        int len = 0;
-        while ((len = inputStream.read(buffer)) != -1) {
-            byteBuffer.write(buffer, 0, len);
+            // size is then checked while content is streamed
+            MobileMessagingLogger.d("[InAppChat] Can't get attachment size upfront: " + e.getMessage());
+            return -1;
+        } finally {
+            if (fileDescriptor != null) {
+                try {
+                    fileDescriptor.close();
+                } catch (IOException ignored) {}
+            }
         }
-        return byteBuffer.toByteArray();
     }
 
-    private static Long getAttachmentMaxSize(Context context) {
-        return PreferenceHelper.findLong(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_MAX_UPLOAD_CONTENT_SIZE.getKey(), DEFAULT_MAX_UPLOAD_CONTENT_SIZE);
+    public static Long getAttachmentMaxSize(Context context) {
+        WidgetInfo widgetInfo = new PropertyHelper(context).findWidgetInfo();
+        return widgetInfo != null ? widgetInfo.getMaxUploadContentSize() : DEFAULT_MAX_UPLOAD_CONTENT_SIZE;
     }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package org.infobip.mobile.messaging.chat.core;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Base64;
+import android.webkit.ValueCallback;
+
+import org.infobip.mobile.messaging.chat.attachments.InAppChatMobileAttachment;
+import org.infobip.mobile.messaging.chat.utils.CommonUtils;
+import org.infobip.mobile.messaging.chat.view.InAppChatWebView;
+import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.infobip.mobile.messaging.chat.core.InAppChatWidgetMethods.handleMessageWithAttachmentSend;
+import static org.infobip.mobile.messaging.chat.utils.CommonUtils.isOSOlderThanKitkat;
+
+/**
+ * Transfers attachment content to the widget in fixed-size Base64 chunks.
+ * <p>
+ * Chunks are collected on the page and joined into data url for {@link InAppChatWidgetMethods#handleMessageWithAttachmentSend}
+ * once the whole content is transferred. Next chunk is read only after the previous ones were evaluated by the WebView,
+ * so the app holds at most {@link #MAX_CHUNKS_IN_FLIGHT} chunks regardless of attachment size.
+ * <p>
+ * Streaming starts once the widget is ready. Place of the message is reserved in {@link InAppChatBridgeDispatcher}
+ * when it's sent, so messages sent while the attachment is transferred follow it.
+ * Streaming is aborted once the dispatcher is released.
+ */
+class InAppChatAttachmentStreamer {
+
+    // multiple of 3, so all chunks except the last one are encoded without padding and can be concatenated
+    static final int CHUNK_SIZE = 48 * 1024;
+    private static final int MAX_CHUNKS_IN_FLIGHT = 2;
+    private static final long CHUNK_TIMEOUT_SECONDS = 30;
+    private static final long RELEASE_CHECK_MILLIS = 500;
+    private static final long WIDGET_READY_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    private static final String CHUNKS = "window.ibAttachmentChunks";
+
+    // single thread keeps attachments in the order they were sent
+    private static final Executor executor = Executors.newSingleThreadExecutor();
+
+    private final InAppChatWebView webView;
+    private final InAppChatBridgeDispatcher dispatcher;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    InAppChatAttachmentStreamer(InAppChatWebView webView, InAppChatBridgeDispatcher dispatcher) {
+        this.webView = webView;
+        this.dispatcher = dispatcher;
+    }
+
+    void send(final String message, final InAppChatMobileAttachment attachment) {
+        final InAppChatBridgeDispatcher.Call call = dispatcher.reserve();
+        if (call == null) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                stream(message, attachment, call);
+            }
+        });
+    }
+
+    private void stream(String message, InAppChatMobileAttachment attachment, InAppChatBridgeDispatcher.Call call) {
+        Context context = webView.getContext();
+        InputStream inputStream = attachment.openStream(context);
+        if (inputStream == null) {
+            MobileMessagingLogger.e("[InAppChat] can't send attachment, content is not available");
+            dispatcher.cancel(call);
+            return;
+        }
+
+        String id = UUID.randomUUID().toString();
+        String chunks = CHUNKS + "['" + id + "']";
+        Semaphore permits = new Semaphore(MAX_CHUNKS_IN_FLIGHT);
+        boolean completed = false;
+        try {
+            if (!dispatcher.awaitReady(WIDGET_READY_TIMEOUT_MILLIS)) {
+                if (!dispatcher.isReleased()) {
+                    MobileMessagingLogger.e("[InAppChat] can't send attachment, widget is not ready");
+                }
+                return;
+            }
+
+            String mimeType = CommonUtils.escapeJsonString(attachment.getMimeType());
+            if (!evaluate(CHUNKS + "=" + CHUNKS + "||{};" + chunks + "=['data:" + mimeType + ";base64,'];", permits)) {
+                return;
+            }
+
+            long maxSize = InAppChatMobileAttachment.getAttachmentMaxSize(context);
+            long total = 0;
+            byte[] buffer = new byte[CHUNK_SIZE];
+            int read;
+            while ((read = readChunk(inputStream, buffer)) > 0) {
+                total += read;
+                if (total > maxSize) {
+                    MobileMessagingLogger.e("[InAppChat] can't send attachment, maximum allowed size exceeded " + maxSize);
+                    return;
+                }
+                String encoded = Base64.encodeToString(buffer, 0, read, Base64.NO_WRAP);
+                if (!evaluate(chunks + ".push('" + encoded + "');", permits)) {
+                    return;
+                }
+            }
+
+            // all chunks must be on the page before the message is sent
+            if (!acquire(permits, MAX_CHUNKS_IN_FLIGHT)) {
+                return;
+            }
+            String fileName = CommonUtils.escapeJsonString(attachment.getFileName());
+            dispatcher.fill(call, handleMessageWithAttachmentSend.name() + "('" + message + "'," + chunks + ".join(''),'" + fileName + "');" +
+                    "delete " + chunks);
+            completed = true;
+        } catch (IOException e) {
+            MobileMessagingLogger.e("[InAppChat] can't send attachment, failed to read content", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                inputStream.close();
+            } catch (IOException ignored) {}
+            if (!completed && !dispatcher.isReleased()) {
+                dispatcher.cancel(call);
+                post(CHUNKS + "&&delete " + chunks + ";", null);
+            }
+        }
+    }
+
+    /**
+     * Waits until there is room for another chunk and posts the script to the main thread.
+     *
+     * @return false if WebView did not evaluate previous chunks in time or dispatcher was released
+     */
+    private boolean evaluate(String script, final Semaphore permits) throws InterruptedException {
+        if (!acquire(permits, 1)) {
+            return false;
+        }
+        post(script, permits);
+        return true;
+    }
+
+    /**
+     * Waits for evaluation of previous chunks, released WebView may never evaluate them so waiting stops on release.
+     *
+     * @return false if WebView did not evaluate previous chunks in time or dispatcher was released
+     */
+    private boolean acquire(Semaphore permits, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(CHUNK_TIMEOUT_SECONDS);
+        while (!dispatcher.isReleased()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                MobileMessagingLogger.e("[InAppChat] can't send attachment, WebView is not responding");
+                return false;
+            }
+            if (permits.tryAcquire(count, Math.min(remaining, RELEASE_CHECK_MILLIS), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void post(String script, final Semaphore permits) {
+        // wrapped into a function, so that loadUrl on older OS doesn't replace the page with the script result
+        final String wrappedScript = (isOSOlderThanKitkat() ? "javascript:" : "") + "(function(){" + script + "})()";
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (permits == null || isOSOlderThanKitkat()) {
+                    // result callback is not supported on older OS
+                    webView.evaluateJavascriptMethod(wrappedScript, null);
+                    if (permits != null) {
+                        permits.release();
+                    }
+                    return;
+                }
+                webView.evaluateJavascriptMethod(wrappedScript, new ValueCallback<String>() {
+                    @Override
+                    public void onReceiveValue(String value) {
+                        permits.release();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Fills the whole buffer unless the end of stream is reached.
+     *
+     * @return number of bytes read, 0 at the end of stream
+     */
+    private static int readChunk(InputStream inputStream, byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = inputStream.read(buffer, offset, buffer.length - offset);
+            if (read == -1) {
+                break;
+            }
+            offset += read;
+        }
+        return offset;
+    }
+}
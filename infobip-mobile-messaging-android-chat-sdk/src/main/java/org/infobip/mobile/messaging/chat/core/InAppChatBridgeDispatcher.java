@@ -0,0 +1,243 @@
+package org.infobip.mobile.messaging.chat.core;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.webkit.ValueCallback;
+
+import org.infobip.mobile.messaging.chat.view.InAppChatWebView;
+import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
+
+import java.util.ArrayDeque;
+
+import static org.infobip.mobile.messaging.chat.utils.CommonUtils.isOSOlderThanKitkat;
+
+/**
+ * Queues widget method invocations and evaluates them in batches.
+ * <ul>
+ * <li>Calls are kept until the widget is {@link #setReady(boolean) ready}, so that calls made while the page is loading are not lost.</li>
+ * <li>Queued calls are joined into a single script evaluated at most once per {@link #FRAME_MILLIS}. Next batch is
+ * evaluated only after the WebView evaluated the previous one.</li>
+ * <li>Only the latest draft is sent, a draft that was not sent yet is replaced by the next one.</li>
+ * <li>Queue is bounded by {@link #MAX_QUEUED_CALLS}, calls beyond it are rejected.</li>
+ * <li>Place of a call which is not built yet can be {@link #reserve() reserved}, calls queued after it wait until
+ * it is {@link #fill(Call, String) filled} or {@link #cancel(Call) cancelled}.</li>
+ * <li>Once {@link #clear() cleared} dispatcher is released, it rejects new calls and wakes up threads waiting for the widget.</li>
+ * </ul>
+ * Can be used from any thread, scripts are evaluated on the main thread.
+ */
+class InAppChatBridgeDispatcher {
+
+    static final long FRAME_MILLIS = 16;
+    static final int MAX_QUEUED_CALLS = 100;
+    // keeps loadUrl scripts on older OS reasonably small, a single larger call is still sent in its own batch
+    static final int MAX_BATCH_LENGTH = 64 * 1024;
+
+    private final InAppChatWebView webView;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ArrayDeque<Call> calls = new ArrayDeque<>();
+    private String pendingDraft;
+    private boolean ready;
+    private boolean flushScheduled;
+    private boolean evaluating;
+    private boolean released;
+
+    static final class Call {
+        private String script;
+
+        private Call(String script) {
+            this.script = script;
+        }
+    }
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private final ValueCallback<String> evaluatedCallback = new ValueCallback<String>() {
+        @Override
+        public void onReceiveValue(String value) {
+            synchronized (InAppChatBridgeDispatcher.this) {
+                evaluating = false;
+                scheduleFlushIfNeeded();
+            }
+        }
+    };
+
+    InAppChatBridgeDispatcher(InAppChatWebView webView) {
+        this.webView = webView;
+    }
+
+    /**
+     * @param call widget method invocation without "javascript:" prefix
+     * @return false if the queue is full and call was rejected
+     */
+    synchronized boolean enqueue(String call) {
+        return add(new Call(call));
+    }
+
+    /**
+     * Reserves place in the queue for a call which takes time to build.
+     *
+     * @return reserved call or null if the queue is full
+     */
+    synchronized Call reserve() {
+        Call call = new Call(null);
+        return add(call) ? call : null;
+    }
+
+    /**
+     * @param call   reserved call
+     * @param script widget method invocation without "javascript:" prefix
+     */
+    synchronized void fill(Call call, String script) {
+        if (released) {
+            return;
+        }
+        call.script = script;
+        scheduleFlushIfNeeded();
+    }
+
+    /**
+     * Removes reserved call, so that calls queued after it are not blocked.
+     */
+    synchronized void cancel(Call call) {
+        calls.remove(call);
+        scheduleFlushIfNeeded();
+    }
+
+    /**
+     * Waits until the widget is ready, must not be called on the main thread.
+     *
+     * @return false if the widget was not ready in time or dispatcher was released
+     */
+    synchronized boolean awaitReady(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (!ready) {
+            if (released) {
+                return false;
+            }
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return !released;
+    }
+
+    synchronized boolean isReleased() {
+        return released;
+    }
+
+    private boolean add(Call call) {
+        if (released) {
+            return false;
+        }
+        if (calls.size() + (pendingDraft != null ? 1 : 0) >= MAX_QUEUED_CALLS) {
+            MobileMessagingLogger.e("[InAppChat] widget call rejected, " + calls.size() + " calls are waiting for the widget");
+            return false;
+        }
+        // draft typed before the call must be applied before it
+        if (pendingDraft != null) {
+            calls.addLast(new Call(pendingDraft));
+            pendingDraft = null;
+        }
+        calls.addLast(call);
+        scheduleFlushIfNeeded();
+        return true;
+    }
+
+    /**
+     * @param call draft invocation which replaces the draft that was not sent yet
+     */
+    synchronized void enqueueDraft(String call) {
+        pendingDraft = call;
+        scheduleFlushIfNeeded();
+    }
+
+    /**
+     * Widget is not ready while the page is loading and while the widget keeps its controls disabled.
+     */
+    synchronized void setReady(boolean ready) {
+        if (ready != this.ready) {
+            // result of a batch evaluated by the previous page may never come
+            evaluating = false;
+        }
+        this.ready = ready;
+        notifyAll();
+        scheduleFlushIfNeeded();
+    }
+
+    /**
+     * Drops queued calls and releases the dispatcher, threads waiting for the widget return immediately.
+     */
+    synchronized void clear() {
+        released = true;
+        calls.clear();
+        pendingDraft = null;
+        mainHandler.removeCallbacks(flushTask);
+        flushScheduled = false;
+        notifyAll();
+    }
+
+    private void scheduleFlushIfNeeded() {
+        if (released || !ready || evaluating || flushScheduled || (calls.isEmpty() && pendingDraft == null)) {
+            return;
+        }
+        flushScheduled = true;
+        mainHandler.postDelayed(flushTask, FRAME_MILLIS);
+    }
+
+    private void flush() {
+        String script;
+        boolean waitForResult;
+        synchronized (this) {
+            flushScheduled = false;
+            if (!ready || evaluating) {
+                return;
+            }
+            script = nextBatch();
+            if (script == null) {
+                return;
+            }
+            // result callback is not supported on older OS
+            waitForResult = !isOSOlderThanKitkat();
+            evaluating = waitForResult;
+        }
+
+        // wrapped into a function, so that loadUrl on older OS doesn't replace the page with the script result
+        String wrappedScript = (isOSOlderThanKitkat() ? "javascript:" : "") + "(function(){" + script + "})()";
+        webView.evaluateJavascriptMethod(wrappedScript, waitForResult ? evaluatedCallback : null);
+
+        synchronized (this) {
+            scheduleFlushIfNeeded();
+        }
+    }
+
+    private String nextBatch() {
+        StringBuilder builder = new StringBuilder();
+        while (!calls.isEmpty()) {
+            String call = calls.peekFirst().script;
+            // reserved call is not filled yet, calls after it wait
+            if (call == null || (builder.length() > 0 && builder.length() + call.length() > MAX_BATCH_LENGTH)) {
+                break;
+            }
+            appendCall(builder, call);
+            calls.pollFirst();
+        }
+        if (pendingDraft != null && calls.isEmpty() && (builder.length() == 0 || builder.length() + pendingDraft.length() <= MAX_BATCH_LENGTH)) {
+            appendCall(builder, pendingDraft);
+            pendingDraft = null;
+        }
+        return builder.length() > 0 ? builder.toString() : null;
+    }
+
+    private static void appendCall(StringBuilder builder, String call) {
+        // one failing call must not prevent the rest of the batch
+        builder.append("try{").append(call).append(";}catch(e){console.error(e);}");
+    }
+}
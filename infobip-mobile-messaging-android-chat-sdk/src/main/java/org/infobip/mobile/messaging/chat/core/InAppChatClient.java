@@ -15,7 +15,7 @@ public interface InAppChatClient {
     void sendChatMessage(String message);
 
     /**
-     * Send typed message and attachment
+     * Send typed message and attachment. Attachment content is streamed to the widget in chunks on a background thread.
      * @param message user message
      * @param attachment IMAGE, VIDEO, DOCUMENT
      */
@@ -26,4 +26,15 @@ public interface InAppChatClient {
      * @param draft user message draft
      */
     void sendInputDraft(String draft);
+
+    /**
+     * Calls are queued while the widget is not ready, e.g. while the page is loading, and sent once it becomes ready
+     * @param isReady true if the widget accepts calls
+     */
+    void setWidgetReady(boolean isReady);
+
+    /**
+     * Drops calls which were not sent yet, client must not be used afterwards
+     */
+    void release();
 }
@@ -8,34 +8,43 @@ import org.infobip.mobile.messaging.util.StringUtils;
 import static org.infobip.mobile.messaging.chat.core.InAppChatWidgetMethods.handleMessageDraftSend;
 import static org.infobip.mobile.messaging.chat.core.InAppChatWidgetMethods.handleMessageSend;
 import static org.infobip.mobile.messaging.chat.core.InAppChatWidgetMethods.handleMessageWithAttachmentSend;
-import static org.infobip.mobile.messaging.chat.utils.CommonUtils.isOSOlderThanKitkat;
 import static org.infobip.mobile.messaging.util.StringUtils.isNotBlank;
 
 public class InAppChatClientImpl implements InAppChatClient {
 
     private final InAppChatWebView webView;
+    private final InAppChatAttachmentStreamer attachmentStreamer;
+    private final InAppChatBridgeDispatcher dispatcher;
 
     public InAppChatClientImpl(InAppChatWebView webView) {
         this.webView = webView;
+        this.dispatcher = webView != null ? new InAppChatBridgeDispatcher(webView) : null;
+        this.attachmentStreamer = webView != null ? new InAppChatAttachmentStreamer(webView, dispatcher) : null;
     }
 
     @Override
     public void sendChatMessage(String message) {
         if (canSendMessage(message)) {
             String script = buildWidgetMethodInvocation(handleMessageSend.name(), message);
-            webView.evaluateJavascriptMethod(script, null);
+            dispatcher.enqueue(script);
         }
     }
 
     @Override
     public void sendChatMessage(String message, InAppChatMobileAttachment attachment) {
         String base64UrlString = attachment.base64UrlString();
+        if (base64UrlString == null) {
+            if (attachmentStreamer != null) {
+                attachmentStreamer.send(message, attachment);
+            }
+            return;
+        }
         String fileName = attachment.getFileName();
 
         // message can be null - its OK
         if (canSendMessage(base64UrlString)) {
-            String script = buildWidgetMethodInvocation(handleMessageWithAttachmentSend.name(), isOSOlderThanKitkat(), message, base64UrlString, fileName);
-            webView.evaluateJavascriptMethod(script, null);
+            String script = buildWidgetMethodInvocation(handleMessageWithAttachmentSend.name(), message, base64UrlString, fileName);
+            dispatcher.enqueue(script);
         } else {
             MobileMessagingLogger.e("[InAppChat] can't send attachment, base64 is empty");
         }
@@ -44,8 +53,22 @@ public class InAppChatClientImpl implements InAppChatClient {
     @Override
     public void sendInputDraft(String draft) {
         if (webView != null) {
-            String script = buildWidgetMethodInvocation(handleMessageDraftSend.name(), isOSOlderThanKitkat(), draft);
-            webView.evaluateJavascriptMethod(script, null);
+            String script = buildWidgetMethodInvocation(handleMessageDraftSend.name(), draft);
+            dispatcher.enqueueDraft(script);
+        }
+    }
+
+    @Override
+    public void setWidgetReady(boolean isReady) {
+        if (dispatcher != null) {
+            dispatcher.setReady(isReady);
+        }
+    }
+
+    @Override
+    public void release() {
+        if (dispatcher != null) {
+            dispatcher.clear();
         }
     }
 
@@ -54,14 +77,7 @@ public class InAppChatClientImpl implements InAppChatClient {
     }
 
     private String buildWidgetMethodInvocation(String methodName, String... params) {
-        return this.buildWidgetMethodInvocation(methodName, true, params);
-    }
-
-    private String buildWidgetMethodInvocation(String methodName, boolean withPrefix, String... params) {
         StringBuilder builder = new StringBuilder();
-        if (withPrefix) {
-            builder.append("javascript:");
-        }
         builder.append(methodName);
 
         if (params.length > 0) {
@@ -1,8 +1,10 @@
 package org.infobip.mobile.messaging.chat.core;
 
+import android.annotation.TargetApi;
 import android.content.Intent;
 import android.graphics.Bitmap;
 import android.net.Uri;
+import android.os.Build;
 import android.webkit.WebResourceError;
 import android.webkit.WebResourceRequest;
 import android.webkit.WebResourceResponse;
@@ -12,9 +14,18 @@ import android.webkit.WebViewClient;
 public class InAppChatWebViewClient extends WebViewClient {
 
     private final InAppChatWebViewManager inAppChatWebViewManager;
+    private final InAppChatWidgetAssetCache assetCache;
 
     public InAppChatWebViewClient(InAppChatWebViewManager inAppChatWebViewManager) {
+        this(inAppChatWebViewManager, null);
+    }
+
+    /**
+     * @param assetCache cache to serve static widget assets from, null to load all requests from network
+     */
+    public InAppChatWebViewClient(InAppChatWebViewManager inAppChatWebViewManager, InAppChatWidgetAssetCache assetCache) {
         this.inAppChatWebViewManager = inAppChatWebViewManager;
+        this.assetCache = assetCache;
     }
 
     @Override
@@ -39,6 +50,28 @@ public class InAppChatWebViewClient extends WebViewClient {
         super.onPageFinished(view, url);
     }
 
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public WebResourceResponse shouldInterceptRequest(WebView view, WebResourceRequest request) {
+        if (assetCache != null) {
+            // not delegated to super, it would call the deprecated method below and try the cache again
+            return assetCache.get(request.getMethod(), request.getUrl());
+        }
+        return super.shouldInterceptRequest(view, request);
+    }
+
+    @Override
+    public WebResourceResponse shouldInterceptRequest(WebView view, String url) {
+        // invoked directly only before Lollipop, method of the request is not known there
+        if (assetCache != null && url != null) {
+            WebResourceResponse response = assetCache.get("GET", Uri.parse(url));
+            if (response != null) {
+                return response;
+            }
+        }
+        return super.shouldInterceptRequest(view, url);
+    }
+
     @Override
     public boolean shouldOverrideUrlLoading(WebView view, String url) {
         if (url != null && (url.startsWith("http://") || url.startsWith("https://"))) {
@@ -0,0 +1,354 @@
+package org.infobip.mobile.messaging.chat.core;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Build;
+import android.webkit.WebResourceResponse;
+
+import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
+import org.infobip.mobile.messaging.util.SHA1;
+import org.infobip.mobile.messaging.util.SoftwareInformation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disk cache of static widget assets (scripts, styles, fonts and images) served to the chat WebView
+ * through {@link InAppChatWebViewClient#shouldInterceptRequest}.
+ * <p>
+ * Cache is versioned by SDK version, entries of other versions are removed on first use. Entries follow the
+ * Cache-Control (max-age, no-cache, no-store) and Expires headers of the server, and expire after
+ * {@link #DEFAULT_MAX_AGE_MILLIS} if the server doesn't specify it. Expired entries are revalidated with ETag and
+ * Last-Modified validators, so unchanged assets are not downloaded again. Requests which are not cacheable,
+ * fail or return non-200 status are left to the WebView.
+ */
+public class InAppChatWidgetAssetCache {
+
+    private static final String DIRECTORY_NAME = "inappchat-widget-assets";
+    private static final String HOST = "infobip.com";
+    private static final String[] EXTENSIONS = {".js", ".css", ".woff", ".woff2", ".ttf", ".svg", ".png", ".jpg", ".gif"};
+    static final long DEFAULT_MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(1);
+    static final long MAX_SIZE_BYTES = 20 * 1024 * 1024;
+    private static final int CONNECT_TIMEOUT_MILLIS = 10000;
+    private static final int READ_TIMEOUT_MILLIS = 30000;
+
+    private static final String META_MIME_TYPE = "mimeType";
+    private static final String META_ENCODING = "encoding";
+    private static final String META_ALLOW_ORIGIN = "allowOrigin";
+    private static final String META_EXPIRES_AT = "expiresAt";
+    private static final String META_ETAG = "etag";
+    private static final String META_LAST_MODIFIED = "lastModified";
+
+    private static InAppChatWidgetAssetCache instance;
+
+    private final File rootDirectory;
+    private final File directory;
+    private volatile boolean initialized;
+
+    public static synchronized InAppChatWidgetAssetCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new InAppChatWidgetAssetCache(new File(context.getCacheDir(), DIRECTORY_NAME), SoftwareInformation.getSDKVersion());
+        }
+        return instance;
+    }
+
+    InAppChatWidgetAssetCache(File rootDirectory, String version) {
+        this.rootDirectory = rootDirectory;
+        this.directory = new File(rootDirectory, version);
+    }
+
+    /**
+     * Returns cached asset, downloads and caches it if needed. Performs I/O, must not be called on the main thread.
+     *
+     * @return response with asset or null if the WebView should load the request itself
+     */
+    public WebResourceResponse get(String method, Uri uri) {
+        if (!isCacheable(method, uri)) {
+            return null;
+        }
+        initialize();
+
+        String key = SHA1.calc(uri.toString());
+        File file = new File(directory, key);
+        File metaFile = new File(directory, key + ".meta");
+        try {
+            Properties meta = file.exists() && metaFile.exists() ? readMeta(metaFile) : null;
+            if (meta == null || isExpired(meta)) {
+                meta = download(uri, file, metaFile, meta);
+                if (meta == null) {
+                    return null;
+                }
+            }
+            return response(file, meta);
+        } catch (Exception e) {
+            MobileMessagingLogger.d("[InAppChat] Widget asset not cached: " + uri + ", " + e.getMessage());
+            return null;
+        }
+    }
+
+    static boolean isCacheable(String method, Uri uri) {
+        if (!"GET".equalsIgnoreCase(method) || uri == null || !"https".equals(uri.getScheme())) {
+            return false;
+        }
+        String host = uri.getHost();
+        String path = uri.getPath();
+        if (host == null || path == null) {
+            return false;
+        }
+        String lowerCaseHost = host.toLowerCase(Locale.ENGLISH);
+        if (!lowerCaseHost.equals(HOST) && !lowerCaseHost.endsWith("." + HOST)) {
+            return false;
+        }
+        String lowerCasePath = path.toLowerCase(Locale.ENGLISH);
+        for (String extension : EXTENSIONS) {
+            if (lowerCasePath.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+        File[] versions = rootDirectory.listFiles();
+        if (versions != null) {
+            for (File version : versions) {
+                if (!version.equals(directory)) {
+                    deleteRecursively(version);
+                }
+            }
+        }
+        if (!directory.exists() && !directory.mkdirs()) {
+            MobileMessagingLogger.w("[InAppChat] Can't create widget asset cache directory");
+        }
+    }
+
+    /**
+     * Downloads the asset, or only revalidates it if cached meta has validators.
+     *
+     * @return meta of the cached asset or null if the asset should not be cached
+     */
+    private Properties download(Uri uri, File file, File metaFile, Properties cachedMeta) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(uri.toString()).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+        if (cachedMeta != null) {
+            setRequestPropertyIfNotNull(connection, "If-None-Match", cachedMeta.getProperty(META_ETAG));
+            setRequestPropertyIfNotNull(connection, "If-Modified-Since", cachedMeta.getProperty(META_LAST_MODIFIED));
+        }
+        try {
+            int responseCode = connection.getResponseCode();
+            String cacheControl = connection.getHeaderField("Cache-Control");
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && cachedMeta != null) {
+                cachedMeta.setProperty(META_EXPIRES_AT, String.valueOf(expiresAt(System.currentTimeMillis(), cacheControl, connection.getExpiration())));
+                putIfNotNull(cachedMeta, META_ETAG, connection.getHeaderField("ETag"));
+                File temporaryMetaFile = File.createTempFile(metaFile.getName(), ".tmp", directory);
+                try {
+                    writeMeta(cachedMeta, temporaryMetaFile);
+                    return temporaryMetaFile.renameTo(metaFile) ? cachedMeta : null;
+                } finally {
+                    //noinspection ResultOfMethodCallIgnored
+                    temporaryMetaFile.delete();
+                }
+            }
+            if (responseCode != HttpURLConnection.HTTP_OK || hasDirective(cacheControl, "no-store")) {
+                return null;
+            }
+
+            if (size() > MAX_SIZE_BYTES) {
+                clear();
+                initialized = false;
+                initialize();
+            }
+
+            // written to temporary files first, so that concurrent requests never read partial content
+            File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+            File temporaryMetaFile = File.createTempFile(metaFile.getName(), ".tmp", directory);
+            try {
+                InputStream inputStream = connection.getInputStream();
+                OutputStream outputStream = new FileOutputStream(temporaryFile);
+                try {
+                    byte[] buffer = new byte[8 * 1024];
+                    int read;
+                    while ((read = inputStream.read(buffer)) != -1) {
+                        outputStream.write(buffer, 0, read);
+                    }
+                } finally {
+                    outputStream.close();
+                    inputStream.close();
+                }
+
+                Properties meta = new Properties();
+                putIfNotNull(meta, META_MIME_TYPE, mimeType(connection.getContentType()));
+                putIfNotNull(meta, META_ENCODING, encoding(connection.getContentType()));
+                putIfNotNull(meta, META_ALLOW_ORIGIN, connection.getHeaderField("Access-Control-Allow-Origin"));
+                putIfNotNull(meta, META_ETAG, connection.getHeaderField("ETag"));
+                putIfNotNull(meta, META_LAST_MODIFIED, connection.getHeaderField("Last-Modified"));
+                meta.setProperty(META_EXPIRES_AT, String.valueOf(expiresAt(System.currentTimeMillis(), cacheControl, connection.getExpiration())));
+                writeMeta(meta, temporaryMetaFile);
+
+                return temporaryMetaFile.renameTo(metaFile) && temporaryFile.renameTo(file) ? meta : null;
+            } finally {
+                //noinspection ResultOfMethodCallIgnored
+                temporaryFile.delete();
+                //noinspection ResultOfMethodCallIgnored
+                temporaryMetaFile.delete();
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * @param cacheControl value of Cache-Control header
+     * @param expiration   value of Expires header in milliseconds, 0 if not present
+     * @return time when the asset should be revalidated
+     */
+    static long expiresAt(long now, String cacheControl, long expiration) {
+        if (hasDirective(cacheControl, "no-cache")) {
+            return now;
+        }
+        if (cacheControl != null) {
+            for (String directive : cacheControl.split(",")) {
+                String trimmed = directive.trim().toLowerCase(Locale.ENGLISH);
+                if (trimmed.startsWith("max-age=")) {
+                    try {
+                        return now + TimeUnit.SECONDS.toMillis(Long.parseLong(trimmed.substring("max-age=".length())));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+        }
+        if (expiration > 0) {
+            return expiration;
+        }
+        return now + DEFAULT_MAX_AGE_MILLIS;
+    }
+
+    private static boolean hasDirective(String cacheControl, String name) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String directive : cacheControl.split(",")) {
+            if (directive.trim().equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isExpired(Properties meta) {
+        try {
+            return System.currentTimeMillis() >= Long.parseLong(meta.getProperty(META_EXPIRES_AT));
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static Properties readMeta(File metaFile) throws IOException {
+        Properties meta = new Properties();
+        InputStream metaInputStream = new FileInputStream(metaFile);
+        try {
+            meta.load(metaInputStream);
+        } finally {
+            metaInputStream.close();
+        }
+        return meta;
+    }
+
+    private static void writeMeta(Properties meta, File metaFile) throws IOException {
+        OutputStream metaOutputStream = new FileOutputStream(metaFile);
+        try {
+            meta.store(metaOutputStream, null);
+        } finally {
+            metaOutputStream.close();
+        }
+    }
+
+    private static WebResourceResponse response(File file, Properties meta) throws IOException {
+        WebResourceResponse response = new WebResourceResponse(
+                meta.getProperty(META_MIME_TYPE, "application/octet-stream"),
+                meta.getProperty(META_ENCODING),
+                new FileInputStream(file));
+        String allowOrigin = meta.getProperty(META_ALLOW_ORIGIN);
+        if (allowOrigin != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            response.setResponseHeaders(Collections.singletonMap("Access-Control-Allow-Origin", allowOrigin));
+        }
+        return response;
+    }
+
+    private long size() {
+        long size = 0;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                size += file.length();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all cached assets.
+     */
+    public synchronized void clear() {
+        deleteRecursively(directory);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    private static String mimeType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int separator = contentType.indexOf(';');
+        return (separator == -1 ? contentType : contentType.substring(0, separator)).trim();
+    }
+
+    private static String encoding(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (String parameter : contentType.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.toLowerCase(Locale.ENGLISH).startsWith("charset=")) {
+                return trimmed.substring("charset=".length()).replace("\"", "");
+            }
+        }
+        return null;
+    }
+
+    private static void setRequestPropertyIfNotNull(HttpURLConnection connection, String key, String value) {
+        if (value != null) {
+            connection.setRequestProperty(key, value);
+        }
+    }
+
+    private static void putIfNotNull(Properties properties, String key, String value) {
+        if (value != null) {
+            properties.setProperty(key, value);
+        }
+    }
+}
@@ -7,7 +7,8 @@ import org.infobip.mobile.messaging.MobileMessagingCore;
 import org.infobip.mobile.messaging.api.chat.MobileApiChat;
 import org.infobip.mobile.messaging.api.chat.WidgetInfo;
 import org.infobip.mobile.messaging.chat.core.InAppChatBroadcaster;
-import org.infobip.mobile.messaging.chat.properties.MobileMessagingChatProperty;
+import org.infobip.mobile.messaging.chat.properties.PropertyHelper;
+import org.infobip.mobile.messaging.chat.properties.WidgetConfigRecord;
 import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
 import org.infobip.mobile.messaging.mobileapi.InternalSdkError;
 import org.infobip.mobile.messaging.mobileapi.MobileMessagingError;
@@ -17,17 +18,22 @@ import org.infobip.mobile.messaging.mobileapi.common.MRetryableTask;
 import org.infobip.mobile.messaging.mobileapi.common.RetryPolicyProvider;
 import org.infobip.mobile.messaging.mobileapi.common.exceptions.BackendInvalidParameterException;
 import org.infobip.mobile.messaging.platform.AndroidBroadcaster;
-import org.infobip.mobile.messaging.util.PreferenceHelper;
+import org.infobip.mobile.messaging.platform.Time;
+
+import java.util.concurrent.TimeUnit;
 
 
 public class InAppChatSynchronizer {
 
+    static final long WIDGET_CONFIG_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
     private final Context context;
     private final MobileMessagingCore mobileMessagingCore;
     private final AndroidBroadcaster coreBroadcaster;
     private final InAppChatBroadcaster inAppChatBroadcaster;
     private final MobileApiChat mobileApiChat;
     private final MRetryPolicy retryPolicy;
+    private final PropertyHelper propertyHelper;
 
     public InAppChatSynchronizer(Context context,
                                  MobileMessagingCore mobileMessagingCore,
@@ -40,9 +46,25 @@ public class InAppChatSynchronizer {
         this.inAppChatBroadcaster = inAppChatBroadcaster;
         this.mobileApiChat = mobileApiChat;
         this.retryPolicy = new RetryPolicyProvider(context).DEFAULT();
+        this.propertyHelper = new PropertyHelper(context);
     }
 
+    /**
+     * Same as {@link #getWidgetConfiguration(boolean, MobileMessaging.ResultListener)} without forcing the fetch.
+     */
     public void getWidgetConfiguration(final MobileMessaging.ResultListener<WidgetInfo> listener) {
+        getWidgetConfiguration(false, listener);
+    }
+
+    /**
+     * Fetches widget configuration unless configuration stored by the last sync is younger than {@link #WIDGET_CONFIG_TTL_MILLIS}.
+     * Stored configuration is only rewritten if fetched configuration is different.
+     * Configuration synced event is broadcast only after the configuration is fetched, not when stored one is used.
+     *
+     * @param force    true to fetch configuration even if stored one is fresh
+     * @param listener result listener
+     */
+    public void getWidgetConfiguration(boolean force, final MobileMessaging.ResultListener<WidgetInfo> listener) {
         if (!mobileMessagingCore.isRegistrationAvailable()) {
             if (listener != null) {
                 listener.onResult(new Result<WidgetInfo, MobileMessagingError>(InternalSdkError.NO_VALID_REGISTRATION.getError()));
@@ -58,6 +80,15 @@ public class InAppChatSynchronizer {
             return;
         }
 
+        final WidgetConfigRecord storedConfig = propertyHelper.findWidgetConfig();
+        if (!force && storedConfig != null && Time.now() - propertyHelper.findWidgetConfigSyncedAt() < WIDGET_CONFIG_TTL_MILLIS) {
+            MobileMessagingLogger.v("WIDGET CONFIGURATION IS UP TO DATE");
+            if (listener != null) {
+                listener.onResult(new Result<>(storedConfig.getWidgetInfo()));
+            }
+            return;
+        }
+
         new MRetryableTask<Void, WidgetInfo>() {
 
             @Override
@@ -69,11 +100,12 @@ public class InAppChatSynchronizer {
             @Override
             public void after(WidgetInfo widgetInfo) {
                 MobileMessagingLogger.v("GET WIDGET CONFIGURATION DONE <<<");
-                PreferenceHelper.saveString(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_ID.getKey(), widgetInfo.getId());
-                PreferenceHelper.saveString(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_TITLE.getKey(), widgetInfo.getTitle());
-                PreferenceHelper.saveString(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_PRIMARY_COLOR.getKey(), widgetInfo.getPrimaryColor());
-                PreferenceHelper.saveString(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_BACKGROUND_COLOR.getKey(), widgetInfo.getBackgroundColor());
-                PreferenceHelper.saveLong(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_MAX_UPLOAD_CONTENT_SIZE.getKey(), widgetInfo.getMaxUploadContentSize());
+                if (storedConfig == null || !storedConfig.isSameAs(widgetInfo)) {
+                    propertyHelper.saveWidgetConfig(new WidgetConfigRecord(widgetInfo));
+                } else {
+                    MobileMessagingLogger.v("WIDGET CONFIGURATION NOT CHANGED");
+                }
+                propertyHelper.saveWidgetConfigSyncedAt(Time.now());
                 if (listener != null) {
                     listener.onResult(new Result<>(widgetInfo));
                 }
@@ -8,7 +8,10 @@ public enum MobileMessagingChatProperty {
     IN_APP_CHAT_WIDGET_PRIMARY_COLOR("org.infobip.mobile.messaging.infobip.IN_APP_CHAT_WIDGET_PRIMARY_COLOR", null),
     IN_APP_CHAT_WIDGET_BACKGROUND_COLOR("org.infobip.mobile.messaging.infobip.IN_APP_CHAT_WIDGET_BACKGROUND_COLOR", null),
     IN_APP_CHAT_WIDGET_MAX_UPLOAD_CONTENT_SIZE("org.infobip.mobile.messaging.infobip.IN_APP_CHAT_WIDGET_MAX_UPLOAD_CONTENT_SIZE", null),
+    IN_APP_CHAT_WIDGET_CONFIG("org.infobip.mobile.messaging.infobip.IN_APP_CHAT_WIDGET_CONFIG", null),
+    IN_APP_CHAT_WIDGET_CONFIG_SYNCED_AT("org.infobip.mobile.messaging.infobip.IN_APP_CHAT_WIDGET_CONFIG_SYNCED_AT", 0L),
     IN_APP_CHAT_ACTIVATED("org.infobip.mobile.messaging.infobip.IN_APP_CHAT_ACTIVATED", false),
+    IN_APP_CHAT_WEBVIEW_PREWARM_ENABLED("org.infobip.mobile.messaging.infobip.IN_APP_CHAT_WEBVIEW_PREWARM_ENABLED", false),
     UNREAD_CHAT_MESSAGES_COUNT("org.infobip.mobile.messaging.infobip.UNREAD_CHAT_MESSAGES_COUNT", 0);
 
     private final String key;
@@ -2,7 +2,10 @@ package org.infobip.mobile.messaging.chat.properties;
 
 import android.content.Context;
 
+import org.infobip.mobile.messaging.api.chat.WidgetInfo;
+import org.infobip.mobile.messaging.chat.attachments.InAppChatMobileAttachment;
 import org.infobip.mobile.messaging.util.PreferenceHelper;
+import org.infobip.mobile.messaging.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +17,8 @@ import java.util.List;
 
 public class PropertyHelper extends PreferenceHelper {
 
+    private static volatile ParsedWidgetConfig parsedWidgetConfig;
+
     private final Context context;
 
     public PropertyHelper(Context context) {
@@ -72,11 +77,91 @@ public class PropertyHelper extends PreferenceHelper {
         remove(context, property.getKey());
     }
 
-    public void removeChatPrefs() {
+    /**
+     * @return widget configuration stored by the last successful sync or null if configuration was not synced yet
+     */
+    public WidgetInfo findWidgetInfo() {
+        WidgetConfigRecord record = findWidgetConfig();
+        return record != null ? record.getWidgetInfo() : null;
+    }
+
+    /**
+     * @return widget configuration record stored by the last successful sync or null if configuration was not synced yet
+     */
+    public WidgetConfigRecord findWidgetConfig() {
+        String raw = findString(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_CONFIG.getKey(), null);
+        if (raw == null) {
+            return migrateLegacyWidgetConfig();
+        }
+
+        // parsed once per stored value, configuration is read each time chat is shown
+        ParsedWidgetConfig parsed = parsedWidgetConfig;
+        if (parsed == null || !raw.equals(parsed.raw)) {
+            parsed = new ParsedWidgetConfig(raw, WidgetConfigRecord.deserialize(raw));
+            parsedWidgetConfig = parsed;
+        }
+        return parsed.record;
+    }
+
+    public void saveWidgetConfig(WidgetConfigRecord record) {
+        saveString(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_CONFIG.getKey(), record.serialize());
+        removeLegacyWidgetConfig();
+    }
+
+    /**
+     * @return time of the last successful widget configuration sync, 0 if configuration was never synced
+     */
+    public long findWidgetConfigSyncedAt() {
+        return findLong(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_CONFIG_SYNCED_AT.getKey(), 0L);
+    }
+
+    public void saveWidgetConfigSyncedAt(long syncedAt) {
+        saveLong(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_CONFIG_SYNCED_AT.getKey(), syncedAt);
+    }
+
+    /**
+     * Configuration used to be stored as separate values, moves it to the single record, so it doesn't have to be fetched again.
+     */
+    private WidgetConfigRecord migrateLegacyWidgetConfig() {
+        String widgetId = findString(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_ID.getKey(), null);
+        if (widgetId == null) {
+            return null;
+        }
+        String widgetTitle = findString(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_TITLE.getKey(), null);
+        String widgetPrimaryColor = findString(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_PRIMARY_COLOR.getKey(), null);
+        String widgetBackgroundColor = findString(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_BACKGROUND_COLOR.getKey(), null);
+        String maxUploadContentSizeStr = findString(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_MAX_UPLOAD_CONTENT_SIZE.getKey(), null);
+        long maxUploadContentSize = InAppChatMobileAttachment.DEFAULT_MAX_UPLOAD_CONTENT_SIZE;
+
+        if (StringUtils.isNotBlank(maxUploadContentSizeStr)) {
+            maxUploadContentSize = Long.parseLong(maxUploadContentSizeStr);
+        }
+        WidgetConfigRecord record = new WidgetConfigRecord(new WidgetInfo(widgetId, widgetTitle, widgetPrimaryColor, widgetBackgroundColor, maxUploadContentSize));
+        saveWidgetConfig(record);
+        return record;
+    }
+
+    private void removeLegacyWidgetConfig() {
         PreferenceHelper.remove(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_ID.getKey());
         PreferenceHelper.remove(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_TITLE.getKey());
         PreferenceHelper.remove(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_PRIMARY_COLOR.getKey());
         PreferenceHelper.remove(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_BACKGROUND_COLOR.getKey());
         PreferenceHelper.remove(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_MAX_UPLOAD_CONTENT_SIZE.getKey());
     }
+
+    public void removeChatPrefs() {
+        PreferenceHelper.remove(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_CONFIG.getKey());
+        PreferenceHelper.remove(context, MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_CONFIG_SYNCED_AT.getKey());
+        removeLegacyWidgetConfig();
+    }
+
+    private static class ParsedWidgetConfig {
+        final String raw;
+        final WidgetConfigRecord record;
+
+        ParsedWidgetConfig(String raw, WidgetConfigRecord record) {
+            this.raw = raw;
+            this.record = record;
+        }
+    }
 }
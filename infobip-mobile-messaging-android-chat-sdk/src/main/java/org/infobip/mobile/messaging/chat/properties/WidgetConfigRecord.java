@@ -0,0 +1,67 @@
+package org.infobip.mobile.messaging.chat.properties;
+
+import org.infobip.mobile.messaging.api.chat.WidgetInfo;
+import org.infobip.mobile.messaging.api.support.http.serialization.JsonSerializer;
+import org.infobip.mobile.messaging.util.SHA1;
+
+/**
+ * Widget configuration stored as a single preference value together with the hash of its content.
+ * <p>
+ * Hash is compared with the hash of freshly fetched configuration, so the record is only rewritten when configuration
+ * changes. Records of other {@link #CURRENT_VERSION versions} are ignored and fetched again.
+ */
+public class WidgetConfigRecord {
+
+    static final int CURRENT_VERSION = 1;
+
+    private static final JsonSerializer serializer = new JsonSerializer();
+
+    private int version;
+    private String hash;
+    private WidgetInfo widgetInfo;
+
+    WidgetConfigRecord() {
+    }
+
+    public WidgetConfigRecord(WidgetInfo widgetInfo) {
+        this.version = CURRENT_VERSION;
+        this.hash = hash(widgetInfo);
+        this.widgetInfo = widgetInfo;
+    }
+
+    public WidgetInfo getWidgetInfo() {
+        return widgetInfo;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * @return true if this record holds the same configuration
+     */
+    public boolean isSameAs(WidgetInfo otherWidgetInfo) {
+        return hash != null && hash.equals(hash(otherWidgetInfo));
+    }
+
+    boolean isValid() {
+        return version == CURRENT_VERSION && widgetInfo != null && widgetInfo.getId() != null;
+    }
+
+    String serialize() {
+        return serializer.serialize(this);
+    }
+
+    static WidgetConfigRecord deserialize(String raw) {
+        try {
+            WidgetConfigRecord record = serializer.deserialize(raw, WidgetConfigRecord.class);
+            return record != null && record.isValid() ? record : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String hash(WidgetInfo widgetInfo) {
+        return SHA1.calc(serializer.serialize(widgetInfo));
+    }
+}
@@ -8,7 +8,6 @@ import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
-import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
 import android.content.res.Resources;
 import android.graphics.Color;
@@ -20,6 +19,7 @@ import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.provider.MediaStore;
 
 import androidx.activity.result.ActivityResult;
@@ -69,7 +69,7 @@ import org.infobip.mobile.messaging.chat.core.InAppChatClient;
 import org.infobip.mobile.messaging.chat.core.InAppChatClientImpl;
 import org.infobip.mobile.messaging.chat.core.InAppChatEvent;
 import org.infobip.mobile.messaging.chat.core.InAppChatWebViewManager;
-import org.infobip.mobile.messaging.chat.properties.MobileMessagingChatProperty;
+import org.infobip.mobile.messaging.chat.core.InAppChatWidgetAssetCache;
 import org.infobip.mobile.messaging.chat.properties.PropertyHelper;
 import org.infobip.mobile.messaging.chat.utils.CommonUtils;
 import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
@@ -122,6 +122,10 @@ public class InAppChatFragment extends Fragment implements InAppChatWebViewManag
     private boolean isToolbarHidden = false;
     private boolean isInputControlsVisible = true;
     private boolean fragmentHidden = false;
+    private boolean isWebViewPrewarmed = false;
+    private InAppChatWebViewHolder webViewHolder;
+    private long viewCreatedAtMillis;
+    private boolean timeToInteractiveReported = false;
 
     /**
      * Implement InAppChatActionBarProvider in your Activity, where InAppChatWebViewFragment will be added.
@@ -154,6 +158,7 @@ public class InAppChatFragment extends Fragment implements InAppChatWebViewManag
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
+        viewCreatedAtMillis = SystemClock.elapsedRealtime();
         containerView = view;
         FragmentActivity fragmentActivity = getFragmentActivity();
         if (fragmentActivity == null) {
@@ -168,6 +173,9 @@ public class InAppChatFragment extends Fragment implements InAppChatWebViewManag
         initViews();
         setControlsEnabled(false);
         updateViews();
+        if (isWebViewPrewarmed) {
+            webViewHolder.attach(this);
+        }
     }
 
     @Override
@@ -189,9 +197,14 @@ public class InAppChatFragment extends Fragment implements InAppChatWebViewManag
     @Override
     public void onDestroy() {
         unregisterReceivers();
-        mainWindow.removeView(webView);
-        webView.removeAllViews();
-        webView.destroy();
+        if (inAppChatClient != null) inAppChatClient.release();
+        if (isWebViewPrewarmed) {
+            webViewHolder.release(webView);
+        } else {
+            mainWindow.removeView(webView);
+            webView.removeAllViews();
+            webView.destroy();
+        }
         super.onDestroy();
     }
 
@@ -265,22 +278,7 @@ public class InAppChatFragment extends Fragment implements InAppChatWebViewManag
     }
 
     private WidgetInfo prepareWidgetInfo() {
-        SharedPreferences prefs = PropertyHelper.getDefaultMMSharedPreferences(getContext());
-        String widgetId = prefs.getString(MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_ID.getKey(), null);
-        String widgetTitle = prefs.getString(MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_TITLE.getKey(), null);
-        String widgetPrimaryColor = prefs.getString(MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_PRIMARY_COLOR.getKey(), null);
-        String widgetBackgroundColor = prefs.getString(MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_BACKGROUND_COLOR.getKey(), null);
-        String maxUploadContentSizeStr = prefs.getString(MobileMessagingChatProperty.IN_APP_CHAT_WIDGET_MAX_UPLOAD_CONTENT_SIZE.getKey(), null);
-        long maxUploadContentSize = InAppChatMobileAttachment.DEFAULT_MAX_UPLOAD_CONTENT_SIZE;
-
-        if (StringUtils.isNotBlank(maxUploadContentSizeStr)) {
-            maxUploadContentSize = Long.parseLong(maxUploadContentSizeStr);
-        }
-
-        if (widgetId != null) {
-            return new WidgetInfo(widgetId, widgetTitle, widgetPrimaryColor, widgetBackgroundColor, maxUploadContentSize);
-        }
-        return null;
+        return new PropertyHelper(getContext()).findWidgetInfo();
     }
 
     private void initViews() {
@@ -488,10 +486,33 @@ public class InAppChatFragment extends Fragment implements InAppChatWebViewManag
     @SuppressLint({"AddJavascriptInterface", "SetJavaScriptEnabled"})
     private void initWebView() {
         webView = containerView.findViewById(R.id.ib_lc_wv_in_app_chat);
-        webView.setup(this);
+        InAppChatImpl inAppChat = InAppChatImpl.getInstance(getContext());
+        if (inAppChat.isWebViewPrewarmEnabled()) {
+            webViewHolder = InAppChatWebViewHolder.getInstance(getContext());
+            InAppChatWebView prewarmedWebView = webViewHolder.acquire(getFragmentActivity());
+            if (prewarmedWebView != null) {
+                replaceWebView(prewarmedWebView);
+                isWebViewPrewarmed = true;
+            } else {
+                webView.setup(this, InAppChatWidgetAssetCache.getInstance(getContext()));
+            }
+        } else {
+            webView.setup(this);
+        }
         inAppChatClient = new InAppChatClientImpl(webView);
     }
 
+    private void replaceWebView(InAppChatWebView prewarmedWebView) {
+        int index = mainWindow.indexOfChild(webView);
+        ViewGroup.LayoutParams layoutParams = webView.getLayoutParams();
+        mainWindow.removeView(webView);
+        webView.destroy();
+        prewarmedWebView.setId(R.id.ib_lc_wv_in_app_chat);
+        prewarmedWebView.setVisibility(View.INVISIBLE);
+        mainWindow.addView(prewarmedWebView, index, layoutParams);
+        webView = prewarmedWebView;
+    }
+
     private void initSendButton() {
         sendMessageButton = containerView.findViewById(R.id.ib_lc_iv_send_btn);
         sendMessageButton.setOnClickListener(new View.OnClickListener() {
@@ -508,11 +529,14 @@ public class InAppChatFragment extends Fragment implements InAppChatWebViewManag
 
     private void loadWebPage(Boolean force) {
         if (webView == null) return;
+        // pre-warmed page must not be restarted unless it failed
+        if (isWebViewPrewarmed && webViewHolder.isPageLoadingOrLoaded()) return;
         webView.loadWebPage(force, widgetInfo);
     }
 
     @Override
     public void onPageStarted() {
+        if (inAppChatClient != null) inAppChatClient.setWidgetReady(false);
         spinner.setVisibility(View.VISIBLE);
         webView.setVisibility(View.INVISIBLE);
     }
@@ -529,7 +553,20 @@ public class InAppChatFragment extends Fragment implements InAppChatWebViewManag
         sendMessageButton.setEnabled(isEnabled);
         sendAttachmentButton.setEnabled(isEnabled);
         isWebViewLoaded = isEnabled;
+        if (inAppChatClient != null) inAppChatClient.setWidgetReady(isEnabled);
         if (isEnabled) InAppChatImpl.getInstance(getContext()).resetMessageCounter();
+        if (isEnabled && !timeToInteractiveReported) {
+            timeToInteractiveReported = true;
+            reportTimeToInteractive();
+        }
+    }
+
+    private void reportTimeToInteractive() {
+        long timeToInteractiveMillis = SystemClock.elapsedRealtime() - viewCreatedAtMillis;
+        MobileMessagingLogger.d("[InAppChat] Chat became interactive in " + timeToInteractiveMillis + " ms" + (isWebViewPrewarmed ? ", WebView was pre-warmed" : ""));
+        MobileMessagingCore.getInstance(getContext()).getStats().getMetrics()
+                .timer(isWebViewPrewarmed ? "chat.widget.tti.prewarmed" : "chat.widget.tti.cold")
+                .record(timeToInteractiveMillis, true);
     }
 
     @Override
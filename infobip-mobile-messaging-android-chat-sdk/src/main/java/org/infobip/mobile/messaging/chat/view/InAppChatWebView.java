@@ -14,6 +14,7 @@ import org.infobip.mobile.messaging.chat.InAppChatImpl;
 import org.infobip.mobile.messaging.chat.core.InAppChatMobileImpl;
 import org.infobip.mobile.messaging.chat.core.InAppChatWebViewClient;
 import org.infobip.mobile.messaging.chat.core.InAppChatWebViewManager;
+import org.infobip.mobile.messaging.chat.core.InAppChatWidgetAssetCache;
 import org.infobip.mobile.messaging.util.ResourceLoader;
 
 import static org.infobip.mobile.messaging.chat.utils.CommonUtils.isOSOlderThanKitkat;
@@ -37,8 +38,15 @@ public class InAppChatWebView extends WebView {
         super(context, attrs, defStyleAttr);
     }
 
-    @SuppressLint({"AddJavascriptInterface", "SetJavaScriptEnabled"})
     public void setup(InAppChatWebViewManager webViewManager) {
+        setup(webViewManager, null);
+    }
+
+    /**
+     * @param assetCache cache to serve static widget assets from, null to load them from network
+     */
+    @SuppressLint({"AddJavascriptInterface", "SetJavaScriptEnabled"})
+    public void setup(InAppChatWebViewManager webViewManager, InAppChatWidgetAssetCache assetCache) {
         widgetUri = ResourceLoader.loadStringResourceByName(getContext(), RES_ID_IN_APP_CHAT_WIDGET_URI);
         WebSettings webViewSettings = getSettings();
         webViewSettings.setJavaScriptEnabled(true);
@@ -46,7 +54,7 @@ public class InAppChatWebView extends WebView {
         webViewSettings.setDatabaseEnabled(true);
 
         setClickable(true);
-        setWebViewClient(new InAppChatWebViewClient(webViewManager));
+        setWebViewClient(new InAppChatWebViewClient(webViewManager, assetCache));
         addJavascriptInterface(new InAppChatMobileImpl(webViewManager), IN_APP_CHAT_MOBILE_INTERFACE);
     }
 
@@ -0,0 +1,201 @@
+package org.infobip.mobile.messaging.chat.view;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.view.ViewGroup;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.infobip.mobile.messaging.api.chat.WidgetInfo;
+import org.infobip.mobile.messaging.chat.core.InAppChatWebViewManager;
+import org.infobip.mobile.messaging.chat.core.InAppChatWidgetAssetCache;
+import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
+
+/**
+ * Keeps a chat WebView which is created and loaded off-screen before the chat is opened, so that the chat is interactive
+ * as soon as {@link InAppChatFragment} is shown. The same WebView is reused by subsequent fragment instances.
+ * <p>
+ * WebView is created with application context wrapped into {@link MutableContextWrapper}, the context is switched to
+ * the activity while the WebView is shown. Page and widget events received while no fragment is attached are remembered
+ * and replayed to the fragment which acquires the WebView. All methods must be called on the main thread.
+ */
+public class InAppChatWebViewHolder {
+
+    @SuppressLint("StaticFieldLeak")
+    private static InAppChatWebViewHolder instance;
+
+    private final Context context;
+    private final StateKeepingWebViewManager webViewManager = new StateKeepingWebViewManager();
+    private InAppChatWebView webView;
+    private MutableContextWrapper contextWrapper;
+    private boolean acquired;
+
+    public static synchronized InAppChatWebViewHolder getInstance(Context context) {
+        if (instance == null) {
+            instance = new InAppChatWebViewHolder(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private InAppChatWebViewHolder(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Creates the WebView and starts loading the widget, does nothing if WebView already exists.
+     */
+    @MainThread
+    public void prewarm(@NonNull WidgetInfo widgetInfo) {
+        if (webView != null) {
+            return;
+        }
+        MobileMessagingLogger.d("[InAppChat] Pre-warming chat WebView");
+        contextWrapper = new MutableContextWrapper(context);
+        webView = new InAppChatWebView(contextWrapper);
+        webView.setup(webViewManager, InAppChatWidgetAssetCache.getInstance(context));
+        webView.loadWebPage(true, widgetInfo);
+    }
+
+    /**
+     * @return pre-warmed WebView to show in the given activity or null if it's not created yet or used by another fragment
+     */
+    @MainThread
+    @Nullable
+    public InAppChatWebView acquire(@NonNull Context activityContext) {
+        if (webView == null || acquired) {
+            return null;
+        }
+        acquired = true;
+        contextWrapper.setBaseContext(activityContext);
+        return webView;
+    }
+
+    /**
+     * Forwards events of acquired WebView to the manager and replays events which happened before.
+     */
+    @MainThread
+    public void attach(@NonNull InAppChatWebViewManager manager) {
+        webViewManager.attach(manager);
+    }
+
+    /**
+     * @return true if widget page is being loaded or was loaded without errors
+     */
+    public boolean isPageLoadingOrLoaded() {
+        return webViewManager.pageStarted && !webViewManager.jsError;
+    }
+
+    /**
+     * Detaches acquired WebView from its parent and the fragment, WebView is kept for the next fragment.
+     */
+    @MainThread
+    public void release(InAppChatWebView acquiredWebView) {
+        if (acquiredWebView == null || acquiredWebView != webView) {
+            return;
+        }
+        acquired = false;
+        webViewManager.detach();
+        ViewGroup parent = (ViewGroup) webView.getParent();
+        if (parent != null) {
+            parent.removeView(webView);
+        }
+        contextWrapper.setBaseContext(context);
+    }
+
+    /**
+     * Destroys the WebView, e.g. when user data is removed from chat.
+     */
+    @MainThread
+    public void destroy() {
+        if (webView == null) {
+            return;
+        }
+        release(webView);
+        webView.removeAllViews();
+        webView.destroy();
+        webView = null;
+        contextWrapper = null;
+        webViewManager.reset();
+    }
+
+    private static class StateKeepingWebViewManager implements InAppChatWebViewManager {
+
+        private InAppChatWebViewManager manager;
+        private boolean pageStarted;
+        private boolean pageFinished;
+        private boolean controlsEnabled;
+        private boolean controlsVisible = true;
+        private boolean jsError;
+
+        void attach(InAppChatWebViewManager manager) {
+            this.manager = manager;
+            if (jsError) {
+                manager.onJSError();
+                return;
+            }
+            if (pageFinished) {
+                manager.onPageFinished();
+            } else if (pageStarted) {
+                manager.onPageStarted();
+            }
+            manager.setControlsVisibility(controlsVisible);
+            if (controlsEnabled) {
+                manager.setControlsEnabled(true);
+            }
+        }
+
+        void detach() {
+            manager = null;
+        }
+
+        void reset() {
+            pageStarted = false;
+            pageFinished = false;
+            controlsEnabled = false;
+            controlsVisible = true;
+            jsError = false;
+        }
+
+        @Override
+        public void onPageStarted() {
+            pageStarted = true;
+            pageFinished = false;
+            jsError = false;
+            if (manager != null) manager.onPageStarted();
+        }
+
+        @Override
+        public void onPageFinished() {
+            pageFinished = true;
+            if (manager != null) manager.onPageFinished();
+        }
+
+        @Override
+        public void setControlsEnabled(boolean enabled) {
+            controlsEnabled = enabled;
+            if (manager != null) manager.setControlsEnabled(enabled);
+        }
+
+        @Override
+        public void onJSError() {
+            jsError = true;
+            controlsEnabled = false;
+            if (manager != null) manager.onJSError();
+        }
+
+        @Override
+        public void setControlsVisibility(boolean isVisible) {
+            controlsVisible = isVisible;
+            if (manager != null) manager.setControlsVisibility(isVisible);
+        }
+
+        @Override
+        public void openAttachmentPreview(String url, String type, String caption) {
+            // only makes sense for the chat which is on the screen
+            if (manager != null) manager.openAttachmentPreview(url, type, caption);
+        }
+    }
+}
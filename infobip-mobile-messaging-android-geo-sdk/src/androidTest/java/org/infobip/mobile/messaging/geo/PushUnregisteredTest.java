@@ -147,6 +147,10 @@ public class PushUnregisteredTest extends MobileMessagingTestCase {
     private void verifySeenStatusReporter(VerificationMode verificationMode) throws InterruptedException {
         String[] messageIds = {"1"};
         mobileMessagingCore.setMessagesSeen(messageIds);
+        // seen ids are stored in background
+        for (int i = 0; i < 100 && mobileMessagingCore.getUnreportedSeenMessageIds().length == 0; i++) {
+            Thread.sleep(10);
+        }
         seenStatusReporter.sync();
 
         verify(coreBroadcaster, verificationMode).seenStatusReported(any(String[].class));
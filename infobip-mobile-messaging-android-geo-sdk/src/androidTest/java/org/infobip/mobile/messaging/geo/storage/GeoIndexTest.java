@@ -0,0 +1,118 @@
+package org.infobip.mobile.messaging.geo.storage;
+
+import org.infobip.mobile.messaging.Message;
+import org.infobip.mobile.messaging.geo.Area;
+import org.infobip.mobile.messaging.geo.Geo;
+import org.infobip.mobile.messaging.geo.GeoEventSettings;
+import org.infobip.mobile.messaging.geo.tools.MobileMessagingTestCase;
+import org.infobip.mobile.messaging.platform.Time;
+import org.infobip.mobile.messaging.util.DateTimeUtil;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class GeoIndexTest extends MobileMessagingTestCase {
+
+    private GeoSQLiteMessageStore store;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        store = (GeoSQLiteMessageStore) geoStore;
+    }
+
+    @Test
+    public void test_shouldFindMessagesByAreaIds_caseInsensitive() {
+        createMessage(context, "messageId1", "campaignId1", true, new Area("areaId1", "title", 1.0, 1.0, 100));
+        createMessage(context, "messageId2", "campaignId2", true, new Area("areaId2", "title", 2.0, 2.0, 100));
+
+        Map<Message, List<Area>> messagesAndAreas = store.findMessagesWithAreas(context, Collections.singleton("AREAID2"));
+
+        assertEquals(1, messagesAndAreas.size());
+        Map.Entry<Message, List<Area>> entry = messagesAndAreas.entrySet().iterator().next();
+        assertEquals("messageId2", entry.getKey().getMessageId());
+        assertEquals("areaId2", entry.getValue().get(0).getId());
+    }
+
+    @Test
+    public void test_shouldFindNearestAreas() {
+        createMessage(context, "messageId1", "campaignId1", true,
+                new Area("far", "title", 45.0, 15.0, 100),
+                new Area("near", "title", 45.801, 15.971, 100));
+        createMessage(context, "messageId2", "campaignId2", true,
+                new Area("nearest", "title", 45.8001, 15.9701, 100),
+                new Area("otherContinent", "title", -33.86, 151.2, 100));
+        createMessage(context, "messageId3", "campaignId3", true,
+                new Area("finished", "title", 45.8, 15.97, 100));
+
+        List<GeoIndex.IndexedArea> nearest = store.findNearestAreas(context, 45.8, 15.97, 3, Time.now(), Collections.singleton("campaignId3"));
+
+        assertEquals(3, nearest.size());
+        assertEquals("nearest", nearest.get(0).getArea().getId());
+        assertEquals("messageId2", nearest.get(0).getMessageId());
+        assertEquals("near", nearest.get(1).getArea().getId());
+        assertEquals("far", nearest.get(2).getArea().getId());
+    }
+
+    @Test
+    public void test_shouldFindNearestAreas_byDistanceToAreaEdge() {
+        createMessage(context, "messageId1", "campaignId1", true,
+                new Area("smallNear", "title", 45.81, 15.97, 100),
+                new Area("largeFar", "title", 45.9, 15.97, 20000));
+
+        List<GeoIndex.IndexedArea> nearest = store.findNearestAreas(context, 45.8, 15.97, 1, Time.now(), Collections.<String>emptySet());
+
+        assertEquals(1, nearest.size());
+        assertEquals("largeFar", nearest.get(0).getArea().getId());
+    }
+
+    @Test
+    public void test_shouldUpdateIndex_whenMessagesDeletedOrIdsChanged() {
+        createMessage(context, "messageId1", "campaignId1", true, new Area("areaId1", "title", 1.0, 1.0, 100));
+        createMessage(context, "messageId2", "campaignId2", true, new Area("areaId2", "title", 2.0, 2.0, 100));
+
+        store.deleteByIds(context, new String[]{"messageId1"});
+        store.updateMessageIds(context, Collections.singletonMap("messageId2", "newMessageId2"));
+
+        assertTrue(store.findMessagesWithAreas(context, Collections.singleton("areaId1")).isEmpty());
+        Map<Message, List<Area>> messagesAndAreas = store.findMessagesWithAreas(context, Arrays.asList("areaId1", "areaId2"));
+        assertEquals(1, messagesAndAreas.size());
+        assertEquals("newMessageId2", messagesAndAreas.keySet().iterator().next().getMessageId());
+    }
+
+    @Test
+    public void test_shouldDeleteExpiredMessages_andSelectOnlyEligibleAreas() {
+        long now = Time.now();
+        String hourAgo = DateTimeUtil.ISO8601DateToString(new Date(now - 3600000));
+        String inHour = DateTimeUtil.ISO8601DateToString(new Date(now + 3600000));
+        createMessage(context, "expired", true, geo("campaignId1", hourAgo, null, new Area("areaId1", "title", 1.0, 1.0, 100)));
+        createMessage(context, "active", true, geo("campaignId2", inHour, hourAgo, new Area("areaId2", "title", 2.0, 2.0, 100)));
+        createMessage(context, "notStarted", true, geo("campaignId3", null, inHour, new Area("areaId3", "title", 3.0, 3.0, 100)));
+
+        List<GeoIndex.IndexedArea> eligible = store.findAreasEligibleForMonitoring(context, now);
+        assertEquals(1, eligible.size());
+        assertEquals("areaId2", eligible.get(0).getArea().getId());
+        assertEquals("campaignId2", eligible.get(0).getCampaignId());
+        assertEquals(Long.valueOf(now + 3600000 - (now + 3600000) % 1000), store.findNextStartTime(context, now, Collections.<String>emptySet()));
+
+        assertEquals(1, store.deleteExpired(context, now));
+
+        assertEquals(2, store.countAll(context));
+        assertNull(store.findById(context, "expired"));
+        assertTrue(store.findMessagesWithAreas(context, Collections.singleton("areaId1")).isEmpty());
+    }
+
+    private static Geo geo(String campaignId, String expiryTime, String startTime, Area... areas) {
+        return new Geo(0.0, 0.0, null, expiryTime, startTime, campaignId, Arrays.asList(areas), new ArrayList<GeoEventSettings>(), 0, null);
+    }
+}
@@ -0,0 +1,271 @@
+package org.infobip.mobile.messaging.geo.geofencing;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.infobip.mobile.messaging.geo.Area;
+import org.infobip.mobile.messaging.geo.GeoLatLng;
+import org.infobip.mobile.messaging.geo.storage.GeoGrid;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects geofences to monitor within the platform limit of active geofences per app.
+ * <br>
+ * When there are more areas than the limit, areas nearest to the device location (by distance to area edge, as found by
+ * {@link org.infobip.mobile.messaging.geo.storage.GeoIndex}) are selected and one more "refresh" geofence is requested around
+ * the location. Its radius equals to the distance to the farthest selected area, so while the device stays inside of it
+ * all areas it can enter are monitored; exiting it triggers new selection.
+ * <br>
+ * Selector remembers monitored geofences and returns only the difference between consecutive selections.
+ *
+ * @since 18/10/2026.
+ */
+public class GeofenceSelector {
+
+    /**
+     * Maximum number of active geofences per app supported by Google Location Services
+     */
+    public static final int MAX_GEOFENCES = 100;
+
+    /**
+     * Request id of geofence which triggers new selection when device leaves it
+     */
+    public static final String REFRESH_GEOFENCE_ID = "org.infobip.mobile.messaging.geo.REFRESH_GEOFENCES";
+
+    /**
+     * Smallest radius of geofence recommended by Google Location Services
+     */
+    static final int MIN_REFRESH_RADIUS_METERS = 100;
+
+    private final int maxGeofences;
+    private final Map<String, Candidate> monitored = new HashMap<>();
+    private boolean synced;
+
+    /**
+     * Area eligible for monitoring together with expiry date of its campaign
+     */
+    public static class Candidate {
+        private final Area area;
+        private final Date expiryDate;
+
+        public Candidate(@NonNull Area area, @Nullable Date expiryDate) {
+            this.area = area;
+            this.expiryDate = expiryDate;
+        }
+
+        public Area getArea() {
+            return area;
+        }
+
+        public Date getExpiryDate() {
+            return expiryDate;
+        }
+
+        boolean isSameGeofence(Candidate other) {
+            return area.getLatitude().equals(other.area.getLatitude()) &&
+                    area.getLongitude().equals(other.area.getLongitude()) &&
+                    area.getRadius().equals(other.area.getRadius()) &&
+                    (expiryDate == null ? other.expiryDate == null : expiryDate.equals(other.expiryDate));
+        }
+    }
+
+    /**
+     * Result of selection: all selected areas and changes which have to be applied to monitored geofences
+     */
+    public static class Selection {
+        private final List<Candidate> selected;
+        private final List<Candidate> toAdd;
+        private final List<String> toRemove;
+        private final boolean fullReplace;
+        private final GeoLatLng refreshCenter;
+        private final int refreshRadiusMeters;
+        private final boolean refreshChanged;
+
+        Selection(List<Candidate> selected, List<Candidate> toAdd, List<String> toRemove, boolean fullReplace,
+                  GeoLatLng refreshCenter, int refreshRadiusMeters, boolean refreshChanged) {
+            this.selected = selected;
+            this.toAdd = toAdd;
+            this.toRemove = toRemove;
+            this.fullReplace = fullReplace;
+            this.refreshCenter = refreshCenter;
+            this.refreshRadiusMeters = refreshRadiusMeters;
+            this.refreshChanged = refreshChanged;
+        }
+
+        /**
+         * @return all areas which should be monitored
+         */
+        @NonNull
+        public List<Candidate> getSelected() {
+            return selected;
+        }
+
+        /**
+         * @return areas which are not monitored yet or which changed
+         */
+        @NonNull
+        public List<Candidate> getToAdd() {
+            return toAdd;
+        }
+
+        /**
+         * @return request ids of geofences which should not be monitored anymore
+         */
+        @NonNull
+        public List<String> getToRemove() {
+            return toRemove;
+        }
+
+        /**
+         * @return true if monitored geofences are unknown and all of them should be removed before adding selected ones
+         */
+        public boolean isFullReplace() {
+            return fullReplace;
+        }
+
+        /**
+         * @return center of refresh geofence or null if refresh geofence is not needed
+         */
+        @Nullable
+        public GeoLatLng getRefreshCenter() {
+            return refreshCenter;
+        }
+
+        public int getRefreshRadiusMeters() {
+            return refreshRadiusMeters;
+        }
+
+        /**
+         * @return true if refresh geofence should be (re)added
+         */
+        public boolean isRefreshChanged() {
+            return refreshChanged;
+        }
+
+        public boolean hasChanges() {
+            return fullReplace || !toAdd.isEmpty() || !toRemove.isEmpty() || refreshChanged;
+        }
+    }
+
+    public GeofenceSelector() {
+        this(MAX_GEOFENCES);
+    }
+
+    GeofenceSelector(int maxGeofences) {
+        this.maxGeofences = maxGeofences;
+    }
+
+    /**
+     * Selects areas to monitor without refresh geofence and calculates difference from currently monitored geofences.
+     * If there are more areas than the limit, the first ones are taken. Selection is considered applied,
+     * call {@link #reset()} if geofences could not be updated.
+     *
+     * @param candidates all areas eligible for monitoring, area ids must be unique
+     * @return selection
+     */
+    @NonNull
+    public synchronized Selection select(@NonNull Collection<Candidate> candidates) {
+        List<Candidate> selected = new ArrayList<>(candidates);
+        if (selected.size() > maxGeofences) {
+            selected = selected.subList(0, maxGeofences);
+        }
+        return apply(selected, null, 0);
+    }
+
+    /**
+     * Selects areas nearest to the device location together with refresh geofence around it
+     * and calculates difference from currently monitored geofences. Selection is considered applied,
+     * call {@link #reset()} if geofences could not be updated.
+     *
+     * @param nearestCandidates areas eligible for monitoring ordered by distance of area edge from the location,
+     *                          area ids must be unique
+     * @param location          device location
+     * @return selection
+     */
+    @NonNull
+    public synchronized Selection selectNearest(@NonNull List<Candidate> nearestCandidates, @NonNull GeoLatLng location) {
+        if (nearestCandidates.isEmpty()) {
+            return apply(nearestCandidates, null, 0);
+        }
+
+        // one geofence is reserved for the refresh geofence
+        List<Candidate> selected = nearestCandidates.size() >= maxGeofences ? nearestCandidates.subList(0, maxGeofences - 1) : nearestCandidates;
+        Candidate farthest = selected.get(selected.size() - 1);
+        int refreshRadius = (int) Math.max(MIN_REFRESH_RADIUS_METERS, edgeDistanceMeters(farthest, location.getLat(), location.getLng()));
+        return apply(selected, location, refreshRadius);
+    }
+
+    private Selection apply(List<Candidate> selected, GeoLatLng refreshCenter, int refreshRadius) {
+        Map<String, Candidate> selectedById = new LinkedHashMap<>(selected.size());
+        for (Candidate candidate : selected) {
+            selectedById.put(candidate.getArea().getId(), candidate);
+        }
+
+        boolean fullReplace = !synced;
+        Candidate refresh = refreshCenter == null ? null : new Candidate(new Area(REFRESH_GEOFENCE_ID, null,
+                refreshCenter.getLat(), refreshCenter.getLng(), refreshRadius), null);
+        Candidate currentRefresh = monitored.get(REFRESH_GEOFENCE_ID);
+        boolean refreshChanged = refresh != null && (fullReplace || currentRefresh == null || !currentRefresh.isSameGeofence(refresh));
+
+        List<Candidate> toAdd = new ArrayList<>();
+        List<String> toRemove = new ArrayList<>();
+        for (Candidate candidate : selectedById.values()) {
+            Candidate current = monitored.get(candidate.getArea().getId());
+            if (fullReplace || current == null || !current.isSameGeofence(candidate)) {
+                toAdd.add(candidate);
+            }
+        }
+        if (!fullReplace) {
+            for (String id : monitored.keySet()) {
+                if (!selectedById.containsKey(id) && !REFRESH_GEOFENCE_ID.equals(id)) {
+                    toRemove.add(id);
+                }
+            }
+            if (refresh == null && currentRefresh != null) {
+                toRemove.add(REFRESH_GEOFENCE_ID);
+            }
+        }
+
+        monitored.clear();
+        monitored.putAll(selectedById);
+        if (refresh != null) {
+            monitored.put(REFRESH_GEOFENCE_ID, refresh);
+        }
+        synced = true;
+
+        return new Selection(Collections.unmodifiableList(new ArrayList<>(selectedById.values())), toAdd, toRemove,
+                fullReplace, refreshCenter, refreshRadius, refreshChanged);
+    }
+
+    /**
+     * Forgets monitored geofences, next selection will replace all geofences
+     */
+    public synchronized void reset() {
+        monitored.clear();
+        synced = false;
+    }
+
+    /**
+     * @return true if selector has applied selection with at least one geofence
+     */
+    public synchronized boolean hasMonitoredGeofences() {
+        return synced && !monitored.isEmpty();
+    }
+
+    /**
+     * Returns distance from location to area edge, negative if location is inside of area
+     */
+    static double edgeDistanceMeters(Candidate candidate, double latitude, double longitude) {
+        Area area = candidate.getArea();
+        return GeoGrid.edgeDistanceMeters(latitude, longitude, area.getLatitude(), area.getLongitude(), area.getRadius());
+    }
+
+}
@@ -8,6 +8,7 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
 import android.content.pm.PackageManager;
+import android.location.Location;
 import android.location.LocationManager;
 import android.os.Build;
 import androidx.annotation.NonNull;
@@ -29,9 +30,11 @@ import org.infobip.mobile.messaging.geo.Area;
 import org.infobip.mobile.messaging.geo.BootReceiver;
 import org.infobip.mobile.messaging.geo.Geo;
 import org.infobip.mobile.messaging.geo.GeoEnabledConsistencyReceiver;
+import org.infobip.mobile.messaging.geo.GeoLatLng;
 import org.infobip.mobile.messaging.geo.GeofencingConsistencyIntentService;
 import org.infobip.mobile.messaging.geo.GeofencingConsistencyReceiver;
 import org.infobip.mobile.messaging.geo.mapper.GeoDataMapper;
+import org.infobip.mobile.messaging.geo.storage.GeoIndex;
 import org.infobip.mobile.messaging.geo.storage.GeoSQLiteMessageStore;
 import org.infobip.mobile.messaging.geo.transition.GeofenceTransitionsIntentService;
 import org.infobip.mobile.messaging.geo.transition.GeofenceTransitionsReceiver;
@@ -43,6 +46,7 @@ import org.infobip.mobile.messaging.util.ComponentUtil;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,6 +61,8 @@ public class GeofencingImpl extends Geofencing {
     private final GeofencingHelper geofencingHelper;
     private final GeofencingClient mGeofencingClient;
     private final MessageStore messageStore;
+    private final GeofenceSelector geofenceSelector;
+    private final Map<String, Pair<String, Geo>> parsedGeos;
     private List<Geofence> geofences;
     private PendingIntent geofencePendingIntent;
     private GoogleApiClientRequestType requestType;
@@ -71,6 +77,8 @@ public class GeofencingImpl extends Geofencing {
         this.context = context;
         requestType = GoogleApiClientRequestType.NONE;
         geofences = new ArrayList<>();
+        geofenceSelector = new GeofenceSelector();
+        parsedGeos = new HashMap<>();
         geofencingHelper = new GeofencingHelper(context);
         messageStore = geofencingHelper.getMessageStoreForGeo();
         mGeofencingClient = LocationServices.getGeofencingClient(context);
@@ -105,61 +113,43 @@ public class GeofencingImpl extends Geofencing {
 
     void removeExpiredAreasFromStorage() {
         GeoSQLiteMessageStore messageStoreForGeo = (GeoSQLiteMessageStore) geofencingHelper.getMessageStoreForGeo();
-        List<Message> messages = messageStoreForGeo.findAll(context);
-        List<String> messageIdsToDelete = new ArrayList<>(messages.size());
-        Date now = Time.date();
-
-        for (Message message : messages) {
-            Geo geo = GeoDataMapper.geoFromInternalData(message.getInternalData());
-            if (geo == null) {
-                continue;
-            }
-
-            List<Area> areasList = geo.getAreasList();
-            Date expiryDate = geo.getExpiryDate();
-
-            if (areasList == null || areasList.isEmpty()) {
-                continue;
-            }
-
-            for (Area area : areasList) {
-                if (!area.isValid() || expiryDate == null) {
-                    continue;
-                }
-
-                if (expiryDate.before(now)) {
-                    messageIdsToDelete.add(message.getMessageId());
-                }
-            }
-        }
-
-        if (!messageIdsToDelete.isEmpty()) {
-            messageStoreForGeo.deleteByIds(context, messageIdsToDelete.toArray(new String[]{}));
+        int deleted = messageStoreForGeo.deleteExpired(context, Time.now());
+        if (deleted > 0) {
+            MobileMessagingLogger.d(TAG, "Removed " + deleted + " expired geo messages");
         }
     }
 
     @VisibleForTesting
     public Pair<List<Geofence>, Pair<Date, Date>> calculateGeofencesToMonitorDates(MessageStore messageStore) {
-        return calculateGeofencesToMonitorAndNextCheckDates(messageStore);
+        Pair<List<GeofenceSelector.Candidate>, Pair<Date, Date>> tuple = calculateAreasToMonitorAndNextCheckDates(messageStore);
+        List<Geofence> geofenceList = new ArrayList<>(tuple.first.size());
+        for (GeofenceSelector.Candidate candidate : tuple.first) {
+            geofenceList.add(candidate.getArea().toGeofence(candidate.getExpiryDate()));
+        }
+        return new Pair<>(geofenceList, tuple.second);
     }
 
     @SuppressWarnings("WeakerAccess")
-    private Pair<List<Geofence>, Pair<Date, Date>> calculateGeofencesToMonitorAndNextCheckDates(MessageStore messageStore) {
+    private Pair<List<GeofenceSelector.Candidate>, Pair<Date, Date>> calculateAreasToMonitorAndNextCheckDates(MessageStore messageStore) {
+        if (messageStore instanceof GeoSQLiteMessageStore) {
+            return calculateAreasToMonitorAndNextCheckDates((GeoSQLiteMessageStore) messageStore);
+        }
+
         Date nextCheckRefreshDate = null;
         Date nextCheckExpireDate = null;
-        Map<String, Geofence> geofences = new HashMap<>();
-        Map<String, Date> expiryDates = new HashMap<>();
+        Map<String, GeofenceSelector.Candidate> candidates = new LinkedHashMap<>();
         List<Message> messages = messageStore.findAll(context);
+        final Set<String> finishedCampaignIds = GeofencingHelper.getFinishedCampaignIds(context);
+        Map<String, Pair<String, Geo>> currentGeos = new HashMap<>(messages.size());
 
         for (Message message : messages) {
-            Geo geo = GeoDataMapper.geoFromInternalData(message.getInternalData());
+            Geo geo = parseGeo(message, currentGeos);
             if (geo == null || geo.getAreasList() == null || geo.getAreasList().isEmpty()) {
                 continue;
             }
 
             nextCheckExpireDate = calculateNextCheckDateForGeoExpiry(geo, nextCheckExpireDate);
 
-            final Set<String> finishedCampaignIds = GeofencingHelper.getFinishedCampaignIds(context);
             if (finishedCampaignIds.contains(geo.getCampaignId())) {
                 continue;
             }
@@ -171,21 +161,93 @@ public class GeofencingImpl extends Geofencing {
                         continue;
                     }
 
-                    Date expiry = expiryDates.get(area.getId());
+                    GeofenceSelector.Candidate existing = candidates.get(area.getId());
+                    Date expiry = existing != null ? existing.getExpiryDate() : null;
                     if (expiry != null && expiry.after(geo.getExpiryDate())) {
                         continue;
                     }
 
-                    expiryDates.put(area.getId(), geo.getExpiryDate());
-                    geofences.put(area.getId(), area.toGeofence(geo.getExpiryDate()));
+                    candidates.put(area.getId(), new GeofenceSelector.Candidate(area, geo.getExpiryDate()));
                 }
             }
 
             nextCheckRefreshDate = calculateNextCheckDateForGeoStart(geo, nextCheckRefreshDate);
         }
 
-        List<Geofence> geofenceList = new ArrayList<>(geofences.values());
-        return new Pair<>(geofenceList, new Pair<>(nextCheckRefreshDate, nextCheckExpireDate));
+        synchronized (parsedGeos) {
+            parsedGeos.clear();
+            parsedGeos.putAll(currentGeos);
+        }
+
+        List<GeofenceSelector.Candidate> candidateList = new ArrayList<>(candidates.values());
+        return new Pair<>(candidateList, new Pair<>(nextCheckRefreshDate, nextCheckExpireDate));
+    }
+
+    /**
+     * Calculates areas to monitor and next check dates using indexed campaign data, without loading and parsing stored messages
+     */
+    private Pair<List<GeofenceSelector.Candidate>, Pair<Date, Date>> calculateAreasToMonitorAndNextCheckDates(GeoSQLiteMessageStore messageStore) {
+        long now = Time.now();
+        Set<String> finishedCampaignIds = GeofencingHelper.getFinishedCampaignIds(context);
+        return new Pair<>(calculateAreasToMonitor(messageStore, now, finishedCampaignIds),
+                calculateNextCheckDates(messageStore, now, finishedCampaignIds));
+    }
+
+    private List<GeofenceSelector.Candidate> calculateAreasToMonitor(GeoSQLiteMessageStore messageStore, long now, Set<String> finishedCampaignIds) {
+        Map<String, GeofenceSelector.Candidate> candidates = new LinkedHashMap<>();
+        for (GeoIndex.IndexedArea indexedArea : messageStore.findAreasEligibleForMonitoring(context, now)) {
+            if (finishedCampaignIds.contains(indexedArea.getCampaignId())) {
+                continue;
+            }
+
+            Area area = indexedArea.getArea();
+            Date expiryDate = indexedArea.getExpiryDate();
+            GeofenceSelector.Candidate existing = candidates.get(area.getId());
+            Date expiry = existing != null ? existing.getExpiryDate() : null;
+            if (expiry != null && expiryDate != null && expiry.after(expiryDate)) {
+                continue;
+            }
+
+            candidates.put(area.getId(), new GeofenceSelector.Candidate(area, expiryDate));
+        }
+        return new ArrayList<>(candidates.values());
+    }
+
+    /**
+     * Finds areas nearest to the location using spatial area index, leaving one geofence for the refresh geofence
+     */
+    private List<GeofenceSelector.Candidate> calculateNearestAreasToMonitor(GeoSQLiteMessageStore messageStore, GeoLatLng location, long now, Set<String> finishedCampaignIds) {
+        List<GeoIndex.IndexedArea> nearestAreas = messageStore.findNearestAreas(context, location.getLat(), location.getLng(),
+                GeofenceSelector.MAX_GEOFENCES - 1, now, finishedCampaignIds);
+        List<GeofenceSelector.Candidate> candidates = new ArrayList<>(nearestAreas.size());
+        for (GeoIndex.IndexedArea indexedArea : nearestAreas) {
+            candidates.add(new GeofenceSelector.Candidate(indexedArea.getArea(), indexedArea.getExpiryDate()));
+        }
+        return candidates;
+    }
+
+    private Pair<Date, Date> calculateNextCheckDates(GeoSQLiteMessageStore messageStore, long now, Set<String> finishedCampaignIds) {
+        Long earliestExpiryTime = messageStore.findEarliestExpiryTime(context);
+        Date nextCheckExpireDate = earliestExpiryTime != null ? new Date(Math.max(earliestExpiryTime, now)) : null;
+        Long nextStartTime = messageStore.findNextStartTime(context, now, finishedCampaignIds);
+        Date nextCheckRefreshDate = nextStartTime != null ? new Date(nextStartTime) : null;
+        return new Pair<>(nextCheckRefreshDate, nextCheckExpireDate);
+    }
+
+    /**
+     * Returns geo data of message, data is parsed only if internal data of message changed since the previous calculation
+     */
+    private Geo parseGeo(Message message, Map<String, Pair<String, Geo>> currentGeos) {
+        String internalData = message.getInternalData();
+        Pair<String, Geo> parsed;
+        synchronized (parsedGeos) {
+            parsed = parsedGeos.get(message.getMessageId());
+        }
+        if (parsed == null || (parsed.first == null ? internalData != null : !parsed.first.equals(internalData))) {
+            parsed = new Pair<>(internalData, GeoDataMapper.geoFromInternalData(internalData));
+        }
+        currentGeos.put(message.getMessageId(), parsed);
+        return parsed.second;
     }
 
     private static Date calculateNextCheckDateForGeoStart(Geo geo, Date oldCheckDate) {
@@ -245,15 +307,116 @@ public class GeofencingImpl extends Geofencing {
             return;
         }
 
-        Pair<List<Geofence>, Pair<Date, Date>> tuple = calculateGeofencesToMonitorAndNextCheckDates(messageStore);
-        Date nextRefreshDate = tuple.second.first;
-        Date nextExpireDate = tuple.second.second;
+        if (messageStore instanceof GeoSQLiteMessageStore) {
+            startGeoMonitoring((GeoSQLiteMessageStore) messageStore);
+            return;
+        }
+
+        Pair<List<GeofenceSelector.Candidate>, Pair<Date, Date>> tuple = calculateAreasToMonitorAndNextCheckDates(messageStore);
+        scheduleRefresh(context, tuple.second.first);
+        scheduleExpiry(context, tuple.second.second);
+
+        List<GeofenceSelector.Candidate> candidates = tuple.first;
+        if (candidates.isEmpty() && !geofenceSelector.hasMonitoredGeofences()) {
+            return;
+        }
+        updateGeofences(geofenceSelector.select(candidates));
+    }
+
+    /**
+     * Monitors all eligible areas if they fit into the geofence limit, otherwise only areas nearest to the last known location
+     */
+    @SuppressWarnings("MissingPermission")
+    private void startGeoMonitoring(final GeoSQLiteMessageStore messageStore) {
+        final long now = Time.now();
+        final Set<String> finishedCampaignIds = GeofencingHelper.getFinishedCampaignIds(context);
+        Pair<Date, Date> nextCheckDates = calculateNextCheckDates(messageStore, now, finishedCampaignIds);
+        scheduleRefresh(context, nextCheckDates.first);
+        scheduleExpiry(context, nextCheckDates.second);
+
+        if (messageStore.countAreasEligibleForMonitoring(context, now) <= GeofenceSelector.MAX_GEOFENCES) {
+            List<GeofenceSelector.Candidate> candidates = calculateAreasToMonitor(messageStore, now, finishedCampaignIds);
+            if (candidates.isEmpty() && !geofenceSelector.hasMonitoredGeofences()) {
+                return;
+            }
+            updateGeofences(geofenceSelector.select(candidates));
+            return;
+        }
+
+        LocationServices.getFusedLocationProviderClient(context).getLastLocation()
+                .addOnCompleteListener(new OnCompleteListener<Location>() {
+                    @Override
+                    public void onComplete(@NonNull Task<Location> task) {
+                        Location location = task.isSuccessful() ? task.getResult() : null;
+                        if (location == null) {
+                            updateGeofences(geofenceSelector.select(calculateAreasToMonitor(messageStore, now, finishedCampaignIds)));
+                            return;
+                        }
+
+                        GeoLatLng lastKnownLocation = new GeoLatLng(location.getLatitude(), location.getLongitude());
+                        updateGeofences(geofenceSelector.selectNearest(
+                                calculateNearestAreasToMonitor(messageStore, lastKnownLocation, now, finishedCampaignIds), lastKnownLocation));
+                    }
+                });
+    }
+
+    /**
+     * Applies only the changes of selected geofences, all geofences are replaced only if monitored geofences are unknown
+     */
+    @SuppressWarnings("MissingPermission")
+    private void updateGeofences(final GeofenceSelector.Selection selection) {
+        if (!selection.hasChanges()) {
+            GeofencingHelper.setAllActiveGeoAreasMonitored(context, true);
+            return;
+        }
+
+        MobileMessagingLogger.d(TAG, "Monitoring " + selection.getSelected().size() + " areas, adding " +
+                selection.getToAdd().size() + ", removing " + selection.getToRemove().size());
 
-        scheduleRefresh(context, nextRefreshDate);
-        scheduleExpiry(context, nextExpireDate);
+        geofences = new ArrayList<>(selection.getToAdd().size() + 1);
+        for (GeofenceSelector.Candidate candidate : selection.getToAdd()) {
+            geofences.add(candidate.getArea().toGeofence(candidate.getExpiryDate()));
+        }
+        GeoLatLng refreshCenter = selection.getRefreshCenter();
+        if (refreshCenter != null && selection.isRefreshChanged()) {
+            geofences.add(new Geofence.Builder()
+                    .setCircularRegion(refreshCenter.getLat(), refreshCenter.getLng(), selection.getRefreshRadiusMeters())
+                    .setRequestId(GeofenceSelector.REFRESH_GEOFENCE_ID)
+                    .setTransitionTypes(Geofence.GEOFENCE_TRANSITION_EXIT)
+                    .setExpirationDuration(Geofence.NEVER_EXPIRE)
+                    .build());
+        }
+
+        Task<Void> removal = null;
+        if (selection.isFullReplace()) {
+            removal = mGeofencingClient.removeGeofences(geofencePendingIntent());
+        } else if (!selection.getToRemove().isEmpty()) {
+            removal = mGeofencingClient.removeGeofences(selection.getToRemove());
+        }
 
-        geofences = tuple.first;
+        if (removal == null) {
+            addGeofences();
+            return;
+        }
+
+        requestType = GoogleApiClientRequestType.REMOVE_GEOFENCES;
+        removal.addOnCompleteListener(new OnCompleteListener<Void>() {
+            @Override
+            public void onComplete(@NonNull Task<Void> task) {
+                logGeofenceStatus(task, false);
+                requestType = GoogleApiClientRequestType.NONE;
+                if (!task.isSuccessful()) {
+                    geofenceSelector.reset();
+                }
+                addGeofences();
+            }
+        });
+    }
+
+    @SuppressWarnings("MissingPermission")
+    private void addGeofences() {
         if (geofences.isEmpty()) {
+            GeofencingHelper.setAllActiveGeoAreasMonitored(context, true);
             return;
         }
 
@@ -265,6 +428,9 @@ public class GeofencingImpl extends Geofencing {
                     public void onComplete(@NonNull Task<Void> task) {
                         logGeofenceStatus(task, true);
                         requestType = GoogleApiClientRequestType.NONE;
+                        if (!task.isSuccessful()) {
+                            geofenceSelector.reset();
+                        }
                         GeofencingHelper.setAllActiveGeoAreasMonitored(context, task.isSuccessful());
                     }
                 });
@@ -273,6 +439,7 @@ public class GeofencingImpl extends Geofencing {
     @Override
     public void stopGeoMonitoring() {
         GeofencingHelper.setAllActiveGeoAreasMonitored(context, false);
+        geofenceSelector.reset();
 
         if (!checkRequiredPermissions()) {
             return;
@@ -15,6 +15,7 @@ import org.infobip.mobile.messaging.geo.GeoEventType;
 import org.infobip.mobile.messaging.geo.GeoLatLng;
 import org.infobip.mobile.messaging.geo.geofencing.GeofencingHelper;
 import org.infobip.mobile.messaging.geo.mapper.GeoDataMapper;
+import org.infobip.mobile.messaging.geo.storage.GeoSQLiteMessageStore;
 import org.infobip.mobile.messaging.geo.transition.GeoNotificationHelper;
 import org.infobip.mobile.messaging.platform.Time;
 import org.infobip.mobile.messaging.storage.MessageStore;
@@ -24,6 +25,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -264,11 +266,16 @@ public class GeoReportHelper {
      */
     @NonNull
     public static Map<Message, List<Area>> findSignalingMessagesAndAreas(Context context, MessageStore messageStore, Set<String> requestIds, @NonNull GeoEventType event) {
+        Map<Message, List<Area>> triggeredMessagesAndAreas = messageStore instanceof GeoSQLiteMessageStore ?
+                ((GeoSQLiteMessageStore) messageStore).findMessagesWithAreas(context, requestIds) :
+                findMessagesWithAreas(context, messageStore, requestIds);
+
         Date now = Time.date();
         Map<Message, List<Area>> messagesAndAreas = new ArrayMap<>();
-        for (Message message : messageStore.findAll(context)) {
+        for (Map.Entry<Message, List<Area>> entry : triggeredMessagesAndAreas.entrySet()) {
+            Message message = entry.getKey();
             Geo geo = GeoDataMapper.geoFromInternalData(message.getInternalData());
-            if (geo == null || geo.getAreasList() == null || geo.getAreasList().isEmpty()) {
+            if (geo == null) {
                 continue;
             }
 
@@ -278,18 +285,39 @@ public class GeoReportHelper {
                 continue;
             }
 
-            List<Area> campaignAreas = geo.getAreasList();
-            List<Area> triggeredAreas = new ArrayList<>();
-            for (Area area : campaignAreas) {
-                for (String requestId : requestIds) {
-                    if (!requestId.equalsIgnoreCase(area.getId())) {
-                        continue;
-                    }
+            if (!GeoNotificationHelper.shouldReportTransition(context, geo, event)) {
+                continue;
+            }
 
-                    if (!GeoNotificationHelper.shouldReportTransition(context, geo, event)) {
-                        continue;
-                    }
+            messagesAndAreas.put(message, entry.getValue());
+        }
+
+        return filterOverlappingAreas(messagesAndAreas);
+    }
 
+    /**
+     * Scans all messages of the store for areas with provided ids, used for stores without area index
+     *
+     * @param messageStore message store to look messages for
+     * @param requestIds   area ids, compared case insensitive
+     * @return messages and their areas with matching ids
+     */
+    private static Map<Message, List<Area>> findMessagesWithAreas(Context context, MessageStore messageStore, Set<String> requestIds) {
+        Set<String> areaIds = new ArraySet<>(requestIds.size());
+        for (String requestId : requestIds) {
+            areaIds.add(requestId.toLowerCase(Locale.ROOT));
+        }
+
+        Map<Message, List<Area>> messagesAndAreas = new ArrayMap<>();
+        for (Message message : messageStore.findAll(context)) {
+            Geo geo = GeoDataMapper.geoFromInternalData(message.getInternalData());
+            if (geo == null || geo.getAreasList() == null || geo.getAreasList().isEmpty()) {
+                continue;
+            }
+
+            List<Area> triggeredAreas = new ArrayList<>();
+            for (Area area : geo.getAreasList()) {
+                if (area.getId() != null && areaIds.contains(area.getId().toLowerCase(Locale.ROOT))) {
                     triggeredAreas.add(area);
                 }
             }
@@ -298,8 +326,7 @@ public class GeoReportHelper {
                 messagesAndAreas.put(message, triggeredAreas);
             }
         }
-
-        return filterOverlappingAreas(messagesAndAreas);
+        return messagesAndAreas;
     }
 
     /**
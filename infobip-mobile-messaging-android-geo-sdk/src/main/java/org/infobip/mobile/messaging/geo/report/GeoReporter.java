@@ -81,6 +81,7 @@ public class GeoReporter {
                 GeoAreasHandler.handleGeoReportingResult(context, new GeoReportingResult(error));
             }
         }
+        .measureWith(stats.getMetrics().timer("sync.geo"))
         .retryWith(retryPolicy)
         .execute(reports);
     }
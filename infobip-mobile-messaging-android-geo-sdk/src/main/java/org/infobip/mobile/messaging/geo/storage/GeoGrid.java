@@ -0,0 +1,89 @@
+package org.infobip.mobile.messaging.geo.storage;
+
+/**
+ * Fixed size latitude/longitude grid used for spatial indexing of geo areas.
+ *
+ * @since 18/10/2026.
+ */
+public final class GeoGrid {
+
+    /**
+     * Size of one grid cell in degrees, about 11 km of latitude
+     */
+    public static final double CELL_SIZE_DEGREES = 0.1;
+
+    static final int CELLS_X = (int) Math.ceil(360 / CELL_SIZE_DEGREES);
+    static final int CELLS_Y = (int) Math.ceil(180 / CELL_SIZE_DEGREES);
+
+    private static final double EARTH_RADIUS_METERS = 6371000;
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_METERS;
+
+    private GeoGrid() {
+    }
+
+    public static int cellX(double longitude) {
+        return clamp((int) Math.floor((longitude + 180) / CELL_SIZE_DEGREES), CELLS_X - 1);
+    }
+
+    public static int cellY(double latitude) {
+        return clamp((int) Math.floor((latitude + 90) / CELL_SIZE_DEGREES), CELLS_Y - 1);
+    }
+
+    /**
+     * Calculates great-circle distance between two points
+     *
+     * @return distance in meters
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /**
+     * Calculates distance from the point to the edge of a circular area, this is the distance used to rank areas
+     *
+     * @return distance in meters, negative if the point is inside of the area
+     */
+    public static double edgeDistanceMeters(double latitude, double longitude, double areaLatitude, double areaLongitude, double radiusMeters) {
+        return distanceMeters(latitude, longitude, areaLatitude, areaLongitude) - radiusMeters;
+    }
+
+    /**
+     * Returns distance from the point to the nearest edge of a square of cells around the point's cell.
+     * All points outside of the square are guaranteed to be at least this far away.
+     *
+     * @param latitude  latitude of the point
+     * @param longitude longitude of the point
+     * @param ring      number of cells around the point's cell in each direction
+     * @return distance in meters
+     */
+    public static double coveredRadiusMeters(double latitude, double longitude, int ring) {
+        int cx = cellX(longitude);
+        int cy = cellY(latitude);
+        // grid does not wrap around, so edges are limited to the grid bounds to stay conservative
+        double south = Math.max(-90, (cy - ring) * CELL_SIZE_DEGREES - 90);
+        double north = Math.min(90, (cy + ring + 1) * CELL_SIZE_DEGREES - 90);
+        double west = Math.max(-180, (cx - ring) * CELL_SIZE_DEGREES - 180);
+        double east = Math.min(180, (cx + ring + 1) * CELL_SIZE_DEGREES - 180);
+
+        double latDegrees = Math.min(latitude - south, north - latitude);
+        double maxAbsLatitude = Math.max(Math.abs(south), Math.abs(north));
+        double lngDegrees = Math.min(longitude - west, east - longitude);
+        double lngMeters = lngDegrees * METERS_PER_DEGREE * Math.cos(Math.toRadians(maxAbsLatitude));
+        return Math.max(0, Math.min(latDegrees * METERS_PER_DEGREE, lngMeters));
+    }
+
+    /**
+     * @return true if square of cells around the point's cell covers whole grid
+     */
+    public static boolean coversWholeGrid(int ring) {
+        return ring >= Math.max(CELLS_X, CELLS_Y);
+    }
+
+    private static int clamp(int cell, int max) {
+        return Math.max(0, Math.min(cell, max));
+    }
+}
@@ -0,0 +1,617 @@
+package org.infobip.mobile.messaging.geo.storage;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.infobip.mobile.messaging.Message;
+import org.infobip.mobile.messaging.MobileMessagingCore;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.GeoAreaColumns;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.GeoCampaignColumns;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.GeoEventColumns;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.Tables;
+import org.infobip.mobile.messaging.geo.Area;
+import org.infobip.mobile.messaging.geo.DeliveryTime;
+import org.infobip.mobile.messaging.geo.Geo;
+import org.infobip.mobile.messaging.geo.GeoEventSettings;
+import org.infobip.mobile.messaging.geo.mapper.GeoDataMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Structured, indexed copy of geo data of stored geo messages.
+ * <br>
+ * Campaign data (campaign id, start and expiry times, delivery time), event settings and areas of each geo message are kept
+ * in separate tables next to the message itself. Areas are keyed by area id (case insensitive) for transition lookups and
+ * by spatial grid cell of area center (see {@link GeoGrid}) for nearest area lookups, campaigns are indexed by campaign id
+ * and expiry time. Index is updated incrementally by {@link GeoSQLiteMessageStore} when geo messages are saved or deleted,
+ * so geo data of each message is parsed only once, on save.
+ *
+ * @since 18/10/2026.
+ */
+public class GeoIndex {
+
+    /**
+     * SQLite default limit of host parameters in one statement is 999
+     */
+    private static final int MAX_SQL_ARGUMENTS = 500;
+
+    private static final String SQL_INSERT_AREA = "INSERT OR REPLACE INTO " + Tables.GEO_AREAS + " (" +
+            GeoAreaColumns.MESSAGE_ID + ", " +
+            GeoAreaColumns.AREA_ID + ", " +
+            GeoAreaColumns.TITLE + ", " +
+            GeoAreaColumns.LATITUDE + ", " +
+            GeoAreaColumns.LONGITUDE + ", " +
+            GeoAreaColumns.RADIUS + ", " +
+            GeoAreaColumns.CELL_X + ", " +
+            GeoAreaColumns.CELL_Y + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_INSERT_CAMPAIGN = "INSERT OR REPLACE INTO " + Tables.GEO_CAMPAIGNS + " (" +
+            GeoCampaignColumns.MESSAGE_ID + ", " +
+            GeoCampaignColumns.CAMPAIGN_ID + ", " +
+            GeoCampaignColumns.START_TIME + ", " +
+            GeoCampaignColumns.EXPIRY_TIME + ", " +
+            GeoCampaignColumns.DELIVERY_DAYS + ", " +
+            GeoCampaignColumns.DELIVERY_TIME_INTERVAL + ") VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_INSERT_EVENT = "INSERT OR REPLACE INTO " + Tables.GEO_EVENTS + " (" +
+            GeoEventColumns.MESSAGE_ID + ", " +
+            GeoEventColumns.TYPE + ", " +
+            GeoEventColumns.EVENT_LIMIT + ", " +
+            GeoEventColumns.TIMEOUT_MINUTES + ") VALUES (?, ?, ?, ?)";
+
+    /**
+     * All tables of the index have message id column with the same name
+     */
+    private static final String[] TABLES = {Tables.GEO_AREAS, Tables.GEO_CAMPAIGNS, Tables.GEO_EVENTS};
+    private static final String MESSAGE_ID = GeoAreaColumns.MESSAGE_ID;
+
+    private static final String AREAS_WITH_CAMPAIGNS = Tables.GEO_AREAS + " a LEFT JOIN " + Tables.GEO_CAMPAIGNS +
+            " c ON a." + GeoAreaColumns.MESSAGE_ID + " = c." + GeoCampaignColumns.MESSAGE_ID;
+
+    private static final String SQL_SELECT_AREAS = "SELECT " +
+            "a." + GeoAreaColumns.MESSAGE_ID + ", " +
+            "a." + GeoAreaColumns.AREA_ID + ", " +
+            "a." + GeoAreaColumns.TITLE + ", " +
+            "a." + GeoAreaColumns.LATITUDE + ", " +
+            "a." + GeoAreaColumns.LONGITUDE + ", " +
+            "a." + GeoAreaColumns.RADIUS + ", " +
+            "c." + GeoCampaignColumns.CAMPAIGN_ID + ", " +
+            "c." + GeoCampaignColumns.EXPIRY_TIME +
+            " FROM " + AREAS_WITH_CAMPAIGNS;
+
+    private static final String WHERE_CELL_RANGE = " WHERE a." + GeoAreaColumns.CELL_Y + " BETWEEN ? AND ?" +
+            " AND a." + GeoAreaColumns.CELL_X + " BETWEEN ? AND ?";
+
+    private static final String ELIGIBLE_FOR_MONITORING =
+            "(c." + GeoCampaignColumns.START_TIME + " IS NULL OR c." + GeoCampaignColumns.START_TIME + " < ?)" +
+            " AND (c." + GeoCampaignColumns.EXPIRY_TIME + " IS NULL OR c." + GeoCampaignColumns.EXPIRY_TIME + " >= ?)";
+
+    private static final String WHERE_ELIGIBLE_FOR_MONITORING = " WHERE " + ELIGIBLE_FOR_MONITORING;
+
+    private static final String WHERE_CELL_RANGE_ELIGIBLE_FOR_MONITORING = WHERE_CELL_RANGE + " AND " + ELIGIBLE_FOR_MONITORING;
+
+    private static final String SQL_COUNT_ELIGIBLE_FOR_MONITORING = "SELECT COUNT(*) FROM " + AREAS_WITH_CAMPAIGNS + WHERE_ELIGIBLE_FOR_MONITORING;
+
+    private static final String SQL_COUNT_AREA_IDS_ELIGIBLE_FOR_MONITORING = "SELECT COUNT(DISTINCT a." + GeoAreaColumns.AREA_ID + ") FROM " +
+            AREAS_WITH_CAMPAIGNS + WHERE_ELIGIBLE_FOR_MONITORING;
+
+    private static final String SQL_MAX_RADIUS = "SELECT MAX(" + GeoAreaColumns.RADIUS + ") FROM " + Tables.GEO_AREAS;
+
+    private static final String HAS_AREAS = "EXISTS (SELECT 1 FROM " + Tables.GEO_AREAS + " a WHERE a." +
+            GeoAreaColumns.MESSAGE_ID + " = " + Tables.GEO_CAMPAIGNS + "." + GeoCampaignColumns.MESSAGE_ID + ")";
+
+    private static final String SELECT_EXPIRED_MESSAGE_IDS = "SELECT " + GeoCampaignColumns.MESSAGE_ID +
+            " FROM " + Tables.GEO_CAMPAIGNS + " WHERE " + GeoCampaignColumns.EXPIRY_TIME + " < ?";
+
+    private volatile boolean verified;
+
+    /**
+     * Area of a stored geo message together with the message id and campaign data
+     */
+    public static class IndexedArea {
+        private final String messageId;
+        private final Area area;
+        private final String campaignId;
+        private final Long expiryTime;
+
+        IndexedArea(String messageId, Area area, String campaignId, Long expiryTime) {
+            this.messageId = messageId;
+            this.area = area;
+            this.campaignId = campaignId;
+            this.expiryTime = expiryTime;
+        }
+
+        public String getMessageId() {
+            return messageId;
+        }
+
+        public Area getArea() {
+            return area;
+        }
+
+        @Nullable
+        public String getCampaignId() {
+            return campaignId;
+        }
+
+        @Nullable
+        public Date getExpiryDate() {
+            return expiryTime != null ? new Date(expiryTime) : null;
+        }
+    }
+
+    /**
+     * Replaces indexed data of provided messages with data parsed from their geo data
+     *
+     * @param context  context
+     * @param messages geo messages
+     */
+    public void index(Context context, Message... messages) {
+        if (messages == null || messages.length == 0) {
+            return;
+        }
+
+        SQLiteDatabase db = db(context);
+        db.beginTransaction();
+        SQLiteStatement insertArea = db.compileStatement(SQL_INSERT_AREA);
+        SQLiteStatement insertCampaign = db.compileStatement(SQL_INSERT_CAMPAIGN);
+        SQLiteStatement insertEvent = db.compileStatement(SQL_INSERT_EVENT);
+        try {
+            for (Message message : messages) {
+                if (message == null || message.getMessageId() == null) {
+                    continue;
+                }
+                for (String table : TABLES) {
+                    db.delete(table, MESSAGE_ID + " = ?", new String[]{message.getMessageId()});
+                }
+
+                Geo geo = GeoDataMapper.geoFromInternalData(message.getInternalData());
+                if (geo == null) {
+                    continue;
+                }
+                insertCampaign(insertCampaign, message.getMessageId(), geo);
+                insertEvents(insertEvent, message.getMessageId(), geo);
+                insertAreas(insertArea, message.getMessageId(), geo);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            insertArea.close();
+            insertCampaign.close();
+            insertEvent.close();
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Removes indexed data of messages
+     *
+     * @param context    context
+     * @param messageIds ids of geo messages
+     */
+    public void remove(Context context, String... messageIds) {
+        if (messageIds == null || messageIds.length == 0) {
+            return;
+        }
+
+        SQLiteDatabase db = db(context);
+        db.beginTransaction();
+        try {
+            for (int from = 0; from < messageIds.length; from += MAX_SQL_ARGUMENTS) {
+                String[] chunk = Arrays.copyOfRange(messageIds, from, Math.min(from + MAX_SQL_ARGUMENTS, messageIds.length));
+                for (String table : TABLES) {
+                    db.delete(table, MESSAGE_ID + " IN (" + placeholders(chunk.length) + ")", chunk);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Removes indexed data of messages whose campaigns expired before provided time,
+     * must be called in the same transaction with removal of the messages
+     *
+     * @param db  database
+     * @param now current time
+     * @return number of removed campaigns
+     */
+    int removeExpired(SQLiteDatabase db, long now) {
+        String[] args = {String.valueOf(now)};
+        db.delete(Tables.GEO_AREAS, MESSAGE_ID + " IN (" + SELECT_EXPIRED_MESSAGE_IDS + ")", args);
+        db.delete(Tables.GEO_EVENTS, MESSAGE_ID + " IN (" + SELECT_EXPIRED_MESSAGE_IDS + ")", args);
+        return db.delete(Tables.GEO_CAMPAIGNS, GeoCampaignColumns.EXPIRY_TIME + " < ?", args);
+    }
+
+    /**
+     * Returns subquery which selects ids of geo messages whose campaigns expired, takes current time as the only argument
+     */
+    static String selectExpiredMessageIds() {
+        return SELECT_EXPIRED_MESSAGE_IDS;
+    }
+
+    /**
+     * Removes all indexed data
+     *
+     * @param context context
+     */
+    public void clear(Context context) {
+        SQLiteDatabase db = db(context);
+        db.beginTransaction();
+        try {
+            for (String table : TABLES) {
+                db.delete(table, null, null);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Changes message ids of indexed data
+     *
+     * @param context      context
+     * @param messageIdMap map that contains old id as key and new id as value
+     */
+    public void updateMessageIds(Context context, Map<String, String> messageIdMap) {
+        if (messageIdMap == null || messageIdMap.isEmpty()) {
+            return;
+        }
+
+        SQLiteDatabase db = db(context);
+        db.beginTransaction();
+        List<SQLiteStatement> statements = new ArrayList<>(TABLES.length);
+        try {
+            for (String table : TABLES) {
+                statements.add(db.compileStatement("UPDATE OR REPLACE " + table + " SET " + MESSAGE_ID + " = ? WHERE " + MESSAGE_ID + " = ?"));
+            }
+            for (Map.Entry<String, String> entry : messageIdMap.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) {
+                    continue;
+                }
+                for (SQLiteStatement statement : statements) {
+                    statement.clearBindings();
+                    statement.bindString(1, entry.getValue());
+                    statement.bindString(2, entry.getKey());
+                    statement.executeUpdateDelete();
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            for (SQLiteStatement statement : statements) {
+                statement.close();
+            }
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Finds areas with provided ids, area ids are compared case insensitive
+     *
+     * @param context context
+     * @param areaIds area ids (geofence request ids)
+     * @return map of message id and corresponding areas
+     */
+    @NonNull
+    public Map<String, List<Area>> findByAreaIds(Context context, Collection<String> areaIds) {
+        Map<String, List<Area>> areasByMessageId = new LinkedHashMap<>();
+        if (areaIds == null || areaIds.isEmpty()) {
+            return areasByMessageId;
+        }
+
+        String[] ids = areaIds.toArray(new String[0]);
+        for (int from = 0; from < ids.length; from += MAX_SQL_ARGUMENTS) {
+            String[] chunk = Arrays.copyOfRange(ids, from, Math.min(from + MAX_SQL_ARGUMENTS, ids.length));
+            for (IndexedArea indexedArea : query(context, " WHERE a." + GeoAreaColumns.AREA_ID + " IN (" + placeholders(chunk.length) + ")", chunk)) {
+                List<Area> areas = areasByMessageId.get(indexedArea.getMessageId());
+                if (areas == null) {
+                    areas = new ArrayList<>();
+                    areasByMessageId.put(indexedArea.getMessageId(), areas);
+                }
+                areas.add(indexedArea.getArea());
+            }
+        }
+        return areasByMessageId;
+    }
+
+    /**
+     * Finds areas of campaigns eligible for monitoring nearest to the provided location, by distance to the area edge
+     * (see {@link GeoGrid#edgeDistanceMeters(double, double, double, double, double)}). Grid cells around the location
+     * are searched in growing squares until the nearest areas are guaranteed to be found. Each area id is returned once,
+     * with the latest expiry of its campaigns.
+     *
+     * @param context             context
+     * @param latitude            latitude of location
+     * @param longitude           longitude of location
+     * @param limit               maximum number of areas to return
+     * @param now                 current time
+     * @param excludedCampaignIds campaigns to skip
+     * @return areas ordered by distance of area edge from the location
+     */
+    @NonNull
+    public List<IndexedArea> findNearest(Context context, final double latitude, final double longitude, int limit, long now, Set<String> excludedCampaignIds) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        String nowArg = String.valueOf(now);
+        long total = longForQuery(context, SQL_COUNT_ELIGIBLE_FOR_MONITORING, new String[]{nowArg, nowArg});
+        long maxRadius = longForQuery(context, SQL_MAX_RADIUS, null);
+        int cx = GeoGrid.cellX(longitude);
+        int cy = GeoGrid.cellY(latitude);
+        List<IndexedArea> found = Collections.emptyList();
+        for (int ring = 0; ; ring = ring == 0 ? 1 : ring * 2) {
+            boolean wholeGrid = GeoGrid.coversWholeGrid(ring);
+            List<IndexedArea> rows = wholeGrid ?
+                    query(context, WHERE_ELIGIBLE_FOR_MONITORING, new String[]{nowArg, nowArg}) :
+                    query(context, WHERE_CELL_RANGE_ELIGIBLE_FOR_MONITORING, new String[]{
+                            String.valueOf(cy - ring), String.valueOf(cy + ring),
+                            String.valueOf(cx - ring), String.valueOf(cx + ring),
+                            nowArg, nowArg});
+            found = uniqueByAreaId(rows, excludedCampaignIds);
+            sortByDistance(found, latitude, longitude);
+            if (wholeGrid || rows.size() >= total) {
+                break;
+            }
+            if (found.size() < limit) {
+                continue;
+            }
+
+            // areas outside of the square have centers farther than covered radius, so their edges can be closer only by the largest radius
+            if (edgeDistanceMeters(found.get(limit - 1), latitude, longitude)
+                    <= GeoGrid.coveredRadiusMeters(latitude, longitude, ring) - maxRadius) {
+                break;
+            }
+        }
+
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * Finds areas of campaigns which are started and not expired at the provided time
+     *
+     * @param context context
+     * @param now     current time
+     * @return areas together with their campaign data
+     */
+    @NonNull
+    public List<IndexedArea> findEligibleForMonitoring(Context context, long now) {
+        return query(context, WHERE_ELIGIBLE_FOR_MONITORING, new String[]{String.valueOf(now), String.valueOf(now)});
+    }
+
+    /**
+     * Counts distinct ids of areas of campaigns which are started and not expired at the provided time
+     *
+     * @param context context
+     * @param now     current time
+     * @return number of area ids
+     */
+    public long countEligibleForMonitoring(Context context, long now) {
+        return longForQuery(context, SQL_COUNT_AREA_IDS_ELIGIBLE_FOR_MONITORING, new String[]{String.valueOf(now), String.valueOf(now)});
+    }
+
+    /**
+     * Finds the earliest expiry time among campaigns with areas
+     *
+     * @param context context
+     * @return expiry time or null if there are no expiring campaigns
+     */
+    @Nullable
+    public Long findEarliestExpiryTime(Context context) {
+        Cursor cursor = db(context).query(Tables.GEO_CAMPAIGNS, new String[]{"MIN(" + GeoCampaignColumns.EXPIRY_TIME + ")"},
+                HAS_AREAS, null, null, null, null);
+        try {
+            return cursor.moveToFirst() && !cursor.isNull(0) ? cursor.getLong(0) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Finds the earliest start time in future among campaigns with areas which are not expired
+     *
+     * @param context             context
+     * @param now                 current time
+     * @param excludedCampaignIds campaigns to skip
+     * @return start time or null if there are no campaigns to start
+     */
+    @Nullable
+    public Long findNextStartTime(Context context, long now, Set<String> excludedCampaignIds) {
+        String nowArg = String.valueOf(now);
+        Cursor cursor = db(context).query(Tables.GEO_CAMPAIGNS,
+                new String[]{GeoCampaignColumns.CAMPAIGN_ID, GeoCampaignColumns.START_TIME},
+                GeoCampaignColumns.START_TIME + " >= ? AND (" + GeoCampaignColumns.EXPIRY_TIME + " IS NULL OR " +
+                        GeoCampaignColumns.EXPIRY_TIME + " >= ?) AND " + HAS_AREAS,
+                new String[]{nowArg, nowArg}, null, null, GeoCampaignColumns.START_TIME + " ASC");
+        try {
+            while (cursor.moveToNext()) {
+                if (excludedCampaignIds == null || !excludedCampaignIds.contains(cursor.getString(0))) {
+                    return cursor.getLong(1);
+                }
+            }
+            return null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Populates index from stored geo messages once, if index is empty while there are stored geo messages,
+     * i.e. after database upgrade
+     *
+     * @param context      context
+     * @param messageStore store of geo messages
+     */
+    void ensureIndexed(Context context, GeoSQLiteMessageStore messageStore) {
+        if (verified) {
+            return;
+        }
+
+        synchronized (this) {
+            if (verified) {
+                return;
+            }
+            SQLiteDatabase db = db(context);
+            if (DatabaseUtils.queryNumEntries(db, Tables.GEO_CAMPAIGNS) == 0 &&
+                    DatabaseUtils.queryNumEntries(db, Tables.GEO_MESSAGES) > 0) {
+                List<Message> messages = messageStore.findAll(context);
+                index(context, messages.toArray(new Message[0]));
+            }
+            verified = true;
+        }
+    }
+
+    private static void insertCampaign(SQLiteStatement statement, String messageId, Geo geo) {
+        statement.clearBindings();
+        statement.bindString(1, messageId);
+        bindStringOrNull(statement, 2, geo.getCampaignId());
+        Date startDate = geo.getStartDate();
+        if (startDate != null) {
+            statement.bindLong(3, startDate.getTime());
+        }
+        Date expiryDate = geo.getExpiryDate();
+        if (expiryDate != null) {
+            statement.bindLong(4, expiryDate.getTime());
+        }
+        DeliveryTime deliveryTime = geo.getDeliveryTime();
+        if (deliveryTime != null) {
+            bindStringOrNull(statement, 5, deliveryTime.getDays());
+            bindStringOrNull(statement, 6, deliveryTime.getTimeInterval());
+        }
+        statement.executeInsert();
+    }
+
+    private static void insertEvents(SQLiteStatement statement, String messageId, Geo geo) {
+        if (geo.getEvents() == null) {
+            return;
+        }
+
+        for (GeoEventSettings event : geo.getEvents()) {
+            if (event == null || event.getType() == null) {
+                continue;
+            }
+            statement.clearBindings();
+            statement.bindString(1, messageId);
+            statement.bindString(2, event.getType().name());
+            statement.bindLong(3, event.getLimit());
+            statement.bindLong(4, event.getTimeoutInMinutes());
+            statement.executeInsert();
+        }
+    }
+
+    private static void insertAreas(SQLiteStatement statement, String messageId, Geo geo) {
+        if (geo.getAreasList() == null) {
+            return;
+        }
+
+        for (Area area : geo.getAreasList()) {
+            // areas without coordinates can't be monitored nor triggered, so they are not indexed
+            if (area == null || !area.isValid()) {
+                continue;
+            }
+            statement.clearBindings();
+            statement.bindString(1, messageId);
+            statement.bindString(2, area.getId());
+            bindStringOrNull(statement, 3, area.getTitle());
+            statement.bindDouble(4, area.getLatitude());
+            statement.bindDouble(5, area.getLongitude());
+            statement.bindLong(6, area.getRadius());
+            statement.bindLong(7, GeoGrid.cellX(area.getLongitude()));
+            statement.bindLong(8, GeoGrid.cellY(area.getLatitude()));
+            statement.executeInsert();
+        }
+    }
+
+    private static void bindStringOrNull(SQLiteStatement statement, int index, String value) {
+        if (value != null) {
+            statement.bindString(index, value);
+        }
+    }
+
+    private List<IndexedArea> query(Context context, String where, String[] selectionArgs) {
+        Cursor cursor = db(context).rawQuery(SQL_SELECT_AREAS + where, selectionArgs);
+        List<IndexedArea> areas = new ArrayList<>(cursor.getCount());
+        try {
+            while (cursor.moveToNext()) {
+                areas.add(new IndexedArea(cursor.getString(0),
+                        new Area(cursor.getString(1),
+                                cursor.getString(2),
+                                cursor.getDouble(3),
+                                cursor.getDouble(4),
+                                cursor.getInt(5)),
+                        cursor.getString(6),
+                        cursor.isNull(7) ? null : cursor.getLong(7)));
+            }
+        } finally {
+            cursor.close();
+        }
+        return areas;
+    }
+
+    /**
+     * Keeps one area per area id, the one with the latest campaign expiry, areas of excluded campaigns are skipped
+     */
+    private static List<IndexedArea> uniqueByAreaId(List<IndexedArea> areas, Set<String> excludedCampaignIds) {
+        Map<String, IndexedArea> unique = new LinkedHashMap<>(areas.size());
+        for (IndexedArea indexedArea : areas) {
+            if (excludedCampaignIds != null && excludedCampaignIds.contains(indexedArea.getCampaignId())) {
+                continue;
+            }
+
+            String areaId = indexedArea.getArea().getId().toLowerCase(Locale.ROOT);
+            IndexedArea existing = unique.get(areaId);
+            if (existing != null && existing.expiryTime != null && indexedArea.expiryTime != null && existing.expiryTime > indexedArea.expiryTime) {
+                continue;
+            }
+            unique.put(areaId, indexedArea);
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    private static double edgeDistanceMeters(IndexedArea indexedArea, double latitude, double longitude) {
+        Area area = indexedArea.getArea();
+        return GeoGrid.edgeDistanceMeters(latitude, longitude, area.getLatitude(), area.getLongitude(), area.getRadius());
+    }
+
+    private static void sortByDistance(List<IndexedArea> areas, final double latitude, final double longitude) {
+        Collections.sort(areas, new Comparator<IndexedArea>() {
+            @Override
+            public int compare(IndexedArea a1, IndexedArea a2) {
+                return Double.compare(edgeDistanceMeters(a1, latitude, longitude), edgeDistanceMeters(a2, latitude, longitude));
+            }
+        });
+    }
+
+    private static long longForQuery(Context context, String sql, String[] selectionArgs) {
+        Cursor cursor = db(context).rawQuery(sql, selectionArgs);
+        try {
+            return cursor.moveToFirst() && !cursor.isNull(0) ? cursor.getLong(0) : 0;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static String placeholders(int count) {
+        return new String(new char[count - 1]).replace("\0", "?,") + "?";
+    }
+
+    private static SQLiteDatabase db(Context context) {
+        return MobileMessagingCore.getDatabaseProvider(context).getDatabase();
+    }
+}
@@ -1,14 +1,22 @@
 package org.infobip.mobile.messaging.geo.storage;
 
 import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
 
 import org.infobip.mobile.messaging.Message;
 import org.infobip.mobile.messaging.MobileMessagingCore;
-import org.infobip.mobile.messaging.dal.sqlite.DatabaseHelper;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.MessageColumns;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.Tables;
+import org.infobip.mobile.messaging.geo.Area;
 import org.infobip.mobile.messaging.storage.MessageStore;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author sslavin
@@ -17,10 +25,22 @@ import java.util.List;
 
 public class GeoSQLiteMessageStore implements MessageStore {
 
+    private final GeoIndex geoIndex = new GeoIndex();
+
     public void save(Context context, Message... messages) {
-        DatabaseHelper helper = MobileMessagingCore.getDatabaseHelper(context);
+        List<SQLiteGeoMessage> geoMessages = new ArrayList<>(messages.length);
         for (Message message : messages) {
-            helper.save(new SQLiteGeoMessage(message));
+            geoMessages.add(new SQLiteGeoMessage(message));
+        }
+        // messages and their indexed data are written in one transaction, so index never misses a stored message
+        SQLiteDatabase db = db(context);
+        db.beginTransaction();
+        try {
+            MobileMessagingCore.getDatabaseHelper(context).saveAll(geoMessages);
+            geoIndex.index(context, messages);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
         }
     }
 
@@ -37,14 +57,166 @@ public class GeoSQLiteMessageStore implements MessageStore {
     }
 
     public void deleteAll(Context context) {
-        MobileMessagingCore.getDatabaseHelper(context).deleteAll(SQLiteGeoMessage.class);
+        SQLiteDatabase db = db(context);
+        db.beginTransaction();
+        try {
+            MobileMessagingCore.getDatabaseHelper(context).deleteAll(SQLiteGeoMessage.class);
+            geoIndex.clear(context);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
     }
 
     public void deleteById(Context context, String messageId) {
-        MobileMessagingCore.getDatabaseHelper(context).delete(SQLiteGeoMessage.class, messageId);
+        SQLiteDatabase db = db(context);
+        db.beginTransaction();
+        try {
+            MobileMessagingCore.getDatabaseHelper(context).delete(SQLiteGeoMessage.class, messageId);
+            geoIndex.remove(context, messageId);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
     }
 
     public void deleteByIds(Context context, String[] messageIds) {
-        MobileMessagingCore.getDatabaseHelper(context).delete(SQLiteGeoMessage.class, messageIds);
+        SQLiteDatabase db = db(context);
+        db.beginTransaction();
+        try {
+            MobileMessagingCore.getDatabaseHelper(context).deleteAll(SQLiteGeoMessage.class, Arrays.asList(messageIds));
+            geoIndex.remove(context, messageIds);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Changes ids of stored messages
+     *
+     * @param context      context
+     * @param messageIdMap map that contains old id as key and new id as value
+     */
+    public void updateMessageIds(Context context, Map<String, String> messageIdMap) {
+        SQLiteDatabase db = db(context);
+        db.beginTransaction();
+        try {
+            MobileMessagingCore.getDatabaseHelper(context).updatePrimaryKeys(SQLiteGeoMessage.class, messageIdMap);
+            geoIndex.updateMessageIds(context, messageIdMap);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Finds stored messages which contain areas with provided ids using area index,
+     * only messages with matching areas are loaded
+     *
+     * @param context context
+     * @param areaIds area ids (geofence request ids), compared case insensitive
+     * @return map of messages and their areas with matching ids
+     */
+    public Map<Message, List<Area>> findMessagesWithAreas(Context context, Collection<String> areaIds) {
+        geoIndex.ensureIndexed(context, this);
+        Map<Message, List<Area>> messagesAndAreas = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Area>> entry : geoIndex.findByAreaIds(context, areaIds).entrySet()) {
+            Message message = findById(context, entry.getKey());
+            if (message != null) {
+                messagesAndAreas.put(message, entry.getValue());
+            }
+        }
+        return messagesAndAreas;
+    }
+
+    /**
+     * Finds areas of campaigns eligible for monitoring nearest to the location using spatial area index
+     *
+     * @param context             context
+     * @param latitude            latitude of location
+     * @param longitude           longitude of location
+     * @param limit               maximum number of areas
+     * @param now                 current time
+     * @param excludedCampaignIds campaigns to skip
+     * @return areas together with ids of their messages ordered by distance of area edge from the location
+     */
+    public List<GeoIndex.IndexedArea> findNearestAreas(Context context, double latitude, double longitude, int limit, long now, Set<String> excludedCampaignIds) {
+        geoIndex.ensureIndexed(context, this);
+        return geoIndex.findNearest(context, latitude, longitude, limit, now, excludedCampaignIds);
+    }
+
+    /**
+     * Finds areas of campaigns which are started and not expired using campaign index
+     *
+     * @param context context
+     * @param now     current time
+     * @return areas together with ids of their messages and campaign data
+     */
+    public List<GeoIndex.IndexedArea> findAreasEligibleForMonitoring(Context context, long now) {
+        geoIndex.ensureIndexed(context, this);
+        return geoIndex.findEligibleForMonitoring(context, now);
+    }
+
+    /**
+     * Counts distinct ids of areas of campaigns which are started and not expired using campaign index
+     *
+     * @param context context
+     * @param now     current time
+     * @return number of area ids
+     */
+    public long countAreasEligibleForMonitoring(Context context, long now) {
+        geoIndex.ensureIndexed(context, this);
+        return geoIndex.countEligibleForMonitoring(context, now);
+    }
+
+    /**
+     * Finds the earliest expiry time among stored campaigns with areas
+     *
+     * @param context context
+     * @return expiry time or null if there are no expiring campaigns
+     */
+    public Long findEarliestExpiryTime(Context context) {
+        geoIndex.ensureIndexed(context, this);
+        return geoIndex.findEarliestExpiryTime(context);
+    }
+
+    /**
+     * Finds the earliest start time in future among stored campaigns with areas which are not expired
+     *
+     * @param context             context
+     * @param now                 current time
+     * @param excludedCampaignIds campaigns to skip
+     * @return start time or null if there are no campaigns to start
+     */
+    public Long findNextStartTime(Context context, long now, Set<String> excludedCampaignIds) {
+        geoIndex.ensureIndexed(context, this);
+        return geoIndex.findNextStartTime(context, now, excludedCampaignIds);
+    }
+
+    /**
+     * Deletes messages of campaigns expired before provided time together with their indexed data
+     *
+     * @param context context
+     * @param now     current time
+     * @return number of deleted messages
+     */
+    public int deleteExpired(Context context, long now) {
+        geoIndex.ensureIndexed(context, this);
+        SQLiteDatabase db = db(context);
+        db.beginTransaction();
+        try {
+            int deleted = db.delete(Tables.GEO_MESSAGES, MessageColumns.MESSAGE_ID + " IN (" + GeoIndex.selectExpiredMessageIds() + ")",
+                    new String[]{String.valueOf(now)});
+            geoIndex.removeExpired(db, now);
+            db.setTransactionSuccessful();
+            return deleted;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static SQLiteDatabase db(Context context) {
+        return MobileMessagingCore.getDatabaseProvider(context).getDatabase();
     }
 }
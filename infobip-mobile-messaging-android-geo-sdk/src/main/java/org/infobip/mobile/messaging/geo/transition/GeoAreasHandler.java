@@ -21,6 +21,7 @@ import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
 import org.infobip.mobile.messaging.mobileapi.MobileApiResourceProvider;
 import org.infobip.mobile.messaging.platform.AndroidBroadcaster;
 import org.infobip.mobile.messaging.storage.MessageStore;
+import org.infobip.mobile.messaging.storage.SQLiteMessageStore;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -68,6 +69,16 @@ public class GeoAreasHandler {
      */
     void handleTransition(Intent intent) {
 
+        if (GeoTransitionHelper.isRefreshTransition(intent)) {
+            MobileMessagingLogger.d(TAG, "Device left refresh area, selecting geofences to monitor");
+            GeofencingHelper.setAllActiveGeoAreasMonitored(context, false);
+            geofencingHelper.startGeoMonitoringIfNecessary();
+            // the same event may also carry geofences of areas, those are handled as usual
+            if (!GeoTransitionHelper.hasTriggeringAreas(intent)) {
+                return;
+            }
+        }
+
         GeoTransition transition;
         try {
             transition = GeoTransitionHelper.resolveTransitionFromIntent(intent);
@@ -175,10 +186,15 @@ public class GeoAreasHandler {
         }
 
         MessageStore messageStore = mobileMessagingCore.getMessageStore();
+        Map<String, String> messageIds = reportingResult.getMessageIds();
+        if (messageStore instanceof SQLiteMessageStore) {
+            ((SQLiteMessageStore) messageStore).updateMessageIds(context, messageIds);
+            return;
+        }
+
         // Code below is far from being effective but messageId is primary key
         // so we will have to remove messages with invalid keys
         List<Message> allMessages = messageStore.findAll(context);
-        Map<String, String> messageIds = reportingResult.getMessageIds();
         for (Message message : allMessages) {
             String newMessageId = messageIds.get(message.getMessageId());
             if (newMessageId == null) {
@@ -11,6 +11,7 @@ import com.google.android.gms.location.GeofencingEvent;
 
 import org.infobip.mobile.messaging.geo.GeoEventType;
 import org.infobip.mobile.messaging.geo.GeoLatLng;
+import org.infobip.mobile.messaging.geo.geofencing.GeofenceSelector;
 
 import java.util.Set;
 
@@ -32,7 +33,49 @@ class GeoTransitionHelper {
     }};
 
     /**
-     * Resolves transition information from geofencing intent
+     * Checks if geofencing intent is about device leaving the refresh geofence, which means that geofences should be selected again
+     *
+     * @param intent geofencing intent
+     * @return true if refresh geofence was exited
+     */
+    static boolean isRefreshTransition(Intent intent) {
+        GeofencingEvent geofencingEvent = GeofencingEvent.fromIntent(intent);
+        if (geofencingEvent == null || geofencingEvent.hasError() ||
+                geofencingEvent.getGeofenceTransition() != Geofence.GEOFENCE_TRANSITION_EXIT ||
+                geofencingEvent.getTriggeringGeofences() == null) {
+            return false;
+        }
+
+        for (Geofence geofence : geofencingEvent.getTriggeringGeofences()) {
+            if (GeofenceSelector.REFRESH_GEOFENCE_ID.equals(geofence.getRequestId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if geofencing intent contains any triggering geofence of an area, i.e. other than the refresh geofence
+     *
+     * @param intent geofencing intent
+     * @return true if at least one area geofence was triggered
+     */
+    static boolean hasTriggeringAreas(Intent intent) {
+        GeofencingEvent geofencingEvent = GeofencingEvent.fromIntent(intent);
+        if (geofencingEvent == null || geofencingEvent.getTriggeringGeofences() == null) {
+            return false;
+        }
+
+        for (Geofence geofence : geofencingEvent.getTriggeringGeofences()) {
+            if (!GeofenceSelector.REFRESH_GEOFENCE_ID.equals(geofence.getRequestId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves transition information from geofencing intent, refresh geofence is not included in request ids
      *
      * @param intent geofencing intent
      * @return transition information
@@ -58,7 +101,9 @@ class GeoTransitionHelper {
 
         Set<String> triggeringRequestIds = new ArraySet<>();
         for (Geofence geofence : geofencingEvent.getTriggeringGeofences()) {
-            triggeringRequestIds.add(geofence.getRequestId());
+            if (!GeofenceSelector.REFRESH_GEOFENCE_ID.equals(geofence.getRequestId())) {
+                triggeringRequestIds.add(geofence.getRequestId());
+            }
         }
 
         Location location = geofencingEvent.getTriggeringLocation();
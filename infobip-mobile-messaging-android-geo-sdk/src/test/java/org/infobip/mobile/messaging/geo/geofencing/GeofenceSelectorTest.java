@@ -0,0 +1,201 @@
+package org.infobip.mobile.messaging.geo.geofencing;
+
+import org.infobip.mobile.messaging.geo.Area;
+import org.infobip.mobile.messaging.geo.GeoLatLng;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Simulates large set of campaign areas around a city and a device moving through it
+ */
+public class GeofenceSelectorTest {
+
+    private static final int AREA_COUNT = 20000;
+    private static final double CENTER_LAT = 45.8;
+    private static final double CENTER_LNG = 15.97;
+    private static final GeoLatLng CENTER = new GeoLatLng(CENTER_LAT, CENTER_LNG);
+
+    private GeofenceSelector geofenceSelector;
+    private List<GeofenceSelector.Candidate> candidates;
+
+    @Before
+    public void setUp() {
+        geofenceSelector = new GeofenceSelector();
+        candidates = randomCandidates(AREA_COUNT, new Random(42));
+    }
+
+    @Test
+    public void shouldSelectAllAreas_withoutRefreshGeofence_whenBelowLimit() {
+        List<GeofenceSelector.Candidate> few = candidates.subList(0, 50);
+
+        GeofenceSelector.Selection selection = geofenceSelector.select(few);
+
+        assertEquals(50, selection.getSelected().size());
+        assertEquals(50, selection.getToAdd().size());
+        assertNull(selection.getRefreshCenter());
+        assertTrue(selection.isFullReplace());
+    }
+
+    @Test
+    public void shouldSelectNearestAreas_withinPlatformLimit() {
+        GeoLatLng location = new GeoLatLng(CENTER_LAT, CENTER_LNG);
+
+        GeofenceSelector.Selection selection = geofenceSelector.selectNearest(bruteForceNearest(location, AREA_COUNT), location);
+
+        assertEquals(GeofenceSelector.MAX_GEOFENCES - 1, selection.getSelected().size());
+        assertNotNull(selection.getRefreshCenter());
+        assertEquals(idsOf(bruteForceNearest(location, GeofenceSelector.MAX_GEOFENCES - 1)), idsOf(selection.getSelected()));
+    }
+
+    @Test
+    public void shouldSelectFirstAreas_withoutRefreshGeofence_whenLocationIsUnknown() {
+        GeofenceSelector.Selection selection = geofenceSelector.select(candidates);
+
+        assertEquals(idsOf(candidates.subList(0, GeofenceSelector.MAX_GEOFENCES)), idsOf(selection.getSelected()));
+        assertNull(selection.getRefreshCenter());
+    }
+
+    @Test
+    public void shouldNotChangeGeofences_whenLocationDidNotChange() {
+        GeoLatLng location = new GeoLatLng(CENTER_LAT, CENTER_LNG);
+        geofenceSelector.selectNearest(nearest(location), location);
+
+        GeofenceSelector.Selection selection = geofenceSelector.selectNearest(nearest(location), location);
+
+        assertFalse(selection.isFullReplace());
+        assertTrue(selection.getToAdd().isEmpty());
+        assertTrue(selection.getToRemove().isEmpty());
+    }
+
+    @Test
+    public void shouldSwapOnlyChangedGeofences_whenDeviceMoves() {
+        GeoLatLng location = new GeoLatLng(CENTER_LAT, CENTER_LNG);
+        GeofenceSelector.Selection first = geofenceSelector.selectNearest(nearest(location), location);
+        GeoLatLng moved = new GeoLatLng(CENTER_LAT + 0.01, CENTER_LNG);
+
+        GeofenceSelector.Selection second = geofenceSelector.selectNearest(nearest(moved), moved);
+
+        Set<String> expected = idsOf(bruteForceNearest(moved, GeofenceSelector.MAX_GEOFENCES - 1));
+        assertEquals(expected, idsOf(second.getSelected()));
+        assertTrue(second.getToAdd().size() < GeofenceSelector.MAX_GEOFENCES - 1);
+        assertEquals(second.getToAdd().size(), second.getToRemove().size());
+
+        Set<String> applied = idsOf(first.getSelected());
+        applied.removeAll(second.getToRemove());
+        applied.addAll(idsOf(second.getToAdd()));
+        assertEquals(expected, applied);
+    }
+
+    @Test
+    public void shouldMonitorEveryEnteredArea_whileDeviceStaysWithinRefreshRadius() {
+        GeoLatLng location = new GeoLatLng(CENTER_LAT, CENTER_LNG);
+        GeofenceSelector.Selection selection = geofenceSelector.selectNearest(nearest(location), location);
+        Set<String> monitored = idsOf(selection.getSelected());
+        double refreshRadius = selection.getRefreshRadiusMeters();
+
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            double bearing = random.nextDouble() * 2 * Math.PI;
+            double distance = random.nextDouble() * refreshRadius;
+            GeoLatLng position = new GeoLatLng(
+                    CENTER_LAT + distance * Math.cos(bearing) / 111320,
+                    CENTER_LNG + distance * Math.sin(bearing) / (111320 * Math.cos(Math.toRadians(CENTER_LAT))));
+
+            for (GeofenceSelector.Candidate candidate : candidates) {
+                if (GeofenceSelector.edgeDistanceMeters(candidate, position.getLat(), position.getLng()) < 0) {
+                    assertTrue(monitored.contains(candidate.getArea().getId()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldReplaceChangedGeofence_withSameId() {
+        List<GeofenceSelector.Candidate> few = new ArrayList<>(candidates.subList(0, 10));
+        geofenceSelector.select(few);
+        Area area = few.get(0).getArea();
+        few.set(0, new GeofenceSelector.Candidate(area, new Date(1000)));
+
+        GeofenceSelector.Selection selection = geofenceSelector.select(few);
+
+        assertEquals(1, selection.getToAdd().size());
+        assertEquals(area.getId(), selection.getToAdd().get(0).getArea().getId());
+        assertTrue(selection.getToRemove().isEmpty());
+    }
+
+    @Test
+    public void shouldRemoveRefreshGeofence_whenAreasFitLimitAgain() {
+        geofenceSelector.selectNearest(nearest(CENTER), CENTER);
+
+        GeofenceSelector.Selection selection = geofenceSelector.select(candidates.subList(0, 10));
+
+        assertTrue(selection.getToRemove().contains(GeofenceSelector.REFRESH_GEOFENCE_ID));
+        assertNull(selection.getRefreshCenter());
+    }
+
+    @Test
+    public void shouldReplaceAll_afterReset() {
+        geofenceSelector.selectNearest(nearest(CENTER), CENTER);
+        geofenceSelector.reset();
+
+        GeofenceSelector.Selection selection = geofenceSelector.selectNearest(nearest(CENTER), CENTER);
+
+        assertTrue(selection.isFullReplace());
+        assertEquals(GeofenceSelector.MAX_GEOFENCES - 1, selection.getToAdd().size());
+    }
+
+    /**
+     * Same areas as geo index finds for selection
+     */
+    private List<GeofenceSelector.Candidate> nearest(GeoLatLng location) {
+        return bruteForceNearest(location, GeofenceSelector.MAX_GEOFENCES - 1);
+    }
+
+    private List<GeofenceSelector.Candidate> bruteForceNearest(final GeoLatLng location, int limit) {
+        List<GeofenceSelector.Candidate> sorted = new ArrayList<>(candidates);
+        Collections.sort(sorted, new Comparator<GeofenceSelector.Candidate>() {
+            @Override
+            public int compare(GeofenceSelector.Candidate c1, GeofenceSelector.Candidate c2) {
+                return Double.compare(
+                        GeofenceSelector.edgeDistanceMeters(c1, location.getLat(), location.getLng()),
+                        GeofenceSelector.edgeDistanceMeters(c2, location.getLat(), location.getLng()));
+            }
+        });
+        return sorted.subList(0, limit);
+    }
+
+    private static Set<String> idsOf(List<GeofenceSelector.Candidate> candidates) {
+        Set<String> ids = new HashSet<>();
+        for (GeofenceSelector.Candidate candidate : candidates) {
+            ids.add(candidate.getArea().getId());
+        }
+        return ids;
+    }
+
+    private static List<GeofenceSelector.Candidate> randomCandidates(int count, Random random) {
+        List<GeofenceSelector.Candidate> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Area area = new Area("area" + i, "Area " + i,
+                    CENTER_LAT + (random.nextDouble() - 0.5),
+                    CENTER_LNG + (random.nextDouble() - 0.5),
+                    100 + random.nextInt(900));
+            candidates.add(new GeofenceSelector.Candidate(area, null));
+        }
+        return candidates;
+    }
+}
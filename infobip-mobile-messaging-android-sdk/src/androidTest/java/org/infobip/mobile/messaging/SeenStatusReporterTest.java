@@ -41,10 +41,18 @@ public class SeenStatusReporterTest extends MobileMessagingTestCase {
         String[] messageIds = {"1", "2", "3", "4", "5"};
         for (String messageId : messageIds) {
             mobileMessagingCore.setMessagesSeen(messageId);
+            waitForUnreportedSeenMessageIds(messageId);
             seenStatusReporter.sync();
         }
 
         Mockito.verify(executor, Mockito.times(1)).execute(Mockito.any(Runnable.class));
         Mockito.verify(executor, Mockito.after(500).atMost(2)).execute(Mockito.any(Runnable.class));
     }
+
+    // seen ids are stored in background
+    private void waitForUnreportedSeenMessageIds(String messageId) throws InterruptedException {
+        for (int i = 0; i < 100 && !mobileMessagingCore.getSeenMessageIdsFromReports(mobileMessagingCore.getUnreportedSeenMessageIds()).contains(messageId); i++) {
+            Thread.sleep(10);
+        }
+    }
 }
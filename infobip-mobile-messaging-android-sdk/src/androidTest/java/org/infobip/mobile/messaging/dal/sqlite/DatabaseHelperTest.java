@@ -6,6 +6,9 @@ import android.database.sqlite.SQLiteDatabase;
 import org.infobip.mobile.messaging.tools.MobileMessagingTestCase;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -160,4 +163,90 @@ public class DatabaseHelperTest extends MobileMessagingTestCase {
 
         assertEquals(100, databaseHelper.countAll(SomethingInDatabase.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_shouldSaveAllObjectsInOneCall() {
+        int numOfSomethings = 700;
+        List<SomethingInDatabase> somethings = new ArrayList<>(numOfSomethings);
+        for (int i = 0; i < numOfSomethings; i++) {
+            somethings.add(new SomethingInDatabase("Something" + i, i, i + 0.5));
+        }
+        somethings.add(new SomethingInDatabase("Something0", 12345L, 1234.5));
+
+        databaseHelper.saveAll(somethings);
+
+        assertEquals(numOfSomethings, databaseHelper.countAll(SomethingInDatabase.class));
+        SomethingInDatabase replaced = databaseHelper.find(SomethingInDatabase.class, "Something0");
+        assertEquals(12345L, replaced.longValue);
+        assertEquals(1234.5, replaced.doubleValue, 0.001);
+    }
+
+    @Test
+    public void test_shouldDeleteAllObjectsByIds() {
+        int numOfSomethings = 700;
+        List<SomethingInDatabase> somethings = new ArrayList<>(numOfSomethings);
+        List<String> idsToDelete = new ArrayList<>();
+        for (int i = 0; i < numOfSomethings; i++) {
+            somethings.add(new SomethingInDatabase("Something" + i, i, i));
+            if (i % 7 != 0) {
+                idsToDelete.add("Something" + i);
+            }
+        }
+        databaseHelper.saveAll(somethings);
+
+        databaseHelper.deleteAll(SomethingInDatabase.class, idsToDelete);
+
+        assertEquals(100, databaseHelper.countAll(SomethingInDatabase.class));
+        assertNull(databaseHelper.find(SomethingInDatabase.class, "Something1"));
+    }
+
+    @Test
+    public void test_shouldUpdatePrimaryKeys() {
+        databaseHelper.saveAll(Arrays.asList(
+                new SomethingInDatabase("Something1", 1, 2),
+                new SomethingInDatabase("Something2", 3, 4)));
+
+        databaseHelper.updatePrimaryKeys(SomethingInDatabase.class, Collections.singletonMap("Something1", "Something3"));
+
+        assertNull(databaseHelper.find(SomethingInDatabase.class, "Something1"));
+        SomethingInDatabase updated = databaseHelper.find(SomethingInDatabase.class, "Something3");
+        assertEquals(1, updated.longValue);
+        assertEquals(2, updated.doubleValue, 0.001);
+        assertEquals(2, databaseHelper.countAll(SomethingInDatabase.class));
+    }
+
+    @Test
+    public void test_shouldFindPageOfObjects_matchingSelection() {
+        List<SomethingInDatabase> somethings = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            somethings.add(new SomethingInDatabase("Something" + i, i, i));
+        }
+        databaseHelper.saveAll(somethings);
+
+        List<SomethingInDatabase> page = databaseHelper.find(SomethingInDatabase.class,
+                "long_value >= ?", new String[]{"50"}, "long_value DESC", "10, 5");
+
+        assertEquals(5, page.size());
+        assertEquals(89, page.get(0).longValue);
+        assertEquals(85, page.get(4).longValue);
+        assertEquals(50, databaseHelper.countAll(SomethingInDatabase.class, "long_value >= ?", new String[]{"50"}));
+    }
+
+    @Test
+    public void test_shouldIterateObjects_lazily() {
+        databaseHelper.saveAll(Arrays.asList(
+                new SomethingInDatabase("Something1", 1, 2),
+                new SomethingInDatabase("Something2", 3, 4),
+                new SomethingInDatabase("Something3", 5, 6)));
+
+        CursorIterator<SomethingInDatabase> iterator = databaseHelper.iterate(SomethingInDatabase.class,
+                null, null, "long_value ASC", null);
+
+        assertEquals(3, iterator.getCount());
+        assertEquals("Something1", iterator.next().stringValue);
+        assertEquals("Something2", iterator.next().stringValue);
+        assertEquals("Something3", iterator.next().stringValue);
+        assertFalse(iterator.hasNext());
+        assertEquals(0, iterator.getCount());
+    }
+}
@@ -0,0 +1,91 @@
+package org.infobip.mobile.messaging.dal.sqlite;
+
+import org.infobip.mobile.messaging.MobileMessagingProperty;
+import org.infobip.mobile.messaging.tools.MobileMessagingTestCase;
+import org.infobip.mobile.messaging.util.PreferenceHelper;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.junit.Assert.assertArrayEquals;
+
+public class MessageIdTrackerTest extends MobileMessagingTestCase {
+
+    private MessageIdTracker messageIdTracker;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        messageIdTracker = new MessageIdTracker(databaseProvider);
+    }
+
+    @Test
+    public void test_shouldKeepIdsOfDifferentTypesSeparately() {
+        messageIdTracker.add(MessageIdTracker.Type.SYNC, 1, "id1", "id2", null);
+        messageIdTracker.add(MessageIdTracker.Type.GENERATED, 1, "id1");
+
+        assertEquals(2, messageIdTracker.count(MessageIdTracker.Type.SYNC));
+        assertEquals(1, messageIdTracker.count(MessageIdTracker.Type.GENERATED));
+        assertTrue(messageIdTracker.contains(MessageIdTracker.Type.SYNC, "id2"));
+        assertFalse(messageIdTracker.contains(MessageIdTracker.Type.GENERATED, "id2"));
+    }
+
+    @Test
+    public void test_shouldUpdateTimestampOfExistingId() {
+        messageIdTracker.add(MessageIdTracker.Type.UNREPORTED_SEEN, 1, "id1");
+        messageIdTracker.add(MessageIdTracker.Type.UNREPORTED_SEEN, 2, "id1");
+
+        Map<String, Long> ids = messageIdTracker.findWithTimestamps(MessageIdTracker.Type.UNREPORTED_SEEN, 0);
+        assertEquals(1, ids.size());
+        assertEquals(2L, (long) ids.get("id1"));
+    }
+
+    @Test
+    public void test_shouldRemoveExpiredAndTrimToNewest() {
+        messageIdTracker.add(MessageIdTracker.Type.SYNC, 1, "old");
+        messageIdTracker.add(MessageIdTracker.Type.SYNC, 10, "id10");
+        messageIdTracker.add(MessageIdTracker.Type.SYNC, 11, "id11");
+        messageIdTracker.add(MessageIdTracker.Type.SYNC, 12, "id12");
+
+        assertEquals(1, messageIdTracker.removeOlderThan(MessageIdTracker.Type.SYNC, 5));
+        assertEquals(1, messageIdTracker.trimToNewest(MessageIdTracker.Type.SYNC, 2));
+        assertArrayEquals(new String[]{"id12", "id11"}, messageIdTracker.findIds(MessageIdTracker.Type.SYNC, 0));
+        assertFalse(messageIdTracker.contains(MessageIdTracker.Type.SYNC, "id11", 12));
+    }
+
+    @Test
+    public void test_shouldFindAndRemoveIds() {
+        messageIdTracker.add(MessageIdTracker.Type.UNREPORTED_DELIVERY, 1, "id1", "id2");
+
+        assertEquals(2, messageIdTracker.findAndRemoveIds(MessageIdTracker.Type.UNREPORTED_DELIVERY).length);
+        assertEquals(0, messageIdTracker.count(MessageIdTracker.Type.UNREPORTED_DELIVERY));
+    }
+
+    @Test
+    public void test_shouldUpdateIdsKeepingTimestamps() {
+        messageIdTracker.add(MessageIdTracker.Type.UNREPORTED_SEEN, 5, "oldId");
+
+        messageIdTracker.updateIds(MessageIdTracker.Type.UNREPORTED_SEEN, Collections.singletonMap("oldId", "newId"));
+
+        Map<String, Long> ids = messageIdTracker.findWithTimestamps(MessageIdTracker.Type.UNREPORTED_SEEN, 0);
+        assertEquals(1, ids.size());
+        assertEquals(5L, (long) ids.get("newId"));
+    }
+
+    @Test
+    public void test_shouldMigrateIdsFromSharedPreferences() {
+        PreferenceHelper.saveStringArray(context, MobileMessagingProperty.INFOBIP_SYNC_MESSAGES_IDS, "syncId, 123");
+        PreferenceHelper.saveStringArray(context, MobileMessagingProperty.INFOBIP_GENERATED_MESSAGE_IDS, "generatedId");
+
+        SharedPreferencesMigrator.migrateMessageIds(context, databaseProvider.getDatabase());
+
+        assertEquals(123L, (long) messageIdTracker.findWithTimestamps(MessageIdTracker.Type.SYNC, 0).get("syncId"));
+        assertTrue(messageIdTracker.contains(MessageIdTracker.Type.GENERATED, "generatedId"));
+        assertEquals(0, PreferenceHelper.findStringArray(context, MobileMessagingProperty.INFOBIP_SYNC_MESSAGES_IDS).length);
+    }
+}
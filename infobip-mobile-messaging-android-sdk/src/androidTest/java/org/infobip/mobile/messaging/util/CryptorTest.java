@@ -8,6 +8,7 @@ import org.junit.Test;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
 import static junit.framework.Assert.assertTrue;
 
 /**
@@ -29,6 +30,33 @@ public class CryptorTest extends MobileMessagingTestCase {
         assertEquals(data, decrypted);
     }
 
+    @Test
+    public void test_encryptAllDecryptAll() throws Exception {
+        String[] data = {"first", "second", "third"};
+        CryptorImpl cryptor = new CryptorImpl("thisIsMySuperSecretKey");
+
+        String[] encrypted = cryptor.encryptAll(data);
+        String[] decrypted = cryptor.decryptAll(encrypted);
+
+        for (int i = 0; i < data.length; i++) {
+            assertEquals(cryptor.encrypt(data[i]), encrypted[i]);
+            assertEquals(data[i], decrypted[i]);
+        }
+    }
+
+    @Test
+    public void test_decryptAll_shouldDecryptValuesAfterFailedOne() throws Exception {
+        CryptorImpl cryptor = new CryptorImpl("thisIsMySuperSecretKey");
+        String encrypted = cryptor.encrypt("thisIsMyTestData");
+        String invalid = Base64.encodeToString("notABlock".getBytes(), Base64.NO_WRAP);
+
+        String[] decrypted = cryptor.decryptAll(new String[]{encrypted, invalid, encrypted});
+
+        assertEquals("thisIsMyTestData", decrypted[0]);
+        assertNull(decrypted[1]);
+        assertEquals("thisIsMyTestData", decrypted[2]);
+    }
+
     @Test
     public void test_deprecated_encryptDecrypt() throws Exception {
         String data = "thisIsMyTestData";
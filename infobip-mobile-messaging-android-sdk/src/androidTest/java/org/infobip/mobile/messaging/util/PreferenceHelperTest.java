@@ -133,4 +133,24 @@ public class PreferenceHelperTest extends MobileMessagingTestCase {
         assertFalse(PreferenceHelper.contains(context, MobileMessagingProperty.INFOBIP_REGISTRATION_ID));
         assertNull(PreferenceHelper.findString(context, MobileMessagingProperty.INFOBIP_REGISTRATION_ID));
     }
+
+    @Test
+    public void test_shouldSeeSavedValuesThroughDirectAccess() throws Exception {
+        PreferenceHelper.saveString(context, MobileMessagingProperty.APP_USER_ID, "appUserId");
+        PreferenceHelper.saveLong(context, MobileMessagingProperty.BATCH_REPORTING_DELAY, 42L);
+
+        assertEquals("appUserId", PreferenceHelper.findString(context, MobileMessagingProperty.APP_USER_ID));
+        assertEquals(42L, PreferenceHelper.findLong(context, MobileMessagingProperty.BATCH_REPORTING_DELAY));
+        assertEquals("appUserId", PreferenceHelper.getDefaultMMSharedPreferences(context).getString(MobileMessagingProperty.APP_USER_ID.getKey(), null));
+    }
+
+    @Test
+    public void test_shouldNotReturnCachedDecryptedValueAfterExternalChange() throws Exception {
+        PreferenceHelper.saveString(context, MobileMessagingProperty.INFOBIP_REGISTRATION_ID, "StubStringValue");
+        assertEquals("StubStringValue", PreferenceHelper.findString(context, MobileMessagingProperty.INFOBIP_REGISTRATION_ID));
+
+        PreferenceHelper.getDefaultMMSharedPreferences(context).edit().clear().commit();
+
+        assertNull(PreferenceHelper.findString(context, MobileMessagingProperty.INFOBIP_REGISTRATION_ID));
+    }
 }
@@ -6,6 +6,7 @@ import androidx.annotation.NonNull;
 import com.google.gson.annotations.SerializedName;
 
 import org.infobip.mobile.messaging.dal.bundle.MessageBundleMapper;
+import org.infobip.mobile.messaging.dal.json.InternalDataMapper;
 import org.infobip.mobile.messaging.platform.Time;
 import org.infobip.mobile.messaging.util.StringUtils;
 import org.json.JSONObject;
@@ -48,6 +49,7 @@ public class Message implements Comparable<Message> {
     private String deeplink;
     private String inAppOpenTitle;
     private String inAppDismissTitle;
+    private transient volatile InternalDataMapper.InternalDataView internalDataView;
 
     public enum Status {
         SUCCESS,
@@ -138,6 +140,24 @@ public class Message implements Comparable<Message> {
 
     public void setInternalData(String internalData) {
         this.internalData = internalData;
+        this.internalDataView = null;
+    }
+
+    /**
+     * Returns parsed internal data of the message.
+     * Internal data is parsed on the first access of any field and the result is reused until internal data changes.
+     *
+     * @return view of internal data
+     * @hide
+     */
+    @NonNull
+    public InternalDataMapper.InternalDataView getInternalDataView() {
+        InternalDataMapper.InternalDataView view = internalDataView;
+        if (view == null || view.getJson() != internalData) {
+            view = InternalDataMapper.view(internalData);
+            internalDataView = view;
+        }
+        return view;
     }
 
     public String getMessageId() {
@@ -23,6 +23,7 @@ import org.infobip.mobile.messaging.cloud.MobileMessagingCloudService;
 import org.infobip.mobile.messaging.cloud.PlayServicesSupport;
 import org.infobip.mobile.messaging.cloud.firebase.FirebaseAppProvider;
 import org.infobip.mobile.messaging.dal.sqlite.DatabaseHelper;
+import org.infobip.mobile.messaging.dal.sqlite.MessageIdTracker;
 import org.infobip.mobile.messaging.dal.sqlite.PushDatabaseHelperImpl;
 import org.infobip.mobile.messaging.dal.sqlite.SqliteDatabaseProvider;
 import org.infobip.mobile.messaging.interactive.MobileInteractiveImpl;
@@ -37,6 +38,7 @@ import org.infobip.mobile.messaging.mobileapi.appinstance.InstallationSynchroniz
 import org.infobip.mobile.messaging.mobileapi.baseurl.BaseUrlChecker;
 import org.infobip.mobile.messaging.mobileapi.common.MAsyncTask;
 import org.infobip.mobile.messaging.mobileapi.common.RetryPolicyProvider;
+import org.infobip.mobile.messaging.mobileapi.common.SyncScheduler;
 import org.infobip.mobile.messaging.mobileapi.events.UserEventsRequestMapper;
 import org.infobip.mobile.messaging.mobileapi.events.UserEventsSynchronizer;
 import org.infobip.mobile.messaging.mobileapi.messages.MessagesSynchronizer;
@@ -53,6 +55,7 @@ import org.infobip.mobile.messaging.platform.Broadcaster;
 import org.infobip.mobile.messaging.platform.MobileMessagingJobService;
 import org.infobip.mobile.messaging.platform.Platform;
 import org.infobip.mobile.messaging.platform.Time;
+import org.infobip.mobile.messaging.stats.MetricsSnapshot;
 import org.infobip.mobile.messaging.stats.MobileMessagingStats;
 import org.infobip.mobile.messaging.storage.MessageStore;
 import org.infobip.mobile.messaging.storage.MessageStoreWrapper;
@@ -80,12 +83,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
@@ -106,6 +106,7 @@ public class MobileMessagingCore
 
     private static final int MESSAGE_ID_PARAMETER_LIMIT = 100;
     private static final long MESSAGE_EXPIRY_TIME = TimeUnit.DAYS.toMillis(7);
+    private static final Pattern UUID_PATTERN = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$");
     private static final long LAZY_SYNC_THROTTLE_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(5);
     private static final long FOREGROUND_SYNC_THROTTLE_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
     private static final JsonSerializer nullSerializer = new JsonSerializer(true);
@@ -119,7 +120,7 @@ public class MobileMessagingCore
     private static DatabaseHelper databaseHelper;
     private static MobileMessagingSynchronizationReceiver mobileMessagingSynchronizationReceiver;
     private final MobileMessagingStats stats;
-    private final ExecutorService registrationAlignedExecutor;
+    private final SyncScheduler syncScheduler;
     private final RetryPolicyProvider retryPolicyProvider;
     private final Broadcaster broadcaster;
     private final ModuleLoader moduleLoader;
@@ -143,6 +144,7 @@ public class MobileMessagingCore
     private NotificationSettings notificationSettings;
     private MessageStore messageStore;
     private MessageStoreWrapper messageStoreWrapper;
+    private MessageIdTracker messageIdTracker;
     private final Context context;
     private final Map<String, MessageHandlerModule> messageHandlerModules;
     private volatile boolean didSyncAtLeastOnce;
@@ -151,15 +153,15 @@ public class MobileMessagingCore
     private FirebaseAppProvider firebaseAppProvider;
 
     protected MobileMessagingCore(Context context) {
-        this(context, new AndroidBroadcaster(context), Executors.newSingleThreadExecutor(), new ModuleLoader(context), new FirebaseAppProvider(context));
+        this(context, new AndroidBroadcaster(context), SyncScheduler.newWorkerPool(SyncScheduler.DEFAULT_PARALLELISM), new ModuleLoader(context), new FirebaseAppProvider(context));
     }
 
-    protected MobileMessagingCore(Context context, Broadcaster broadcaster, ExecutorService registrationAlignedExecutor, ModuleLoader moduleLoader, FirebaseAppProvider firebaseAppProvider) {
+    protected MobileMessagingCore(Context context, Broadcaster broadcaster, ExecutorService syncExecutor, ModuleLoader moduleLoader, FirebaseAppProvider firebaseAppProvider) {
         MobileMessagingLogger.init(context);
 
         this.context = context;
         this.broadcaster = broadcaster;
-        this.registrationAlignedExecutor = registrationAlignedExecutor;
+        this.syncScheduler = new SyncScheduler(syncExecutor);
         this.stats = new MobileMessagingStats(context);
         this.retryPolicyProvider = new RetryPolicyProvider(context);
         this.moduleLoader = moduleLoader;
@@ -477,9 +479,7 @@ public class MobileMessagingCore
     private void depersonalizeCurrentInstallation(boolean forceDepersonalize) {
         PreferenceHelper.remove(context, MobileMessagingProperty.UNREPORTED_USER_DATA);
         PreferenceHelper.remove(context, MobileMessagingProperty.USER_DATA);
-        PreferenceHelper.remove(context, MobileMessagingProperty.INFOBIP_UNREPORTED_MESSAGE_IDS);
-        PreferenceHelper.remove(context, MobileMessagingProperty.INFOBIP_UNREPORTED_SEEN_MESSAGE_IDS);
-        PreferenceHelper.remove(context, MobileMessagingProperty.INFOBIP_SYNC_MESSAGES_IDS);
+        messageIdTracker().clear(MessageIdTracker.Type.UNREPORTED_DELIVERY, MessageIdTracker.Type.UNREPORTED_SEEN, MessageIdTracker.Type.SYNC);
         PreferenceHelper.remove(context, MobileMessagingProperty.IS_PRIMARY_UNREPORTED);
         PreferenceHelper.remove(context, MobileMessagingProperty.UNSENT_MO_MESSAGES);
         PreferenceHelper.remove(context, MobileMessagingProperty.CUSTOM_ATTRIBUTES);
@@ -686,59 +686,35 @@ public class MobileMessagingCore
 
     @NonNull
     public String[] getAndRemoveUnreportedMessageIds() {
-        return PreferenceHelper.findAndRemoveStringArray(context, MobileMessagingProperty.INFOBIP_UNREPORTED_MESSAGE_IDS);
+        return messageIdTracker().findAndRemoveIds(MessageIdTracker.Type.UNREPORTED_DELIVERY);
     }
 
     public void addUnreportedMessageIds(String... messageIDs) {
-        PreferenceHelper.appendToStringArray(context, MobileMessagingProperty.INFOBIP_UNREPORTED_MESSAGE_IDS, messageIDs);
+        messageIdTracker().add(MessageIdTracker.Type.UNREPORTED_DELIVERY, Time.now(), messageIDs);
     }
 
     public void addSyncMessagesIds(String... messageIDs) {
-        String[] timestampMessageIdPair = concatTimestampToMessageId(messageIDs);
-        PreferenceHelper.appendToStringArray(context, MobileMessagingProperty.INFOBIP_SYNC_MESSAGES_IDS, timestampMessageIdPair);
+        messageIdTracker().add(MessageIdTracker.Type.SYNC, Time.now(), messageIDs);
     }
 
     public String[] getSyncMessagesIds() {
-        String[] messageIds = PreferenceHelper.findStringArray(context, MobileMessagingProperty.INFOBIP_SYNC_MESSAGES_IDS);
-        ArrayList<String> messageIdsArrayList = new ArrayList<>(Arrays.asList(messageIds));
-        Set<String> messageIdsToSync = new HashSet<>(Math.min(messageIdsArrayList.size(), MESSAGE_ID_PARAMETER_LIMIT));
-        boolean shouldUpdateMessageIds = false;
-
-        for (int i = 0; i < messageIdsArrayList.size(); i++) {
-            String syncMessage = messageIdsArrayList.get(i);
-            String[] messageIdWithTimestamp = syncMessage.split(StringUtils.COMMA_WITH_SPACE);
-
-            String strTimeMessageReceived = messageIdWithTimestamp[1];
-
-            long timeMessageReceived = Long.parseLong(strTimeMessageReceived);
-            long timeInterval = Time.now() - timeMessageReceived;
-
-            if (timeInterval > MESSAGE_EXPIRY_TIME || i >= MESSAGE_ID_PARAMETER_LIMIT) {
-                messageIdsArrayList.remove(i);
-                shouldUpdateMessageIds = true;
-                i--;
-            } else {
-                messageIdsToSync.add(messageIdWithTimestamp[0]);
-            }
-        }
-
-        if (shouldUpdateMessageIds) {
-            String[] messageIdsToUpdate = new String[messageIdsArrayList.size()];
-            messageIdsToUpdate = messageIdsArrayList.toArray(messageIdsToUpdate);
-            PreferenceHelper.remove(context, MobileMessagingProperty.INFOBIP_SYNC_MESSAGES_IDS);
-            PreferenceHelper.appendToStringArray(context, MobileMessagingProperty.INFOBIP_SYNC_MESSAGES_IDS, messageIdsToUpdate);
-        }
-
-        return messageIdsToSync.toArray(new String[0]);
+        MessageIdTracker tracker = messageIdTracker();
+        tracker.removeOlderThan(MessageIdTracker.Type.SYNC, Time.now() - MESSAGE_EXPIRY_TIME);
+        tracker.trimToNewest(MessageIdTracker.Type.SYNC, MESSAGE_ID_PARAMETER_LIMIT);
+        return tracker.findIds(MessageIdTracker.Type.SYNC, MESSAGE_ID_PARAMETER_LIMIT);
     }
 
     public boolean isMessageAlreadyProcessed(String messageId) {
-        return Arrays.asList(getSyncMessagesIds()).contains(messageId);
+        return messageIdTracker().contains(MessageIdTracker.Type.SYNC, messageId, Time.now() - MESSAGE_EXPIRY_TIME);
     }
 
     public String[] getUnreportedSeenMessageIds() {
-        String[] ids = PreferenceHelper.findStringArray(context, MobileMessagingProperty.INFOBIP_UNREPORTED_SEEN_MESSAGE_IDS);
-        return filterOutGeneratedMessageIds(ids);
+        Map<String, Long> seenIds = messageIdTracker().findWithTimestamps(MessageIdTracker.Type.UNREPORTED_SEEN, 0);
+        List<String> reports = new ArrayList<>(seenIds.size());
+        for (Map.Entry<String, Long> entry : seenIds.entrySet()) {
+            reports.add(StringUtils.concat(entry.getKey(), String.valueOf(entry.getValue()), StringUtils.COMMA_WITH_SPACE));
+        }
+        return filterOutGeneratedMessageIds(reports.toArray(new String[0]));
     }
 
     /**
@@ -747,30 +723,7 @@ public class MobileMessagingCore
      * @param messageIdMap map that contains old id as key and new id as value
      */
     public void updateUnreportedSeenMessageIds(final Map<String, String> messageIdMap) {
-        if (messageIdMap == null || messageIdMap.isEmpty()) {
-            return;
-        }
-
-        PreferenceHelper.runTransaction(new PreferenceHelper.Transaction<Void>() {
-            @Override
-            public Void run() {
-                String[] reports = PreferenceHelper.findStringArray(context, MobileMessagingProperty.INFOBIP_UNREPORTED_SEEN_MESSAGE_IDS);
-                if (reports.length == 0) {
-                    return null;
-                }
-
-                for (int i = 0; i < reports.length; i++) {
-                    String[] messageIdAndTimestamp = reports[i].split(StringUtils.COMMA_WITH_SPACE);
-                    String newMessageId = messageIdMap.get(messageIdAndTimestamp[0]);
-                    if (newMessageId != null) {
-                        reports[i] = StringUtils.concat(newMessageId, messageIdAndTimestamp[1], StringUtils.COMMA_WITH_SPACE);
-                    }
-                }
-
-                PreferenceHelper.saveStringArray(context, MobileMessagingProperty.INFOBIP_UNREPORTED_SEEN_MESSAGE_IDS, reports);
-                return null;
-            }
-        });
+        messageIdTracker().updateIds(MessageIdTracker.Type.UNREPORTED_SEEN, messageIdMap);
     }
 
     public void updateGeneratedMessageIds(final Map<String, String> messageIdMap) {
@@ -778,79 +731,43 @@ public class MobileMessagingCore
             return;
         }
 
-        PreferenceHelper.runTransaction(new PreferenceHelper.Transaction<Void>() {
-            @Override
-            public Void run() {
-                String[] generatedMessageIds = getGeneratedMessageIds();
-                for (String messageId : generatedMessageIds) {
-                    if (messageIdMap.get(messageId) != null) {
-                        removeGeneratedMessageIds(messageId);
-                    }
-                }
-                return null;
-            }
-        });
+        removeGeneratedMessageIds(messageIdMap.keySet().toArray(new String[0]));
     }
 
     public void addGeneratedMessageIds(final String... messageIDs) {
-        PreferenceHelper.appendToStringArray(context, MobileMessagingProperty.INFOBIP_GENERATED_MESSAGE_IDS, messageIDs);
+        messageIdTracker().add(MessageIdTracker.Type.GENERATED, Time.now(), messageIDs);
     }
 
-    private String[] getGeneratedMessageIds() {
-        return PreferenceHelper.findStringArray(context, MobileMessagingProperty.INFOBIP_GENERATED_MESSAGE_IDS);
+    private boolean isGeneratedMessageId(String messageId) {
+        return messageIdTracker().contains(MessageIdTracker.Type.GENERATED, messageId);
     }
 
     private void removeGeneratedMessageIds(final String... messageIDs) {
-        PreferenceHelper.deleteFromStringArray(context, MobileMessagingProperty.INFOBIP_GENERATED_MESSAGE_IDS, messageIDs);
+        messageIdTracker().remove(MessageIdTracker.Type.GENERATED, messageIDs);
     }
 
     private void addUnreportedSeenMessageIds(final String... messageIDs) {
-        String[] seenMessages = concatTimestampToMessageId(messageIDs);
-        PreferenceHelper.appendToStringArray(context, MobileMessagingProperty.INFOBIP_UNREPORTED_SEEN_MESSAGE_IDS, seenMessages);
-    }
-
-    private String[] concatTimestampToMessageId(String[] messageIDs) {
-        List<String> syncMessages = new ArrayList<>(messageIDs.length);
-        if (messageIDs.length > 0) {
-            for (String messageId : messageIDs) {
-                if (messageId == null) {
-                    continue;
-                }
-                String seenTimestamp = String.valueOf(Time.now());
-                syncMessages.add(StringUtils.concat(messageId, seenTimestamp, StringUtils.COMMA_WITH_SPACE));
-            }
-        }
-
-        return syncMessages.toArray(new String[0]);
+        messageIdTracker().add(MessageIdTracker.Type.UNREPORTED_SEEN, Time.now(), messageIDs);
     }
 
     public String[] filterOutGeneratedMessageIds(String[] messageIDs) {
-        List<String> generatedMessageIDs = Arrays.asList(getGeneratedMessageIds());
-        if (generatedMessageIDs.size() == 0 && messageIDs.length == 0) {
+        if (messageIDs.length == 0) {
             return messageIDs;
         }
 
-        List<String> seenIds = getSeenMessageIdsFromReports(messageIDs);
-        List<String> seenIdsToRemove = new ArrayList<>();
-        for (String seenMsgId : seenIds) {
-            if (generatedMessageIDs.contains(seenMsgId) || isInUuidFormat(seenMsgId)) {
-                seenIdsToRemove.add(seenMsgId);
-            }
-        }
-
-        List<String> filteredSeenReports = new ArrayList<>(Arrays.asList(messageIDs));
+        List<String> filteredSeenReports = new ArrayList<>(messageIDs.length);
         for (String seenReport : messageIDs) {
             String seenMessageIdFromReport = getSeenMessageIdFromReport(seenReport);
-            if (seenMessageIdFromReport != null && seenIdsToRemove.contains(seenMessageIdFromReport)) {
-                filteredSeenReports.remove(seenReport);
+            if (seenMessageIdFromReport != null && (isInUuidFormat(seenMessageIdFromReport) || isGeneratedMessageId(seenMessageIdFromReport))) {
+                continue;
             }
+            filteredSeenReports.add(seenReport);
         }
         return filteredSeenReports.toArray(new String[0]);
     }
 
     private boolean isInUuidFormat(String msgIdToReport) {
-        Pattern p = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$");
-        return p.matcher(msgIdToReport).matches();
+        return UUID_PATTERN.matcher(msgIdToReport).matches();
     }
 
     /**
@@ -878,8 +795,20 @@ public class MobileMessagingCore
         return reportContents.length > 0 ? reportContents[0] : null;
     }
 
+    /**
+     * Removes unreported seen ids
+     *
+     * @param messageIDs message ids or seen reports (concatenated message id and timestamp)
+     */
     public void removeUnreportedSeenMessageIds(final String... messageIDs) {
-        PreferenceHelper.deleteFromStringArray(context, MobileMessagingProperty.INFOBIP_UNREPORTED_SEEN_MESSAGE_IDS, messageIDs);
+        messageIdTracker().remove(MessageIdTracker.Type.UNREPORTED_SEEN, getSeenMessageIdsFromReports(messageIDs).toArray(new String[0]));
+    }
+
+    private MessageIdTracker messageIdTracker() {
+        if (messageIdTracker == null) {
+            messageIdTracker = new MessageIdTracker(getDatabaseProvider(context));
+        }
+        return messageIdTracker;
     }
 
     public void setMessagesDelivered(String... messageIds) {
@@ -892,19 +821,30 @@ public class MobileMessagingCore
 
     public void setMessagesSeen(String... messageIds) {
         if (messageIds != null) {
-            addUnreportedSeenMessageIds(messageIds);
+            addUnreportedSeenMessageIdsAndSync(messageIds);
             updateStoredMessagesWithSeenStatus(messageIds);
-            lazySync();
         }
     }
 
     public void setMessagesSeenDontStore(String... messageIds) {
         if (messageIds != null) {
-            addUnreportedSeenMessageIds(messageIds);
-            lazySync();
+            addUnreportedSeenMessageIdsAndSync(messageIds);
         }
     }
 
+    /**
+     * Seen ids are written on the storage stage, since this is usually called from the main thread
+     */
+    private void addUnreportedSeenMessageIdsAndSync(final String[] messageIds) {
+        syncScheduler.executor(SyncScheduler.Stage.STORAGE).execute(new Runnable() {
+            @Override
+            public void run() {
+                addUnreportedSeenMessageIds(messageIds);
+                lazySync();
+            }
+        });
+    }
+
     private void updateStoredMessagesWithSeenStatus(String[] messageIds) {
         if (!isMessageStoreEnabled()) {
             return;
@@ -1096,6 +1036,26 @@ public class MobileMessagingCore
         return stats;
     }
 
+    /**
+     * Returns current values of SDK health metrics: latencies and success rates of Mobile API calls and synchronizations,
+     * and error counters. Metrics are kept in memory since the application started,
+     * use this method to periodically export them to your own telemetry.
+     *
+     * @return snapshot of SDK metrics
+     * @see MetricsSnapshot
+     */
+    @NonNull
+    public MetricsSnapshot getMetricsSnapshot() {
+        return stats.getMetrics().snapshot();
+    }
+
+    /**
+     * Returns run and wait times of synchronization stages
+     */
+    public Map<SyncScheduler.Stage, SyncScheduler.StageTimings> getSyncStageTimings() {
+        return syncScheduler.getTimings();
+    }
+
     private void setApplicationCode(String applicationCode) {
         if (shouldSaveApplicationCode(context)) {
             if (StringUtils.isBlank(applicationCode)) {
@@ -1286,14 +1246,12 @@ public class MobileMessagingCore
 
         PreferenceHelper.remove(context, MobileMessagingProperty.UNREPORTED_USER_DATA);
         PreferenceHelper.remove(context, MobileMessagingProperty.USER_DATA);
-        PreferenceHelper.remove(context, MobileMessagingProperty.INFOBIP_UNREPORTED_MESSAGE_IDS);
-        PreferenceHelper.remove(context, MobileMessagingProperty.INFOBIP_UNREPORTED_SEEN_MESSAGE_IDS);
+        messageIdTracker().clear(MessageIdTracker.Type.UNREPORTED_DELIVERY, MessageIdTracker.Type.UNREPORTED_SEEN, MessageIdTracker.Type.SYNC);
         PreferenceHelper.remove(context, MobileMessagingProperty.UNREPORTED_SYSTEM_DATA);
         PreferenceHelper.remove(context, MobileMessagingProperty.REPORTED_SYSTEM_DATA_HASH);
         PreferenceHelper.remove(context, MobileMessagingProperty.IS_PRIMARY_UNREPORTED);
         PreferenceHelper.remove(context, MobileMessagingProperty.UNSENT_MO_MESSAGES);
 
-        PreferenceHelper.remove(context, MobileMessagingProperty.INFOBIP_SYNC_MESSAGES_IDS);
         PreferenceHelper.remove(context, MobileMessagingProperty.CUSTOM_ATTRIBUTES);
         PreferenceHelper.remove(context, MobileMessagingProperty.UNREPORTED_CUSTOM_ATTRIBUTES);
         PreferenceHelper.remove(context, MobileMessagingProperty.APP_USER_ID);
@@ -1843,7 +1801,7 @@ public class MobileMessagingCore
     private MoMessageSender moMessageSender() {
         if (moMessageSender == null) {
             moMessageSender = new MoMessageSender(context, this, broadcaster,
-                    registrationAlignedExecutor, stats, retryPolicyProvider.DEFAULT(), mobileApiResourceProvider().getMobileApiMessages(context), getMessageStoreWrapper());
+                    syncScheduler.executor(SyncScheduler.Stage.MESSAGES), stats, retryPolicyProvider.DEFAULT(), mobileApiResourceProvider().getMobileApiMessages(context), getMessageStoreWrapper());
         }
         return moMessageSender;
     }
@@ -1851,7 +1809,7 @@ public class MobileMessagingCore
     @NonNull
     private UserDataReporter userDataReporter() {
         if (userDataReporter == null) {
-            userDataReporter = new UserDataReporter(this, registrationAlignedExecutor,
+            userDataReporter = new UserDataReporter(this, syncScheduler.executor(SyncScheduler.Stage.USER),
                     broadcaster, retryPolicyProvider, stats, mobileApiResourceProvider().getMobileApiAppInstance(context));
         }
         return userDataReporter;
@@ -1865,7 +1823,7 @@ public class MobileMessagingCore
                     broadcaster,
                     mobileApiResourceProvider().getMobileApiAppInstance(context),
                     retryPolicyProvider.DEFAULT(),
-                    registrationAlignedExecutor,
+                    syncScheduler.executor(SyncScheduler.Stage.USER),
                     new BatchReporter(PreferenceHelper.findLong(context, MobileMessagingProperty.BATCH_REPORTING_DELAY)),
                     this);
         }
@@ -1876,7 +1834,7 @@ public class MobileMessagingCore
     private MessagesSynchronizer messagesSynchronizer() {
         if (messagesSynchronizer == null) {
             MobileMessageHandler mobileMessageHandler = new MobileMessageHandler(this, broadcaster, getNotificationHandler(), getMessageStoreWrapper());
-            messagesSynchronizer = new MessagesSynchronizer(this, stats, registrationAlignedExecutor,
+            messagesSynchronizer = new MessagesSynchronizer(this, stats, syncScheduler.executor(SyncScheduler.Stage.MESSAGES),
                     broadcaster, retryPolicyProvider.DEFAULT(), mobileMessageHandler, mobileApiResourceProvider().getMobileApiMessages(context));
         }
         return messagesSynchronizer;
@@ -1885,7 +1843,7 @@ public class MobileMessagingCore
     @NonNull
     private SeenStatusReporter seenStatusReporter() {
         if (seenStatusReporter == null) {
-            seenStatusReporter = new SeenStatusReporter(this, stats, registrationAlignedExecutor, broadcaster,
+            seenStatusReporter = new SeenStatusReporter(this, stats, syncScheduler.executor(SyncScheduler.Stage.MESSAGES), broadcaster,
                     mobileApiResourceProvider().getMobileApiMessages(context), new BatchReporter(PreferenceHelper.findLong(context, MobileMessagingProperty.BATCH_REPORTING_DELAY)));
         }
         return seenStatusReporter;
@@ -1902,7 +1860,7 @@ public class MobileMessagingCore
     @NonNull
     private BaseUrlChecker baseUrlChecker() {
         if (baseUrlChecker == null) {
-            baseUrlChecker = new BaseUrlChecker(context, registrationAlignedExecutor, mobileApiResourceProvider().getMobileApiBaseUrl(context));
+            baseUrlChecker = new BaseUrlChecker(context, syncScheduler.executor(SyncScheduler.Stage.BASE_URL), mobileApiResourceProvider().getMobileApiBaseUrl(context));
         }
         return baseUrlChecker;
     }
@@ -1914,7 +1872,7 @@ public class MobileMessagingCore
                     context,
                     this,
                     stats,
-                    registrationAlignedExecutor,
+                    syncScheduler.executor(SyncScheduler.Stage.INSTALLATION),
                     broadcaster,
                     retryPolicyProvider,
                     mobileApiResourceProvider().getMobileApiAppInstance(context));
@@ -1930,7 +1888,7 @@ public class MobileMessagingCore
                     broadcaster,
                     mobileApiResourceProvider().getMobileApiAppInstance(context),
                     retryPolicyProvider.DEFAULT(),
-                    registrationAlignedExecutor,
+                    syncScheduler.executor(SyncScheduler.Stage.USER),
                     new BatchReporter(PreferenceHelper.findLong(context, MobileMessagingProperty.BATCH_REPORTING_DELAY)));
         }
         return userEventsSynchronizer;
@@ -58,7 +58,7 @@ public class MobileMessageHandler {
         sendDeliveryReport(message);
 
         for (MessageHandlerModule handler : mobileMessagingCore.getMessageHandlerModules()) {
-            MobileMessagingLogger.d("Dispatching message to " + handler.getClass().getName());
+            MobileMessagingLogger.d(() -> "Dispatching message to " + handler.getClass().getName());
             if (handler.handleMessage(message)) {
                 return;
             }
@@ -67,7 +67,7 @@ public class MobileMessageHandler {
         saveMessage(message);
         broadcaster.messageReceived(message);
 
-        MobileMessagingLogger.d("Message is silent: " + message.isSilent());
+        MobileMessagingLogger.d(() -> "Message is silent: " + message.isSilent());
         if (!message.isSilent()) {
             int notificationId = notificationHandler.displayNotification(message);
             broadcaster.notificationDisplayed(message, notificationId);
@@ -75,7 +75,7 @@ public class MobileMessageHandler {
     }
 
     private void saveMessage(Message message) {
-        MobileMessagingLogger.d("Saving message: " + message.getMessageId());
+        MobileMessagingLogger.d(() -> "Saving message: " + message.getMessageId());
         try {
             messageStoreWrapper.upsert(message);
         } catch (Exception e) {
@@ -88,7 +88,7 @@ public class MobileMessageHandler {
             MobileMessagingLogger.e("No ID received for message: " + message);
             return;
         }
-        MobileMessagingLogger.d("Sending DR: " + message.getMessageId());
+        MobileMessagingLogger.d(() -> "Sending DR: " + message.getMessageId());
         mobileMessagingCore.setMessagesDelivered(message.getMessageId());
     }
 }
\ No newline at end of file
@@ -17,6 +17,21 @@ import java.util.Map;
 public class InternalDataMapper {
 
     private static final JsonSerializer serializer = new JsonSerializer(false);
+    static final Parser DEFAULT_PARSER = new Parser() {
+        @Nullable
+        @Override
+        public InternalData parse(@Nullable String json) {
+            return InternalDataMapper.parse(json);
+        }
+    };
+
+    /**
+     * Parses internal data json for {@link InternalDataView}
+     */
+    interface Parser {
+        @Nullable
+        InternalData parse(@Nullable String json);
+    }
 
     /**
      * @param <VibrateValueType> vibrate comes as String from FCM and as Boolean from Infobip Services
@@ -62,6 +77,135 @@ public class InternalDataMapper {
         String url;
     }
 
+    /**
+     * Read-only view of internal data of one message.
+     * <br>
+     * Json is parsed once, on the first access of any field, and parsed data is reused for all other fields.
+     */
+    public static class InternalDataView {
+        private final String json;
+        private final Parser parser;
+        private volatile boolean parsed;
+        private InternalData data;
+
+        InternalDataView(String json, Parser parser) {
+            this.json = json;
+            this.parser = parser;
+        }
+
+        public String getJson() {
+            return json;
+        }
+
+        public String getTitle() {
+            Silent silent = silent();
+            return silent != null ? silent.title : null;
+        }
+
+        public String getBody() {
+            Silent silent = silent();
+            return silent != null ? silent.body : null;
+        }
+
+        public String getSound() {
+            Silent silent = silent();
+            return silent != null ? silent.sound : null;
+        }
+
+        public boolean getVibrate(boolean defaultVibrate) {
+            Silent silent = silent();
+            return silent != null && silent.vibrate != null ? Boolean.valueOf(silent.vibrate.toString()) : defaultVibrate;
+        }
+
+        public String getCategory() {
+            Silent silent = silent();
+            return silent != null ? silent.category : null;
+        }
+
+        public String getContentUrl() {
+            InternalData data = data();
+            return data != null && data.atts != null && data.atts.length > 0 && data.atts[0] != null ? data.atts[0].url : null;
+        }
+
+        public long getSendDateTime() {
+            InternalData data = data();
+            return data != null ? data.sendDateTime : 0;
+        }
+
+        public long getInAppExpiryDateTime() {
+            InternalData data = data();
+            return data != null ? data.inAppExpiryDateTime : 0;
+        }
+
+        public String getWebViewUrl() {
+            InternalData data = data();
+            return data != null ? data.webViewUrl : null;
+        }
+
+        public String getBrowserUrl() {
+            InternalData data = data();
+            return data != null ? data.browserUrl : null;
+        }
+
+        public String getMessageType() {
+            InternalData data = data();
+            return data != null ? data.messageType : null;
+        }
+
+        public String getBulkId() {
+            InternalData data = data();
+            return data != null ? data.bulkId : null;
+        }
+
+        public String getInitialMessageId() {
+            InternalData data = data();
+            return data != null ? data.initialMessageId : null;
+        }
+
+        public Message.InAppStyle getInAppStyle() {
+            InternalData data = data();
+            if (data == null) {
+                return null;
+            }
+            if (data.inAppStyle != null) {
+                return data.inAppStyle;
+            }
+            return Boolean.TRUE.equals(data.inApp) ? Message.InAppStyle.MODAL : null;
+        }
+
+        public String getDeeplinkUri() {
+            InternalData data = data();
+            return data != null ? data.deeplink : null;
+        }
+
+        public String getInAppOpenTitle() {
+            InternalData data = data();
+            return data != null ? data.inAppOpenTitle : null;
+        }
+
+        public String getInAppDismissTitle() {
+            InternalData data = data();
+            return data != null ? data.inAppDismissTitle : null;
+        }
+
+        private Silent silent() {
+            InternalData data = data();
+            return data != null ? data.silent : null;
+        }
+
+        private InternalData data() {
+            if (!parsed) {
+                synchronized (this) {
+                    if (!parsed) {
+                        data = parser.parse(json);
+                        parsed = true;
+                    }
+                }
+            }
+            return data;
+        }
+    }
+
     /**
      * Creates internal data json based on message contents
      * <br> Note that boolean fields will be saved as String for FCM.
@@ -90,20 +234,45 @@ public class InternalDataMapper {
      * @param internalDataJson json object with internal data
      */
     public static void updateMessageWithInternalData(@NonNull Message message, String internalDataJson) {
-        InternalData internalData = serializer.deserialize(internalDataJson, InternalData.class);
+        updateMessageWithInternalData(message, view(internalDataJson));
+    }
 
-        if (internalData == null || internalData.silent == null) {
+    /**
+     * Updates message fields based on what is set in internal data (such as geo data and silent data)
+     *
+     * @param message      message to update
+     * @param internalData parsed internal data
+     */
+    public static void updateMessageWithInternalData(@NonNull Message message, @NonNull InternalDataView internalData) {
+        InternalData data = internalData.data();
+        if (data == null || data.silent == null) {
             return;
         }
 
-        message.setTitle(internalData.silent.title);
-        message.setBody(internalData.silent.body);
-        message.setSound(internalData.silent.sound);
-        if (internalData.silent.vibrate != null) {
-            message.setVibrate(Boolean.valueOf(internalData.silent.vibrate.toString()));
+        message.setTitle(data.silent.title);
+        message.setBody(data.silent.body);
+        message.setSound(data.silent.sound);
+        if (data.silent.vibrate != null) {
+            message.setVibrate(Boolean.valueOf(data.silent.vibrate.toString()));
         }
     }
 
+    /**
+     * Creates view of internal data, json is not parsed until the first field is accessed
+     *
+     * @param json internal data json
+     * @return internal data view
+     */
+    @NonNull
+    public static InternalDataView view(@Nullable String json) {
+        return view(json, DEFAULT_PARSER);
+    }
+
+    @NonNull
+    static InternalDataView view(@Nullable String json, @NonNull Parser parser) {
+        return new InternalDataView(json, parser);
+    }
+
 
     /**
      * Returns title from internal data
@@ -112,11 +281,7 @@ public class InternalDataMapper {
      * @return title if present or null otherwise
      */
     public static String getInternalDataTitle(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).silent.title;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getTitle();
     }
 
     /**
@@ -126,11 +291,7 @@ public class InternalDataMapper {
      * @return body if present or null otherwise
      */
     public static String getInternalDataBody(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).silent.body;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getBody();
     }
 
     /**
@@ -140,11 +301,7 @@ public class InternalDataMapper {
      * @return sound if present or null otherwise
      */
     public static String getInternalDataSound(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).silent.sound;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getSound();
     }
 
     /**
@@ -155,12 +312,7 @@ public class InternalDataMapper {
      * @return vibrate if present or defaultVibrate otherwise
      */
     public static boolean getInternalDataVibrate(String json, boolean defaultVibrate) {
-        try {
-            Object vibrate = serializer.deserialize(json, InternalData.class).silent.vibrate;
-            return Boolean.valueOf(vibrate.toString());
-        } catch (Exception e) {
-            return defaultVibrate;
-        }
+        return view(json).getVibrate(defaultVibrate);
     }
 
     /**
@@ -170,11 +322,7 @@ public class InternalDataMapper {
      * @return category if present or null otherwise
      */
     public static String getInternalDataCategory(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).silent.category;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getCategory();
     }
 
     /**
@@ -184,11 +332,7 @@ public class InternalDataMapper {
      * @return content url if present or null otherwise
      */
     public static String getInternalDataContentUrl(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).atts[0].url;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getContentUrl();
     }
 
     /**
@@ -198,11 +342,7 @@ public class InternalDataMapper {
      * @return timestamp if present or 0 otherwise
      */
     public static long getInternalDataSendDateTime(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).sendDateTime;
-        } catch (Exception e) {
-            return 0;
-        }
+        return view(json).getSendDateTime();
     }
 
     /**
@@ -212,11 +352,7 @@ public class InternalDataMapper {
      * @return timestamp if present or 0 otherwise
      */
     public static long getInternalDataInAppExpiryDateTime(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).inAppExpiryDateTime;
-        } catch (Exception e) {
-            return 0;
-        }
+        return view(json).getInAppExpiryDateTime();
     }
 
     /**
@@ -226,11 +362,7 @@ public class InternalDataMapper {
      * @return web view URL if present or null otherwise
      */
     public static String getInternalDataWebViewUrl(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).webViewUrl;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getWebViewUrl();
     }
 
     /**
@@ -240,11 +372,7 @@ public class InternalDataMapper {
      * @return browser URL if present or null otherwise
      */
     public static String getInternalDataBrowserUrl(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).browserUrl;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getBrowserUrl();
     }
 
     /**
@@ -254,11 +382,7 @@ public class InternalDataMapper {
      * @return message type if present or null otherwise
      */
     public static String getInternalDataMessageType(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).messageType;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getMessageType();
     }
 
     /**
@@ -268,11 +392,7 @@ public class InternalDataMapper {
      * @return bulkId if present or null otherwise
      */
     public static String getInternalDataBulkId(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).bulkId;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getBulkId();
     }
 
     /**
@@ -282,28 +402,17 @@ public class InternalDataMapper {
      * @return initialMessageId if present or null otherwise
      */
     public static String getInternalDataInitialMessageId(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).initialMessageId;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getInitialMessageId();
     }
 
+    /**
+     * Returns in-app style from internal data
+     *
+     * @param json internal data json
+     * @return in-app style if present or null otherwise
+     */
     public static Message.InAppStyle getInternalDataInAppStyle(String json) {
-        try {
-            InternalData internalData = serializer.deserialize(json, InternalData.class);
-            if (internalData.inAppStyle != null) {
-                return internalData.inAppStyle;
-            }
-
-            if (internalData.inApp) {
-                return Message.InAppStyle.MODAL;
-            }
-
-            return null;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getInAppStyle();
     }
 
     /**
@@ -313,11 +422,7 @@ public class InternalDataMapper {
      * @return Deeplink URI if present or null otherwise
      */
     public static String getInternalDataDeeplinkUri(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).deeplink;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getDeeplinkUri();
     }
 
     /**
@@ -327,11 +432,7 @@ public class InternalDataMapper {
      * @return Title for in-app open button if present or null otherwise
      */
     public static String getInternalDataInAppOpenTitle(String json) {
-        try {
-            return serializer.deserialize(json, InternalData.class).inAppOpenTitle;
-        } catch (Exception e) {
-            return null;
-        }
+        return view(json).getInAppOpenTitle();
     }
 
     /**
@@ -341,8 +442,17 @@ public class InternalDataMapper {
      * @return Title for in-app dismiss button if present or null otherwise
      */
     public static String getInternalDataInAppDismissTitle(String json) {
+        return view(json).getInAppDismissTitle();
+    }
+
+    @Nullable
+    private static InternalData parse(@Nullable String json) {
+        if (json == null) {
+            return null;
+        }
+
         try {
-            return serializer.deserialize(json, InternalData.class).inAppDismissTitle;
+            return serializer.deserialize(json, InternalData.class);
         } catch (Exception e) {
             return null;
         }
@@ -1,18 +1,22 @@
 package org.infobip.mobile.messaging.dal.sqlite;
 
+import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.DatabaseUtils;
 import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 import androidx.annotation.NonNull;
 import android.util.Log;
 
 import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +29,11 @@ public abstract class BaseDatabaseHelper extends SQLiteOpenHelper implements Dat
 
     private static final Map<Class<? extends DatabaseContract.DatabaseObject>, DatabaseContract.DatabaseObject> databaseObjectsCache = new HashMap<>();
 
+    /**
+     * SQLite default limit of host parameters in one statement is 999
+     */
+    private static final int MAX_SQL_ARGUMENTS = 500;
+
     protected final Context context;
     private SQLiteDatabase sqLiteDatabase;
 
@@ -48,6 +57,19 @@ public abstract class BaseDatabaseHelper extends SQLiteOpenHelper implements Dat
         return objects;
     }
 
+    @Override
+    public <T extends DatabaseContract.DatabaseObject> List<T> find(Class<T> cls, String selection, String[] selectionArgs, String orderBy, String limit) {
+        Cursor cursor = db().query(getTableName(cls), null, selection, selectionArgs, null, null, orderBy, limit);
+        List<T> objects = loadFromCursor(cursor, cls);
+        cursor.close();
+        return objects;
+    }
+
+    @Override
+    public <T extends DatabaseContract.DatabaseObject> CursorIterator<T> iterate(Class<T> cls, String selection, String[] selectionArgs, String orderBy, String limit) {
+        return new CursorIterator<>(db().query(getTableName(cls), null, selection, selectionArgs, null, null, orderBy, limit), cls);
+    }
+
     @Override
     public <T extends DatabaseContract.DatabaseObject> T find(Class<T> cls, @NonNull String primaryKey) {
         Cursor cursor = db().rawQuery("SELECT * FROM " + getTableName(cls) + " WHERE " + getPrimaryKeyColumn(cls) + " = ?", new String[]{primaryKey});
@@ -66,11 +88,57 @@ public abstract class BaseDatabaseHelper extends SQLiteOpenHelper implements Dat
         return DatabaseUtils.queryNumEntries(db(), getTableName(cls), sqlWhereCondition);
     }
 
+    @Override
+    public <T extends DatabaseContract.DatabaseObject> long countAll(Class<T> cls, String selection, String[] selectionArgs) {
+        return DatabaseUtils.queryNumEntries(db(), getTableName(cls), selection, selectionArgs);
+    }
+
     @Override
     public void save(DatabaseContract.DatabaseObject object) {
         db().insertWithOnConflict(object.getTableName(), null, object.getContentValues(), SQLiteDatabase.CONFLICT_REPLACE);
     }
 
+    @Override
+    public void saveAll(Collection<? extends DatabaseContract.DatabaseObject> objects) {
+        if (objects == null || objects.isEmpty()) {
+            return;
+        }
+
+        SQLiteDatabase db = db();
+        Map<String, SQLiteStatement> statements = new HashMap<>();
+        db.beginTransaction();
+        try {
+            for (DatabaseContract.DatabaseObject object : objects) {
+                ContentValues contentValues = object.getContentValues();
+                List<String> columns = new ArrayList<>(contentValues.size());
+                List<Object> values = new ArrayList<>(contentValues.size());
+                for (Map.Entry<String, Object> entry : contentValues.valueSet()) {
+                    columns.add(entry.getKey());
+                    values.add(entry.getValue());
+                }
+
+                String sql = insertOrReplaceSql(object.getTableName(), columns);
+                SQLiteStatement statement = statements.get(sql);
+                if (statement == null) {
+                    statement = db.compileStatement(sql);
+                    statements.put(sql, statement);
+                }
+
+                statement.clearBindings();
+                for (int i = 0; i < values.size(); i++) {
+                    DatabaseUtils.bindObjectToProgram(statement, i + 1, values.get(i));
+                }
+                statement.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            for (SQLiteStatement statement : statements.values()) {
+                statement.close();
+            }
+            db.endTransaction();
+        }
+    }
+
     @Override
     public void insert(DatabaseContract.DatabaseObject object) throws PrimaryKeyViolationException {
         try {
@@ -96,6 +164,78 @@ public abstract class BaseDatabaseHelper extends SQLiteOpenHelper implements Dat
                 " IN (" + new String(new char[primaryKeys.length - 1]).replace("\0", "?,") + "?)", primaryKeys);
     }
 
+    @Override
+    public <T extends DatabaseContract.DatabaseObject> void deleteAll(Class<T> cls, Collection<String> primaryKeys) {
+        if (primaryKeys == null || primaryKeys.isEmpty()) {
+            return;
+        }
+
+        String tableName = getTableName(cls);
+        String primaryKeyColumn = getPrimaryKeyColumn(cls);
+        SQLiteDatabase db = db();
+        db.beginTransaction();
+        try {
+            Iterator<String> iterator = primaryKeys.iterator();
+            List<String> chunk = new ArrayList<>(Math.min(primaryKeys.size(), MAX_SQL_ARGUMENTS));
+            while (iterator.hasNext()) {
+                String primaryKey = iterator.next();
+                if (primaryKey != null) {
+                    chunk.add(primaryKey);
+                }
+                if (chunk.size() == MAX_SQL_ARGUMENTS || (!iterator.hasNext() && !chunk.isEmpty())) {
+                    db.delete(tableName, primaryKeyColumn + " IN (" +
+                            new String(new char[chunk.size() - 1]).replace("\0", "?,") + "?)", chunk.toArray(new String[0]));
+                    chunk.clear();
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @Override
+    public <T extends DatabaseContract.DatabaseObject> void updatePrimaryKeys(Class<T> cls, Map<String, String> primaryKeys) {
+        if (primaryKeys == null || primaryKeys.isEmpty()) {
+            return;
+        }
+
+        String primaryKeyColumn = getPrimaryKeyColumn(cls);
+        SQLiteDatabase db = db();
+        db.beginTransaction();
+        SQLiteStatement statement = db.compileStatement("UPDATE OR REPLACE " + getTableName(cls) +
+                " SET " + primaryKeyColumn + " = ? WHERE " + primaryKeyColumn + " = ?");
+        try {
+            for (Map.Entry<String, String> entry : primaryKeys.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) {
+                    continue;
+                }
+                statement.clearBindings();
+                statement.bindString(1, entry.getValue());
+                statement.bindString(2, entry.getKey());
+                statement.executeUpdateDelete();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            statement.close();
+            db.endTransaction();
+        }
+    }
+
+    private static String insertOrReplaceSql(String tableName, List<String> columns) {
+        StringBuilder sql = new StringBuilder("INSERT OR REPLACE INTO ").append(tableName).append(" (");
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+                placeholders.append(", ");
+            }
+            sql.append(columns.get(i));
+            placeholders.append('?');
+        }
+        return sql.append(") VALUES (").append(placeholders).append(')').toString();
+    }
+
     private DatabaseContract.DatabaseObject emptyDatabaseObject(Class<? extends DatabaseContract.DatabaseObject> cls) {
         DatabaseContract.DatabaseObject emptyInstance = databaseObjectsCache.get(cls);
         if (emptyInstance != null) {
@@ -0,0 +1,84 @@
+package org.infobip.mobile.messaging.dal.sqlite;
+
+import android.database.Cursor;
+import android.util.Log;
+
+import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy iterator over query results, objects are created from cursor rows one at a time.
+ * <br>
+ * Cursor is closed automatically when iteration is finished, {@link #close()} must be called if iteration is abandoned earlier.
+ *
+ * @param <T> object type
+ * @since 18/10/2026.
+ */
+public class CursorIterator<T extends DatabaseContract.DatabaseObject> implements Iterator<T>, Closeable {
+
+    private final Cursor cursor;
+    private final Class<T> cls;
+    private T next;
+    private boolean closed;
+
+    CursorIterator(Cursor cursor, Class<T> cls) {
+        this.cursor = cursor;
+        this.cls = cls;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !closed) {
+            if (!cursor.moveToNext()) {
+                close();
+                break;
+            }
+            next = load();
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T object = next;
+        next = null;
+        return object;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            cursor.close();
+        }
+    }
+
+    /**
+     * @return number of rows in query result
+     */
+    public int getCount() {
+        return closed ? 0 : cursor.getCount();
+    }
+
+    private T load() {
+        try {
+            T object = cls.newInstance();
+            object.fillFromCursor(cursor);
+            return object;
+        } catch (Exception e) {
+            MobileMessagingLogger.e(Log.getStackTraceString(e));
+            return null;
+        }
+    }
+}
@@ -20,6 +20,26 @@ public interface DatabaseContract {
          * Table for geo messages
          */
         String  GEO_MESSAGES = "geo_messages";
+
+        /**
+         * Table for tracked message ids (delivery, seen, sync and generated)
+         */
+        String MESSAGE_IDS = "message_ids";
+
+        /**
+         * Table for geo areas of geo messages
+         */
+        String GEO_AREAS = "geo_areas";
+
+        /**
+         * Table for campaign data of geo messages
+         */
+        String GEO_CAMPAIGNS = "geo_campaigns";
+
+        /**
+         * Table for event settings of geo messages
+         */
+        String GEO_EVENTS = "geo_events";
     }
 
     interface MessageColumns {
@@ -132,6 +152,140 @@ public interface DatabaseContract {
         String IN_APP_STYLE = "in_app_style";
     }
 
+    interface MessageIdColumns {
+        /**
+         * Kind of tracked id, part of primary key
+         *  [TEXT]
+         */
+        String TYPE = "type";
+
+        /**
+         * Message identifier, part of primary key
+         *  [TEXT]
+         */
+        String MESSAGE_ID = "message_id";
+
+        /**
+         * Timestamp when message id was tracked
+         *  [INTEGER]
+         */
+        String TIMESTAMP = "timestamp";
+    }
+
+    interface GeoAreaColumns {
+        /**
+         * Identifier of geo message which contains the area, part of primary key
+         *  [TEXT]
+         */
+        String MESSAGE_ID = "message_id";
+
+        /**
+         * Area identifier (geofence request id), part of primary key, case insensitive
+         *  [TEXT]
+         */
+        String AREA_ID = "area_id";
+
+        /**
+         * Title of area
+         *  [TEXT]
+         */
+        String TITLE = "title";
+
+        /**
+         * Latitude of area center
+         *  [REAL]
+         */
+        String LATITUDE = "latitude";
+
+        /**
+         * Longitude of area center
+         *  [REAL]
+         */
+        String LONGITUDE = "longitude";
+
+        /**
+         * Radius of area in meters
+         *  [INTEGER]
+         */
+        String RADIUS = "radius";
+
+        /**
+         * Longitude index of spatial grid cell which contains area center
+         *  [INTEGER]
+         */
+        String CELL_X = "cell_x";
+
+        /**
+         * Latitude index of spatial grid cell which contains area center
+         *  [INTEGER]
+         */
+        String CELL_Y = "cell_y";
+    }
+
+    interface GeoCampaignColumns {
+        /**
+         * Identifier of geo message, primary key
+         *  [TEXT]
+         */
+        String MESSAGE_ID = "message_id";
+
+        /**
+         * Campaign identifier
+         *  [TEXT]
+         */
+        String CAMPAIGN_ID = "campaign_id";
+
+        /**
+         * Timestamp when campaign starts, null if campaign is started immediately
+         *  [INTEGER]
+         */
+        String START_TIME = "start_time";
+
+        /**
+         * Timestamp when campaign expires, null if campaign does not expire
+         *  [INTEGER]
+         */
+        String EXPIRY_TIME = "expiry_time";
+
+        /**
+         * Days of week when notifications can be delivered
+         *  [TEXT]
+         */
+        String DELIVERY_DAYS = "delivery_days";
+
+        /**
+         * Time of day interval when notifications can be delivered
+         *  [TEXT]
+         */
+        String DELIVERY_TIME_INTERVAL = "delivery_time_interval";
+    }
+
+    interface GeoEventColumns {
+        /**
+         * Identifier of geo message, part of primary key
+         *  [TEXT]
+         */
+        String MESSAGE_ID = "message_id";
+
+        /**
+         * Type of geo event, part of primary key
+         *  [TEXT]
+         */
+        String TYPE = "type";
+
+        /**
+         * Maximum number of notifications for the event
+         *  [INTEGER]
+         */
+        String EVENT_LIMIT = "event_limit";
+
+        /**
+         * Minimum time between two notifications for the event in minutes
+         *  [INTEGER]
+         */
+        String TIMEOUT_MINUTES = "timeout_minutes";
+    }
+
     interface DatabaseObject {
 
         /**
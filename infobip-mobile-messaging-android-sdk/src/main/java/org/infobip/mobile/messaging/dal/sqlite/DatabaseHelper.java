@@ -1,6 +1,8 @@
 package org.infobip.mobile.messaging.dal.sqlite;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author sslavin
@@ -16,6 +18,31 @@ public interface DatabaseHelper {
      */
     <T extends DatabaseContract.DatabaseObject> List<T> findAll(Class<T> cls);
 
+    /**
+     * Finds instances of specified type in database which match the selection
+     * @param cls object class
+     * @param selection SQL WHERE clause without the "WHERE" keyword, null for all objects
+     * @param selectionArgs arguments for "?" placeholders in selection
+     * @param orderBy SQL ORDER BY clause without the "ORDER BY" keywords, null for default order
+     * @param limit SQL LIMIT clause without the "LIMIT" keyword, i.e. "20" or "40, 20", null for no limit
+     * @param <T> object type
+     * @return list of matching objects
+     */
+    <T extends DatabaseContract.DatabaseObject> List<T> find(Class<T> cls, String selection, String[] selectionArgs, String orderBy, String limit);
+
+    /**
+     * Lazily iterates instances of specified type in database which match the selection,
+     * objects are created one at a time while iterating
+     * @param cls object class
+     * @param selection SQL WHERE clause without the "WHERE" keyword, null for all objects
+     * @param selectionArgs arguments for "?" placeholders in selection
+     * @param orderBy SQL ORDER BY clause without the "ORDER BY" keywords, null for default order
+     * @param limit SQL LIMIT clause without the "LIMIT" keyword, null for no limit
+     * @param <T> object type
+     * @return iterator which must be closed if not iterated till the end
+     */
+    <T extends DatabaseContract.DatabaseObject> CursorIterator<T> iterate(Class<T> cls, String selection, String[] selectionArgs, String orderBy, String limit);
+
     /**
      * Finds instance of object by primary key
      * @param cls object class
@@ -42,12 +69,28 @@ public interface DatabaseHelper {
      */
     <T extends DatabaseContract.DatabaseObject> long countAll(Class<T> cls, String sqlWhereCondition);
 
+    /**
+     * Counts instances of specified type in database which match the selection
+     * @param cls object class
+     * @param selection SQL WHERE clause without the "WHERE" keyword, null for all objects
+     * @param selectionArgs arguments for "?" placeholders in selection
+     * @param <T> object type
+     * @return number of matching objects in database
+     */
+    <T extends DatabaseContract.DatabaseObject> long countAll(Class<T> cls, String selection, String[] selectionArgs);
+
     /**
      * Saves object to database, replaces on conflict
      * @param object object to save
      */
     void save(DatabaseContract.DatabaseObject object);
 
+    /**
+     * Saves all objects to database in one transaction, replaces on conflict
+     * @param objects objects to save
+     */
+    void saveAll(Collection<? extends DatabaseContract.DatabaseObject> objects);
+
     /**
      * Inserts object to database, fails on conflict
      * @param object object to insert
@@ -73,4 +116,18 @@ public interface DatabaseHelper {
      * @param primaryKeys object primary keys
      */
     <T extends DatabaseContract.DatabaseObject> void delete(Class<T> cls, String[] primaryKeys);
-}
\ No newline at end of file
+
+    /**
+     * Deletes objects from database in one transaction
+     * @param cls object class
+     * @param primaryKeys object primary keys
+     */
+    <T extends DatabaseContract.DatabaseObject> void deleteAll(Class<T> cls, Collection<String> primaryKeys);
+
+    /**
+     * Changes primary keys of existing objects in one transaction, replaces on conflict
+     * @param cls object class
+     * @param primaryKeys map that contains old primary key as key and new primary key as value
+     */
+    <T extends DatabaseContract.DatabaseObject> void updatePrimaryKeys(Class<T> cls, Map<String, String> primaryKeys);
+}
@@ -0,0 +1,314 @@
+package org.infobip.mobile.messaging.dal.sqlite;
+
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import androidx.annotation.NonNull;
+
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.MessageIdColumns;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.Tables;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of message ids which are pending delivery/seen reporting, which were synchronized
+ * or which were generated locally. Ids are stored in a single table keyed by (type, message id),
+ * so that lookups, appends and removals use the primary key index and do not rewrite other entries.
+ *
+ * @since 18/10/2026.
+ */
+public class MessageIdTracker {
+
+    public enum Type {
+        UNREPORTED_DELIVERY("unreported_delivery"),
+        UNREPORTED_SEEN("unreported_seen"),
+        SYNC("sync"),
+        GENERATED("generated");
+
+        private final String key;
+
+        Type(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * SQLite default limit of host parameters in one statement is 999
+     */
+    private static final int MAX_SQL_ARGUMENTS = 500;
+
+    private static final String SQL_INSERT = "INSERT OR REPLACE INTO " + Tables.MESSAGE_IDS + " (" +
+            MessageIdColumns.TYPE + ", " +
+            MessageIdColumns.MESSAGE_ID + ", " +
+            MessageIdColumns.TIMESTAMP + ") VALUES (?, ?, ?)";
+
+    private static final String SQL_UPDATE_ID = "UPDATE OR REPLACE " + Tables.MESSAGE_IDS +
+            " SET " + MessageIdColumns.MESSAGE_ID + " = ?" +
+            " WHERE " + MessageIdColumns.TYPE + " = ? AND " + MessageIdColumns.MESSAGE_ID + " = ?";
+
+    private static final String WHERE_TYPE = MessageIdColumns.TYPE + " = ?";
+    private static final String WHERE_TYPE_AND_ID = WHERE_TYPE + " AND " + MessageIdColumns.MESSAGE_ID + " = ?";
+
+    private final SqliteDatabaseProvider databaseProvider;
+
+    public MessageIdTracker(SqliteDatabaseProvider databaseProvider) {
+        this.databaseProvider = databaseProvider;
+    }
+
+    /**
+     * Adds message ids of the specified type, ids which are already tracked get the new timestamp
+     *
+     * @param type       type of tracked ids
+     * @param timestamp  timestamp to assign to the ids
+     * @param messageIds message ids to add, null values are ignored
+     */
+    public void add(@NonNull Type type, long timestamp, String... messageIds) {
+        if (messageIds == null || messageIds.length == 0) {
+            return;
+        }
+
+        SQLiteDatabase db = db();
+        db.beginTransaction();
+        SQLiteStatement statement = db.compileStatement(SQL_INSERT);
+        try {
+            for (String messageId : messageIds) {
+                if (messageId == null) {
+                    continue;
+                }
+                statement.clearBindings();
+                statement.bindString(1, type.getKey());
+                statement.bindString(2, messageId);
+                statement.bindLong(3, timestamp);
+                statement.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            statement.close();
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Checks if message id of the specified type is tracked
+     *
+     * @param type      type of tracked ids
+     * @param messageId message id
+     * @return true if message id is tracked
+     */
+    public boolean contains(@NonNull Type type, String messageId) {
+        return messageId != null && DatabaseUtils.queryNumEntries(db(), Tables.MESSAGE_IDS, WHERE_TYPE_AND_ID,
+                new String[]{type.getKey(), messageId}) > 0;
+    }
+
+    /**
+     * Checks if message id of the specified type is tracked and was added not earlier than provided timestamp
+     *
+     * @param type         type of tracked ids
+     * @param messageId    message id
+     * @param minTimestamp minimum timestamp of entry
+     * @return true if message id is tracked
+     */
+    public boolean contains(@NonNull Type type, String messageId, long minTimestamp) {
+        return messageId != null && DatabaseUtils.queryNumEntries(db(), Tables.MESSAGE_IDS,
+                WHERE_TYPE_AND_ID + " AND " + MessageIdColumns.TIMESTAMP + " >= ?",
+                new String[]{type.getKey(), messageId, String.valueOf(minTimestamp)}) > 0;
+    }
+
+    /**
+     * Counts tracked ids of the specified type
+     *
+     * @param type type of tracked ids
+     * @return number of ids
+     */
+    public long count(@NonNull Type type) {
+        return DatabaseUtils.queryNumEntries(db(), Tables.MESSAGE_IDS, WHERE_TYPE, new String[]{type.getKey()});
+    }
+
+    /**
+     * Returns tracked ids of the specified type ordered from the newest to the oldest
+     *
+     * @param type  type of tracked ids
+     * @param limit maximum number of ids to return, non-positive value means no limit
+     * @return message ids
+     */
+    @NonNull
+    public String[] findIds(@NonNull Type type, int limit) {
+        return findWithTimestamps(type, limit).keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Returns tracked ids of the specified type together with timestamps, ordered from the newest to the oldest
+     *
+     * @param type  type of tracked ids
+     * @param limit maximum number of ids to return, non-positive value means no limit
+     * @return map of message id to timestamp
+     */
+    @NonNull
+    public Map<String, Long> findWithTimestamps(@NonNull Type type, int limit) {
+        Cursor cursor = db().query(Tables.MESSAGE_IDS,
+                new String[]{MessageIdColumns.MESSAGE_ID, MessageIdColumns.TIMESTAMP},
+                WHERE_TYPE, new String[]{type.getKey()}, null, null,
+                MessageIdColumns.TIMESTAMP + " DESC",
+                limit > 0 ? String.valueOf(limit) : null);
+        Map<String, Long> ids = new LinkedHashMap<>(cursor.getCount());
+        try {
+            while (cursor.moveToNext()) {
+                ids.put(cursor.getString(0), cursor.getLong(1));
+            }
+        } finally {
+            cursor.close();
+        }
+        return ids;
+    }
+
+    /**
+     * Returns and removes all tracked ids of the specified type in one transaction
+     *
+     * @param type type of tracked ids
+     * @return message ids
+     */
+    @NonNull
+    public String[] findAndRemoveIds(@NonNull Type type) {
+        SQLiteDatabase db = db();
+        db.beginTransaction();
+        try {
+            String[] ids = findIds(type, 0);
+            if (ids.length > 0) {
+                db.delete(Tables.MESSAGE_IDS, WHERE_TYPE, new String[]{type.getKey()});
+            }
+            db.setTransactionSuccessful();
+            return ids;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Removes tracked ids of the specified type
+     *
+     * @param type       type of tracked ids
+     * @param messageIds message ids to remove
+     */
+    public void remove(@NonNull Type type, String... messageIds) {
+        if (messageIds == null || messageIds.length == 0) {
+            return;
+        }
+
+        SQLiteDatabase db = db();
+        db.beginTransaction();
+        try {
+            for (int from = 0; from < messageIds.length; from += MAX_SQL_ARGUMENTS) {
+                String[] chunk = Arrays.copyOfRange(messageIds, from, Math.min(from + MAX_SQL_ARGUMENTS, messageIds.length));
+                List<String> args = new ArrayList<>(chunk.length + 1);
+                args.add(type.getKey());
+                for (String messageId : chunk) {
+                    if (messageId != null) {
+                        args.add(messageId);
+                    }
+                }
+                if (args.size() == 1) {
+                    continue;
+                }
+                db.delete(Tables.MESSAGE_IDS, WHERE_TYPE + " AND " + MessageIdColumns.MESSAGE_ID +
+                        " IN (" + new String(new char[args.size() - 2]).replace("\0", "?,") + "?)", args.toArray(new String[0]));
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Removes tracked ids of the specified type which were added before provided timestamp
+     *
+     * @param type      type of tracked ids
+     * @param timestamp entries older than this timestamp will be removed
+     * @return number of removed ids
+     */
+    public int removeOlderThan(@NonNull Type type, long timestamp) {
+        return db().delete(Tables.MESSAGE_IDS, WHERE_TYPE + " AND " + MessageIdColumns.TIMESTAMP + " < ?",
+                new String[]{type.getKey(), String.valueOf(timestamp)});
+    }
+
+    /**
+     * Keeps only the specified number of the newest ids of the specified type
+     *
+     * @param type     type of tracked ids
+     * @param maxCount number of ids to keep
+     * @return number of removed ids
+     */
+    public int trimToNewest(@NonNull Type type, int maxCount) {
+        if (count(type) <= maxCount) {
+            return 0;
+        }
+
+        return db().delete(Tables.MESSAGE_IDS, WHERE_TYPE + " AND " + MessageIdColumns.MESSAGE_ID + " NOT IN (" +
+                        "SELECT " + MessageIdColumns.MESSAGE_ID + " FROM " + Tables.MESSAGE_IDS +
+                        " WHERE " + WHERE_TYPE +
+                        " ORDER BY " + MessageIdColumns.TIMESTAMP + " DESC LIMIT " + maxCount + ")",
+                new String[]{type.getKey(), type.getKey()});
+    }
+
+    /**
+     * Replaces tracked ids of the specified type with new ones, keeping their timestamps
+     *
+     * @param type         type of tracked ids
+     * @param messageIdMap map that contains old id as key and new id as value
+     */
+    public void updateIds(@NonNull Type type, Map<String, String> messageIdMap) {
+        if (messageIdMap == null || messageIdMap.isEmpty()) {
+            return;
+        }
+
+        SQLiteDatabase db = db();
+        db.beginTransaction();
+        SQLiteStatement statement = db.compileStatement(SQL_UPDATE_ID);
+        try {
+            for (Map.Entry<String, String> entry : messageIdMap.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) {
+                    continue;
+                }
+                statement.clearBindings();
+                statement.bindString(1, entry.getValue());
+                statement.bindString(2, type.getKey());
+                statement.bindString(3, entry.getKey());
+                statement.executeUpdateDelete();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            statement.close();
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Removes all tracked ids of the specified types
+     *
+     * @param types types of tracked ids
+     */
+    public void clear(Type... types) {
+        SQLiteDatabase db = db();
+        db.beginTransaction();
+        try {
+            for (Type type : types) {
+                db.delete(Tables.MESSAGE_IDS, WHERE_TYPE, new String[]{type.getKey()});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private SQLiteDatabase db() {
+        return databaseProvider.getDatabase();
+    }
+}
@@ -7,7 +7,11 @@ import android.database.sqlite.SQLiteDatabase;
 import android.util.Log;
 
 import org.infobip.mobile.messaging.api.support.http.serialization.JsonSerializer;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.GeoAreaColumns;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.GeoCampaignColumns;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.GeoEventColumns;
 import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.MessageColumns;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.MessageIdColumns;
 import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.Tables;
 import org.infobip.mobile.messaging.logging.MobileMessagingLogger;
 
@@ -28,7 +32,11 @@ public class PushDatabaseHelperImpl extends BaseDatabaseHelper {
     static final int VER_2017_MAY_15 = 3; // Added "content_url" column to messages/geo_messages table
     static final int VER_2017_AUG_25 = 4; // Added "sendDateTime" to internal data (must be present for all messages)
     static final int VER_2019_JAN_21 = 5; // Added "inAppStyle" to internal data
-    private static final int VER_CURRENT = VER_2019_JAN_21;
+    static final int VER_TRACKED_MESSAGE_IDS = 6; // Added separate table for tracked message ids
+    static final int VER_GEO_AREA_INDEX = 7; // Added spatial index table for geo areas
+    static final int VER_GEO_CAMPAIGNS = 8; // Added geo campaigns and geo events tables
+    static final int VER_MESSAGE_QUERY_INDEXES = 9; // Added indexes for message queries to messages table
+    private static final int VER_CURRENT = VER_MESSAGE_QUERY_INDEXES;
 
     @SuppressWarnings("WeakerAccess")
     static final String DATABASE_NAME = "mm_infobip_database.db";
@@ -81,6 +89,65 @@ public class PushDatabaseHelperImpl extends BaseDatabaseHelper {
     private static final String SQL_ALTER_TABLE_GEO_MESSAGES_WITH_IN_APP_STYLE  = "ALTER TABLE "
             + Tables.GEO_MESSAGES + " ADD COLUMN " + MessageColumns.IN_APP_STYLE + " TEXT;";
 
+    private static final String SQL_CREATE_MESSAGE_IDS_TABLE = "CREATE TABLE " + Tables.MESSAGE_IDS + " (" +
+            MessageIdColumns.TYPE + " TEXT NOT NULL, " +
+            MessageIdColumns.MESSAGE_ID + " TEXT NOT NULL, " +
+            MessageIdColumns.TIMESTAMP + " INTEGER NOT NULL, " +
+            "PRIMARY KEY (" + MessageIdColumns.TYPE + ", " + MessageIdColumns.MESSAGE_ID + "))";
+
+    private static final String SQL_CREATE_MESSAGE_IDS_TIMESTAMP_INDEX = "CREATE INDEX " + Tables.MESSAGE_IDS + "_timestamp_idx ON "
+            + Tables.MESSAGE_IDS + " (" + MessageIdColumns.TYPE + ", " + MessageIdColumns.TIMESTAMP + ")";
+
+    private static final String SQL_CREATE_GEO_AREAS_TABLE = "CREATE TABLE " + Tables.GEO_AREAS + " (" +
+            GeoAreaColumns.MESSAGE_ID + " TEXT NOT NULL, " +
+            GeoAreaColumns.AREA_ID + " TEXT NOT NULL COLLATE NOCASE, " +
+            GeoAreaColumns.TITLE + " TEXT, " +
+            GeoAreaColumns.LATITUDE + " REAL NOT NULL, " +
+            GeoAreaColumns.LONGITUDE + " REAL NOT NULL, " +
+            GeoAreaColumns.RADIUS + " INTEGER NOT NULL, " +
+            GeoAreaColumns.CELL_X + " INTEGER NOT NULL, " +
+            GeoAreaColumns.CELL_Y + " INTEGER NOT NULL, " +
+            "PRIMARY KEY (" + GeoAreaColumns.MESSAGE_ID + ", " + GeoAreaColumns.AREA_ID + "))";
+
+    private static final String SQL_CREATE_GEO_AREAS_AREA_ID_INDEX = "CREATE INDEX " + Tables.GEO_AREAS + "_area_id_idx ON "
+            + Tables.GEO_AREAS + " (" + GeoAreaColumns.AREA_ID + ")";
+
+    private static final String SQL_CREATE_GEO_AREAS_CELL_INDEX = "CREATE INDEX " + Tables.GEO_AREAS + "_cell_idx ON "
+            + Tables.GEO_AREAS + " (" + GeoAreaColumns.CELL_Y + ", " + GeoAreaColumns.CELL_X + ")";
+
+    private static final String SQL_CREATE_GEO_CAMPAIGNS_TABLE = "CREATE TABLE " + Tables.GEO_CAMPAIGNS + " (" +
+            GeoCampaignColumns.MESSAGE_ID + " TEXT PRIMARY KEY NOT NULL, " +
+            GeoCampaignColumns.CAMPAIGN_ID + " TEXT, " +
+            GeoCampaignColumns.START_TIME + " INTEGER, " +
+            GeoCampaignColumns.EXPIRY_TIME + " INTEGER, " +
+            GeoCampaignColumns.DELIVERY_DAYS + " TEXT, " +
+            GeoCampaignColumns.DELIVERY_TIME_INTERVAL + " TEXT)";
+
+    private static final String SQL_CREATE_GEO_CAMPAIGNS_CAMPAIGN_ID_INDEX = "CREATE INDEX " + Tables.GEO_CAMPAIGNS + "_campaign_id_idx ON "
+            + Tables.GEO_CAMPAIGNS + " (" + GeoCampaignColumns.CAMPAIGN_ID + ")";
+
+    private static final String SQL_CREATE_GEO_CAMPAIGNS_EXPIRY_INDEX = "CREATE INDEX " + Tables.GEO_CAMPAIGNS + "_expiry_time_idx ON "
+            + Tables.GEO_CAMPAIGNS + " (" + GeoCampaignColumns.EXPIRY_TIME + ")";
+
+    private static final String SQL_CREATE_GEO_EVENTS_TABLE = "CREATE TABLE " + Tables.GEO_EVENTS + " (" +
+            GeoEventColumns.MESSAGE_ID + " TEXT NOT NULL, " +
+            GeoEventColumns.TYPE + " TEXT NOT NULL, " +
+            GeoEventColumns.EVENT_LIMIT + " INTEGER, " +
+            GeoEventColumns.TIMEOUT_MINUTES + " INTEGER, " +
+            "PRIMARY KEY (" + GeoEventColumns.MESSAGE_ID + ", " + GeoEventColumns.TYPE + "))";
+
+    private static final String SQL_CREATE_MESSAGES_RECEIVED_INDEX = "CREATE INDEX " + Tables.MESSAGES + "_received_idx ON "
+            + Tables.MESSAGES + " (" + MessageColumns.RECEIVED_TIMESTAMP + ", " + MessageColumns.MESSAGE_ID + ")";
+
+    private static final String SQL_CREATE_MESSAGES_SEEN_INDEX = "CREATE INDEX " + Tables.MESSAGES + "_seen_idx ON "
+            + Tables.MESSAGES + " (" + MessageColumns.SEEN_TIMESTAMP + ", " + MessageColumns.RECEIVED_TIMESTAMP + ")";
+
+    private static final String SQL_CREATE_MESSAGES_CATEGORY_INDEX = "CREATE INDEX " + Tables.MESSAGES + "_category_idx ON "
+            + Tables.MESSAGES + " (" + MessageColumns.CATEGORY + ", " + MessageColumns.RECEIVED_TIMESTAMP + ")";
+
+    private static final String SQL_CREATE_MESSAGES_STATUS_INDEX = "CREATE INDEX " + Tables.MESSAGES + "_status_idx ON "
+            + Tables.MESSAGES + " (" + MessageColumns.STATUS + ", " + MessageColumns.RECEIVED_TIMESTAMP + ")";
+
     public PushDatabaseHelperImpl(Context context) {
         super(context, DATABASE_NAME, VER_CURRENT);
     }
@@ -94,9 +161,20 @@ public class PushDatabaseHelperImpl extends BaseDatabaseHelper {
         db.execSQL(SQL_ALTER_TABLE_GEO_MESSAGES_WITH_CONTENT_URL);
         db.execSQL(SQL_ALTER_TABLE_MESSAGES_WITH_IN_APP_STYLE);
         db.execSQL(SQL_ALTER_TABLE_GEO_MESSAGES_WITH_IN_APP_STYLE);
+        db.execSQL(SQL_CREATE_MESSAGE_IDS_TABLE);
+        db.execSQL(SQL_CREATE_MESSAGE_IDS_TIMESTAMP_INDEX);
+        db.execSQL(SQL_CREATE_GEO_AREAS_TABLE);
+        db.execSQL(SQL_CREATE_GEO_AREAS_AREA_ID_INDEX);
+        db.execSQL(SQL_CREATE_GEO_AREAS_CELL_INDEX);
+        db.execSQL(SQL_CREATE_GEO_CAMPAIGNS_TABLE);
+        db.execSQL(SQL_CREATE_GEO_CAMPAIGNS_CAMPAIGN_ID_INDEX);
+        db.execSQL(SQL_CREATE_GEO_CAMPAIGNS_EXPIRY_INDEX);
+        db.execSQL(SQL_CREATE_GEO_EVENTS_TABLE);
+        createMessagesIndexes(db);
         db.setTransactionSuccessful();
         db.endTransaction();
         SharedPreferencesMigrator.migrateMessages(context, db);
+        SharedPreferencesMigrator.migrateMessageIds(context, db);
     }
 
     @Override
@@ -124,11 +202,47 @@ public class PushDatabaseHelperImpl extends BaseDatabaseHelper {
             version = VER_2019_JAN_21;
         }
 
+        if (version <= VER_2019_JAN_21) {
+            db.execSQL(SQL_CREATE_MESSAGE_IDS_TABLE);
+            db.execSQL(SQL_CREATE_MESSAGE_IDS_TIMESTAMP_INDEX);
+            SharedPreferencesMigrator.migrateMessageIds(context, db);
+            version = VER_TRACKED_MESSAGE_IDS;
+        }
+
+        if (version <= VER_TRACKED_MESSAGE_IDS) {
+            // index is populated from stored geo messages by geo module on first use
+            db.execSQL(SQL_CREATE_GEO_AREAS_TABLE);
+            db.execSQL(SQL_CREATE_GEO_AREAS_AREA_ID_INDEX);
+            db.execSQL(SQL_CREATE_GEO_AREAS_CELL_INDEX);
+            version = VER_GEO_AREA_INDEX;
+        }
+
+        if (version <= VER_GEO_AREA_INDEX) {
+            // tables are populated from stored geo messages by geo module on first use
+            db.execSQL(SQL_CREATE_GEO_CAMPAIGNS_TABLE);
+            db.execSQL(SQL_CREATE_GEO_CAMPAIGNS_CAMPAIGN_ID_INDEX);
+            db.execSQL(SQL_CREATE_GEO_CAMPAIGNS_EXPIRY_INDEX);
+            db.execSQL(SQL_CREATE_GEO_EVENTS_TABLE);
+            version = VER_GEO_CAMPAIGNS;
+        }
+
+        if (version <= VER_GEO_CAMPAIGNS) {
+            createMessagesIndexes(db);
+            version = VER_MESSAGE_QUERY_INDEXES;
+        }
+
         if (version != VER_CURRENT) {
             MobileMessagingLogger.e("SQLite DB version is not what expected: " + VER_CURRENT);
         }
     }
 
+    private static void createMessagesIndexes(SQLiteDatabase db) {
+        db.execSQL(SQL_CREATE_MESSAGES_RECEIVED_INDEX);
+        db.execSQL(SQL_CREATE_MESSAGES_SEEN_INDEX);
+        db.execSQL(SQL_CREATE_MESSAGES_CATEGORY_INDEX);
+        db.execSQL(SQL_CREATE_MESSAGES_STATUS_INDEX);
+    }
+
     private void setSendDateTimeToReceivedTimeIfAbsent(SQLiteDatabase db) {
         // Read existing data from database
         class Message {
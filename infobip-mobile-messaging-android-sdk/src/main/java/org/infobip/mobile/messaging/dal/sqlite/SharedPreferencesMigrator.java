@@ -1,10 +1,17 @@
 package org.infobip.mobile.messaging.dal.sqlite;
 
+import android.content.ContentValues;
 import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
 
 import org.infobip.mobile.messaging.Message;
+import org.infobip.mobile.messaging.MobileMessagingProperty;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.MessageIdColumns;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.Tables;
+import org.infobip.mobile.messaging.platform.Time;
 import org.infobip.mobile.messaging.storage.SharedPreferencesMessageStore;
+import org.infobip.mobile.messaging.util.PreferenceHelper;
+import org.infobip.mobile.messaging.util.StringUtils;
 
 import java.util.List;
 
@@ -26,4 +33,50 @@ class SharedPreferencesMigrator {
             db.insert(SqliteMessage.getTable(), null, SqliteMessage.save(message));
         }
     }
+
+    static void migrateMessageIds(Context context, SQLiteDatabase db) {
+        long now = Time.now();
+        db.beginTransaction();
+        try {
+            migrateMessageIds(context, db, MobileMessagingProperty.INFOBIP_UNREPORTED_MESSAGE_IDS, MessageIdTracker.Type.UNREPORTED_DELIVERY, now);
+            migrateMessageIds(context, db, MobileMessagingProperty.INFOBIP_UNREPORTED_SEEN_MESSAGE_IDS, MessageIdTracker.Type.UNREPORTED_SEEN, now);
+            migrateMessageIds(context, db, MobileMessagingProperty.INFOBIP_SYNC_MESSAGES_IDS, MessageIdTracker.Type.SYNC, now);
+            migrateMessageIds(context, db, MobileMessagingProperty.INFOBIP_GENERATED_MESSAGE_IDS, MessageIdTracker.Type.GENERATED, now);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        PreferenceHelper.remove(context, MobileMessagingProperty.INFOBIP_UNREPORTED_MESSAGE_IDS);
+        PreferenceHelper.remove(context, MobileMessagingProperty.INFOBIP_UNREPORTED_SEEN_MESSAGE_IDS);
+        PreferenceHelper.remove(context, MobileMessagingProperty.INFOBIP_SYNC_MESSAGES_IDS);
+        PreferenceHelper.remove(context, MobileMessagingProperty.INFOBIP_GENERATED_MESSAGE_IDS);
+    }
+
+    /**
+     * Entries are stored either as plain message ids or as "messageId, timestamp" pairs
+     */
+    private static void migrateMessageIds(Context context, SQLiteDatabase db, MobileMessagingProperty property, MessageIdTracker.Type type, long now) {
+        String[] entries = PreferenceHelper.findStringArray(context, property);
+        for (String entry : entries) {
+            if (entry == null) {
+                continue;
+            }
+
+            String[] idAndTimestamp = entry.split(StringUtils.COMMA_WITH_SPACE);
+            long timestamp = now;
+            if (idAndTimestamp.length > 1) {
+                try {
+                    timestamp = Long.parseLong(idAndTimestamp[1]);
+                } catch (NumberFormatException ignored) {
+                }
+            }
+
+            ContentValues contentValues = new ContentValues();
+            contentValues.put(MessageIdColumns.TYPE, type.getKey());
+            contentValues.put(MessageIdColumns.MESSAGE_ID, idAndTimestamp[0]);
+            contentValues.put(MessageIdColumns.TIMESTAMP, timestamp);
+            db.insertWithOnConflict(Tables.MESSAGE_IDS, null, contentValues, SQLiteDatabase.CONFLICT_IGNORE);
+        }
+    }
 }
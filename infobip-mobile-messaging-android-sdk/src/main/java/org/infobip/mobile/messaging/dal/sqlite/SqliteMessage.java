@@ -83,14 +83,15 @@ public class SqliteMessage extends Message implements DatabaseContract.DatabaseO
 
         String dataJson = cursor.getString(cursor.getColumnIndexOrThrow(MessageColumns.INTERNAL_DATA));
         setInternalData(dataJson);
-        setSentTimestamp(InternalDataMapper.getInternalDataSendDateTime(dataJson));
-        setInAppExpiryTimestamp(InternalDataMapper.getInternalDataInAppExpiryDateTime(dataJson));
-        setWebViewUrl(InternalDataMapper.getInternalDataWebViewUrl(dataJson));
-        setBrowserUrl(InternalDataMapper.getInternalDataBrowserUrl(dataJson));
-        setDeeplink(InternalDataMapper.getInternalDataDeeplinkUri(dataJson));
-        setMessageType(InternalDataMapper.getInternalDataMessageType(dataJson));
-        setInAppOpenTitle(InternalDataMapper.getInternalDataInAppOpenTitle(dataJson));
-        setInAppDismissTitle(InternalDataMapper.getInternalDataInAppDismissTitle(dataJson));
+        InternalDataMapper.InternalDataView internalData = getInternalDataView();
+        setSentTimestamp(internalData.getSendDateTime());
+        setInAppExpiryTimestamp(internalData.getInAppExpiryDateTime());
+        setWebViewUrl(internalData.getWebViewUrl());
+        setBrowserUrl(internalData.getBrowserUrl());
+        setDeeplink(internalData.getDeeplinkUri());
+        setMessageType(internalData.getMessageType());
+        setInAppOpenTitle(internalData.getInAppOpenTitle());
+        setInAppDismissTitle(internalData.getInAppDismissTitle());
 
         dataJson = cursor.getString(cursor.getColumnIndexOrThrow(MessageColumns.CUSTOM_PAYLOAD));
         setCustomPayload(dataJson == null ? null : new JSONObject(dataJson));
@@ -0,0 +1,211 @@
+package org.infobip.mobile.messaging.logging;
+
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writer which hands log records over to a background thread and writes them with the delegate writer.
+ * <br>
+ * Records are kept in a fixed size ring buffer, when the buffer is full the oldest records are dropped and
+ * number of dropped records is written when the writer catches up. Error records logged from background threads
+ * wait (for a short time) until they are written, so that they are not lost if the application crashes right after.
+ * Error records logged from the main thread never wait.
+ * <br>
+ * It is not used by default, applications can opt in with {@link MobileMessagingLogger#setWriter(Writer)},
+ * e.g. for debug builds: {@code MobileMessagingLogger.setWriter(new AsyncWriter(new LogcatWriter()))}.
+ *
+ * @since 18/10/2026.
+ */
+public class AsyncWriter implements Writer {
+
+    static final int DEFAULT_CAPACITY = 1024;
+    private static final long ERROR_FLUSH_TIMEOUT_MILLIS = 100;
+
+    private final Writer delegate;
+    private final Record[] buffer;
+    private final Thread mainThread;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private int head;
+    private int size;
+    private long written;
+    private long enqueued;
+    private long dropped;
+    private long droppedTotal;
+    private Thread thread;
+
+    private static class Record {
+        Level level;
+        String tag;
+        String message;
+        Throwable throwable;
+    }
+
+    public AsyncWriter(@NonNull Writer delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    public AsyncWriter(@NonNull Writer delegate, int capacity) {
+        this(delegate, capacity, Looper.getMainLooper().getThread());
+    }
+
+    AsyncWriter(@NonNull Writer delegate, int capacity, @Nullable Thread mainThread) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity should be positive");
+        }
+        this.delegate = delegate;
+        this.buffer = new Record[capacity];
+        this.mainThread = mainThread;
+        for (int i = 0; i < capacity; i++) {
+            buffer[i] = new Record();
+        }
+    }
+
+    @Override
+    public void write(Level level, String tag, String message, @Nullable Throwable throwable) {
+        long sequence;
+        lock.lock();
+        try {
+            if (size == buffer.length) {
+                head = (head + 1) % buffer.length;
+                size--;
+                dropped++;
+                droppedTotal++;
+                written++;
+            }
+            Record record = buffer[(head + size) % buffer.length];
+            record.level = level;
+            record.tag = tag;
+            record.message = message;
+            record.throwable = throwable;
+            size++;
+            sequence = ++enqueued;
+            startIfNecessary();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        // main thread must not be blocked by logging
+        if (level == Level.ERROR && Thread.currentThread() != mainThread) {
+            awaitWritten(sequence, ERROR_FLUSH_TIMEOUT_MILLIS);
+        }
+    }
+
+    /**
+     * Waits until all records submitted so far are written
+     *
+     * @param timeoutMillis maximum time to wait
+     * @return true if all records are written
+     */
+    public boolean flush(long timeoutMillis) {
+        long sequence;
+        lock.lock();
+        try {
+            sequence = enqueued;
+        } finally {
+            lock.unlock();
+        }
+        return awaitWritten(sequence, timeoutMillis);
+    }
+
+    /**
+     * @return number of records dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return droppedTotal;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean awaitWritten(long sequence, long timeoutMillis) {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            while (written < sequence) {
+                if (remainingNanos <= 0 || Thread.currentThread() == thread) {
+                    return false;
+                }
+                remainingNanos = drained.awaitNanos(remainingNanos);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void startIfNecessary() {
+        if (thread != null) {
+            return;
+        }
+
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, "mm-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @SuppressWarnings("InfiniteLoopStatement")
+    private void drain() {
+        Level level;
+        String tag;
+        String message;
+        Throwable throwable;
+        long droppedToReport;
+        while (true) {
+            lock.lock();
+            try {
+                while (size == 0) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                Record record = buffer[head];
+                level = record.level;
+                tag = record.tag;
+                message = record.message;
+                throwable = record.throwable;
+                record.tag = null;
+                record.message = null;
+                record.throwable = null;
+                head = (head + 1) % buffer.length;
+                size--;
+                droppedToReport = dropped;
+                dropped = 0;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                if (droppedToReport > 0) {
+                    delegate.write(Level.WARN, MobileMessagingLogger.TAG, droppedToReport + " log messages dropped", null);
+                }
+                delegate.write(level, tag, message, throwable);
+            } catch (RuntimeException ignored) {
+            }
+
+            lock.lock();
+            try {
+                written++;
+                drained.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
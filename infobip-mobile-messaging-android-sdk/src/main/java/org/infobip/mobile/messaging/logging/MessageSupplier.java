@@ -0,0 +1,16 @@
+package org.infobip.mobile.messaging.logging;
+
+/**
+ * Supplies log message only when it is going to be logged,
+ * so that message is not built when logging of the level is disabled.
+ * <pre>
+ * {@code
+ * MobileMessagingLogger.d(TAG, () -> "Synced " + messages.size() + " messages");
+ * }
+ * </pre>
+ *
+ * @since 18/10/2026.
+ */
+public interface MessageSupplier {
+    String get();
+}
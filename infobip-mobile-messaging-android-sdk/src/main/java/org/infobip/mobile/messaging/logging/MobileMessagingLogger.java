@@ -1,6 +1,5 @@
 package org.infobip.mobile.messaging.logging;
 
-import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.pm.ApplicationInfo;
 
@@ -13,20 +12,26 @@ public final class MobileMessagingLogger {
 
     public static final String TAG = "MobileMessaging";
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-    @SuppressLint("StaticFieldLeak")
-    private static Context context;
-    private static Writer writer = new LogcatWriter();
-    private static boolean isEnforced = false;
+    private static volatile Writer writer = new LogcatWriter();
+    private static volatile boolean isDebuggable = false;
+    private static volatile boolean isEnforced = false;
+    private static volatile Level minimumLevel = Level.VERBOSE;
 
 
     public static void init(Context context) {
-        MobileMessagingLogger.context = context;
+        isDebuggable = context != null && 0 != (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE);
     }
 
     public static void enforce() {
         isEnforced = true;
     }
 
+    /**
+     * Sets the writer of log messages, by default messages are written to logcat on the calling thread.
+     * Use {@link AsyncWriter} to write them on a background thread.
+     *
+     * @param logWriter log writer
+     */
     public static void setWriter(Writer logWriter) {
         if (logWriter == null) {
             throw new IllegalArgumentException("Log writer should not be null");
@@ -34,11 +39,32 @@ public final class MobileMessagingLogger {
         writer = logWriter;
     }
 
+    /**
+     * Sets the lowest level which is logged when logging is enabled, errors are always logged
+     *
+     * @param level minimum level
+     */
+    public static void setMinimumLevel(Level level) {
+        if (level == null) {
+            throw new IllegalArgumentException("Level should not be null");
+        }
+        minimumLevel = level;
+    }
+
     public static boolean loggingEnabled() {
-        boolean isDebuggable = (context != null && 0 != (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE));
         return isDebuggable || isEnforced;
     }
 
+    /**
+     * Checks if messages of the level are going to be written, use it to guard building of expensive log messages
+     *
+     * @param level log level
+     * @return true if messages of the level are written
+     */
+    public static boolean isLoggable(Level level) {
+        return level == Level.ERROR || ((isDebuggable || isEnforced) && level.ordinal() >= minimumLevel.ordinal());
+    }
+
     public static void v(String tag, String msg) {
         log(Level.VERBOSE, tag, msg, null);
     }
@@ -51,8 +77,24 @@ public final class MobileMessagingLogger {
         log(Level.VERBOSE, TAG, msg, o);
     }
 
+    public static void v(String msg, Object o1, Object o2) {
+        if (isLoggable(Level.VERBOSE)) {
+            log(Level.VERBOSE, TAG, msg, Arrays.asList(o1, o2));
+        }
+    }
+
     public static void v(String msg, Object o, Object... os) {
-        log(Level.VERBOSE, TAG, msg, Arrays.asList(o, os));
+        if (isLoggable(Level.VERBOSE)) {
+            log(Level.VERBOSE, TAG, msg, Arrays.asList(o, os));
+        }
+    }
+
+    public static void v(String tag, MessageSupplier msg) {
+        log(Level.VERBOSE, tag, msg);
+    }
+
+    public static void v(MessageSupplier msg) {
+        v(TAG, msg);
     }
 
     public static void v(String tag, String msg, Throwable tr) {
@@ -79,6 +121,14 @@ public final class MobileMessagingLogger {
         d(TAG, msg, tr);
     }
 
+    public static void d(String tag, MessageSupplier msg) {
+        log(Level.DEBUG, tag, msg);
+    }
+
+    public static void d(MessageSupplier msg) {
+        d(TAG, msg);
+    }
+
     public static void i(String tag, String msg) {
         log(Level.INFO, tag, msg, null);
     }
@@ -95,6 +145,14 @@ public final class MobileMessagingLogger {
         i(TAG, msg, tr);
     }
 
+    public static void i(String tag, MessageSupplier msg) {
+        log(Level.INFO, tag, msg);
+    }
+
+    public static void i(MessageSupplier msg) {
+        i(TAG, msg);
+    }
+
     public static void w(String tag, String msg) {
         log(Level.WARN, tag, msg, null);
     }
@@ -111,6 +169,14 @@ public final class MobileMessagingLogger {
         w(TAG, msg, tr);
     }
 
+    public static void w(String tag, MessageSupplier msg) {
+        log(Level.WARN, tag, msg);
+    }
+
+    public static void w(MessageSupplier msg) {
+        w(TAG, msg);
+    }
+
     public static void e(String tag, String msg) {
         log(Level.ERROR, tag, msg, null);
     }
@@ -127,6 +193,14 @@ public final class MobileMessagingLogger {
         e(TAG, msg, tr);
     }
 
+    public static void e(String tag, MessageSupplier msg) {
+        log(Level.ERROR, tag, msg);
+    }
+
+    public static void e(MessageSupplier msg) {
+        e(TAG, msg);
+    }
+
     public static String objectToPrettyString(Object o) {
         if (!loggingEnabled()) {
             return "";
@@ -135,14 +209,21 @@ public final class MobileMessagingLogger {
         return gson.toJson(o);
     }
 
+    private static void log(Level level, String tag, MessageSupplier msg) {
+        if (isLoggable(level)) {
+            writer.write(level, tag, msg.get(), null);
+        }
+    }
+
     private static void log(Level level, String tag, String msg, Object o) {
-        if (loggingEnabled() || level == Level.ERROR) {
-            log(level, tag, msg + "\n" + objectToPrettyString(o), null);
+        // object is formatted only if the message is going to be written
+        if (isLoggable(level)) {
+            writer.write(level, tag, msg + "\n" + objectToPrettyString(o), null);
         }
     }
 
     private static void log(Level level, String tag, String msg, Throwable tr) {
-        if (loggingEnabled() || level == Level.ERROR) {
+        if (isLoggable(level)) {
             writer.write(level, tag, msg, tr);
         }
     }
@@ -0,0 +1,74 @@
+package org.infobip.mobile.messaging.mobileapi;
+
+import org.infobip.mobile.messaging.api.support.ApiCallback;
+import org.infobip.mobile.messaging.stats.MetricsRegistry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+/**
+ * Records latency and outcome of every Mobile API call into a timer named "api.Interface.method".
+ * Asynchronous methods (returning {@link Future} or taking {@link ApiCallback}) are passed through as is.
+ */
+public class ApiCallMetrics {
+
+    private ApiCallMetrics() {
+    }
+
+    /**
+     * Creates proxy of the given API which records metrics of each call.
+     *
+     * @param type    api interface
+     * @param api     api implementation to delegate to
+     * @param metrics registry to record to
+     * @return measuring proxy
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T measure(Class<T> type, final T api, final MetricsRegistry metrics) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, new InvocationHandler() {
+            private final ConcurrentHashMap<Method, MetricsRegistry.Timer> timers = new ConcurrentHashMap<>();
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getDeclaringClass() == Object.class || isAsync(method)) {
+                    return invokeDirectly(api, method, args);
+                }
+
+                MetricsRegistry.Timer timer = timers.get(method);
+                if (timer == null) {
+                    timer = metrics.timer("api." + method.getDeclaringClass().getSimpleName() + "." + method.getName());
+                    timers.put(method, timer);
+                }
+                long startedAtNanos = System.nanoTime();
+                boolean success = false;
+                try {
+                    Object result = invokeDirectly(api, method, args);
+                    success = true;
+                    return result;
+                } finally {
+                    timer.recordSince(startedAtNanos, success);
+                }
+            }
+        });
+    }
+
+    private static Object invokeDirectly(Object api, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(api, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isAsync(Method method) {
+        if (Future.class.isAssignableFrom(method.getReturnType())) {
+            return true;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        return parameterTypes.length > 0 && ApiCallback.class.isAssignableFrom(parameterTypes[parameterTypes.length - 1]);
+    }
+}
@@ -12,6 +12,7 @@ import org.infobip.mobile.messaging.api.messages.MobileApiMessages;
 import org.infobip.mobile.messaging.api.support.CustomApiHeaders;
 import org.infobip.mobile.messaging.api.support.Generator;
 import org.infobip.mobile.messaging.api.support.http.client.Logger;
+import org.infobip.mobile.messaging.api.support.http.client.PooledHttpTransport;
 import org.infobip.mobile.messaging.api.support.http.client.Request;
 import org.infobip.mobile.messaging.api.support.http.client.RequestInterceptor;
 import org.infobip.mobile.messaging.api.support.http.client.ResponsePreProcessor;
@@ -85,6 +86,8 @@ public class MobileApiResourceProvider {
         }
     }
 
+    private static final RequestCoalescer requestCoalescer = new RequestCoalescer();
+
     private BaseUrlManager mobileMessagingRequestInterceptor;
     private Generator generator;
     private MobileApiMessages mobileApiMessages;
@@ -99,7 +102,7 @@ public class MobileApiResourceProvider {
             return mobileApiMessages;
         }
 
-        mobileApiMessages = getGenerator(context).create(MobileApiMessages.class);
+        mobileApiMessages = requestCoalescer.coalesce(MobileApiMessages.class, measure(context, MobileApiMessages.class), "sync");
 
         return mobileApiMessages;
     }
@@ -109,7 +112,7 @@ public class MobileApiResourceProvider {
             return mobileApiVersion;
         }
 
-        mobileApiVersion = getGenerator(context).create(MobileApiVersion.class);
+        mobileApiVersion = requestCoalescer.coalesce(MobileApiVersion.class, measure(context, MobileApiVersion.class), "getLatestRelease");
 
         return mobileApiVersion;
     }
@@ -119,7 +122,7 @@ public class MobileApiResourceProvider {
             return mobileApiGeo;
         }
 
-        mobileApiGeo = getGenerator(context).create(MobileApiGeo.class);
+        mobileApiGeo = measure(context, MobileApiGeo.class);
 
         return mobileApiGeo;
     }
@@ -129,7 +132,7 @@ public class MobileApiResourceProvider {
             return mobileApiAppInstance;
         }
 
-        mobileApiAppInstance = getGenerator(context).create(MobileApiAppInstance.class);
+        mobileApiAppInstance = requestCoalescer.coalesce(MobileApiAppInstance.class, measure(context, MobileApiAppInstance.class), "getInstance", "patchInstance", "getUser");
 
         return mobileApiAppInstance;
     }
@@ -139,7 +142,7 @@ public class MobileApiResourceProvider {
             return mobileApiChat;
         }
 
-        mobileApiChat = getGenerator(context).create(MobileApiChat.class);
+        mobileApiChat = requestCoalescer.coalesce(MobileApiChat.class, measure(context, MobileApiChat.class), "getWidgetConfiguration");
 
         return mobileApiChat;
     }
@@ -149,11 +152,25 @@ public class MobileApiResourceProvider {
             return mobileApiBaseUrl;
         }
 
-        mobileApiBaseUrl = getGenerator(context).create(MobileApiBaseUrl.class);
+        mobileApiBaseUrl = requestCoalescer.coalesce(MobileApiBaseUrl.class, measure(context, MobileApiBaseUrl.class), "getBaseUrl");
 
         return mobileApiBaseUrl;
     }
 
+    private <T> T measure(Context context, Class<T> type) {
+        return ApiCallMetrics.measure(type, getGenerator(context).create(type), MobileMessagingCore.getInstance(context).getStats().getMetrics());
+    }
+
+    /**
+     * Identical read or idempotent API calls in flight at the same time share one request, see {@link RequestCoalescer}.
+     * Reports, MO messages, events and personalization calls are never coalesced.
+     *
+     * @return coalescer with counters of executed and collapsed calls
+     */
+    public static RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
     private String[] getUserAgentAdditions(Context context) {
         List<String> userAgentAdditions = new ArrayList<>();
         if (PreferenceHelper.findBoolean(context, MobileMessagingProperty.REPORT_SYSTEM_INFO)) {
@@ -213,6 +230,7 @@ public class MobileApiResourceProvider {
                 .withResponseHeaderInterceptors(baseUrlManager(context))
                 .withLogger(new AndroidHTTPLogger())
                 .withAllowUntrustedSSLOnError(shouldAllowUntrustedSSLOnError(context))
+                .withHttpTransport(new PooledHttpTransport())
                 .build();
 
         return generator;
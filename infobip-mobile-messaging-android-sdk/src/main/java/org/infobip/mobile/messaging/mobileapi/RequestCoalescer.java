@@ -0,0 +1,190 @@
+package org.infobip.mobile.messaging.mobileapi;
+
+import org.infobip.mobile.messaging.api.support.ApiCallback;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-flight layer for Mobile API calls.
+ * <p>
+ * Wraps API proxies so that concurrent calls of the same method with equal arguments share one network round-trip:
+ * the first caller executes the request, others wait for it and receive the same result or the same exception.
+ * Calls are only shared while in flight, nothing is cached after the request completes. Calls are never shared
+ * between proxies of different api implementations, e.g. with different base URLs or application codes.
+ * Only explicitly listed methods are coalesced, they must be reads or idempotent writes. Other methods and
+ * asynchronous methods (returning {@link Future} or taking {@link ApiCallback}) are passed through as is.
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentHashMap<CallKey, FutureTask<Object>> inFlightCalls = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> collapsedCallsPerMethod = new ConcurrentHashMap<>();
+    private final AtomicLong executedCalls = new AtomicLong();
+    private final AtomicLong collapsedCalls = new AtomicLong();
+
+    /**
+     * Creates proxy of the given API which coalesces identical in-flight calls of the given methods.
+     *
+     * @param type             api interface
+     * @param api              api implementation to delegate to
+     * @param coalescedMethods names of read or idempotent methods to coalesce, other methods are passed through
+     * @return coalescing proxy
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(Class<T> type, final T api, String... coalescedMethods) {
+        final Set<String> coalescedMethodNames = new HashSet<>(Arrays.asList(coalescedMethods));
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getDeclaringClass() == Object.class || isAsync(method) || !coalescedMethodNames.contains(method.getName())) {
+                    return invokeDirectly(api, method, args);
+                }
+                return execute(api, method, args);
+            }
+        });
+    }
+
+    /**
+     * @return number of calls which were sent to network
+     */
+    public long getExecutedCalls() {
+        return executedCalls.get();
+    }
+
+    /**
+     * @return number of calls which joined an identical call already in flight
+     */
+    public long getCollapsedCalls() {
+        return collapsedCalls.get();
+    }
+
+    /**
+     * @return number of collapsed calls per api method, keyed as "Interface.method"
+     */
+    public Map<String, Long> getCollapsedCallsPerMethod() {
+        Map<String, Long> snapshot = new HashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : collapsedCallsPerMethod.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().get());
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private Object execute(final Object api, final Method method, final Object[] args) throws Throwable {
+        CallKey key = new CallKey(api, method, args);
+        FutureTask<Object> call = new FutureTask<>(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return invokeDirectly(api, method, args);
+            }
+        });
+
+        FutureTask<Object> inFlightCall = inFlightCalls.putIfAbsent(key, call);
+        if (inFlightCall != null) {
+            collapsedCalls.incrementAndGet();
+            counterFor(method).incrementAndGet();
+            return await(inFlightCall);
+        }
+
+        executedCalls.incrementAndGet();
+        try {
+            call.run();
+        } finally {
+            inFlightCalls.remove(key, call);
+        }
+        return await(call);
+    }
+
+    private AtomicLong counterFor(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        AtomicLong counter = collapsedCallsPerMethod.get(name);
+        if (counter != null) {
+            return counter;
+        }
+        AtomicLong newCounter = new AtomicLong();
+        counter = collapsedCallsPerMethod.putIfAbsent(name, newCounter);
+        return counter != null ? counter : newCounter;
+    }
+
+    private static Object await(Future<Object> call) throws Throwable {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return call.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw e.getCause();
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Object invokeDirectly(Object api, Method method, Object[] args) throws Exception {
+        try {
+            return method.invoke(api, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isAsync(Method method) {
+        if (Future.class.isAssignableFrom(method.getReturnType())) {
+            return true;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        return parameterTypes.length > 0 && ApiCallback.class.isAssignableFrom(parameterTypes[parameterTypes.length - 1]);
+    }
+
+    private static class CallKey {
+        private final Object api;
+        private final Method method;
+        private final Object[] args;
+        private final int hashCode;
+
+        CallKey(Object api, Method method, Object[] args) {
+            this.api = api;
+            this.method = method;
+            this.args = args != null ? args : new Object[0];
+            this.hashCode = 31 * (31 * System.identityHashCode(api) + method.hashCode()) + Arrays.deepHashCode(this.args);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CallKey)) return false;
+            CallKey that = (CallKey) o;
+            return hashCode == that.hashCode && api == that.api && method.equals(that.method) && Arrays.deepEquals(args, that.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -208,6 +208,7 @@ public class InstallationSynchronizer {
                 }
             }
         }
+                .measureWith(stats.getMetrics().timer("sync.installation.create"))
                 .retryWith(retryPolicyProvider.DEFAULT())
                 .execute(executor);
     }
@@ -298,6 +299,7 @@ public class InstallationSynchronizer {
                 }
             }
         }
+                .measureWith(stats.getMetrics().timer("sync.installation.patch"))
                 .retryWith(retryPolicyProvider.DEFAULT())
                 .execute(executor);
     }
@@ -380,6 +382,7 @@ public class InstallationSynchronizer {
                 MobileMessagingLogger.v("GET INSTALLATION ERROR <<<", error);
             }
         }
+                .measureWith(stats.getMetrics().timer("sync.installation.fetch"))
                 .retryWith(retryPolicyProvider.DEFAULT())
                 .execute(executor);
     }
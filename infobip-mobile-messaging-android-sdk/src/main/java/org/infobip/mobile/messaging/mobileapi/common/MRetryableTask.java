@@ -4,6 +4,8 @@ import android.os.Handler;
 import android.os.Looper;
 import androidx.annotation.Nullable;
 
+import org.infobip.mobile.messaging.stats.MetricsRegistry;
+
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -18,11 +20,13 @@ public abstract class MRetryableTask<IN, OUT> extends IMAsyncTask<IN, OUT> {
 
     private volatile ExecutionContext executionContext;
     private MRetryPolicy retryPolicy;
+    private MetricsRegistry.Timer timer;
 
     private class ExecutionContext {
         final Executor executor;
         final IN[] args;
         final MRetryPolicy retryPolicy;
+        final long startedAtNanos = System.nanoTime();
         int attempts;
 
         ExecutionContext(Executor executor, IN[] args, MRetryPolicy retryPolicy) {
@@ -48,6 +52,17 @@ public abstract class MRetryableTask<IN, OUT> extends IMAsyncTask<IN, OUT> {
         return this;
     }
 
+    /**
+     * Specifies timer to record duration and outcome of the task, duration includes all retries
+     *
+     * @param timer timer to record to
+     * @return self
+     */
+    public MRetryableTask<IN, OUT> measureWith(@Nullable MetricsRegistry.Timer timer) {
+        this.timer = timer;
+        return this;
+    }
+
     @SafeVarargs
     public final void execute(IN... ins) {
         executionContext = new ExecutionContext(null, ins, retryPolicy);
@@ -89,12 +104,14 @@ public abstract class MRetryableTask<IN, OUT> extends IMAsyncTask<IN, OUT> {
 
             @Override
             public void after(OUT out) {
+                record(true);
                 MRetryableTask.this.after(out);
             }
 
             @Override
             public void error(Throwable error) {
                 if (!executionContext.retryPolicy.shouldRetry(error, executionContext.attempts)) {
+                    record(false);
                     MRetryableTask.this.error(error);
                     MRetryableTask.this.error(executionContext.args, error);
                     executionContext = null;
@@ -122,4 +139,11 @@ public abstract class MRetryableTask<IN, OUT> extends IMAsyncTask<IN, OUT> {
             asyncTask.execute(executionContext.args);
         }
     }
+
+    private void record(boolean success) {
+        ExecutionContext context = executionContext;
+        if (timer != null && context != null) {
+            timer.recordSince(context.startedAtNanos, success);
+        }
+    }
 }
@@ -0,0 +1,316 @@
+package org.infobip.mobile.messaging.mobileapi.common;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dependency-aware scheduler of synchronization tasks.
+ * <br>
+ * Each {@link Stage} has its own {@link Executor} which runs tasks of the stage one by one. A stage only starts
+ * its next task when none of the stages it depends on (directly or transitively) has running or queued tasks,
+ * so that for example registration-dependent tasks wait for installation creation, and when none of the stages
+ * depending on it is running, so that dependent stages never overlap. Only independent stages run concurrently
+ * on the shared worker pool, which bounds the overall parallelism. Tasks which modify the same state have to
+ * use the same stage or dependent stages.
+ * <br>
+ * Scheduler keeps per-stage timings, see {@link #getTimings()}.
+ *
+ * @since 18/10/2026.
+ */
+public class SyncScheduler {
+
+    public static final int DEFAULT_PARALLELISM = 3;
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 30;
+
+    public enum Stage {
+        // local writes requested by the app, must not be queued behind network stages
+        STORAGE,
+        BASE_URL,
+        INSTALLATION(BASE_URL),
+        // user data, personalization and user events
+        USER(INSTALLATION),
+        // messages, mo messages and seen status, all of them update stored messages
+        MESSAGES(INSTALLATION, STORAGE);
+
+        private final Stage[] dependencies;
+
+        Stage(Stage... dependencies) {
+            this.dependencies = dependencies;
+        }
+
+        public Stage[] getDependencies() {
+            return dependencies.clone();
+        }
+
+        /**
+         * @return true if this stage depends on provided stage directly or transitively
+         */
+        boolean dependsOn(Stage stage) {
+            for (Stage dependency : dependencies) {
+                if (dependency == stage || dependency.dependsOn(stage)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Snapshot of timings of one stage
+     */
+    public static class StageTimings {
+        private final long executedTasks;
+        private final long totalRunMillis;
+        private final long lastRunMillis;
+        private final long totalWaitMillis;
+        private final long lastWaitMillis;
+
+        StageTimings(long executedTasks, long totalRunMillis, long lastRunMillis, long totalWaitMillis, long lastWaitMillis) {
+            this.executedTasks = executedTasks;
+            this.totalRunMillis = totalRunMillis;
+            this.lastRunMillis = lastRunMillis;
+            this.totalWaitMillis = totalWaitMillis;
+            this.lastWaitMillis = lastWaitMillis;
+        }
+
+        /**
+         * @return number of completed tasks of the stage
+         */
+        public long getExecutedTasks() {
+            return executedTasks;
+        }
+
+        /**
+         * @return total time spent running tasks of the stage
+         */
+        public long getTotalRunMillis() {
+            return totalRunMillis;
+        }
+
+        /**
+         * @return run time of the last completed task
+         */
+        public long getLastRunMillis() {
+            return lastRunMillis;
+        }
+
+        /**
+         * @return total time tasks of the stage spent queued, waiting for dependencies and free workers
+         */
+        public long getTotalWaitMillis() {
+            return totalWaitMillis;
+        }
+
+        /**
+         * @return queued time of the last completed task
+         */
+        public long getLastWaitMillis() {
+            return lastWaitMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "StageTimings{executedTasks=" + executedTasks +
+                    ", totalRunMillis=" + totalRunMillis +
+                    ", lastRunMillis=" + lastRunMillis +
+                    ", totalWaitMillis=" + totalWaitMillis +
+                    ", lastWaitMillis=" + lastWaitMillis + '}';
+        }
+    }
+
+    private final ExecutorService workers;
+    private final Map<Stage, StageExecutor> stages = new EnumMap<>(Stage.class);
+
+    public SyncScheduler() {
+        this(newWorkerPool(DEFAULT_PARALLELISM));
+    }
+
+    /**
+     * @param workers executor which runs tasks of all stages, its size limits number of stages running concurrently
+     */
+    public SyncScheduler(@NonNull ExecutorService workers) {
+        this.workers = workers;
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, new StageExecutor(stage));
+        }
+    }
+
+    /**
+     * Creates bounded pool of daemon worker threads which are released when idle
+     *
+     * @param parallelism maximum number of concurrently running tasks
+     * @return worker pool
+     */
+    @NonNull
+    public static ExecutorService newWorkerPool(int parallelism) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(parallelism, parallelism,
+                WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                Thread thread = new Thread(runnable, "mm-sync-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Returns executor which runs tasks of the stage sequentially and after all dependencies of the stage are idle
+     *
+     * @param stage synchronization stage
+     * @return executor of the stage
+     */
+    @NonNull
+    public Executor executor(@NonNull Stage stage) {
+        return stages.get(stage);
+    }
+
+    /**
+     * @return snapshot of timings of all stages
+     */
+    @NonNull
+    public Map<Stage, StageTimings> getTimings() {
+        Map<Stage, StageTimings> timings = new EnumMap<>(Stage.class);
+        synchronized (this) {
+            for (StageExecutor stageExecutor : stages.values()) {
+                timings.put(stageExecutor.stage, stageExecutor.timings());
+            }
+        }
+        return Collections.unmodifiableMap(timings);
+    }
+
+    /**
+     * @return true if there are no running or queued tasks in any stage
+     */
+    public synchronized boolean isIdle() {
+        for (StageExecutor stageExecutor : stages.values()) {
+            if (stageExecutor.isBusy()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized void dispatch() {
+        for (StageExecutor stageExecutor : stages.values()) {
+            if (stageExecutor.running || stageExecutor.queue.isEmpty() || isBlocked(stageExecutor.stage)) {
+                continue;
+            }
+
+            QueuedTask task = stageExecutor.queue.poll();
+            stageExecutor.running = true;
+            try {
+                workers.execute(new StageTask(stageExecutor, task));
+            } catch (RejectedExecutionException e) {
+                // task stays first in its stage and runs on the next dispatch
+                stageExecutor.queue.addFirst(task);
+                stageExecutor.running = false;
+                throw e;
+            }
+        }
+    }
+
+    private boolean isBlocked(Stage stage) {
+        for (StageExecutor other : stages.values()) {
+            if (stage.dependsOn(other.stage) && other.isBusy()) {
+                return true;
+            }
+            if (other.stage.dependsOn(stage) && other.running) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void completed(StageExecutor stageExecutor, long waitNanos, long runNanos) {
+        stageExecutor.running = false;
+        stageExecutor.executedTasks++;
+        stageExecutor.totalRunNanos += runNanos;
+        stageExecutor.lastRunNanos = runNanos;
+        stageExecutor.totalWaitNanos += waitNanos;
+        stageExecutor.lastWaitNanos = waitNanos;
+    }
+
+    private static class QueuedTask {
+        final Runnable runnable;
+        final long queuedAtNanos;
+
+        QueuedTask(Runnable runnable, long queuedAtNanos) {
+            this.runnable = runnable;
+            this.queuedAtNanos = queuedAtNanos;
+        }
+    }
+
+    private class StageExecutor implements Executor {
+        final Stage stage;
+        final Deque<QueuedTask> queue = new ArrayDeque<>();
+        boolean running;
+        long executedTasks;
+        long totalRunNanos;
+        long lastRunNanos;
+        long totalWaitNanos;
+        long lastWaitNanos;
+
+        StageExecutor(Stage stage) {
+            this.stage = stage;
+        }
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            synchronized (SyncScheduler.this) {
+                queue.add(new QueuedTask(command, System.nanoTime()));
+            }
+            dispatch();
+        }
+
+        boolean isBusy() {
+            return running || !queue.isEmpty();
+        }
+
+        StageTimings timings() {
+            return new StageTimings(executedTasks,
+                    TimeUnit.NANOSECONDS.toMillis(totalRunNanos),
+                    TimeUnit.NANOSECONDS.toMillis(lastRunNanos),
+                    TimeUnit.NANOSECONDS.toMillis(totalWaitNanos),
+                    TimeUnit.NANOSECONDS.toMillis(lastWaitNanos));
+        }
+    }
+
+    private class StageTask implements Runnable {
+        final StageExecutor stageExecutor;
+        final QueuedTask task;
+
+        StageTask(StageExecutor stageExecutor, QueuedTask task) {
+            this.stageExecutor = stageExecutor;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long startedAtNanos = System.nanoTime();
+            try {
+                task.runnable.run();
+            } finally {
+                completed(stageExecutor, startedAtNanos - task.queuedAtNanos, System.nanoTime() - startedAtNanos);
+                dispatch();
+            }
+        }
+    }
+}
@@ -103,6 +103,7 @@ public class MessagesSynchronizer {
                 broadcaster.error(MobileMessagingError.createFrom(error));
             }
         }
+                .measureWith(stats.getMetrics().timer("sync.messages"))
                 .retryWith(retryPolicy)
                 .execute(executor);
     }
@@ -118,6 +118,7 @@ public class MoMessageSender {
                 after(messages);
             }
         }
+        .measureWith(stats.getMetrics().timer("sync.moMessages.send"))
         .retryWith(noRetryPolicy)
         .execute(executor, messages);
     }
@@ -145,6 +146,7 @@ public class MoMessageSender {
                 saveMessages(messages);
             }
         }
+        .measureWith(stats.getMetrics().timer("sync.moMessages"))
         .retryWith(retryPolicy)
         .execute(executor, messages);
     }
@@ -53,6 +53,7 @@ public class SeenStatusReporter {
         batchReporter.put(new Runnable() {
             @Override
             public void run() {
+                final long startedAtNanos = System.nanoTime();
                 new MAsyncTask<Void, String[]>() {
                     @Override
                     public String[] run(Void[] voids) {
@@ -77,6 +78,7 @@ public class SeenStatusReporter {
 
                     @Override
                     public void after(String[] messageIdsWithTimestamp) {
+                        stats.getMetrics().timer("sync.seen").recordSince(startedAtNanos, true);
                         String[] seenMessageIdsFromReports = mobileMessagingCore.getSeenMessageIdsFromReports(messageIdsWithTimestamp).toArray(new String[0]);
                         broadcaster.seenStatusReported(seenMessageIdsFromReports);
                     }
@@ -84,6 +86,7 @@ public class SeenStatusReporter {
                     @Override
                     public void error(Throwable error) {
                         MobileMessagingLogger.e("Error reporting seen status!");
+                        stats.getMetrics().timer("sync.seen").recordSince(startedAtNanos, false);
                         stats.reportError(MobileMessagingStatsError.SEEN_REPORTING_ERROR);
                         broadcaster.error(MobileMessagingError.createFrom(error));
                     }
@@ -118,6 +118,7 @@ public class UserDataReporter {
                 broadcaster.error(mobileMessagingError);
             }
         }
+                .measureWith(stats.getMetrics().timer("sync.user.patch"))
                 .retryWith(retryPolicy(listener))
                 .execute(executor, user);
     }
@@ -167,6 +168,7 @@ public class UserDataReporter {
                 }
             }
         }
+                .measureWith(stats.getMetrics().timer("sync.user.fetch"))
                 .retryWith(retryPolicy(listener))
                 .execute(executor);
     }
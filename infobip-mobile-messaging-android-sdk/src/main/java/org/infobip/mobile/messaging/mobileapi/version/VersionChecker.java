@@ -84,6 +84,7 @@ public class VersionChecker {
                 stats.reportError(MobileMessagingStatsError.VERSION_CHECK_ERROR);
             }
         }
+        .measureWith(stats.getMetrics().timer("sync.version"))
         .retryWith(retryPolicyProvider.ONE_RETRY())
         .execute();
     }
@@ -0,0 +1,155 @@
+package org.infobip.mobile.messaging.stats;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory registry of SDK health metrics: counters and latency timers keyed by name.
+ * <br>
+ * Recording is lock-free, metrics are created on first use and live as long as the registry.
+ * Use {@link #snapshot()} to read a consistent-enough copy of all metrics for export.
+ *
+ * @since 18/10/2026.
+ */
+public class MetricsRegistry {
+
+    /**
+     * Upper bounds (inclusive) of latency histogram buckets in milliseconds, last bucket holds everything above.
+     */
+    static final long[] BUCKET_BOUNDS_MILLIS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Runnable onTimerRecorded;
+
+    public MetricsRegistry() {
+        this(null);
+    }
+
+    /**
+     * @param onTimerRecorded invoked after each record of any timer, e.g. to schedule persisting of latencies
+     */
+    public MetricsRegistry(@Nullable Runnable onTimerRecorded) {
+        this.onTimerRecorded = onTimerRecorded;
+    }
+
+    public static class Counter {
+        private final AtomicLong value = new AtomicLong();
+
+        public void increment() {
+            value.incrementAndGet();
+        }
+
+        public void add(long delta) {
+            value.addAndGet(delta);
+        }
+
+        public long get() {
+            return value.get();
+        }
+    }
+
+    public static class Timer {
+        private final AtomicLong successes = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+        private final Runnable onRecorded;
+
+        Timer(@Nullable Runnable onRecorded) {
+            this.onRecorded = onRecorded;
+        }
+
+        /**
+         * Records duration of one completed operation
+         *
+         * @param durationMillis duration in milliseconds
+         * @param success        true if operation succeeded
+         */
+        public void record(long durationMillis, boolean success) {
+            long duration = Math.max(0, durationMillis);
+            (success ? successes : failures).incrementAndGet();
+            totalMillis.addAndGet(duration);
+            buckets.incrementAndGet(bucketIndex(duration));
+
+            long max = maxMillis.get();
+            while (duration > max && !maxMillis.compareAndSet(max, duration)) {
+                max = maxMillis.get();
+            }
+
+            if (onRecorded != null) {
+                onRecorded.run();
+            }
+        }
+
+        /**
+         * Records duration of operation which started at provided {@link System#nanoTime()}
+         */
+        public void recordSince(long startedAtNanos, boolean success) {
+            record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos), success);
+        }
+
+        MetricsSnapshot.TimerSnapshot snapshot() {
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return new MetricsSnapshot.TimerSnapshot(successes.get(), failures.get(), totalMillis.get(), maxMillis.get(), BUCKET_BOUNDS_MILLIS, counts);
+        }
+
+        private static int bucketIndex(long durationMillis) {
+            for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+                if (durationMillis <= BUCKET_BOUNDS_MILLIS[i]) {
+                    return i;
+                }
+            }
+            return BUCKET_BOUNDS_MILLIS.length;
+        }
+    }
+
+    @NonNull
+    public Counter counter(@NonNull String name) {
+        Counter counter = counters.get(name);
+        if (counter != null) {
+            return counter;
+        }
+        Counter newCounter = new Counter();
+        counter = counters.putIfAbsent(name, newCounter);
+        return counter != null ? counter : newCounter;
+    }
+
+    @NonNull
+    public Timer timer(@NonNull String name) {
+        Timer timer = timers.get(name);
+        if (timer != null) {
+            return timer;
+        }
+        Timer newTimer = new Timer(onTimerRecorded);
+        timer = timers.putIfAbsent(name, newTimer);
+        return timer != null ? timer : newTimer;
+    }
+
+    /**
+     * @return copy of current values of all metrics
+     */
+    @NonNull
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new HashMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            counterValues.put(entry.getKey(), entry.getValue().get());
+        }
+        Map<String, MetricsSnapshot.TimerSnapshot> timerValues = new HashMap<>();
+        for (Map.Entry<String, Timer> entry : timers.entrySet()) {
+            timerValues.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return new MetricsSnapshot(counterValues, timerValues);
+    }
+}
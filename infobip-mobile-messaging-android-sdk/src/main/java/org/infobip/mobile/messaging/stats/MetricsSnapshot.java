@@ -0,0 +1,226 @@
+package org.infobip.mobile.messaging.stats;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of SDK health metrics, see {@link MetricsRegistry}.
+ * <br>
+ * Metric names:
+ * <ul>
+ * <li>"api.&lt;Interface&gt;.&lt;method&gt;" - timer of Mobile API calls, e.g. "api.MobileApiMessages.sync"</li>
+ * <li>"sync.&lt;synchronizer&gt;" - timer of synchronizer runs including retries, e.g. "sync.messages"</li>
+ * <li>"error.&lt;MobileMessagingStatsError&gt;" - counter of errors reported since the application started</li>
+ * <li>"chat.attachment.encode" - timer of in-app chat image re-encoding, failed if image does not fit into max upload size</li>
+ * <li>"chat.widget.tti.cold", "chat.widget.tti.prewarmed" - time from in-app chat view creation until the widget is interactive</li>
+ * </ul>
+ *
+ * @since 18/10/2026.
+ */
+public class MetricsSnapshot {
+
+    private final Map<String, Long> counters;
+    private final Map<String, TimerSnapshot> timers;
+
+    MetricsSnapshot(Map<String, Long> counters, Map<String, TimerSnapshot> timers) {
+        this.counters = Collections.unmodifiableMap(counters);
+        this.timers = Collections.unmodifiableMap(timers);
+    }
+
+    @NonNull
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    @NonNull
+    public Map<String, TimerSnapshot> getTimers() {
+        return timers;
+    }
+
+    public long getCounter(@NonNull String name) {
+        Long value = counters.get(name);
+        return value != null ? value : 0;
+    }
+
+    @Nullable
+    public TimerSnapshot getTimer(@NonNull String name) {
+        return timers.get(name);
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot{counters=" + counters + ", timers=" + timers + "}";
+    }
+
+    public static class TimerSnapshot {
+        private final long successCount;
+        private final long failureCount;
+        private final long totalMillis;
+        private final long maxMillis;
+        private final long[] bucketBoundsMillis;
+        private final long[] bucketCounts;
+
+        TimerSnapshot(long successCount, long failureCount, long totalMillis, long maxMillis, long[] bucketBoundsMillis, long[] bucketCounts) {
+            this.successCount = successCount;
+            this.failureCount = failureCount;
+            this.totalMillis = totalMillis;
+            this.maxMillis = maxMillis;
+            this.bucketBoundsMillis = bucketBoundsMillis;
+            this.bucketCounts = bucketCounts;
+        }
+
+        public long getCount() {
+            return successCount + failureCount;
+        }
+
+        public long getSuccessCount() {
+            return successCount;
+        }
+
+        public long getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * @return share of successful operations in range [0, 1], 1 if nothing was recorded
+         */
+        public double getSuccessRate() {
+            long count = getCount();
+            return count == 0 ? 1 : (double) successCount / count;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public long getMeanMillis() {
+            long count = getCount();
+            return count == 0 ? 0 : totalMillis / count;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+
+        /**
+         * Estimates percentile from histogram as upper bound of the bucket where it falls,
+         * values above the last bucket bound are estimated as max
+         *
+         * @param percentile value in range (0, 100]
+         * @return estimated duration in milliseconds, 0 if nothing was recorded
+         */
+        public long getPercentileMillis(double percentile) {
+            long count = 0;
+            for (long bucketCount : bucketCounts) {
+                count += bucketCount;
+            }
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+            long seen = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                seen += bucketCounts[i];
+                if (seen >= rank && bucketCounts[i] > 0) {
+                    return i < bucketBoundsMillis.length ? Math.min(bucketBoundsMillis[i], maxMillis) : maxMillis;
+                }
+            }
+            return maxMillis;
+        }
+
+        /**
+         * @return sum of both snapshots, max is the larger of both maxima
+         */
+        TimerSnapshot plus(TimerSnapshot other) {
+            long[] counts = new long[bucketCounts.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = bucketCounts[i] + other.bucketCounts[i];
+            }
+            return new TimerSnapshot(successCount + other.successCount, failureCount + other.failureCount,
+                    totalMillis + other.totalMillis, Math.max(maxMillis, other.maxMillis), bucketBoundsMillis, counts);
+        }
+
+        /**
+         * @return operations recorded since the earlier snapshot of the same timer, max cannot be subtracted and stays as is
+         */
+        TimerSnapshot minus(TimerSnapshot earlier) {
+            long[] counts = new long[bucketCounts.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = bucketCounts[i] - earlier.bucketCounts[i];
+            }
+            return new TimerSnapshot(successCount - earlier.successCount, failureCount - earlier.failureCount,
+                    totalMillis - earlier.totalMillis, maxMillis, bucketBoundsMillis, counts);
+        }
+
+        /**
+         * @return comma separated values of the snapshot, see {@link #decode(String)}
+         */
+        String encode() {
+            StringBuilder builder = new StringBuilder()
+                    .append(successCount).append(',')
+                    .append(failureCount).append(',')
+                    .append(totalMillis).append(',')
+                    .append(maxMillis);
+            for (long bucketCount : bucketCounts) {
+                builder.append(',').append(bucketCount);
+            }
+            return builder.toString();
+        }
+
+        /**
+         * @return snapshot with provided bucket bounds or null if value is missing or was encoded with different buckets
+         */
+        @Nullable
+        static TimerSnapshot decode(@Nullable String value, long[] bucketBoundsMillis) {
+            if (value == null) {
+                return null;
+            }
+
+            String[] parts = value.split(",");
+            if (parts.length != 4 + bucketBoundsMillis.length + 1) {
+                return null;
+            }
+
+            try {
+                long[] counts = new long[bucketBoundsMillis.length + 1];
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = Long.parseLong(parts[4 + i]);
+                }
+                return new TimerSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                        Long.parseLong(parts[3]), bucketBoundsMillis, counts);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        /**
+         * @return inclusive upper bounds of histogram buckets in milliseconds, see {@link #getBucketCounts()}
+         */
+        @NonNull
+        public long[] getBucketBoundsMillis() {
+            return bucketBoundsMillis.clone();
+        }
+
+        /**
+         * @return number of operations per histogram bucket, has one more element than bounds for durations above the last bound
+         */
+        @NonNull
+        public long[] getBucketCounts() {
+            return bucketCounts.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "TimerSnapshot{count=" + getCount() +
+                    ", successRate=" + getSuccessRate() +
+                    ", meanMillis=" + getMeanMillis() +
+                    ", p95Millis=" + getPercentileMillis(95) +
+                    ", maxMillis=" + maxMillis +
+                    "}";
+        }
+    }
+}
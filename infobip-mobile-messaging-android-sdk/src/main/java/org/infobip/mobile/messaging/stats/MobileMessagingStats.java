@@ -1,33 +1,92 @@
 package org.infobip.mobile.messaging.stats;
 
 import android.content.Context;
+import android.content.SharedPreferences;
 
 import org.infobip.mobile.messaging.util.PreferenceHelper;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
+ * Error counters and latency metrics of the SDK.
+ * <br>
+ * Errors and latencies of API calls and synchronizers are recorded in memory (see {@link #getMetrics()}), persisted error counts
+ * and latency histograms are updated together periodically (see {@link #FLUSH_DELAY_MILLIS}), so recording does not touch the disk.
+ *
  * @author mstipanov
  * @since 01.04.2016.
  */
 public class MobileMessagingStats {
     public static final String STATS_KEY_BASE = "org.infobip.mobile.messaging.stats.";
+    static final String LATENCY_KEY_BASE = STATS_KEY_BASE + "latency.";
+    static final long FLUSH_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private static ScheduledExecutorService flushExecutor;
+
     private final Context context;
+    private final AtomicLong[] unflushedErrors = new AtomicLong[MobileMessagingStatsError.values().length];
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Map<String, MetricsSnapshot.TimerSnapshot> flushedLatencies = new HashMap<>();
+    private final MetricsRegistry metrics = new MetricsRegistry(new Runnable() {
+        @Override
+        public void run() {
+            scheduleFlush();
+        }
+    });
 
     public MobileMessagingStats(Context context) {
         this.context = context;
+        for (int i = 0; i < unflushedErrors.length; i++) {
+            unflushedErrors[i] = new AtomicLong();
+        }
     }
 
     public static String getKey(MobileMessagingStatsError mobileMessagingStatsError) {
         return STATS_KEY_BASE + mobileMessagingStatsError.name();
     }
 
-    public long getErrorCount(MobileMessagingStatsError mobileMessagingStatsError) {
-        return PreferenceHelper
-                .getDefaultMMSharedPreferences(context)
-                .getLong(getKey(mobileMessagingStatsError), 0);
+    public static String getMetricName(MobileMessagingStatsError mobileMessagingStatsError) {
+        return "error." + mobileMessagingStatsError.name();
+    }
+
+    /**
+     * @return registry with in-memory metrics of this SDK instance
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
     }
 
-    public synchronized void reportError(MobileMessagingStatsError mobileMessagingStatsError) {
-        saveLong(mobileMessagingStatsError, getErrorCount(mobileMessagingStatsError) + 1);
+    /**
+     * Returns latency histogram of a timer metric including latencies persisted by previous runs of the application
+     *
+     * @param metricName name of timer, see {@link MetricsSnapshot}
+     * @return latency histogram or null if nothing was recorded
+     */
+    public synchronized MetricsSnapshot.TimerSnapshot getLatency(String metricName) {
+        MetricsSnapshot.TimerSnapshot persisted = MetricsSnapshot.TimerSnapshot.decode(
+                preferences().getString(getLatencyKey(metricName), null), MetricsRegistry.BUCKET_BOUNDS_MILLIS);
+        MetricsSnapshot.TimerSnapshot unflushed = unflushedLatency(metricName, metrics.snapshot().getTimer(metricName));
+        if (persisted == null || unflushed == null) {
+            return persisted != null ? persisted : unflushed;
+        }
+        return persisted.plus(unflushed);
+    }
+
+    public synchronized long getErrorCount(MobileMessagingStatsError mobileMessagingStatsError) {
+        return preferences().getLong(getKey(mobileMessagingStatsError), 0) + unflushedErrors[mobileMessagingStatsError.ordinal()].get();
+    }
+
+    public void reportError(MobileMessagingStatsError mobileMessagingStatsError) {
+        unflushedErrors[mobileMessagingStatsError.ordinal()].incrementAndGet();
+        metrics.counter(getMetricName(mobileMessagingStatsError)).increment();
+        scheduleFlush();
     }
 
     public void resetErrors() {
@@ -37,12 +96,93 @@ public class MobileMessagingStats {
     }
 
     public synchronized void resetError(MobileMessagingStatsError mobileMessagingStatsError) {
-        saveLong(mobileMessagingStatsError, getErrorCount(mobileMessagingStatsError));
+        unflushedErrors[mobileMessagingStatsError.ordinal()].set(0);
+        preferences().edit().putLong(getKey(mobileMessagingStatsError), 0).apply();
     }
 
-    private void saveLong(MobileMessagingStatsError mobileMessagingStatsError, long value) {
-        PreferenceHelper
-                .getDefaultMMSharedPreferences(context).edit()
-                .putLong(getKey(mobileMessagingStatsError), value).apply();
+    /**
+     * Persists error counts and latencies recorded since the last flush
+     */
+    public synchronized void flush() {
+        flushScheduled.set(false);
+        SharedPreferences preferences = preferences();
+        SharedPreferences.Editor editor = null;
+        for (MobileMessagingStatsError error : MobileMessagingStatsError.values()) {
+            long unflushed = unflushedErrors[error.ordinal()].getAndSet(0);
+            if (unflushed == 0) {
+                continue;
+            }
+            if (editor == null) {
+                editor = preferences.edit();
+            }
+            editor.putLong(getKey(error), preferences.getLong(getKey(error), 0) + unflushed);
+        }
+        for (Map.Entry<String, MetricsSnapshot.TimerSnapshot> entry : metrics.snapshot().getTimers().entrySet()) {
+            String name = entry.getKey();
+            MetricsSnapshot.TimerSnapshot unflushed = unflushedLatency(name, entry.getValue());
+            if (unflushed == null) {
+                continue;
+            }
+            if (editor == null) {
+                editor = preferences.edit();
+            }
+            MetricsSnapshot.TimerSnapshot persisted = MetricsSnapshot.TimerSnapshot.decode(
+                    preferences.getString(getLatencyKey(name), null), MetricsRegistry.BUCKET_BOUNDS_MILLIS);
+            editor.putString(getLatencyKey(name), (persisted != null ? persisted.plus(unflushed) : unflushed).encode());
+            flushedLatencies.put(name, entry.getValue());
+        }
+        if (editor != null) {
+            editor.apply();
+        }
+    }
+
+    /**
+     * @return latencies recorded since the last flush or null if there are none
+     */
+    private MetricsSnapshot.TimerSnapshot unflushedLatency(String metricName, MetricsSnapshot.TimerSnapshot current) {
+        if (current == null) {
+            return null;
+        }
+        MetricsSnapshot.TimerSnapshot flushed = flushedLatencies.get(metricName);
+        if (flushed == null) {
+            return current.getCount() > 0 ? current : null;
+        }
+        return current.getCount() > flushed.getCount() ? current.minus(flushed) : null;
+    }
+
+    private static String getLatencyKey(String metricName) {
+        return LATENCY_KEY_BASE + metricName;
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.get() || !flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        flushExecutor().schedule(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private SharedPreferences preferences() {
+        return PreferenceHelper.getDefaultMMSharedPreferences(context);
+    }
+
+    private static synchronized ScheduledExecutorService flushExecutor() {
+        if (flushExecutor == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "mm-stats-flush");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            flushExecutor = executor;
+        }
+        return flushExecutor;
     }
 }
@@ -0,0 +1,290 @@
+package org.infobip.mobile.messaging.storage;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.infobip.mobile.messaging.Message;
+import org.infobip.mobile.messaging.dal.sqlite.DatabaseContract.MessageColumns;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Filters, order and paging of stored messages query.
+ * <pre>
+ * {@code
+ * MessageQuery firstPage = new MessageQuery.Builder()
+ *         .withSeen(false)
+ *         .withLimit(20)
+ *         .build();
+ * List<Message> messages = messageStore.find(context, firstPage);
+ * List<Message> nextMessages = messageStore.find(context, firstPage.pageAfter(messages.get(messages.size() - 1)));
+ * }
+ * </pre>
+ * Messages are ordered by received timestamp and then by message id, which makes the order stable for paging.
+ * Keyset paging (see {@link #pageAfter(Message)}) is preferred over offset paging for long lists, since it does not
+ * scan over the skipped messages.
+ *
+ * @see SQLiteMessageStore#find(android.content.Context, MessageQuery)
+ * @since 18/10/2026.
+ */
+public class MessageQuery {
+
+    public enum Order {
+        NEWEST_FIRST,
+        OLDEST_FIRST
+    }
+
+    private Boolean seen;
+    private Long receivedFrom;
+    private Long receivedTo;
+    private final Set<String> categories = new LinkedHashSet<>();
+    private final Set<Message.Status> statuses = new LinkedHashSet<>();
+    private Order order = Order.NEWEST_FIRST;
+    private int limit;
+    private int offset;
+    private Long afterReceivedTimestamp;
+    private String afterMessageId;
+
+    private MessageQuery() {
+    }
+
+    private MessageQuery(MessageQuery query) {
+        this.seen = query.seen;
+        this.receivedFrom = query.receivedFrom;
+        this.receivedTo = query.receivedTo;
+        this.categories.addAll(query.categories);
+        this.statuses.addAll(query.statuses);
+        this.order = query.order;
+        this.limit = query.limit;
+        this.offset = query.offset;
+        this.afterReceivedTimestamp = query.afterReceivedTimestamp;
+        this.afterMessageId = query.afterMessageId;
+    }
+
+    /**
+     * Creates query for the page of messages which follows the provided message, keeps all filters and limit
+     *
+     * @param lastMessage last message of the current page
+     * @return query for the next page
+     */
+    @NonNull
+    public MessageQuery pageAfter(@NonNull Message lastMessage) {
+        MessageQuery query = new MessageQuery(this);
+        query.offset = 0;
+        query.afterReceivedTimestamp = lastMessage.getReceivedTimestamp();
+        query.afterMessageId = lastMessage.getMessageId();
+        return query;
+    }
+
+    /**
+     * @return true for seen messages only, false for not seen messages only, null for all messages
+     */
+    @Nullable
+    public Boolean getSeen() {
+        return seen;
+    }
+
+    @Nullable
+    public Long getReceivedFrom() {
+        return receivedFrom;
+    }
+
+    @Nullable
+    public Long getReceivedTo() {
+        return receivedTo;
+    }
+
+    @NonNull
+    public Set<String> getCategories() {
+        return Collections.unmodifiableSet(categories);
+    }
+
+    @NonNull
+    public Set<Message.Status> getStatuses() {
+        return Collections.unmodifiableSet(statuses);
+    }
+
+    @NonNull
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * @return maximum number of messages, 0 for no limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns SQL WHERE clause of the query without the "WHERE" keyword
+     *
+     * @param withPaging true to include keyset paging condition
+     * @return selection or null if query has no conditions
+     */
+    @Nullable
+    String selection(boolean withPaging) {
+        List<String> conditions = new ArrayList<>();
+        if (seen != null) {
+            conditions.add(MessageColumns.SEEN_TIMESTAMP + (seen ? " > 0" : " = 0"));
+        }
+        if (receivedFrom != null) {
+            conditions.add(MessageColumns.RECEIVED_TIMESTAMP + " >= ?");
+        }
+        if (receivedTo != null) {
+            conditions.add(MessageColumns.RECEIVED_TIMESTAMP + " < ?");
+        }
+        if (!categories.isEmpty()) {
+            conditions.add(MessageColumns.CATEGORY + " IN (" + placeholders(categories.size()) + ")");
+        }
+        if (!statuses.isEmpty()) {
+            conditions.add(MessageColumns.STATUS + " IN (" + placeholders(statuses.size()) + ")");
+        }
+        if (withPaging && afterReceivedTimestamp != null) {
+            String operator = order == Order.NEWEST_FIRST ? " < ?" : " > ?";
+            conditions.add("(" + MessageColumns.RECEIVED_TIMESTAMP + operator + " OR (" +
+                    MessageColumns.RECEIVED_TIMESTAMP + " = ? AND " + MessageColumns.MESSAGE_ID + operator + "))");
+        }
+
+        if (conditions.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder selection = new StringBuilder();
+        for (String condition : conditions) {
+            if (selection.length() > 0) {
+                selection.append(" AND ");
+            }
+            selection.append(condition);
+        }
+        return selection.toString();
+    }
+
+    /**
+     * Returns arguments of SQL WHERE clause in the same order as placeholders in {@link #selection(boolean)}
+     *
+     * @param withPaging true to include arguments of keyset paging condition
+     * @return selection arguments or null if query has no arguments
+     */
+    @Nullable
+    String[] selectionArgs(boolean withPaging) {
+        List<String> args = new ArrayList<>();
+        if (receivedFrom != null) {
+            args.add(String.valueOf(receivedFrom));
+        }
+        if (receivedTo != null) {
+            args.add(String.valueOf(receivedTo));
+        }
+        args.addAll(categories);
+        for (Message.Status status : statuses) {
+            args.add(status.name());
+        }
+        if (withPaging && afterReceivedTimestamp != null) {
+            args.add(String.valueOf(afterReceivedTimestamp));
+            args.add(String.valueOf(afterReceivedTimestamp));
+            args.add(afterMessageId);
+        }
+        return args.isEmpty() ? null : args.toArray(new String[0]);
+    }
+
+    /**
+     * @return SQL ORDER BY clause of the query without the "ORDER BY" keywords
+     */
+    @NonNull
+    String orderBy() {
+        String direction = order == Order.NEWEST_FIRST ? " DESC" : " ASC";
+        return MessageColumns.RECEIVED_TIMESTAMP + direction + ", " + MessageColumns.MESSAGE_ID + direction;
+    }
+
+    /**
+     * @return SQL LIMIT clause of the query without the "LIMIT" keyword, null if query is not limited
+     */
+    @Nullable
+    String limit() {
+        if (offset > 0) {
+            return offset + ", " + (limit > 0 ? limit : Long.MAX_VALUE);
+        }
+        return limit > 0 ? String.valueOf(limit) : null;
+    }
+
+    private static String placeholders(int count) {
+        return new String(new char[count - 1]).replace("\0", "?,") + "?";
+    }
+
+    public static class Builder {
+
+        private MessageQuery query = new MessageQuery();
+
+        /**
+         * @param seen true to find only seen messages, false to find only messages which are not seen
+         */
+        public Builder withSeen(boolean seen) {
+            query.seen = seen;
+            return this;
+        }
+
+        /**
+         * @param receivedFrom timestamp in millis, messages received at or after it are found
+         */
+        public Builder withReceivedFrom(long receivedFrom) {
+            query.receivedFrom = receivedFrom;
+            return this;
+        }
+
+        /**
+         * @param receivedTo timestamp in millis, messages received before it are found
+         */
+        public Builder withReceivedTo(long receivedTo) {
+            query.receivedTo = receivedTo;
+            return this;
+        }
+
+        public Builder withCategories(String... categories) {
+            query.categories.clear();
+            query.categories.addAll(Arrays.asList(categories));
+            return this;
+        }
+
+        public Builder withStatuses(Message.Status... statuses) {
+            query.statuses.clear();
+            query.statuses.addAll(Arrays.asList(statuses));
+            return this;
+        }
+
+        public Builder withOrder(@NonNull Order order) {
+            query.order = order;
+            return this;
+        }
+
+        /**
+         * @param limit maximum number of messages to find, 0 for no limit
+         */
+        public Builder withLimit(int limit) {
+            query.limit = Math.max(0, limit);
+            return this;
+        }
+
+        /**
+         * @param offset number of messages to skip
+         */
+        public Builder withOffset(int offset) {
+            query.offset = Math.max(0, offset);
+            return this;
+        }
+
+        public MessageQuery build() {
+            MessageQuery messageQuery = query;
+            query = new MessageQuery();
+            return messageQuery;
+        }
+    }
+}
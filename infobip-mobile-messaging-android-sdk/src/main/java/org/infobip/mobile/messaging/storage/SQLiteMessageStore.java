@@ -4,11 +4,13 @@ import android.content.Context;
 
 import org.infobip.mobile.messaging.Message;
 import org.infobip.mobile.messaging.MobileMessagingCore;
-import org.infobip.mobile.messaging.dal.sqlite.DatabaseHelper;
+import org.infobip.mobile.messaging.dal.sqlite.CursorIterator;
 import org.infobip.mobile.messaging.dal.sqlite.SqliteMessage;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Stores messages in SQLite database
@@ -31,16 +33,54 @@ import java.util.List;
 public class SQLiteMessageStore implements MessageStore {
 
     public void save(Context context, Message... messages) {
-        DatabaseHelper helper = MobileMessagingCore.getDatabaseHelper(context);
+        List<SqliteMessage> sqliteMessages = new ArrayList<>(messages.length);
         for (Message message : messages) {
-            helper.save(new SqliteMessage(message));
+            sqliteMessages.add(new SqliteMessage(message));
         }
+        MobileMessagingCore.getDatabaseHelper(context).saveAll(sqliteMessages);
     }
 
     public List<Message> findAll(Context context) {
         return new ArrayList<Message>(MobileMessagingCore.getDatabaseHelper(context).findAll(SqliteMessage.class));
     }
 
+    /**
+     * Finds stored messages which match the query, only the requested page of messages is loaded
+     *
+     * @param context context
+     * @param query   filters, order and paging
+     * @return matching messages
+     */
+    public List<Message> find(Context context, MessageQuery query) {
+        return new ArrayList<Message>(MobileMessagingCore.getDatabaseHelper(context).find(SqliteMessage.class,
+                query.selection(true), query.selectionArgs(true), query.orderBy(), query.limit()));
+    }
+
+    /**
+     * Lazily iterates stored messages which match the query, messages are loaded one at a time while iterating.
+     * Iterator must be closed if it is not iterated till the end.
+     *
+     * @param context context
+     * @param query   filters, order and paging
+     * @return iterator over matching messages
+     */
+    public CursorIterator<SqliteMessage> iterate(Context context, MessageQuery query) {
+        return MobileMessagingCore.getDatabaseHelper(context).iterate(SqliteMessage.class,
+                query.selection(true), query.selectionArgs(true), query.orderBy(), query.limit());
+    }
+
+    /**
+     * Counts stored messages which match filters of the query, paging of the query is ignored
+     *
+     * @param context context
+     * @param query   filters
+     * @return number of matching messages
+     */
+    public long count(Context context, MessageQuery query) {
+        return MobileMessagingCore.getDatabaseHelper(context).countAll(SqliteMessage.class,
+                query.selection(false), query.selectionArgs(false));
+    }
+
     public Message findById(Context context, String messageId) {
         return MobileMessagingCore.getDatabaseHelper(context).find(SqliteMessage.class, messageId);
     }
@@ -56,4 +96,18 @@ public class SQLiteMessageStore implements MessageStore {
     public void deleteById(Context context, String messageId) {
         MobileMessagingCore.getDatabaseHelper(context).delete(SqliteMessage.class, messageId);
     }
+
+    public void deleteByIds(Context context, String[] messageIds) {
+        MobileMessagingCore.getDatabaseHelper(context).deleteAll(SqliteMessage.class, Arrays.asList(messageIds));
+    }
+
+    /**
+     * Changes ids of stored messages
+     *
+     * @param context      context
+     * @param messageIdMap map that contains old id as key and new id as value
+     */
+    public void updateMessageIds(Context context, Map<String, String> messageIdMap) {
+        MobileMessagingCore.getDatabaseHelper(context).updatePrimaryKeys(SqliteMessage.class, messageIdMap);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package org.infobip.mobile.messaging.util;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 public abstract class Cryptor {
@@ -9,4 +10,34 @@ public abstract class Cryptor {
 
     @Nullable
     public abstract String decrypt(String encryptedBase64Data);
+
+    /**
+     * Encrypts all provided values, result contains encrypted values in the same order
+     *
+     * @param data values to encrypt
+     * @return encrypted values
+     */
+    @NonNull
+    public String[] encryptAll(@NonNull String[] data) {
+        String[] encrypted = new String[data.length];
+        for (int i = 0; i < data.length; i++) {
+            encrypted[i] = encrypt(data[i]);
+        }
+        return encrypted;
+    }
+
+    /**
+     * Decrypts all provided values, result contains decrypted values in the same order
+     *
+     * @param encryptedBase64Data values to decrypt
+     * @return decrypted values
+     */
+    @NonNull
+    public String[] decryptAll(@NonNull String[] encryptedBase64Data) {
+        String[] decrypted = new String[encryptedBase64Data.length];
+        for (int i = 0; i < encryptedBase64Data.length; i++) {
+            decrypted[i] = decrypt(encryptedBase64Data[i]);
+        }
+        return decrypted;
+    }
 }
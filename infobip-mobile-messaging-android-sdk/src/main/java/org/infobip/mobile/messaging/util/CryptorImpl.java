@@ -22,6 +22,8 @@ public class CryptorImpl extends Cryptor {
     private static final String AES_ALGO = "AES/CBC/PKCS7PADDING";
     private Key key = null;
     private IvParameterSpec ivSpec = null;
+    private final ThreadLocal<Cipher> encryptCipher = new ThreadLocal<>();
+    private final ThreadLocal<Cipher> decryptCipher = new ThreadLocal<>();
 
     public CryptorImpl(@NonNull String keySecret) {
         byte[] keyBytes = keySecret.getBytes();
@@ -42,47 +44,104 @@ public class CryptorImpl extends Cryptor {
     @Override
     @Nullable
     public String encrypt(String data) {
+        return encrypt(encryptCipher(), data);
+    }
+
+    @Override
+    @Nullable
+    public String decrypt(String encryptedBase64Data) {
+        return decrypt(decryptCipher(), encryptedBase64Data);
+    }
+
+    @NonNull
+    @Override
+    public String[] encryptAll(@NonNull String[] data) {
+        String[] encrypted = new String[data.length];
+        for (int i = 0; i < data.length; i++) {
+            // thread cipher is dropped after a failure, so it's looked up for every element
+            encrypted[i] = encrypt(encryptCipher(), data[i]);
+        }
+        return encrypted;
+    }
+
+    @NonNull
+    @Override
+    public String[] decryptAll(@NonNull String[] encryptedBase64Data) {
+        String[] decrypted = new String[encryptedBase64Data.length];
+        for (int i = 0; i < encryptedBase64Data.length; i++) {
+            decrypted[i] = decrypt(decryptCipher(), encryptedBase64Data[i]);
+        }
+        return decrypted;
+    }
+
+    @Nullable
+    private String encrypt(Cipher cipher, String data) {
         if (StringUtils.isBlank(data)) {
             return null;
         }
 
-        byte[] encoded = encodeAES128(data.getBytes());
+        byte[] encoded = doFinal(cipher, Cipher.ENCRYPT_MODE, data.getBytes());
+        if (encoded == null) {
+            return null;
+        }
         return Base64.encodeToString(encoded, Base64.NO_WRAP);
     }
 
-    @Override
     @Nullable
-    public String decrypt(String encryptedBase64Data) {
+    private String decrypt(Cipher cipher, String encryptedBase64Data) {
         if (StringUtils.isBlank(encryptedBase64Data)) {
             return null;
         }
 
         byte[] encrypted = Base64.decode(encryptedBase64Data, Base64.DEFAULT);
-        byte[] decrypted = decodeAES128(encrypted);
+        byte[] decrypted = doFinal(cipher, Cipher.DECRYPT_MODE, encrypted);
         if (decrypted == null) {
             return null;
         }
         return new String(decrypted);
     }
 
-    private byte[] encodeAES128(byte[] data) {
+    private Cipher encryptCipher() {
+        return cipher(encryptCipher, Cipher.ENCRYPT_MODE);
+    }
+
+    private Cipher decryptCipher() {
+        return cipher(decryptCipher, Cipher.DECRYPT_MODE);
+    }
+
+    /**
+     * Ciphers are not thread-safe, so each thread keeps its own initialized instance.
+     * Cipher returns to its initial state after {@code doFinal}, so the same instance is reused for subsequent operations.
+     */
+    @Nullable
+    private Cipher cipher(ThreadLocal<Cipher> threadCipher, int mode) {
+        Cipher cipher = threadCipher.get();
+        if (cipher != null) {
+            return cipher;
+        }
+
         try {
-            Cipher cipher = Cipher.getInstance(AES_ALGO);
-            cipher.init(Cipher.ENCRYPT_MODE, key, ivSpec);
-            return cipher.doFinal(data);
+            cipher = Cipher.getInstance(AES_ALGO);
+            cipher.init(mode, key, ivSpec);
         } catch (Exception e) {
             MobileMessagingLogger.d(Log.getStackTraceString(e));
             return null;
         }
+        threadCipher.set(cipher);
+        return cipher;
     }
 
-    private byte[] decodeAES128(byte[] data) {
+    private byte[] doFinal(Cipher cipher, int mode, byte[] data) {
+        if (cipher == null) {
+            return null;
+        }
+
         try {
-            Cipher cipher = Cipher.getInstance(AES_ALGO);
-            cipher.init(Cipher.DECRYPT_MODE, key, ivSpec);
             return cipher.doFinal(data);
         } catch (Exception e) {
             MobileMessagingLogger.d(Log.getStackTraceString(e));
+            // cipher state is undefined after failure, next operation will use new instance
+            (mode == Cipher.ENCRYPT_MODE ? encryptCipher : decryptCipher).remove();
             return null;
         }
     }
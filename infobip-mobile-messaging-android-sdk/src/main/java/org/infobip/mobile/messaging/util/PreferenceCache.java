@@ -0,0 +1,47 @@
+package org.infobip.mobile.messaging.util;
+
+import android.content.SharedPreferences;
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of values decoded from {@link SharedPreferences} used by {@link PreferenceHelper}.
+ * <br>
+ * Decoded values (decrypted strings, classes) are cached together with the raw stored value they were decoded from,
+ * so a cached value is only used as long as the stored value did not change.
+ */
+class PreferenceCache {
+
+    private final Map<String, DecodedValue> decodedValues = new ConcurrentHashMap<>();
+
+    interface Decoder<T> {
+        T decode(String raw);
+    }
+
+    private static class DecodedValue {
+        final String raw;
+        final Object value;
+
+        DecodedValue(String raw, Object value) {
+            this.raw = raw;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Returns value decoded from the raw stored value, decoder is only invoked if raw value differs from the cached one
+     */
+    @SuppressWarnings("unchecked")
+    <T> T decode(String key, String raw, @NonNull Decoder<T> decoder) {
+        DecodedValue cached = decodedValues.get(key);
+        if (cached != null && (cached.raw == null ? raw == null : cached.raw.equals(raw))) {
+            return (T) cached.value;
+        }
+
+        T value = decoder.decode(raw);
+        decodedValues.put(key, new DecodedValue(raw, value));
+        return value;
+    }
+}
@@ -14,6 +14,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author mstipanov
@@ -24,6 +25,8 @@ public abstract class PreferenceHelper {
     private static final Object LOCK = new Object();
     protected static Cryptor cryptor = null;
     private static Boolean usePrivateSharedPrefs = null;
+    private static final PreferenceCache cache = new PreferenceCache();
+    private static volatile EncryptedKeys encryptedKeys = null;
 
     protected PreferenceHelper() {
     }
@@ -41,6 +44,41 @@ public abstract class PreferenceHelper {
         return DeviceInformation.getDeviceID(context);
     }
 
+    /**
+     * Encrypted key names of a cryptor, the cryptor and its keys are published together so readers never mix them up
+     */
+    private static class EncryptedKeys {
+        final Cryptor cryptor;
+        final Map<String, String> keys = new ConcurrentHashMap<>();
+
+        EncryptedKeys(Cryptor cryptor) {
+            this.cryptor = cryptor;
+        }
+    }
+
+    /**
+     * Encrypted key names never change for the same cryptor, so they are computed only once
+     */
+    private static String encryptKey(Cryptor cryptor, String key) {
+        if (cryptor != PreferenceHelper.cryptor) {
+            return cryptor.encrypt(key);
+        }
+
+        EncryptedKeys encryptedKeys = PreferenceHelper.encryptedKeys;
+        if (encryptedKeys == null || encryptedKeys.cryptor != cryptor) {
+            encryptedKeys = new EncryptedKeys(cryptor);
+            PreferenceHelper.encryptedKeys = encryptedKeys;
+        }
+        String encryptedKey = encryptedKeys.keys.get(key);
+        if (encryptedKey == null) {
+            encryptedKey = cryptor.encrypt(key);
+            if (encryptedKey != null) {
+                encryptedKeys.keys.put(key, encryptedKey);
+            }
+        }
+        return encryptedKey;
+    }
+
     public static SharedPreferences getDefaultMMSharedPreferences(Context context) {
         if (usePrivateSharedPrefs == null) {
             usePrivateSharedPrefs = shouldUsePrivateSharedPrefs(context);
@@ -72,15 +110,23 @@ public abstract class PreferenceHelper {
         return findString(context, key, defaultValue, encrypted, getCryptor(context));
     }
 
-    private static String findString(Context context, String key, String defaultValue, boolean encrypted, Cryptor cryptor) {
+    private static String findString(Context context, String key, String defaultValue, boolean encrypted, final Cryptor cryptor) {
         SharedPreferences sharedPreferences = getDefaultMMSharedPreferences(context);
         if (!encrypted) {
             return sharedPreferences.getString(key, defaultValue);
         }
 
-        String encryptedKey = cryptor.encrypt(key);
+        String encryptedKey = encryptKey(cryptor, key);
         String encryptedValue = sharedPreferences.getString(encryptedKey, defaultValue);
-        return cryptor.decrypt(encryptedValue);
+        if (cryptor != PreferenceHelper.cryptor) {
+            return cryptor.decrypt(encryptedValue);
+        }
+        return cache.decode(encryptedKey, encryptedValue, new PreferenceCache.Decoder<String>() {
+            @Override
+            public String decode(String raw) {
+                return cryptor.decrypt(raw);
+            }
+        });
     }
 
     public static void saveString(Context context, MobileMessagingProperty property, String value) {
@@ -97,7 +143,7 @@ public abstract class PreferenceHelper {
             return;
         }
 
-        String encryptedKey = cryptor.encrypt(key);
+        String encryptedKey = encryptKey(cryptor, key);
         String encryptedValue = cryptor.encrypt(value);
         saveString(context, encryptedKey, encryptedValue);
     }
@@ -146,13 +192,7 @@ public abstract class PreferenceHelper {
         if (StringUtils.isBlank(callbackActivityClassName)) {
             return defaultValue;
         }
-        //TODO cache
-        try {
-            return (Class<T>) Class.forName(callbackActivityClassName);
-        } catch (ClassNotFoundException e) {
-            //TODO log
-            return null;
-        }
+        return (Class<T>) cache.decode(key, callbackActivityClassName, CLASS_DECODER);
     }
 
     public static void saveClass(Context context, MobileMessagingProperty property, Class<?> aClass) {
@@ -359,7 +399,7 @@ public abstract class PreferenceHelper {
     private static void remove(Context context, MobileMessagingProperty property, Cryptor cryptor) {
         String key = property.getKey();
         if (property.isEncrypted()) {
-            key = cryptor.encrypt(key);
+            key = encryptKey(cryptor, key);
         }
         remove(context, key);
     }
@@ -374,7 +414,7 @@ public abstract class PreferenceHelper {
     public static boolean contains(Context context, MobileMessagingProperty property) {
         String key = property.getKey();
         if (property.isEncrypted()) {
-            key = getCryptor(context).encrypt(key);
+            key = encryptKey(getCryptor(context), key);
         }
         return contains(context, key);
     }
@@ -386,7 +426,7 @@ public abstract class PreferenceHelper {
     static boolean publicPrefsContains(Context context, MobileMessagingProperty property) {
         String key = property.getKey();
         if (property.isEncrypted()) {
-            key = getCryptor(context).encrypt(key);
+            key = encryptKey(getCryptor(context), key);
         }
         return getPublicSharedPreferences(context).contains(key);
     }
@@ -394,7 +434,7 @@ public abstract class PreferenceHelper {
     static boolean privatePrefsContains(Context context, MobileMessagingProperty property) {
         String key = property.getKey();
         if (property.isEncrypted()) {
-            key = getCryptor(context).encrypt(key);
+            key = encryptKey(getCryptor(context), key);
         }
         return getPrivateMMSharedPreferences(context).contains(key);
     }
@@ -440,9 +480,8 @@ public abstract class PreferenceHelper {
     }
 
     protected static Boolean shouldMigrateFromCryptor(Cryptor fromCryptor, Context context) {
-        MobileMessagingProperty[] cryptedProperties = cryptedProperties();
-        for (MobileMessagingProperty property : cryptedProperties) {
-            String oldEncryptedKey = fromCryptor.encrypt(property.getKey());
+        String[] oldEncryptedKeys = fromCryptor.encryptAll(propertyKeys(cryptedProperties()));
+        for (String oldEncryptedKey : oldEncryptedKeys) {
             if (contains(context, oldEncryptedKey)) return true;
         }
         return false;
@@ -450,18 +489,33 @@ public abstract class PreferenceHelper {
 
     private static void migrate(Cryptor fromCryptor, Cryptor toCryptor, MobileMessagingProperty[] cryptedProperties, Context context) {
         MobileMessagingLogger.d("Migrating preferences from deprecated Cryptor");
-        for (MobileMessagingProperty property : cryptedProperties) {
-            String oldEncryptedKey = fromCryptor.encrypt(property.getKey());
-            if (!contains(context, oldEncryptedKey)) continue;
+        String[] keys = propertyKeys(cryptedProperties);
+        String[] oldEncryptedKeys = fromCryptor.encryptAll(keys);
+        String[] oldEncryptedValues = new String[keys.length];
+        SharedPreferences sharedPreferences = getDefaultMMSharedPreferences(context);
+        for (int i = 0; i < keys.length; i++) {
+            oldEncryptedValues[i] = sharedPreferences.getString(oldEncryptedKeys[i], (String) cryptedProperties[i].getDefaultValue());
+        }
 
-            String value = findString(context, property.getKey(), (String) property.getDefaultValue(), property.isEncrypted(), fromCryptor);
-            if (StringUtils.isBlank(value)) continue;
+        String[] values = fromCryptor.decryptAll(oldEncryptedValues);
+        String[] newEncryptedKeys = toCryptor.encryptAll(keys);
+        String[] newEncryptedValues = toCryptor.encryptAll(values);
+        for (int i = 0; i < keys.length; i++) {
+            if (!contains(context, oldEncryptedKeys[i]) || StringUtils.isBlank(values[i])) continue;
 
-            remove(context, oldEncryptedKey);
-            saveString(context, property.getKey(), value, property.isEncrypted(), toCryptor);
+            remove(context, oldEncryptedKeys[i]);
+            saveString(context, newEncryptedKeys[i], newEncryptedValues[i]);
         }
     }
 
+    private static String[] propertyKeys(MobileMessagingProperty[] properties) {
+        String[] keys = new String[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            keys[i] = properties[i].getKey();
+        }
+        return keys;
+    }
+
     private static MobileMessagingProperty[] cryptedProperties() {
         return new MobileMessagingProperty[]{
                 MobileMessagingProperty.INFOBIP_REGISTRATION_ID,
@@ -473,13 +527,25 @@ public abstract class PreferenceHelper {
     private static void migrateCryptedEntriesFromPublicToPrivatePrefs(Context context, MobileMessagingProperty[] properties) {
         MobileMessagingLogger.d("Migrating preferences from public to private");
         for (MobileMessagingProperty property : properties) {
-            String encryptedKey = getCryptor(context).encrypt(property.getKey());
+            String encryptedKey = encryptKey(getCryptor(context), property.getKey());
             String encryptedValue = getPublicSharedPreferences(context).getString(encryptedKey, (String) property.getDefaultValue());
             saveString(context, encryptedKey, encryptedValue);
             // don't remove required properties to keep backwards compatibility over push reg ID
         }
     }
 
+    private static final PreferenceCache.Decoder<Class> CLASS_DECODER = new PreferenceCache.Decoder<Class>() {
+        @Override
+        public Class decode(String raw) {
+            try {
+                return Class.forName(raw);
+            } catch (ClassNotFoundException e) {
+                //TODO log
+                return null;
+            }
+        }
+    };
+
     public static void registerOnSharedPreferenceChangeListener(Context context, SharedPreferences.OnSharedPreferenceChangeListener listener) {
         getDefaultMMSharedPreferences(context).registerOnSharedPreferenceChangeListener(listener);
     }
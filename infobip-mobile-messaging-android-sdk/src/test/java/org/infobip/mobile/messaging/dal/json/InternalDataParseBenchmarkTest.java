@@ -0,0 +1,140 @@
+package org.infobip.mobile.messaging.dal.json;
+
+import org.infobip.mobile.messaging.Message;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+
+/**
+ * Compares number of internal data parses needed to load one message
+ * using separate getters and using parsed internal data view
+ */
+public class InternalDataParseBenchmarkTest {
+
+    private static final int MESSAGES = 1000;
+    private static final String INTERNAL_DATA = "{" +
+            "\"sendDateTime\":1500000000000," +
+            "\"inAppExpiryDateTime\":1600000000000," +
+            "\"inAppStyle\":\"BANNER\"," +
+            "\"webViewUrl\":\"https://www.infobip.com/webview\"," +
+            "\"browserUrl\":\"https://www.infobip.com/browser\"," +
+            "\"messageType\":\"chat\"," +
+            "\"deeplink\":\"app://deeplink\"," +
+            "\"inAppOpenTitle\":\"Open\"," +
+            "\"inAppDismissTitle\":\"Dismiss\"," +
+            "\"bulkId\":\"bulkId\"," +
+            "\"atts\":[{\"url\":\"https://www.infobip.com/image.png\"}]," +
+            "\"silent\":{\"title\":\"title\",\"body\":\"body\",\"sound\":\"sound\",\"vibrate\":\"false\",\"category\":\"category\"}" +
+            "}";
+
+    private final AtomicLong parseCount = new AtomicLong();
+    private final InternalDataMapper.Parser countingParser = new InternalDataMapper.Parser() {
+        @Override
+        public InternalDataMapper.InternalData parse(String json) {
+            parseCount.incrementAndGet();
+            return InternalDataMapper.DEFAULT_PARSER.parse(json);
+        }
+    };
+
+    @Test
+    public void shouldParseInternalDataOnce_perMessageLoad() {
+        long parsesBefore = parseCount.get();
+        for (int i = 0; i < MESSAGES; i++) {
+            loadWithGetters(INTERNAL_DATA + " ");
+        }
+        long getterParses = parseCount.get() - parsesBefore;
+
+        parsesBefore = parseCount.get();
+        for (int i = 0; i < MESSAGES; i++) {
+            loadWithView(INTERNAL_DATA + " ");
+        }
+        long viewParses = parseCount.get() - parsesBefore;
+
+        assertEquals(16 * MESSAGES, getterParses);
+        assertEquals(MESSAGES, viewParses);
+    }
+
+    @Test
+    public void shouldReuseParsedInternalData_untilInternalDataChanges() {
+        Message message = new Message();
+        message.setInternalData(INTERNAL_DATA);
+
+        InternalDataMapper.InternalDataView view = message.getInternalDataView();
+        assertEquals("bulkId", view.getBulkId());
+        assertSame(view, message.getInternalDataView());
+        assertEquals(Message.InAppStyle.BANNER, message.getInternalDataView().getInAppStyle());
+
+        message.setInternalData("{\"messageType\":\"geo\"}");
+
+        assertNotSame(view, message.getInternalDataView());
+        assertEquals("geo", message.getInternalDataView().getMessageType());
+        assertNull(message.getInternalDataView().getBulkId());
+    }
+
+    @Test
+    public void shouldNotParse_untilFieldIsAccessed() {
+        long parsesBefore = parseCount.get();
+
+        InternalDataMapper.InternalDataView view = InternalDataMapper.view(INTERNAL_DATA, countingParser);
+
+        assertEquals(0, parseCount.get() - parsesBefore);
+        assertEquals(false, view.getVibrate(true));
+        assertEquals("bulkId", view.getBulkId());
+        assertEquals(1, parseCount.get() - parsesBefore);
+    }
+
+    /**
+     * Loads message the way separate static getters do, each of them parses json into a new view
+     */
+    private void loadWithGetters(String json) {
+        Message message = new Message();
+        message.setInternalData(json);
+        message.setVibrate(view(json).getVibrate(true));
+        message.setTitle(view(json).getTitle());
+        message.setBody(view(json).getBody());
+        message.setSound(view(json).getSound());
+        message.setCategory(view(json).getCategory());
+        message.setContentUrl(view(json).getContentUrl());
+        message.setSentTimestamp(view(json).getSendDateTime());
+        message.setInAppExpiryTimestamp(view(json).getInAppExpiryDateTime());
+        message.setWebViewUrl(view(json).getWebViewUrl());
+        message.setBrowserUrl(view(json).getBrowserUrl());
+        message.setDeeplink(view(json).getDeeplinkUri());
+        message.setMessageType(view(json).getMessageType());
+        message.setInAppOpenTitle(view(json).getInAppOpenTitle());
+        message.setInAppDismissTitle(view(json).getInAppDismissTitle());
+        message.setInAppStyle(view(json).getInAppStyle());
+        view(json).getBulkId();
+    }
+
+    private void loadWithView(String json) {
+        Message message = new Message();
+        message.setInternalData(json);
+        InternalDataMapper.InternalDataView internalData = view(json);
+        message.setVibrate(internalData.getVibrate(true));
+        message.setTitle(internalData.getTitle());
+        message.setBody(internalData.getBody());
+        message.setSound(internalData.getSound());
+        message.setCategory(internalData.getCategory());
+        message.setContentUrl(internalData.getContentUrl());
+        message.setSentTimestamp(internalData.getSendDateTime());
+        message.setInAppExpiryTimestamp(internalData.getInAppExpiryDateTime());
+        message.setWebViewUrl(internalData.getWebViewUrl());
+        message.setBrowserUrl(internalData.getBrowserUrl());
+        message.setDeeplink(internalData.getDeeplinkUri());
+        message.setMessageType(internalData.getMessageType());
+        message.setInAppOpenTitle(internalData.getInAppOpenTitle());
+        message.setInAppDismissTitle(internalData.getInAppDismissTitle());
+        message.setInAppStyle(internalData.getInAppStyle());
+        internalData.getBulkId();
+    }
+
+    private InternalDataMapper.InternalDataView view(String json) {
+        return InternalDataMapper.view(json, countingParser);
+    }
+}
@@ -0,0 +1,107 @@
+package org.infobip.mobile.messaging.logging;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class AsyncWriterTest {
+
+    private final List<String> written = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void shouldWriteRecords_inOrder_onBackgroundThread() {
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        AsyncWriter asyncWriter = new AsyncWriter(new Writer() {
+            @Override
+            public void write(Level level, String tag, String message, Throwable throwable) {
+                threads.add(Thread.currentThread().getName());
+                written.add(message);
+            }
+        }, AsyncWriter.DEFAULT_CAPACITY, null);
+
+        for (int i = 0; i < 100; i++) {
+            asyncWriter.write(Level.VERBOSE, "tag", "message" + i, null);
+        }
+
+        assertTrue(asyncWriter.flush(1000));
+        assertEquals(100, written.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("message" + i, written.get(i));
+        }
+        assertEquals("mm-log-writer", threads.get(0));
+    }
+
+    @Test
+    public void shouldNotBlockCaller_andDropOldestRecords_whenWriterIsSlow() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        AsyncWriter asyncWriter = new AsyncWriter(new Writer() {
+            @Override
+            public void write(Level level, String tag, String message, Throwable throwable) {
+                try {
+                    release.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+                written.add(message);
+            }
+        }, 4, null);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            asyncWriter.write(Level.VERBOSE, "tag", "message" + i, null);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        release.countDown();
+
+        assertTrue(asyncWriter.flush(1000));
+        assertTrue(elapsedMillis < 500);
+        assertTrue(asyncWriter.getDroppedCount() > 0);
+        assertEquals("message9", written.get(written.size() - 1));
+        boolean dropReported = false;
+        for (String message : written) {
+            dropReported |= message.endsWith("log messages dropped");
+        }
+        assertTrue(dropReported);
+    }
+
+    @Test
+    public void shouldWaitForErrorRecord_toBeWritten() {
+        AsyncWriter asyncWriter = new AsyncWriter(new Writer() {
+            @Override
+            public void write(Level level, String tag, String message, Throwable throwable) {
+                written.add(message);
+            }
+        }, AsyncWriter.DEFAULT_CAPACITY, null);
+
+        asyncWriter.write(Level.ERROR, "tag", "error", null);
+
+        assertEquals(1, written.size());
+    }
+
+    @Test
+    public void shouldNotWaitForErrorRecord_onMainThread() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        AsyncWriter asyncWriter = new AsyncWriter(new Writer() {
+            @Override
+            public void write(Level level, String tag, String message, Throwable throwable) {
+                try {
+                    release.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+                written.add(message);
+            }
+        }, AsyncWriter.DEFAULT_CAPACITY, Thread.currentThread());
+
+        asyncWriter.write(Level.ERROR, "tag", "error", null);
+
+        assertEquals(0, written.size());
+        release.countDown();
+        assertTrue(asyncWriter.flush(1000));
+        assertEquals(1, written.size());
+    }
+}
@@ -0,0 +1,60 @@
+package org.infobip.mobile.messaging.logging;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class MobileMessagingLoggerTest {
+
+    private final List<String> written = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        MobileMessagingLogger.enforce();
+        MobileMessagingLogger.setWriter(new Writer() {
+            @Override
+            public void write(Level level, String tag, String message, Throwable throwable) {
+                written.add(level + " " + message);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        MobileMessagingLogger.setMinimumLevel(Level.VERBOSE);
+    }
+
+    @Test
+    public void shouldNotBuildMessage_whenLevelIsNotLoggable() {
+        final AtomicInteger built = new AtomicInteger();
+        MobileMessagingLogger.setMinimumLevel(Level.WARN);
+
+        MobileMessagingLogger.d(() -> "message" + built.incrementAndGet());
+        MobileMessagingLogger.w(() -> "message" + built.incrementAndGet());
+
+        assertFalse(MobileMessagingLogger.isLoggable(Level.DEBUG));
+        assertEquals(1, built.get());
+        assertEquals(1, written.size());
+        assertEquals("WARN message1", written.get(0));
+    }
+
+    @Test
+    public void shouldAlwaysLogErrors() {
+        MobileMessagingLogger.setMinimumLevel(Level.ERROR);
+
+        MobileMessagingLogger.v("verbose", new Object());
+        MobileMessagingLogger.e(() -> "error");
+
+        assertTrue(MobileMessagingLogger.isLoggable(Level.ERROR));
+        assertEquals(1, written.size());
+        assertEquals("ERROR error", written.get(0));
+    }
+}
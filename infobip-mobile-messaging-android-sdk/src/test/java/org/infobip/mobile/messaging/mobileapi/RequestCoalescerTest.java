@@ -0,0 +1,190 @@
+package org.infobip.mobile.messaging.mobileapi;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+public class RequestCoalescerTest {
+
+    private RequestCoalescer requestCoalescer;
+    private SlowApi slowApi;
+    private SomeApi someApi;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        requestCoalescer = new RequestCoalescer();
+        slowApi = new SlowApi();
+        someApi = requestCoalescer.coalesce(SomeApi.class, slowApi, "get");
+        executor = Executors.newFixedThreadPool(5);
+    }
+
+    @Test
+    public void shouldShareOneCall_forIdenticalConcurrentCalls() throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(executor.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    return someApi.get("regId", new String[]{"a", "b"});
+                }
+            }));
+        }
+
+        waitForCollapsedCalls(4);
+        slowApi.release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("regId:1", result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, slowApi.invocations.get());
+        assertEquals(1, requestCoalescer.getExecutedCalls());
+        assertEquals(4, requestCoalescer.getCollapsedCalls());
+        assertEquals(Long.valueOf(4), requestCoalescer.getCollapsedCallsPerMethod().get("SomeApi.get"));
+    }
+
+    @Test
+    public void shouldNotShareCalls_withDifferentArguments_orAfterCompletion() throws Exception {
+        slowApi.release.countDown();
+
+        assertEquals("regId1:1", someApi.get("regId1", new String[0]));
+        assertEquals("regId2:2", someApi.get("regId2", new String[0]));
+        assertEquals("regId1:3", someApi.get("regId1", new String[0]));
+
+        assertEquals(3, requestCoalescer.getExecutedCalls());
+        assertEquals(0, requestCoalescer.getCollapsedCalls());
+    }
+
+    @Test
+    public void shouldPropagateSameError_toAllWaitingCallers() throws Exception {
+        slowApi.error = new IllegalStateException("backend error");
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    return someApi.get("regId", new String[0]);
+                }
+            }));
+        }
+
+        waitForCollapsedCalls(1);
+        slowApi.release.countDown();
+
+        for (Future<String> result : results) {
+            try {
+                result.get(1, TimeUnit.SECONDS);
+                fail("Expected error");
+            } catch (Exception e) {
+                assertTrue(e.getCause() == slowApi.error);
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotShareCalls_ofDifferentApiInstances() throws Exception {
+        SlowApi otherSlowApi = new SlowApi();
+        final SomeApi otherApi = requestCoalescer.coalesce(SomeApi.class, otherSlowApi, "get");
+        List<Future<String>> results = new ArrayList<>();
+        for (final SomeApi api : new SomeApi[]{someApi, otherApi}) {
+            results.add(executor.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    return api.get("regId", new String[0]);
+                }
+            }));
+        }
+
+        long deadline = System.currentTimeMillis() + 1000;
+        while (requestCoalescer.getExecutedCalls() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        slowApi.release.countDown();
+        otherSlowApi.release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("regId:1", result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, slowApi.invocations.get());
+        assertEquals(1, otherSlowApi.invocations.get());
+        assertEquals(2, requestCoalescer.getExecutedCalls());
+        assertEquals(0, requestCoalescer.getCollapsedCalls());
+    }
+
+    @Test
+    public void shouldNotShareCalls_ofMethodsWhichAreNotListed() throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    return someApi.send("event");
+                }
+            }));
+        }
+
+        long deadline = System.currentTimeMillis() + 1000;
+        while (slowApi.invocations.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        slowApi.release.countDown();
+
+        for (Future<String> result : results) {
+            result.get(1, TimeUnit.SECONDS);
+        }
+        assertEquals(2, slowApi.invocations.get());
+        assertEquals(0, requestCoalescer.getExecutedCalls());
+        assertEquals(0, requestCoalescer.getCollapsedCalls());
+    }
+
+    private void waitForCollapsedCalls(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (requestCoalescer.getCollapsedCalls() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, requestCoalescer.getCollapsedCalls());
+    }
+
+    interface SomeApi {
+        String get(String regId, String[] ids);
+
+        String send(String event);
+    }
+
+    static class SlowApi implements SomeApi {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger invocations = new AtomicInteger();
+        volatile RuntimeException error;
+
+        @Override
+        public String get(String regId, String[] ids) {
+            int invocation = invocations.incrementAndGet();
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            if (error != null) {
+                throw error;
+            }
+            return regId + ":" + invocation;
+        }
+
+        @Override
+        public String send(String event) {
+            return get(event, new String[0]);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.infobip.mobile.messaging.mobileapi.common;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+public class SyncSchedulerTest {
+
+    private QueueingWorkers workers;
+    private SyncScheduler syncScheduler;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        workers = new QueueingWorkers();
+        syncScheduler = new SyncScheduler(workers);
+        events = new ArrayList<>();
+    }
+
+    @Test
+    public void shouldRunDependentStages_onlyAfterInstallation() {
+        syncScheduler.executor(SyncScheduler.Stage.INSTALLATION).execute(recording("installation"));
+        syncScheduler.executor(SyncScheduler.Stage.MESSAGES).execute(recording("messages"));
+        syncScheduler.executor(SyncScheduler.Stage.USER).execute(recording("user"));
+
+        assertEquals(1, workers.pending());
+        workers.runNext();
+
+        assertEquals(2, workers.pending());
+        workers.runAll();
+        assertEquals("installation", events.get(0));
+        assertEquals(3, events.size());
+    }
+
+    @Test
+    public void shouldRunIndependentStages_concurrently() {
+        syncScheduler.executor(SyncScheduler.Stage.MESSAGES).execute(recording("messages"));
+        syncScheduler.executor(SyncScheduler.Stage.USER).execute(recording("user"));
+
+        assertEquals(2, workers.pending());
+    }
+
+    @Test
+    public void shouldNotRunStage_whileDependentStageRuns() {
+        syncScheduler.executor(SyncScheduler.Stage.MESSAGES).execute(recording("messages"));
+        syncScheduler.executor(SyncScheduler.Stage.INSTALLATION).execute(recording("installation"));
+        syncScheduler.executor(SyncScheduler.Stage.STORAGE).execute(recording("storage"));
+
+        assertEquals(1, workers.pending());
+        workers.runNext();
+
+        assertEquals(2, workers.pending());
+        workers.runAll();
+        assertEquals("messages", events.get(0));
+        assertEquals(3, events.size());
+    }
+
+    @Test
+    public void shouldRunTasksOfOneStage_sequentially() {
+        syncScheduler.executor(SyncScheduler.Stage.USER).execute(recording("first"));
+        syncScheduler.executor(SyncScheduler.Stage.USER).execute(recording("second"));
+
+        assertEquals(1, workers.pending());
+        workers.runNext();
+        assertEquals(1, workers.pending());
+        workers.runNext();
+
+        assertEquals("first", events.get(0));
+        assertEquals("second", events.get(1));
+        assertTrue(syncScheduler.isIdle());
+    }
+
+    @Test
+    public void shouldCollectTimings_perStage() {
+        syncScheduler.executor(SyncScheduler.Stage.BASE_URL).execute(recording("baseUrl"));
+        syncScheduler.executor(SyncScheduler.Stage.BASE_URL).execute(recording("baseUrl"));
+
+        workers.runAll();
+
+        assertTrue(syncScheduler.isIdle());
+        assertEquals(2, syncScheduler.getTimings().get(SyncScheduler.Stage.BASE_URL).getExecutedTasks());
+        assertEquals(0, syncScheduler.getTimings().get(SyncScheduler.Stage.MESSAGES).getExecutedTasks());
+    }
+
+    @Test
+    public void shouldContinue_afterTaskFailure() {
+        syncScheduler.executor(SyncScheduler.Stage.INSTALLATION).execute(new Runnable() {
+            @Override
+            public void run() {
+                throw new RuntimeException("failure");
+            }
+        });
+        syncScheduler.executor(SyncScheduler.Stage.MESSAGES).execute(recording("messages"));
+
+        try {
+            workers.runNext();
+            fail();
+        } catch (RuntimeException ignored) {
+        }
+        workers.runAll();
+
+        assertEquals(Collections.singletonList("messages"), events);
+        assertTrue(syncScheduler.isIdle());
+    }
+
+    @Test
+    public void shouldKeepTask_whenWorkersRejectIt() {
+        workers.rejectNext = true;
+        try {
+            syncScheduler.executor(SyncScheduler.Stage.USER).execute(recording("first"));
+            fail();
+        } catch (RejectedExecutionException ignored) {
+        }
+        syncScheduler.executor(SyncScheduler.Stage.USER).execute(recording("second"));
+
+        workers.runAll();
+
+        assertEquals("first", events.get(0));
+        assertEquals("second", events.get(1));
+        assertTrue(syncScheduler.isIdle());
+    }
+
+    private Runnable recording(final String name) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                events.add(name);
+            }
+        };
+    }
+
+    /**
+     * Worker pool which only queues tasks, so that test decides when and in which order they run
+     */
+    private static class QueueingWorkers extends AbstractExecutorService {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        boolean rejectNext;
+
+        @Override
+        public void execute(Runnable command) {
+            if (rejectNext) {
+                rejectNext = false;
+                throw new RejectedExecutionException();
+            }
+            tasks.add(command);
+        }
+
+        int pending() {
+            return tasks.size();
+        }
+
+        void runNext() {
+            tasks.remove().run();
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                runNext();
+            }
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return new ArrayList<>(tasks);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
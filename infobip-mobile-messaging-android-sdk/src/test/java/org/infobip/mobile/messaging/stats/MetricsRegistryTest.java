@@ -0,0 +1,161 @@
+package org.infobip.mobile.messaging.stats;
+
+import org.infobip.mobile.messaging.mobileapi.ApiCallMetrics;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.fail;
+
+public class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    public interface SomeApi {
+        String call(boolean fail);
+    }
+
+    @Test
+    public void shouldReturnSameMetric_forSameName() {
+        assertSame(registry.counter("counter"), registry.counter("counter"));
+        assertSame(registry.timer("timer"), registry.timer("timer"));
+    }
+
+    @Test
+    public void shouldCountConcurrently_withoutLosingUpdates() throws Exception {
+        final int threads = 8;
+        final int increments = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                    for (int j = 0; j < increments; j++) {
+                        registry.counter("error.SYNC_MESSAGES_ERROR").increment();
+                        registry.timer("sync.messages").record(j % 100, j % 10 != 0);
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertEquals(threads * increments, snapshot.getCounter("error.SYNC_MESSAGES_ERROR"));
+        MetricsSnapshot.TimerSnapshot timer = snapshot.getTimer("sync.messages");
+        assertEquals(threads * increments, timer.getCount());
+        assertEquals(threads * increments / 10, timer.getFailureCount());
+        assertEquals(0.9, timer.getSuccessRate(), 0.0001);
+        assertEquals(99, timer.getMaxMillis());
+    }
+
+    @Test
+    public void shouldEstimatePercentiles_fromHistogram() {
+        MetricsRegistry.Timer timer = registry.timer("api.MobileApiMessages.sync");
+        for (int i = 0; i < 90; i++) {
+            timer.record(5, true);
+        }
+        for (int i = 0; i < 9; i++) {
+            timer.record(200, true);
+        }
+        timer.record(45000, false);
+
+        MetricsSnapshot.TimerSnapshot snapshot = registry.snapshot().getTimer("api.MobileApiMessages.sync");
+
+        assertEquals(10, snapshot.getPercentileMillis(50));
+        assertEquals(250, snapshot.getPercentileMillis(95));
+        assertEquals(45000, snapshot.getPercentileMillis(100));
+        assertEquals(45000, snapshot.getMaxMillis());
+        assertEquals((90 * 5 + 9 * 200 + 45000) / 100, snapshot.getMeanMillis());
+        assertEquals(0.99, snapshot.getSuccessRate(), 0.0001);
+    }
+
+    @Test
+    public void shouldNotChangeSnapshot_afterMoreRecords() {
+        registry.counter("counter").increment();
+        MetricsSnapshot snapshot = registry.snapshot();
+
+        registry.counter("counter").increment();
+        registry.timer("timer").record(1, true);
+
+        assertEquals(1, snapshot.getCounter("counter"));
+        assertNull(snapshot.getTimer("timer"));
+    }
+
+    @Test
+    public void shouldNotifyListener_onEachTimerRecord() {
+        final AtomicInteger records = new AtomicInteger();
+        MetricsRegistry registry = new MetricsRegistry(new Runnable() {
+            @Override
+            public void run() {
+                records.incrementAndGet();
+            }
+        });
+
+        registry.timer("timer").record(1, true);
+        registry.timer("timer").record(2, false);
+        registry.counter("counter").increment();
+
+        assertEquals(2, records.get());
+    }
+
+    @Test
+    public void shouldRestoreEncodedTimer_andAccumulateRecordsSinceEarlierSnapshot() {
+        MetricsRegistry.Timer timer = registry.timer("timer");
+        timer.record(5, true);
+        MetricsSnapshot.TimerSnapshot flushed = registry.snapshot().getTimer("timer");
+        timer.record(300, false);
+        timer.record(40, true);
+
+        MetricsSnapshot.TimerSnapshot unflushed = registry.snapshot().getTimer("timer").minus(flushed);
+        MetricsSnapshot.TimerSnapshot persisted = MetricsSnapshot.TimerSnapshot.decode(flushed.encode(), MetricsRegistry.BUCKET_BOUNDS_MILLIS);
+        MetricsSnapshot.TimerSnapshot total = persisted.plus(unflushed);
+
+        assertEquals(2, unflushed.getCount());
+        assertEquals(1, unflushed.getFailureCount());
+        assertEquals(3, total.getCount());
+        assertEquals(345, total.getTotalMillis());
+        assertEquals(300, total.getMaxMillis());
+        assertEquals(registry.snapshot().getTimer("timer").encode(), total.encode());
+        assertNull(MetricsSnapshot.TimerSnapshot.decode("1,2,3", MetricsRegistry.BUCKET_BOUNDS_MILLIS));
+    }
+
+    @Test
+    public void shouldRecordApiCalls_perMethod() {
+        SomeApi api = ApiCallMetrics.measure(SomeApi.class, new SomeApi() {
+            @Override
+            public String call(boolean fail) {
+                if (fail) {
+                    throw new IllegalStateException("failed");
+                }
+                return "result";
+            }
+        }, registry);
+
+        assertEquals("result", api.call(false));
+        try {
+            api.call(true);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+
+        MetricsSnapshot.TimerSnapshot snapshot = registry.snapshot().getTimer("api.SomeApi.call");
+        assertEquals(1, snapshot.getSuccessCount());
+        assertEquals(1, snapshot.getFailureCount());
+    }
+}
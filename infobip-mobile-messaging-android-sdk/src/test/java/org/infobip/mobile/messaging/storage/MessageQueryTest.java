@@ -0,0 +1,82 @@
+package org.infobip.mobile.messaging.storage;
+
+import org.infobip.mobile.messaging.Message;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static org.junit.Assert.assertArrayEquals;
+
+public class MessageQueryTest {
+
+    @Test
+    public void shouldQueryAllMessages_newestFirst_byDefault() {
+        MessageQuery query = new MessageQuery.Builder().build();
+
+        assertNull(query.selection(true));
+        assertNull(query.selectionArgs(true));
+        assertNull(query.limit());
+        assertEquals("received_timestamp DESC, id DESC", query.orderBy());
+    }
+
+    @Test
+    public void shouldCombineFilters_withArgumentsInPlaceholderOrder() {
+        MessageQuery query = new MessageQuery.Builder()
+                .withSeen(false)
+                .withReceivedFrom(100)
+                .withReceivedTo(200)
+                .withCategories("category1", "category2")
+                .withStatuses(Message.Status.SUCCESS)
+                .build();
+
+        assertEquals("seen_timestamp = 0" +
+                " AND received_timestamp >= ?" +
+                " AND received_timestamp < ?" +
+                " AND category IN (?,?)" +
+                " AND status IN (?)", query.selection(true));
+        assertArrayEquals(new String[]{"100", "200", "category1", "category2", "SUCCESS"}, query.selectionArgs(true));
+    }
+
+    @Test
+    public void shouldLimitAndSkipMessages() {
+        assertEquals("20", new MessageQuery.Builder().withLimit(20).build().limit());
+        assertEquals("40, 20", new MessageQuery.Builder().withLimit(20).withOffset(40).build().limit());
+        assertEquals("40, " + Long.MAX_VALUE, new MessageQuery.Builder().withOffset(40).build().limit());
+    }
+
+    @Test
+    public void shouldCreateKeysetPage_afterLastMessage() {
+        MessageQuery firstPage = new MessageQuery.Builder()
+                .withSeen(true)
+                .withLimit(20)
+                .withOffset(40)
+                .build();
+        Message lastMessage = new Message();
+        lastMessage.setMessageId("messageId");
+        lastMessage.setReceivedTimestamp(1000);
+
+        MessageQuery nextPage = firstPage.pageAfter(lastMessage);
+
+        assertEquals("seen_timestamp > 0 AND (received_timestamp < ? OR (received_timestamp = ? AND id < ?))", nextPage.selection(true));
+        assertArrayEquals(new String[]{"1000", "1000", "messageId"}, nextPage.selectionArgs(true));
+        assertEquals("20", nextPage.limit());
+        assertEquals("seen_timestamp > 0", nextPage.selection(false));
+        assertNull(nextPage.selectionArgs(false));
+        assertNull(firstPage.selectionArgs(true));
+    }
+
+    @Test
+    public void shouldReverseKeysetCondition_forOldestFirstOrder() {
+        Message lastMessage = new Message();
+        lastMessage.setMessageId("messageId");
+        lastMessage.setReceivedTimestamp(1000);
+
+        MessageQuery query = new MessageQuery.Builder()
+                .withOrder(MessageQuery.Order.OLDEST_FIRST)
+                .build()
+                .pageAfter(lastMessage);
+
+        assertEquals("received_timestamp ASC, id ASC", query.orderBy());
+        assertEquals("(received_timestamp > ? OR (received_timestamp = ? AND id > ?))", query.selection(true));
+    }
+}
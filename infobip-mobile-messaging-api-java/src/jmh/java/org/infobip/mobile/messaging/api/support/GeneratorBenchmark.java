@@ -0,0 +1,82 @@
+package org.infobip.mobile.messaging.api.support;
+
+import org.infobip.mobile.messaging.api.appinstance.MobileApiAppInstance;
+import org.infobip.mobile.messaging.api.appinstance.UserCustomEventBody;
+import org.infobip.mobile.messaging.api.messages.MobileApiMessages;
+import org.infobip.mobile.messaging.api.messages.SyncMessagesBody;
+import org.infobip.mobile.messaging.api.support.http.client.DefaultApiClient;
+import org.infobip.mobile.messaging.api.support.http.client.HttpMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures per-call overhead of {@link Generator} proxies without any network I/O.
+ * Api client only hands request data to a blackhole.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    private MobileApiAppInstance mobileApiAppInstance;
+    private MobileApiMessages mobileApiMessages;
+    private SyncMessagesBody syncMessagesBody;
+    private UserCustomEventBody userCustomEventBody;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        Properties properties = new Properties();
+        properties.put("api.key", "someApiKey");
+        Generator generator = new Generator.Builder()
+                .withBaseUrl("https://mobile.infobip.com/")
+                .withProperties(properties)
+                .build();
+        generator.setApiClient(new DefaultApiClient() {
+            @Override
+            public <B, R> R execute(HttpMethod method, String uri, String apiKey, Tuple<String, String> credentials, Map<String, Collection<Object>> queryParams, Map<String, Collection<Object>> headers, B body, Class<R> responseType) {
+                blackhole.consume(uri);
+                blackhole.consume(queryParams);
+                blackhole.consume(headers);
+                blackhole.consume(body);
+                return null;
+            }
+        });
+
+        mobileApiAppInstance = generator.create(MobileApiAppInstance.class);
+        mobileApiMessages = generator.create(MobileApiMessages.class);
+        syncMessagesBody = new SyncMessagesBody(new String[]{"messageId"}, new String[0]);
+        userCustomEventBody = new UserCustomEventBody();
+    }
+
+    @Benchmark
+    public Object sync() {
+        return mobileApiMessages.sync(syncMessagesBody);
+    }
+
+    @Benchmark
+    public Object getUser() {
+        return mobileApiAppInstance.getUser("someRegistrationId");
+    }
+
+    @Benchmark
+    public void sendUserCustomEvents() {
+        mobileApiAppInstance.sendUserCustomEvents("someRegistrationId", true, userCustomEventBody);
+    }
+}
@@ -0,0 +1,21 @@
+package org.infobip.mobile.messaging.api.support;
+
+/**
+ * Callback for asynchronous Mobile API calls.
+ * <p>
+ * Declare it as the last parameter of an API interface method returning {@code void}
+ * to execute that method on the {@link Generator} I/O executor:
+ * <pre>{@code
+ * @HttpRequest(method = HttpMethod.POST, value = "seen")
+ * void reportSeen(@Body SeenMessages seenReport, ApiCallback<Void> callback);
+ * }</pre>
+ * Callback methods are invoked on the I/O thread.
+ *
+ * @param <T> type of response
+ * @see Generator.Builder#withAsyncExecutor(java.util.concurrent.ExecutorService)
+ */
+public interface ApiCallback<T> {
+    void onSuccess(T result);
+
+    void onError(Throwable error);
+}
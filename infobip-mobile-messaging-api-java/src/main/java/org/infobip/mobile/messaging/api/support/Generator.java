@@ -12,9 +12,13 @@ import org.infobip.mobile.messaging.api.support.http.Queries;
 import org.infobip.mobile.messaging.api.support.http.Query;
 import org.infobip.mobile.messaging.api.support.http.Version;
 import org.infobip.mobile.messaging.api.support.http.client.DefaultApiClient;
+import org.infobip.mobile.messaging.api.support.http.client.DefaultHttpTransport;
 import org.infobip.mobile.messaging.api.support.http.client.HttpMethod;
+import org.infobip.mobile.messaging.api.support.http.client.HttpTransport;
 import org.infobip.mobile.messaging.api.support.http.client.Logger;
 import org.infobip.mobile.messaging.api.support.http.client.RequestInterceptor;
+import org.infobip.mobile.messaging.api.support.http.client.RequestSpan;
+import org.infobip.mobile.messaging.api.support.http.client.RequestTracer;
 import org.infobip.mobile.messaging.api.support.http.client.ResponsePreProcessor;
 import org.infobip.mobile.messaging.api.support.util.StringUtils;
 
@@ -22,14 +26,25 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.Data;
 import lombok.NonNull;
@@ -41,6 +56,8 @@ import static org.infobip.mobile.messaging.api.support.util.ReflectionUtils.load
  * <pre>{@code
  * MobileApiRegistration mobileApiRegistration = new Generator.Builder().build().create(MobileApiRegistration.class);
  * }</pre>
+ * Methods returning {@link Future} or taking {@link ApiCallback} as the last parameter are executed asynchronously
+ * on a small bounded I/O executor, all other methods are blocking.
  *
  * @author mstipanov
  * @see Builder
@@ -49,6 +66,12 @@ import static org.infobip.mobile.messaging.api.support.util.ReflectionUtils.load
 @Data
 public class Generator {
 
+    private static final ConcurrentHashMap<String, Object> PACKAGE_ANNOTATIONS = new ConcurrentHashMap<>();
+    private static final Object NO_ANNOTATION = new Object();
+
+    public static final int DEFAULT_ASYNC_POOL_SIZE = 4;
+    public static final int DEFAULT_ASYNC_QUEUE_SIZE = 64;
+
     private DefaultApiClient apiClient;
     private String baseUrl = "https://mobile.infobip.com/";
     private ConcurrentHashMap<Class<?>, CachingInvocationHandler> proxyCacheMap = new ConcurrentHashMap<>();
@@ -60,16 +83,49 @@ public class Generator {
     private ResponsePreProcessor[] responsePreProcessors = new ResponsePreProcessor[0];
     private Logger logger = new Logger();
     private boolean allowUntrustedSSLOnError = false;
+    private HttpTransport httpTransport = new DefaultHttpTransport();
+    private boolean streamingRequestBody = false;
+    private boolean responseCompression = true;
+    private int requestCompressionThreshold = DefaultApiClient.NO_REQUEST_COMPRESSION;
+    private RequestTracer requestTracer = new RequestTracer();
+    private int asyncPoolSize = DEFAULT_ASYNC_POOL_SIZE;
+    private int asyncQueueSize = DEFAULT_ASYNC_QUEUE_SIZE;
+    private ExecutorService asyncExecutor;
 
     private DefaultApiClient getApiClient() {
         if (null != apiClient) {
             return apiClient;
         }
         String libraryVersion = properties.getProperty("library.version");
-        apiClient = new DefaultApiClient(connectTimeout, readTimeout, libraryVersion, requestInterceptors, responsePreProcessors, logger, allowUntrustedSSLOnError, userAgentAdditions);
+        apiClient = new DefaultApiClient.Builder()
+                .withConnectTimeout(connectTimeout)
+                .withReadTimeout(readTimeout)
+                .withLibraryVersion(libraryVersion)
+                .withRequestInterceptors(requestInterceptors)
+                .withResponsePreProcessors(responsePreProcessors)
+                .withLogger(logger)
+                .withAllowUntrustedSSLOnError(allowUntrustedSSLOnError)
+                .withHttpTransport(httpTransport)
+                .withStreamingRequestBody(streamingRequestBody)
+                .withResponseCompression(responseCompression)
+                .withRequestCompressionThreshold(requestCompressionThreshold)
+                .withRequestTracer(requestTracer)
+                .withUserAgentAdditions(userAgentAdditions)
+                .build();
         return apiClient;
     }
 
+    private synchronized ExecutorService getAsyncExecutor() {
+        if (null != asyncExecutor) {
+            return asyncExecutor;
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(asyncPoolSize, asyncPoolSize, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(asyncQueueSize), new IOThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        asyncExecutor = executor;
+        return asyncExecutor;
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T create(@NonNull Class<T> type) {
         CachingInvocationHandler<?> cachingInvocationHandler = proxyCacheMap.get(type);
@@ -122,7 +178,23 @@ public class Generator {
         return getPackageAnnotation(method.getDeclaringClass().getPackage().getName(), Credentials.class);
     }
 
+    /**
+     * Package annotations never change at runtime, lookup walks up the package hierarchy and
+     * may load package-info classes so results are cached per package and annotation type.
+     */
+    @SuppressWarnings("unchecked")
     private <T extends Annotation> T getPackageAnnotation(String pkg, Class<T> annotationClass) {
+        String key = pkg + "@" + annotationClass.getName();
+        Object cached = PACKAGE_ANNOTATIONS.get(key);
+        if (null == cached) {
+            T annotation = findPackageAnnotation(pkg, annotationClass);
+            cached = null != annotation ? annotation : NO_ANNOTATION;
+            PACKAGE_ANNOTATIONS.put(key, cached);
+        }
+        return cached == NO_ANNOTATION ? null : (T) cached;
+    }
+
+    private <T extends Annotation> T findPackageAnnotation(String pkg, Class<T> annotationClass) {
         Package p = Package.getPackage(pkg);
         if (null == p) {
             try {
@@ -149,7 +221,7 @@ public class Generator {
         } else {
             pkg = pkg.substring(0, endIndex);
         }
-        return getPackageAnnotation(pkg, annotationClass);
+        return findPackageAnnotation(pkg, annotationClass);
     }
 
     @SuppressWarnings("unchecked")
@@ -193,6 +265,13 @@ public class Generator {
      * @see Builder#withConnectTimeout(int)
      * @see Builder#withReadTimeout(int)
      * @see Builder#withUserAgentAdditions(String...)
+     * @see Builder#withHttpTransport(HttpTransport)
+     * @see Builder#withStreamingRequestBody(boolean)
+     * @see Builder#withResponseCompression(boolean)
+     * @see Builder#withRequestCompressionThreshold(int)
+     * @see Builder#withRequestTracer(RequestTracer)
+     * @see Builder#withAsyncExecutor(ExecutorService)
+     * @see Builder#withAsyncPoolSize(int, int)
      */
     public static class Builder {
         private final Generator generator;
@@ -300,6 +379,85 @@ public class Generator {
             return this;
         }
 
+        /**
+         * Will set transport which opens and releases http connections.
+         * By default each request uses a new connection, see {@link org.infobip.mobile.messaging.api.support.http.client.PooledHttpTransport}
+         * to keep connections and TLS sessions alive between requests.
+         * @param httpTransport transport
+         * @return {@link Builder}
+         */
+        public Builder withHttpTransport(@NonNull HttpTransport httpTransport) {
+            generator.httpTransport = httpTransport;
+            return this;
+        }
+
+        /**
+         * Will serialize request bodies directly into connection using chunked transfer encoding if `true` supplied.
+         * Otherwise body is serialized into a buffer first and sent with Content-Length.
+         * @param streamingRequestBody setting
+         * @return {@link Builder}
+         */
+        public Builder withStreamingRequestBody(boolean streamingRequestBody) {
+            generator.streamingRequestBody = streamingRequestBody;
+            return this;
+        }
+
+        /**
+         * Will ask server for gzipped responses if `true` supplied. Default is: true
+         * @param responseCompression setting
+         * @return {@link Builder}
+         */
+        public Builder withResponseCompression(boolean responseCompression) {
+            generator.responseCompression = responseCompression;
+            return this;
+        }
+
+        /**
+         * Will gzip request bodies which are at least the given number of bytes long.
+         * Request bodies are not compressed by default, see {@link DefaultApiClient#NO_REQUEST_COMPRESSION}
+         * @param requestCompressionThreshold minimum body size in bytes to compress
+         * @return {@link Builder}
+         */
+        public Builder withRequestCompressionThreshold(int requestCompressionThreshold) {
+            generator.requestCompressionThreshold = requestCompressionThreshold;
+            return this;
+        }
+
+        /**
+         * Will set tracer which receives timings of each request split into phases, tracing is disabled by default.
+         * Spans are tagged with path template of the request, see {@link RequestSpan#getPathTemplate()}.
+         * @param requestTracer tracer
+         * @return {@link Builder}
+         */
+        public Builder withRequestTracer(@NonNull RequestTracer requestTracer) {
+            generator.requestTracer = requestTracer;
+            return this;
+        }
+
+        /**
+         * Will set executor for asynchronous API methods.
+         * By default a bounded pool of {@link #DEFAULT_ASYNC_POOL_SIZE} daemon threads is created on first use.
+         * @param asyncExecutor executor
+         * @return {@link Builder}
+         */
+        public Builder withAsyncExecutor(@NonNull ExecutorService asyncExecutor) {
+            generator.asyncExecutor = asyncExecutor;
+            return this;
+        }
+
+        /**
+         * Will set size of the default executor for asynchronous API methods.
+         * Calls which do not fit into the queue are rejected.
+         * @param poolSize maximum number of requests in flight
+         * @param queueSize maximum number of waiting requests
+         * @return {@link Builder}
+         */
+        public Builder withAsyncPoolSize(int poolSize, int queueSize) {
+            generator.asyncPoolSize = poolSize;
+            generator.asyncQueueSize = queueSize;
+            return this;
+        }
+
         public Generator build() {
             if (StringUtils.isBlank(generator.getBaseUrl())) {
                 throw new IllegalArgumentException("baseUrl is mandatory");
@@ -312,7 +470,7 @@ public class Generator {
     @Data
     private class CachingInvocationHandler<T> implements InvocationHandler {
         private final Class<T> type;
-        private ConcurrentHashMap<Method, ProxyCache> proxyCacheMap = new ConcurrentHashMap<>();
+        private ConcurrentHashMap<Method, RequestTemplate> requestTemplateMap = new ConcurrentHashMap<>();
 
         @SuppressWarnings("unchecked")
         public T getProxy() {
@@ -321,100 +479,251 @@ public class Generator {
 
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            ProxyCache proxyCache = getProxyCache(method);
-            String uri = StringUtils.join("/", baseUrl, proxyCache.getUri());
-
-            Map<String, Collection<Object>> queryParams = new HashMap<>(proxyCache.getDefaultQueryParams());
-            Map<String, Collection<Object>> headerMap = new HashMap<>(proxyCache.getDefaultHeaderMap());
-            String apiKey = proxyCache.getApiKey();
-            Tuple<String, String> credentials = proxyCache.getCredentials();
-
-            Parameter[] parameters = proxyCache.getParameters();
-            Object body = null;
-            for (int i = 0, parametersLength = parameters.length; i < parametersLength; i++) {
-                Parameter parameter = parameters[i];
-                Object arg = args[i];
-                if (null != parameter.getBody()) {
-                    body = arg;
+            RequestTemplate template = getRequestTemplate(method);
+            final Callable<Object> call = bind(template, args);
+            if (template.callbackIndex >= 0) {
+                @SuppressWarnings("unchecked")
+                final ApiCallback<Object> callback = (ApiCallback<Object>) args[template.callbackIndex];
+                try {
+                    getAsyncExecutor().execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            Object result;
+                            try {
+                                result = call.call();
+                            } catch (Throwable error) {
+                                callback.onError(error);
+                                return;
+                            }
+                            callback.onSuccess(result);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    callback.onError(e);
                 }
+                return null;
+            }
 
-                Version version = parameter.getVersion();
-                if (null != version) {
-                    uri = uri.replace("{version}", arg.toString());
-                }
+            if (template.future) {
+                return getAsyncExecutor().submit(call);
+            }
 
-                Path p = parameter.getPath();
-                if (null != p) {
-                    uri = uri.replace("{" + p.name() + "}", arg.toString());
-                }
+            return call.call();
+        }
 
-                Query q = parameter.getQuery();
-                if (null != q) {
-                    String name = q.name();
-                    queryParams.put(name, toCollection(arg));
+        /**
+         * Arguments are bound on the calling thread so that asynchronous calls see base URL and arguments as of the call.
+         */
+        private Callable<Object> bind(final RequestTemplate template, Object[] args) {
+            final String uri = template.bindUri(baseUrl, args);
+            final Map<String, Collection<Object>> queryParams = template.bindParameters(template.queryParams, template.queryParameters, args);
+            final Map<String, Collection<Object>> headerMap = template.bindParameters(template.headers, template.headerParameters, args);
+            final Object body = template.bodyIndex >= 0 ? args[template.bodyIndex] : null;
+            return new Callable<Object>() {
+                @Override
+                public Object call() {
+                    // passed aside, so that api clients overriding execute still see every call
+                    String previousPathTemplate = RequestTracer.setPathTemplate(template.pathTemplate);
+                    try {
+                        return getApiClient().execute(template.httpMethod, uri, template.apiKey, template.credentials, queryParams, headerMap, body, template.returnType);
+                    } finally {
+                        RequestTracer.setPathTemplate(previousPathTemplate);
+                    }
                 }
+            };
+        }
+
+        private RequestTemplate getRequestTemplate(Method method) {
+            RequestTemplate template = requestTemplateMap.get(method);
+            if (null != template) {
+                return template;
+            }
 
-                Header h = parameter.getHeader();
-                if (null != h) {
-                    String name = h.name();
-                    headerMap.put(name, toCollection(arg));
+            template = new RequestTemplate(method);
+            RequestTemplate existing = requestTemplateMap.putIfAbsent(method, template);
+            return existing != null ? existing : template;
+        }
+    }
+
+    /**
+     * Argument index bound to a query parameter or header name.
+     */
+    @Data
+    private static class BoundParameter {
+        private final int index;
+        private final String name;
+    }
+
+    /**
+     * Immutable request description compiled once per interface method.
+     * Everything that can be resolved from annotations and properties is resolved here,
+     * per-call work is limited to binding method arguments.
+     */
+    private class RequestTemplate {
+        private final HttpMethod httpMethod;
+        private final Class<?> returnType;
+        private final boolean future;
+        private final int callbackIndex;
+        private final String uriTemplate;
+        private final String pathTemplate;
+        private final String[] uriLiterals;
+        private final int[] uriArgumentIndexes;
+        private final Map<String, Collection<Object>> queryParams;
+        private final Map<String, Collection<Object>> headers;
+        private final BoundParameter[] queryParameters;
+        private final BoundParameter[] headerParameters;
+        private final int bodyIndex;
+        private final String apiKey;
+        private final Tuple<String, String> credentials;
+        private volatile Tuple<String, String> uriPrefix;
+
+        RequestTemplate(Method method) {
+            HttpRequest[] httpRequests = createHttpRequest(method);
+            this.httpMethod = getHttpRequestMethod(httpRequests);
+            Type[] parameterTypes = method.getGenericParameterTypes();
+            int lastParameter = parameterTypes.length - 1;
+            this.future = Future.class.equals(method.getReturnType());
+            this.callbackIndex = lastParameter >= 0 && ApiCallback.class.equals(rawType(parameterTypes[lastParameter])) ? lastParameter : -1;
+            if (future) {
+                this.returnType = rawType(typeArgument(method.getGenericReturnType()));
+            } else if (callbackIndex >= 0) {
+                this.returnType = rawType(typeArgument(parameterTypes[callbackIndex]));
+            } else {
+                this.returnType = method.getReturnType();
+            }
+            this.queryParams = Collections.unmodifiableMap(createDefaultQueryParams(method));
+            this.headers = Collections.unmodifiableMap(createDefaultHeaderMap(method));
+            this.apiKey = findApiKey(method);
+            this.credentials = findCredentials(method);
+
+            Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+            Map<String, Integer> uriArguments = new HashMap<>();
+            ArrayList<BoundParameter> queries = new ArrayList<>();
+            ArrayList<BoundParameter> headerArguments = new ArrayList<>();
+            int body = -1;
+            for (int i = 0; i < parameterAnnotations.length; i++) {
+                Annotation[] annotations = parameterAnnotations[i];
+                if (null != getAnnotation(annotations, Body.class)) {
+                    body = i;
+                }
+                if (null != getAnnotation(annotations, Version.class)) {
+                    uriArguments.put("version", i);
+                }
+                Path path = getAnnotation(annotations, Path.class);
+                if (null != path) {
+                    uriArguments.put(path.name(), i);
+                }
+                Query query = getAnnotation(annotations, Query.class);
+                if (null != query) {
+                    queries.add(new BoundParameter(i, query.name()));
                 }
+                Header header = getAnnotation(annotations, Header.class);
+                if (null != header) {
+                    headerArguments.add(new BoundParameter(i, header.name()));
+                }
+            }
+            this.bodyIndex = body;
+            this.queryParameters = queries.toArray(new BoundParameter[0]);
+            this.headerParameters = headerArguments.toArray(new BoundParameter[0]);
+
+            this.uriTemplate = createUri(method, httpRequests);
+            this.pathTemplate = uriTemplate.endsWith("/") ? uriTemplate.substring(0, uriTemplate.length() - 1) : uriTemplate;
+            ArrayList<String> literals = new ArrayList<>();
+            ArrayList<Integer> argumentIndexes = new ArrayList<>();
+            splitUri(uriTemplate, uriArguments, literals, argumentIndexes);
+            this.uriLiterals = literals.toArray(new String[0]);
+            this.uriArgumentIndexes = new int[argumentIndexes.size()];
+            for (int i = 0; i < uriArgumentIndexes.length; i++) {
+                uriArgumentIndexes[i] = argumentIndexes.get(i);
             }
+        }
 
-            if (uri.endsWith("/")) {
-                uri = uri.substring(0, uri.length() - 1);
+        String bindUri(String baseUrl, Object[] args) {
+            StringBuilder sb = new StringBuilder(getUriPrefix(baseUrl));
+            for (int i = 0; i < uriArgumentIndexes.length; i++) {
+                sb.append(args[uriArgumentIndexes[i]].toString()).append(uriLiterals[i + 1]);
             }
 
-            return getApiClient().execute(getHttpRequestMethod(proxyCache.httpRequests), uri, apiKey, credentials, queryParams, headerMap, body, method.getReturnType());
+            int length = sb.length();
+            if (length > 0 && sb.charAt(length - 1) == '/') {
+                sb.setLength(length - 1);
+            }
+            return sb.toString();
         }
 
-        private HttpMethod getHttpRequestMethod(HttpRequest[] httpRequests) {
-            HttpMethod method = HttpMethod.GET;
-            for (HttpRequest httpRequest : httpRequests) {
-                method = httpRequest.method();
+        Map<String, Collection<Object>> bindParameters(Map<String, Collection<Object>> constants, BoundParameter[] parameters, Object[] args) {
+            HashMap<String, Collection<Object>> map = new HashMap<>(constants);
+            for (BoundParameter parameter : parameters) {
+                map.put(parameter.name, toCollection(args[parameter.index]));
             }
-            return method;
+            return map;
         }
 
-        private ProxyCache getProxyCache(Method method) {
-            ProxyCache proxyCache = proxyCacheMap.get(method);
-            if (null != proxyCache) {
-                return proxyCache;
+        /**
+         * Base URL can change at runtime, so its join with the first literal of the path is cached for the last seen base URL.
+         * Joining only affects separators at the boundary so the rest of the template is not needed for it.
+         */
+        private String getUriPrefix(String baseUrl) {
+            Tuple<String, String> prefix = uriPrefix;
+            if (null != prefix && prefix.getLeft().equals(baseUrl)) {
+                return prefix.getRight();
             }
 
-            proxyCache = new ProxyCache(method);
-            proxyCacheMap.put(method, proxyCache);
-            return proxyCache;
+            String joined = StringUtils.join("/", baseUrl, uriTemplate);
+            int tailLength = uriTemplate.length() - uriLiterals[0].length();
+            prefix = new Tuple<>(baseUrl, joined.substring(0, joined.length() - tailLength));
+            uriPrefix = prefix;
+            return prefix.getRight();
+        }
+
+        private void splitUri(String uri, Map<String, Integer> uriArguments, ArrayList<String> literals, ArrayList<Integer> argumentIndexes) {
+            StringBuilder literal = new StringBuilder();
+            int position = 0;
+            while (position < uri.length()) {
+                int open = uri.indexOf('{', position);
+                int close = open < 0 ? -1 : uri.indexOf('}', open);
+                if (open < 0 || close < 0) {
+                    literal.append(uri, position, uri.length());
+                    break;
+                }
+
+                Integer argumentIndex = uriArguments.get(uri.substring(open + 1, close));
+                if (null == argumentIndex) {
+                    literal.append(uri, position, close + 1);
+                } else {
+                    literal.append(uri, position, open);
+                    literals.add(literal.toString());
+                    argumentIndexes.add(argumentIndex);
+                    literal.setLength(0);
+                }
+                position = close + 1;
+            }
+            literals.add(literal.toString());
         }
-    }
 
-    @Data
-    private class Parameter {
-        private final Body body;
-        private final Path path;
-        private final Query query;
-        private final Header header;
-        private final Version version;
-    }
+        private Type typeArgument(Type type) {
+            if (type instanceof ParameterizedType) {
+                return ((ParameterizedType) type).getActualTypeArguments()[0];
+            }
+            return Void.class;
+        }
 
-    @Data
-    private class ProxyCache {
-        private final HttpRequest[] httpRequests;
-        private final String uri;
-        private final HashMap<String, Collection<Object>> defaultQueryParams;
-        private final HashMap<String, Collection<Object>> defaultHeaderMap;
-        private final Parameter[] parameters;
-        private final String apiKey;
-        private final Tuple<String, String> credentials;
+        private Class<?> rawType(Type type) {
+            if (type instanceof Class) {
+                return (Class<?>) type;
+            }
+            if (type instanceof ParameterizedType) {
+                return rawType(((ParameterizedType) type).getRawType());
+            }
+            return Void.class;
+        }
 
-        public ProxyCache(Method method) {
-            this.httpRequests = createHttpRequest(method);
-            this.uri = createUri(method);
-            this.defaultQueryParams = createDefaultQueryParams(method);
-            this.defaultHeaderMap = createDefaultHeaderMap(method);
-            this.parameters = createParameters(method);
-            this.apiKey = findApiKey(method);
-            this.credentials = findCredentials(method);
+        private HttpMethod getHttpRequestMethod(HttpRequest[] httpRequests) {
+            HttpMethod method = HttpMethod.GET;
+            for (HttpRequest httpRequest : httpRequests) {
+                method = httpRequest.method();
+            }
+            return method;
         }
 
         private String findApiKey(Method method) {
@@ -433,23 +742,6 @@ public class Generator {
             return new Tuple<>(injectProperty(credentialsAnnotation.user()), injectProperty(credentialsAnnotation.password()));
         }
 
-        private Parameter[] createParameters(Method method) {
-            Annotation[][] parameterAnnotations = method.getParameterAnnotations();
-            Parameter[] parameters = new Parameter[parameterAnnotations.length];
-            int i = 0;
-            for (Annotation[] annotations : parameterAnnotations) {
-                Parameter parameter = new Parameter(
-                        getAnnotation(annotations, Body.class)
-                        , getAnnotation(annotations, Path.class)
-                        , getAnnotation(annotations, Query.class)
-                        , getAnnotation(annotations, Header.class)
-                        , getAnnotation(annotations, Version.class)
-                );
-                parameters[i++] = parameter;
-            }
-            return parameters;
-        }
-
         private HttpRequest[] createHttpRequest(Method method) {
             HttpRequest httpRequestOnClass = method.getDeclaringClass().getAnnotation(HttpRequest.class);
             HttpRequest httpRequest = method.getAnnotation(HttpRequest.class);
@@ -465,8 +757,8 @@ public class Generator {
             throw new NoHttpRequestAnnotation("Method '" + method.getName() + "' must be annotated with @HttpRequest!");
         }
 
-        private String createUri(Method method) {
-            String uri = getHttpRequestValue();
+        private String createUri(Method method, HttpRequest[] httpRequests) {
+            String uri = getHttpRequestValue(httpRequests);
             Version version = getVersionAnnotation(method);
             if (null != version) {
                 uri = uri.replace("{version}", injectProperty(version.value()));
@@ -485,7 +777,7 @@ public class Generator {
             return uri;
         }
 
-        private String getHttpRequestValue() {
+        private String getHttpRequestValue(HttpRequest[] httpRequests) {
             String uri = "";
             for (HttpRequest httpRequest : httpRequests) {
                 uri = StringUtils.join("/", uri, httpRequest.value());
@@ -548,4 +840,15 @@ public class Generator {
             return headerMap;
         }
     }
+
+    private static class IOThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mm-api-io-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -5,25 +5,38 @@ import org.infobip.mobile.messaging.api.support.ApiBackendExceptionWithContent;
 import org.infobip.mobile.messaging.api.support.ApiException;
 import org.infobip.mobile.messaging.api.support.ApiIOException;
 import org.infobip.mobile.messaging.api.support.Tuple;
+import org.infobip.mobile.messaging.api.support.http.client.model.ApiError;
 import org.infobip.mobile.messaging.api.support.http.client.model.ApiResponse;
 import org.infobip.mobile.messaging.api.support.http.serialization.JsonSerializer;
 import org.infobip.mobile.messaging.api.support.util.Base64Encoder;
 import org.infobip.mobile.messaging.api.support.util.StreamUtils;
 import org.infobip.mobile.messaging.api.support.util.StringUtils;
 
+import com.google.gson.stream.JsonReader;
+
+import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.HttpURLConnection;
+import java.net.InetAddress;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
-import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLHandshakeException;
 
 /**
@@ -37,6 +50,13 @@ public class DefaultApiClient implements ApiClient {
 
     public static final JsonSerializer JSON_SERIALIZER = new JsonSerializer();
     private static final JsonSerializer JSON_SERIALIZER_WITH_NULLS = new JsonSerializer(true);
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String GZIP = "gzip";
+
+    /**
+     * Request compression threshold which disables compression of request bodies.
+     */
+    public static final int NO_REQUEST_COMPRESSION = -1;
 
     private final int connectTimeout;
     private final int readTimeout;
@@ -46,26 +66,173 @@ public class DefaultApiClient implements ApiClient {
     private final ResponsePreProcessor[] responsePreProcessors;
     private final Logger logger;
     private final boolean allowUntrustedSSLOnError;
+    private final HttpTransport httpTransport;
+    private final boolean streamingRequestBody;
+    private final boolean responseCompression;
+    private final int requestCompressionThreshold;
+    private final RequestTracer requestTracer;
     private String userAgent;
 
     public DefaultApiClient() {
-        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, null, new RequestInterceptor[0], new ResponsePreProcessor[0], new Logger(), false);
+        this(new Builder());
     }
 
     public DefaultApiClient(int connectTimeout, int readTimeout, String libraryVersion, RequestInterceptor[] interceptors, ResponsePreProcessor[] responsePreProcessors, Logger logger, boolean allowUntrustedSSLOnError, String... userAgentAdditions) {
-        this.connectTimeout = connectTimeout;
-        this.readTimeout = readTimeout;
-        this.libraryVersion = libraryVersion;
-        this.requestInterceptors = interceptors;
-        this.responsePreProcessors = responsePreProcessors;
-        this.userAgentAdditions = userAgentAdditions;
-        this.logger = logger;
-        this.allowUntrustedSSLOnError = allowUntrustedSSLOnError;
+        this(new Builder()
+                .withConnectTimeout(connectTimeout)
+                .withReadTimeout(readTimeout)
+                .withLibraryVersion(libraryVersion)
+                .withRequestInterceptors(interceptors)
+                .withResponsePreProcessors(responsePreProcessors)
+                .withLogger(logger)
+                .withAllowUntrustedSSLOnError(allowUntrustedSSLOnError)
+                .withUserAgentAdditions(userAgentAdditions));
+    }
+
+    private DefaultApiClient(Builder builder) {
+        this.connectTimeout = builder.connectTimeout;
+        this.readTimeout = builder.readTimeout;
+        this.libraryVersion = builder.libraryVersion;
+        this.requestInterceptors = builder.requestInterceptors;
+        this.responsePreProcessors = builder.responsePreProcessors;
+        this.userAgentAdditions = builder.userAgentAdditions;
+        this.logger = builder.logger;
+        this.allowUntrustedSSLOnError = builder.allowUntrustedSSLOnError;
+        this.httpTransport = builder.httpTransport;
+        this.streamingRequestBody = builder.streamingRequestBody;
+        this.responseCompression = builder.responseCompression;
+        this.requestCompressionThreshold = builder.requestCompressionThreshold;
+        this.requestTracer = builder.requestTracer != null ? builder.requestTracer : new RequestTracer();
+    }
+
+    /**
+     * Builds {@link DefaultApiClient}, options which are not set keep the defaults of {@link #DefaultApiClient()}.
+     */
+    public static class Builder {
+        private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private int readTimeout = DEFAULT_READ_TIMEOUT;
+        private String libraryVersion;
+        private RequestInterceptor[] requestInterceptors = new RequestInterceptor[0];
+        private ResponsePreProcessor[] responsePreProcessors = new ResponsePreProcessor[0];
+        private Logger logger = new Logger();
+        private boolean allowUntrustedSSLOnError = false;
+        private HttpTransport httpTransport = new DefaultHttpTransport();
+        private boolean streamingRequestBody = false;
+        private boolean responseCompression = false;
+        private int requestCompressionThreshold = NO_REQUEST_COMPRESSION;
+        private RequestTracer requestTracer = new RequestTracer();
+        private String[] userAgentAdditions = new String[0];
+
+        public Builder withConnectTimeout(int connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder withReadTimeout(int readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        /**
+         * @param libraryVersion version of the library to report in User-Agent header
+         */
+        public Builder withLibraryVersion(String libraryVersion) {
+            this.libraryVersion = libraryVersion;
+            return this;
+        }
+
+        public Builder withRequestInterceptors(RequestInterceptor... requestInterceptors) {
+            this.requestInterceptors = requestInterceptors;
+            return this;
+        }
+
+        public Builder withResponsePreProcessors(ResponsePreProcessor... responsePreProcessors) {
+            this.responsePreProcessors = responsePreProcessors;
+            return this;
+        }
+
+        public Builder withLogger(Logger logger) {
+            this.logger = logger;
+            return this;
+        }
+
+        /**
+         * @param allowUntrustedSSLOnError true to retry request without certificate validation after SSL handshake error
+         */
+        public Builder withAllowUntrustedSSLOnError(boolean allowUntrustedSSLOnError) {
+            this.allowUntrustedSSLOnError = allowUntrustedSSLOnError;
+            return this;
+        }
+
+        /**
+         * @param httpTransport transport which opens and releases connections, default is {@link DefaultHttpTransport}
+         */
+        public Builder withHttpTransport(HttpTransport httpTransport) {
+            this.httpTransport = httpTransport;
+            return this;
+        }
+
+        /**
+         * @param streamingRequestBody true to serialize request bodies directly to connection without buffering them
+         */
+        public Builder withStreamingRequestBody(boolean streamingRequestBody) {
+            this.streamingRequestBody = streamingRequestBody;
+            return this;
+        }
+
+        /**
+         * @param responseCompression true to request gzip compressed responses
+         */
+        public Builder withResponseCompression(boolean responseCompression) {
+            this.responseCompression = responseCompression;
+            return this;
+        }
+
+        /**
+         * @param requestCompressionThreshold minimum size of request body in bytes to compress it, {@link #NO_REQUEST_COMPRESSION} to disable
+         */
+        public Builder withRequestCompressionThreshold(int requestCompressionThreshold) {
+            this.requestCompressionThreshold = requestCompressionThreshold;
+            return this;
+        }
+
+        public Builder withRequestTracer(RequestTracer requestTracer) {
+            this.requestTracer = requestTracer;
+            return this;
+        }
+
+        public Builder withUserAgentAdditions(String... userAgentAdditions) {
+            this.userAgentAdditions = userAgentAdditions;
+            return this;
+        }
+
+        public DefaultApiClient build() {
+            return new DefaultApiClient(this);
+        }
     }
 
     @Override
     public <B, R> R execute(HttpMethod method, String uri, String apiKey, Tuple<String, String> credentials, Map<String, Collection<Object>> queryParams, Map<String, Collection<Object>> headers, B body, Class<R> responseType) {
-        Request request = new Request(method, uri, apiKey, credentials, headers, queryParams, body);
+        RequestSpan span = requestTracer.isEnabled() ? new RequestSpan(method, RequestTracer.getPathTemplate(), uri) : RequestSpan.DISABLED;
+        Throwable error = null;
+        try {
+            return execute(span, new Request(method, uri, apiKey, credentials, headers, queryParams, body), responseType);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            if (span.isEnabled()) {
+                span.finish(error);
+                try {
+                    requestTracer.onSpan(span);
+                } catch (Exception e) {
+                    logger.e("Request tracer " + requestTracer + " thrown an exception " + e);
+                }
+            }
+        }
+    }
+
+    private <R> R execute(RequestSpan span, Request request, Class<R> responseType) {
         for (RequestInterceptor interceptor : requestInterceptors) {
             try {
                 request = interceptor.intercept(request);
@@ -83,12 +250,12 @@ public class DefaultApiClient implements ApiClient {
             }
 
             try {
-                return executeHTTP(request, responseType, false);
+                return executeHTTP(span, request, responseType, false);
             } catch (SSLHandshakeException ex) {
                 logger.w("Got SSL handshake exception " + ex);
                 if (allowUntrustedSSLOnError) {
                     logger.w("Will re-try in untrusted mode");
-                    return executeHTTP(request, responseType, true);
+                    return executeHTTP(span, request, responseType, true);
                 } else {
                     throw ex;
                 }
@@ -102,15 +269,16 @@ public class DefaultApiClient implements ApiClient {
         }
     }
 
-    private <R> R executeHTTP(Request request, Class<R> responseType, boolean tryUntrustedSSL) throws IOException {
+    private <R> R executeHTTP(RequestSpan span, Request request, Class<R> responseType, boolean tryUntrustedSSL) throws IOException {
         HttpURLConnection urlConnection = null;
+        boolean responseReceived = false;
         try {
             StringBuilder sb = new StringBuilder();
             for (Map.Entry<String, Collection<Object>> entry : request.queryParams.entrySet()) {
                 appendValue(sb, entry);
             }
 
-            urlConnection = (HttpURLConnection) new URL(request.uri + sb.toString()).openConnection();
+            urlConnection = httpTransport.open(new URL(request.uri + sb.toString()), tryUntrustedSSL);
 
             if (request.httpMethod == HttpMethod.PATCH) {
                 urlConnection.setRequestProperty("X-HTTP-Method-Override", HttpMethod.PATCH.name());
@@ -128,10 +296,6 @@ public class DefaultApiClient implements ApiClient {
             urlConnection.setConnectTimeout(connectTimeout);
             urlConnection.setReadTimeout(readTimeout);
 
-            if (tryUntrustedSSL && urlConnection instanceof HttpsURLConnection) {
-                UntrustedSSLHelper.trustAllCerts(((HttpsURLConnection) urlConnection));
-            }
-
             if (null != request.headers) {
                 for (Map.Entry<String, Collection<Object>> entry : request.headers.entrySet()) {
                     Collection<Object> value = entry.getValue();
@@ -156,34 +320,37 @@ public class DefaultApiClient implements ApiClient {
                 urlConnection.setRequestProperty("Authorization", "Basic " + basicApiKey);
             }
             urlConnection.setRequestProperty("Accept", "application/json");
+            if (responseCompression && null == urlConnection.getRequestProperty("Accept-Encoding")) {
+                urlConnection.setRequestProperty("Accept-Encoding", GZIP);
+            }
             String userAgent = urlConnection.getRequestProperty("User-Agent");
             if (null == userAgent) {
                 urlConnection.setRequestProperty("User-Agent", getUserAgent());
             }
 
             if (null != request.body) {
-                byte[] bytes = jsonSerializer(request.httpMethod).serialize(request.body).getBytes("UTF-8");
-                urlConnection.setRequestProperty("Content-Length", "" + bytes.length);
-                urlConnection.setRequestProperty("Content-Type", "application/json");
-                OutputStream outputStream = null;
-                try {
-                    outputStream = new BufferedOutputStream(urlConnection.getOutputStream());
-                    outputStream.write(bytes);
-                    outputStream.flush();
-                } finally {
-                    StreamUtils.closeSafely(outputStream);
-                }
+                writeBody(span, urlConnection, request);
+            } else if (span.isEnabled()) {
+                connect(span, urlConnection);
             }
 
+            long waitStartedAt = span.start();
             int responseCode = urlConnection.getResponseCode();
+            span.end(RequestSpan.Phase.TIME_TO_FIRST_BYTE, waitStartedAt);
+            span.setResponseCode(responseCode);
+            responseReceived = true;
             interceptResponse(responseCode, urlConnection.getHeaderFields());
             int contentLength = urlConnection.getContentLength();
             if (responseCode >= 400) {
                 ApiResponse apiResponse = new ApiResponse(ErrorCode.UNKNOWN_ERROR.value, ErrorCode.UNKNOWN_ERROR.description);
-                if (contentLength > 0) {
-                    InputStream inputStream = urlConnection.getErrorStream();
-                    String s = StreamUtils.readToString(inputStream, "UTF-8", contentLength);
-                    apiResponse = jsonSerializer(request.httpMethod).deserialize(s, ApiResponse.class);
+                InputStream errorStream = urlConnection.getErrorStream();
+                if (contentLength > 0 && errorStream != null) {
+                    InputStream decodedErrorStream = decodeStream(urlConnection, errorStream);
+                    try {
+                        apiResponse = jsonSerializer(request.httpMethod).deserialize(new InputStreamReader(decodedErrorStream, UTF_8), ApiResponse.class);
+                    } finally {
+                        decodedErrorStream.close();
+                    }
                 }
 
                 if (responseCode >= 500) {
@@ -199,32 +366,134 @@ public class DefaultApiClient implements ApiClient {
                 return null;
             }
 
-            InputStream inputStream = urlConnection.getInputStream();
-            String s = StreamUtils.readToString(inputStream, "UTF-8", contentLength);
-            inputStream.close();
-
-            R response = jsonSerializer(request.httpMethod).deserialize(s, responseType);
-            ApiResponse apiResponse = null;
+            R response;
+            ApiError requestError;
+            InputStream inputStream = contentLength == 0 ? urlConnection.getInputStream() : decodeStream(urlConnection, urlConnection.getInputStream());
+            TimedInputStream timedInputStream = null;
+            if (span.isEnabled()) {
+                timedInputStream = new TimedInputStream(inputStream);
+                inputStream = timedInputStream;
+            }
+            long parseStartedAt = span.start();
             try {
-                apiResponse = jsonSerializer(request.httpMethod).deserialize(s, ApiResponse.class);
-            } catch (Exception ignored) {
+                RequestErrorCapturingJsonReader reader = new RequestErrorCapturingJsonReader(new InputStreamReader(new BufferedInputStream(inputStream), UTF_8), jsonSerializer(request.httpMethod));
+                response = jsonSerializer(request.httpMethod).deserialize(reader, responseType);
+                requestError = reader.requestError;
+                if (response instanceof ApiResponse) {
+                    requestError = ((ApiResponse) response).getRequestError();
+                }
+            } finally {
+                inputStream.close();
+                if (timedInputStream != null) {
+                    span.end(RequestSpan.Phase.PARSE, parseStartedAt);
+                    span.add(RequestSpan.Phase.RESPONSE_BODY, timedInputStream.readNanos);
+                    span.add(RequestSpan.Phase.PARSE, -timedInputStream.readNanos);
+                }
             }
 
-            if (apiResponse != null && apiResponse.getRequestError() != null) {
-                Tuple<String, String> tuple = safeGetErrorInfo(apiResponse, ErrorCode.UNKNOWN_API_BACKEND_ERROR.value, ErrorCode.UNKNOWN_API_BACKEND_ERROR.description);
+            if (requestError != null) {
+                Tuple<String, String> tuple = safeGetErrorInfo(new ApiResponse(requestError), ErrorCode.UNKNOWN_API_BACKEND_ERROR.value, ErrorCode.UNKNOWN_API_BACKEND_ERROR.description);
                 throw new ApiBackendExceptionWithContent(tuple.getLeft(), tuple.getRight(), response);
             }
 
             return response;
         } finally {
+            if (urlConnection != null) {
+                httpTransport.release(urlConnection, responseReceived);
+            }
+        }
+    }
+
+    /**
+     * Serializes body directly into connection output stream if streaming of request body is enabled (chunked transfer),
+     * otherwise into a single buffer which is then sent with known content length.
+     * Body is gzipped if it is not smaller than request compression threshold, in streaming mode size is not known
+     * upfront so body is always gzipped when request compression is enabled.
+     */
+    private void writeBody(RequestSpan span, HttpURLConnection urlConnection, Request request) throws IOException {
+        JsonSerializer serializer = jsonSerializer(request.httpMethod);
+        urlConnection.setRequestProperty("Content-Type", "application/json");
+        boolean compressionEnabled = requestCompressionThreshold != NO_REQUEST_COMPRESSION;
+
+        if (streamingRequestBody) {
+            urlConnection.setChunkedStreamingMode(0);
+            if (compressionEnabled) {
+                urlConnection.setRequestProperty("Content-Encoding", GZIP);
+            }
+            if (span.isEnabled()) {
+                connect(span, urlConnection);
+            }
+            long writeStartedAt = span.start();
+            Writer writer = null;
             try {
-                if (urlConnection != null) {
-                    urlConnection.disconnect();
+                OutputStream outputStream = new BufferedOutputStream(urlConnection.getOutputStream());
+                if (compressionEnabled) {
+                    outputStream = new GZIPOutputStream(outputStream);
                 }
-            } catch (Exception ignored) {
-
+                writer = new OutputStreamWriter(outputStream, UTF_8);
+                serializer.serialize(request.body, writer);
+                writer.flush();
+            } finally {
+                StreamUtils.closeSafely(writer);
+                span.end(RequestSpan.Phase.REQUEST_BODY, writeStartedAt);
             }
+            return;
+        }
+
+        long serializationStartedAt = span.start();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Writer bufferWriter = new OutputStreamWriter(buffer, UTF_8);
+        serializer.serialize(request.body, bufferWriter);
+        bufferWriter.flush();
+        if (compressionEnabled && buffer.size() >= requestCompressionThreshold) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(buffer.size() / 2);
+            GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed);
+            buffer.writeTo(gzipOutputStream);
+            gzipOutputStream.close();
+            logger.d("Request body compressed from " + buffer.size() + " to " + compressed.size() + " bytes");
+            buffer = compressed;
+            urlConnection.setRequestProperty("Content-Encoding", GZIP);
+        }
+        urlConnection.setRequestProperty("Content-Length", "" + buffer.size());
+        span.end(RequestSpan.Phase.SERIALIZATION, serializationStartedAt);
+        if (span.isEnabled()) {
+            connect(span, urlConnection);
+        }
+        long writeStartedAt = span.start();
+        OutputStream outputStream = null;
+        try {
+            outputStream = urlConnection.getOutputStream();
+            buffer.writeTo(outputStream);
+            outputStream.flush();
+        } finally {
+            StreamUtils.closeSafely(outputStream);
+            span.end(RequestSpan.Phase.REQUEST_BODY, writeStartedAt);
+        }
+    }
+
+    /**
+     * Connects explicitly to measure DNS and connect phases of traced requests.
+     * All request properties must be set before this call.
+     */
+    private void connect(RequestSpan span, HttpURLConnection urlConnection) throws IOException {
+        long dnsStartedAt = span.start();
+        try {
+            InetAddress.getAllByName(urlConnection.getURL().getHost());
+        } catch (IOException ignored) {
+            // connect will fail with the same error
+        }
+        span.end(RequestSpan.Phase.DNS, dnsStartedAt);
+
+        long connectStartedAt = span.start();
+        urlConnection.connect();
+        span.end(RequestSpan.Phase.CONNECT, connectStartedAt);
+    }
+
+    private static InputStream decodeStream(HttpURLConnection urlConnection, InputStream inputStream) throws IOException {
+        if (GZIP.equalsIgnoreCase(urlConnection.getContentEncoding())) {
+            return new GZIPInputStream(inputStream);
         }
+        return inputStream;
     }
 
     private void interceptErrorResponse(Exception error) {
@@ -307,6 +576,62 @@ public class DefaultApiClient implements ApiClient {
         return JSON_SERIALIZER;
     }
 
+    /**
+     * Input stream which measures time spent in reads, so that reading of response body can be told apart from parsing.
+     */
+    private static class TimedInputStream extends FilterInputStream {
+        private long readNanos;
+
+        TimedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            long startedAt = System.nanoTime();
+            try {
+                return super.read();
+            } finally {
+                readNanos += System.nanoTime() - startedAt;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long startedAt = System.nanoTime();
+            try {
+                return super.read(b, off, len);
+            } finally {
+                readNanos += System.nanoTime() - startedAt;
+            }
+        }
+    }
+
+    /**
+     * Reader which picks up top-level "requestError" while the response type is being deserialized.
+     * Response types do not declare this field so it would otherwise be skipped and the body would have to be parsed again.
+     */
+    private static class RequestErrorCapturingJsonReader extends JsonReader {
+        private static final String REQUEST_ERROR_PATH = "$.requestError";
+
+        private final JsonSerializer serializer;
+        private ApiError requestError;
+
+        RequestErrorCapturingJsonReader(Reader in, JsonSerializer serializer) {
+            super(in);
+            this.serializer = serializer;
+        }
+
+        @Override
+        public void skipValue() throws IOException {
+            if (requestError == null && REQUEST_ERROR_PATH.equals(getPath())) {
+                requestError = serializer.deserialize(this, ApiError.class);
+                return;
+            }
+            super.skipValue();
+        }
+    }
+
     public enum ErrorCode {
         UNKNOWN_ERROR("-1", "Unknown error"), // responseCode >= 400
         UNKNOWN_API_BACKEND_ERROR("-2", "Unknown API backend error"), // responseCode >= 500
@@ -0,0 +1,30 @@
+package org.infobip.mobile.messaging.api.support.http.client;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import javax.net.ssl.HttpsURLConnection;
+
+/**
+ * Opens a fresh connection for each request and disconnects it when done.
+ */
+public class DefaultHttpTransport implements HttpTransport {
+
+    @Override
+    public HttpURLConnection open(URL url, boolean tryUntrustedSSL) throws IOException {
+        HttpURLConnection urlConnection = (HttpURLConnection) url.openConnection();
+        if (tryUntrustedSSL && urlConnection instanceof HttpsURLConnection) {
+            UntrustedSSLHelper.trustAllCerts(((HttpsURLConnection) urlConnection));
+        }
+        return urlConnection;
+    }
+
+    @Override
+    public void release(HttpURLConnection connection, boolean reusable) {
+        try {
+            connection.disconnect();
+        } catch (Exception ignored) {
+        }
+    }
+}
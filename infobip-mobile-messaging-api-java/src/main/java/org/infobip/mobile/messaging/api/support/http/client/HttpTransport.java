@@ -0,0 +1,33 @@
+package org.infobip.mobile.messaging.api.support.http.client;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Transport layer used by {@link DefaultApiClient} to obtain and give back http connections.
+ *
+ * @see DefaultHttpTransport
+ * @see PooledHttpTransport
+ */
+public interface HttpTransport {
+
+    /**
+     * Opens connection for the given url.
+     *
+     * @param url             full url of the request
+     * @param tryUntrustedSSL whether connection should trust all certificates
+     * @return connection which is not yet connected
+     * @throws IOException if connection cannot be opened
+     */
+    HttpURLConnection open(URL url, boolean tryUntrustedSSL) throws IOException;
+
+    /**
+     * Gives connection back to transport once client has finished with it.
+     * Called exactly once for each connection returned by {@link #open(URL, boolean)}.
+     *
+     * @param connection connection to release
+     * @param reusable   true if response was received and connection can be kept alive
+     */
+    void release(HttpURLConnection connection, boolean reusable);
+}
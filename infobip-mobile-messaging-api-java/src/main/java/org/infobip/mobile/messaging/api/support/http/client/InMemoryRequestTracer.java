@@ -0,0 +1,78 @@
+package org.infobip.mobile.messaging.api.support.http.client;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the most recent request spans in memory, intended for tests and benchmarks.
+ * <pre>{@code
+ * InMemoryRequestTracer tracer = new InMemoryRequestTracer();
+ * Generator generator = new Generator.Builder()
+ *         .withRequestTracer(tracer)
+ *         .build();
+ * ...
+ * for (RequestSpan span : tracer.getSpans("/mobile/5/messages")) {
+ *     System.out.println(span);
+ * }
+ * }</pre>
+ */
+public class InMemoryRequestTracer extends RequestTracer {
+
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final int capacity;
+    private final ArrayDeque<RequestSpan> spans = new ArrayDeque<>();
+
+    public InMemoryRequestTracer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of spans to keep, oldest spans are removed first
+     */
+    public InMemoryRequestTracer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public synchronized void onSpan(RequestSpan span) {
+        if (spans.size() == capacity) {
+            spans.removeFirst();
+        }
+        spans.addLast(span);
+    }
+
+    /**
+     * @return recorded spans, oldest first
+     */
+    public synchronized List<RequestSpan> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * @param pathTemplate path template of requests, see {@link RequestSpan#getPathTemplate()}
+     * @return recorded spans of requests with the given path template, oldest first
+     */
+    public synchronized List<RequestSpan> getSpans(String pathTemplate) {
+        List<RequestSpan> result = new ArrayList<>();
+        for (RequestSpan span : spans) {
+            if (pathTemplate.equals(span.getPathTemplate())) {
+                result.add(span);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        spans.clear();
+    }
+}
@@ -0,0 +1,250 @@
+package org.infobip.mobile.messaging.api.support.http.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * Keeps connections alive between requests so that TCP connections and TLS sessions are reused.
+ * <p>
+ * Connections are never disconnected after a successful response, instead remaining response body is drained and
+ * stream is closed which returns the socket to the platform keep-alive cache. All https connections share one
+ * {@link SSLSocketFactory} so that TLS sessions can be resumed even when a new socket has to be opened.
+ * Number of concurrently leased connections is limited per host.
+ * <pre>{@code
+ * Generator generator = new Generator.Builder()
+ *         .withHttpTransport(new PooledHttpTransport.Builder().withMaxConnectionsPerHost(2).build())
+ *         .build();
+ * }</pre>
+ *
+ * @see Builder
+ */
+public class PooledHttpTransport implements HttpTransport {
+
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 4;
+    public static final long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = 30000;
+    public static final int DEFAULT_TLS_SESSION_CACHE_SIZE = 16;
+    public static final int DEFAULT_TLS_SESSION_TIMEOUT_SECONDS = 4 * 60 * 60;
+
+    private static final int MAX_DRAIN_BYTES = 64 * 1024;
+
+    private final int maxConnectionsPerHost;
+    private final long acquireTimeoutMillis;
+    private final SSLSocketFactory sslSocketFactory;
+    private final ConcurrentHashMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final Map<HttpURLConnection, Semaphore> leasedConnections = new IdentityHashMap<>();
+
+    public PooledHttpTransport() {
+        this(DEFAULT_MAX_CONNECTIONS_PER_HOST, DEFAULT_ACQUIRE_TIMEOUT_MILLIS, DEFAULT_TLS_SESSION_CACHE_SIZE, DEFAULT_TLS_SESSION_TIMEOUT_SECONDS);
+    }
+
+    public PooledHttpTransport(int maxConnectionsPerHost, long acquireTimeoutMillis, int tlsSessionCacheSize, int tlsSessionTimeoutSeconds) {
+        if (maxConnectionsPerHost < 1) {
+            throw new IllegalArgumentException("maxConnectionsPerHost must be positive");
+        }
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.sslSocketFactory = createSSLSocketFactory(tlsSessionCacheSize, tlsSessionTimeoutSeconds);
+    }
+
+    @Override
+    public HttpURLConnection open(URL url, boolean tryUntrustedSSL) throws IOException {
+        Semaphore permits = permitsFor(url);
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("No free connection to " + hostKey(url) + " within " + acquireTimeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for connection to " + hostKey(url));
+        }
+
+        // permit is owned by the connection only once it is leased, until then any failure must give it back
+        try {
+            HttpURLConnection urlConnection = (HttpURLConnection) url.openConnection();
+            if (urlConnection instanceof HttpsURLConnection) {
+                HttpsURLConnection httpsURLConnection = (HttpsURLConnection) urlConnection;
+                if (tryUntrustedSSL) {
+                    UntrustedSSLHelper.trustAllCerts(httpsURLConnection);
+                } else if (sslSocketFactory != null) {
+                    httpsURLConnection.setSSLSocketFactory(sslSocketFactory);
+                }
+            }
+
+            synchronized (leasedConnections) {
+                leasedConnections.put(urlConnection, permits);
+            }
+            return urlConnection;
+        } catch (IOException | RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void release(HttpURLConnection connection, boolean reusable) {
+        try {
+            if (reusable) {
+                drainAndClose(connection);
+            } else {
+                connection.disconnect();
+            }
+        } catch (Exception ignored) {
+        } finally {
+            Semaphore permits;
+            synchronized (leasedConnections) {
+                permits = leasedConnections.remove(connection);
+            }
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    /**
+     * Returns number of connections currently leased to the given host.
+     *
+     * @param url any url of the host
+     * @return number of connections in use
+     */
+    public int getLeasedConnections(URL url) {
+        Semaphore permits = hostPermits.get(hostKey(url));
+        if (permits == null) {
+            return 0;
+        }
+        return maxConnectionsPerHost - permits.availablePermits();
+    }
+
+    private Semaphore permitsFor(URL url) {
+        String key = hostKey(url);
+        Semaphore permits = hostPermits.get(key);
+        if (permits != null) {
+            return permits;
+        }
+        Semaphore newPermits = new Semaphore(maxConnectionsPerHost, true);
+        permits = hostPermits.putIfAbsent(key, newPermits);
+        return permits != null ? permits : newPermits;
+    }
+
+    private static String hostKey(URL url) {
+        int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+        return url.getProtocol() + "://" + url.getHost() + ":" + port;
+    }
+
+    /**
+     * Socket is returned to keep-alive cache only if response body was fully consumed and stream closed.
+     * Large leftovers are not worth reading, such connection is disconnected instead.
+     */
+    private static void drainAndClose(HttpURLConnection connection) throws IOException {
+        InputStream inputStream = null;
+        try {
+            inputStream = connection.getResponseCode() >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            if (inputStream == null) {
+                return;
+            }
+
+            byte[] buffer = new byte[4096];
+            int drained = 0;
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                drained += read;
+                if (drained > MAX_DRAIN_BYTES) {
+                    connection.disconnect();
+                    return;
+                }
+            }
+        } finally {
+            if (inputStream != null) {
+                try {
+                    inputStream.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private static SSLSocketFactory createSSLSocketFactory(int tlsSessionCacheSize, int tlsSessionTimeoutSeconds) {
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, null, null);
+            SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+            if (sessionContext != null) {
+                sessionContext.setSessionCacheSize(tlsSessionCacheSize);
+                sessionContext.setSessionTimeout(tlsSessionTimeoutSeconds);
+            }
+            return sslContext.getSocketFactory();
+        } catch (Exception e) {
+            System.err.println("Cannot instantiate TLS context, will use default socket factory: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Builds {@link PooledHttpTransport}
+     */
+    public static class Builder {
+        private int maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+        private long acquireTimeoutMillis = DEFAULT_ACQUIRE_TIMEOUT_MILLIS;
+        private int tlsSessionCacheSize = DEFAULT_TLS_SESSION_CACHE_SIZE;
+        private int tlsSessionTimeoutSeconds = DEFAULT_TLS_SESSION_TIMEOUT_SECONDS;
+
+        /**
+         * It will set maximum number of connections used concurrently for one host. Default is: 4
+         *
+         * @return {@link Builder}
+         */
+        public Builder withMaxConnectionsPerHost(int maxConnectionsPerHost) {
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+            return this;
+        }
+
+        /**
+         * It will set how long request waits for a free connection to the host. Default is: 30s
+         *
+         * @return {@link Builder}
+         */
+        public Builder withAcquireTimeout(long acquireTimeoutMillis) {
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * It will set number of TLS sessions kept for resumption. Default is: 16
+         *
+         * @return {@link Builder}
+         */
+        public Builder withTlsSessionCacheSize(int tlsSessionCacheSize) {
+            this.tlsSessionCacheSize = tlsSessionCacheSize;
+            return this;
+        }
+
+        /**
+         * It will set how long TLS session can be resumed. Default is: 4h
+         *
+         * @return {@link Builder}
+         */
+        public Builder withTlsSessionTimeout(int tlsSessionTimeoutSeconds) {
+            this.tlsSessionTimeoutSeconds = tlsSessionTimeoutSeconds;
+            return this;
+        }
+
+        public PooledHttpTransport build() {
+            return new PooledHttpTransport(maxConnectionsPerHost, acquireTimeoutMillis, tlsSessionCacheSize, tlsSessionTimeoutSeconds);
+        }
+    }
+}
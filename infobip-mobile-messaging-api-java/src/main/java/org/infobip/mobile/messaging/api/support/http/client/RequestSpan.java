@@ -0,0 +1,175 @@
+package org.infobip.mobile.messaging.api.support.http.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings of one request executed by {@link DefaultApiClient}, split into phases.
+ * <p>
+ * Phases which did not happen (e.g. request body for GET) have zero duration. {@link java.net.HttpURLConnection} does not expose
+ * TCP and TLS handshakes separately, so {@link Phase#CONNECT} covers both. {@link Phase#DNS} is measured by resolving
+ * the host right before connecting, connection then uses the resolved address from platform DNS cache.
+ * If request is retried in untrusted SSL mode, durations of both attempts are summed up.
+ *
+ * @see RequestTracer
+ */
+public class RequestSpan {
+
+    public enum Phase {
+        /**
+         * Serialization and compression of buffered request body, streamed bodies are accounted in {@link #REQUEST_BODY}
+         */
+        SERIALIZATION,
+        DNS,
+        /**
+         * TCP connect and TLS handshake, close to zero if kept-alive connection was reused
+         */
+        CONNECT,
+        REQUEST_BODY,
+        /**
+         * From request sent until response status is received
+         */
+        TIME_TO_FIRST_BYTE,
+        /**
+         * Time spent reading (and decompressing) response body
+         */
+        RESPONSE_BODY,
+        /**
+         * Time spent deserializing response JSON, excluding reading the body
+         */
+        PARSE
+    }
+
+    static final RequestSpan DISABLED = new RequestSpan(null, null, null, false);
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final HttpMethod method;
+    private final String pathTemplate;
+    private final String uri;
+    private final boolean enabled;
+    private final long startedAtNanos;
+    private final long[] phaseNanos;
+    private long durationNanos;
+    private int responseCode = -1;
+    private Throwable error;
+
+    RequestSpan(HttpMethod method, String pathTemplate, String uri) {
+        this(method, pathTemplate, uri, true);
+    }
+
+    private RequestSpan(HttpMethod method, String pathTemplate, String uri, boolean enabled) {
+        this.method = method;
+        this.pathTemplate = pathTemplate;
+        this.uri = uri;
+        this.enabled = enabled;
+        this.startedAtNanos = enabled ? System.nanoTime() : 0;
+        this.phaseNanos = enabled ? new long[PHASES.length] : null;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return current time to pass to {@link #end(Phase, long)}, 0 if span is disabled
+     */
+    long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    void end(Phase phase, long phaseStartedAtNanos) {
+        if (enabled) {
+            phaseNanos[phase.ordinal()] += System.nanoTime() - phaseStartedAtNanos;
+        }
+    }
+
+    void add(Phase phase, long nanos) {
+        if (enabled) {
+            phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    void setResponseCode(int responseCode) {
+        if (enabled) {
+            this.responseCode = responseCode;
+        }
+    }
+
+    void finish(Throwable error) {
+        if (enabled) {
+            this.error = error;
+            this.durationNanos = System.nanoTime() - startedAtNanos;
+        }
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * @return path template from {@link org.infobip.mobile.messaging.api.support.http.HttpRequest} annotations,
+     * e.g. "/mobile/1/appinstance/{regId}", or request uri if request was not created by Generator
+     */
+    public String getPathTemplate() {
+        return pathTemplate != null ? pathTemplate : uri;
+    }
+
+    /**
+     * @return request uri without query parameters, may contain identifiers
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos != null ? phaseNanos[phase.ordinal()] : 0;
+    }
+
+    public long getPhaseMillis(Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(getPhaseNanos(phase));
+    }
+
+    /**
+     * @return total duration of the request including interceptors and retries
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    /**
+     * @return http status code or -1 if response was not received
+     */
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    /**
+     * @return error which request failed with, null if request was successful
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("RequestSpan{")
+                .append(method).append(' ').append(getPathTemplate())
+                .append(", responseCode=").append(responseCode)
+                .append(", durationMillis=").append(getDurationMillis());
+        for (Phase phase : PHASES) {
+            sb.append(", ").append(phase).append('=').append(getPhaseMillis(phase));
+        }
+        if (error != null) {
+            sb.append(", error=").append(error.getClass().getSimpleName());
+        }
+        return sb.append('}').toString();
+    }
+}
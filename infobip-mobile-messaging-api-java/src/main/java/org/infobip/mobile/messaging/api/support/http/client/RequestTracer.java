@@ -0,0 +1,54 @@
+package org.infobip.mobile.messaging.api.support.http.client;
+
+/**
+ * Receives timing spans of requests executed by {@link DefaultApiClient}, disabled by default.
+ * <p>
+ * Override {@link #isEnabled()} to return true and {@link #onSpan(RequestSpan)} to export spans.
+ * When tracing is disabled spans are not created and connections are used exactly as without tracer.
+ * Spans are reported on the thread which executed the request, implementations should be fast and thread-safe.
+ *
+ * @see RequestSpan
+ * @see InMemoryRequestTracer
+ */
+public class RequestTracer {
+
+    private static final ThreadLocal<String> pathTemplate = new ThreadLocal<>();
+
+    /**
+     * Sets path template which tags spans of requests executed on the current thread,
+     * see {@link RequestSpan#getPathTemplate()}.
+     *
+     * @param template path of the request with unbound path arguments, e.g. "/mobile/1/appinstance/{regId}", or null to clear it
+     * @return path template which was set before
+     */
+    public static String setPathTemplate(String template) {
+        String previous = pathTemplate.get();
+        if (template != null) {
+            pathTemplate.set(template);
+        } else {
+            pathTemplate.remove();
+        }
+        return previous;
+    }
+
+    static String getPathTemplate() {
+        return pathTemplate.get();
+    }
+
+    /**
+     * Checked once per request before it starts.
+     *
+     * @return true if span of the request should be recorded and reported
+     */
+    public boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * Called once request is completed, successfully or not.
+     *
+     * @param span completed span
+     */
+    public void onSpan(RequestSpan span) {
+    }
+}
@@ -9,6 +9,8 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
 
 /**
@@ -71,7 +73,19 @@ public class JsonSerializer {
         return gson.fromJson(s, type);
     }
 
+    public <T> T deserialize(Reader reader, Type type) {
+        return gson.fromJson(reader, type);
+    }
+
+    public <T> T deserialize(JsonReader reader, Type type) {
+        return gson.fromJson(reader, type);
+    }
+
     public <T> String serialize(T t) {
         return gson.toJson(t);
     }
+
+    public <T> void serialize(T t, Writer writer) {
+        gson.toJson(t, writer);
+    }
 }
@@ -4,6 +4,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Writer;
 
 /**
  * @author mstipanov
@@ -43,6 +44,18 @@ public abstract class StreamUtils {
         return bytes.length;
     }
 
+    public static void closeSafely(Writer writer) {
+        if (null == writer) {
+            return;
+        }
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            //ignore
+        }
+    }
+
     public static void closeSafely(OutputStream outputStream) {
         if (null == outputStream) {
             return;
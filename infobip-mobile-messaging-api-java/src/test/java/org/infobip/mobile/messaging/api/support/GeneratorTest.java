@@ -1,10 +1,28 @@
 package org.infobip.mobile.messaging.api.support;
 
+import org.infobip.mobile.messaging.api.support.http.Body;
+import org.infobip.mobile.messaging.api.support.http.Header;
 import org.infobip.mobile.messaging.api.support.http.HttpRequest;
+import org.infobip.mobile.messaging.api.support.http.Path;
+import org.infobip.mobile.messaging.api.support.http.Query;
+import org.infobip.mobile.messaging.api.support.http.Version;
+import org.infobip.mobile.messaging.api.support.http.client.DefaultApiClient;
+import org.infobip.mobile.messaging.api.support.http.client.HttpMethod;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author mstipanov
@@ -45,6 +63,101 @@ public class GeneratorTest {
         generator.create(WrongClass.class).bar();
     }
 
+    @Test
+    public void invoke_shouldBindArguments_andFollowBaseUrlChanges() throws Exception {
+        final List<String> uris = new ArrayList<>();
+        final List<Map<String, Collection<Object>>> queries = new ArrayList<>();
+        generator.setApiClient(new DefaultApiClient() {
+            @Override
+            public <B, R> R execute(HttpMethod method, String uri, String apiKey, Tuple<String, String> credentials, Map<String, Collection<Object>> queryParams, Map<String, Collection<Object>> headers, B body, Class<R> responseType) {
+                uris.add(uri);
+                queries.add(queryParams);
+                return null;
+            }
+        });
+        SomeApi someApi = generator.create(SomeApi.class);
+
+        someApi.get("abc", "1", true);
+        generator.setBaseUrl("https://other/");
+        someApi.get("def", "2", false);
+
+        assertEquals("X/some/2/abc/items", uris.get(0));
+        assertEquals("https://other/some/2/def/items", uris.get(1));
+        assertEquals(Collections.<Object>singletonList("value"), queries.get(0).get("constant"));
+        assertEquals(Collections.<Object>singleton(true), queries.get(0).get("flag"));
+        assertEquals(Collections.<Object>singleton(false), queries.get(1).get("flag"));
+    }
+
+    @Test
+    public void invoke_futureMethod_shouldExecuteOnExecutor_andResolveResponseType() throws Exception {
+        final List<Class<?>> responseTypes = new ArrayList<>();
+        final List<String> threads = new ArrayList<>();
+        generator.setApiClient(new DefaultApiClient() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <B, R> R execute(HttpMethod method, String uri, String apiKey, Tuple<String, String> credentials, Map<String, Collection<Object>> queryParams, Map<String, Collection<Object>> headers, B body, Class<R> responseType) {
+                responseTypes.add(responseType);
+                threads.add(Thread.currentThread().getName());
+                return (R) ("response for " + body);
+            }
+        });
+
+        Future<String> future = generator.create(SomeAsyncApi.class).post("body");
+
+        assertEquals("response for body", future.get(1, TimeUnit.SECONDS));
+        assertEquals(String.class, responseTypes.get(0));
+        assertTrue(threads.get(0).startsWith("mm-api-io-"));
+    }
+
+    @Test
+    public void invoke_callbackMethod_shouldDeliverResultAndErrors() throws Exception {
+        generator.setApiClient(new DefaultApiClient() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <B, R> R execute(HttpMethod method, String uri, String apiKey, Tuple<String, String> credentials, Map<String, Collection<Object>> queryParams, Map<String, Collection<Object>> headers, B body, Class<R> responseType) {
+                if ("fail".equals(body)) {
+                    throw new ApiException("1", "Some error");
+                }
+                return (R) Integer.valueOf(42);
+            }
+        });
+        SomeAsyncApi someAsyncApi = generator.create(SomeAsyncApi.class);
+        final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+        ApiCallback<Integer> callback = new ApiCallback<Integer>() {
+            @Override
+            public void onSuccess(Integer result) {
+                results.add(result);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                results.add(error);
+            }
+        };
+
+        someAsyncApi.post("ok", callback);
+        assertEquals(42, results.poll(1, TimeUnit.SECONDS));
+
+        someAsyncApi.post("fail", callback);
+        assertTrue(results.poll(1, TimeUnit.SECONDS) instanceof ApiException);
+    }
+
+    private interface SomeAsyncApi {
+        @HttpRequest(method = HttpMethod.POST, value = "/async")
+        Future<String> post(@Body String body);
+
+        @HttpRequest(method = HttpMethod.POST, value = "/async")
+        void post(@Body String body, ApiCallback<Integer> callback);
+    }
+
+    @HttpRequest("/some/{version}")
+    @Version("2")
+    private interface SomeApi {
+        @HttpRequest(method = HttpMethod.GET, value = "{id}/items/")
+        @Query(name = "constant", value = "value")
+        Void get(@Path(name = "id") String id, @Header(name = "X-Header") String header, @Query(name = "flag") boolean flag);
+    }
+
     private interface WrongClass {
         @HttpRequest
         String foo();
@@ -211,6 +211,20 @@ public class DefaultApiClientTest {
         }
     }
 
+    @Test
+    public void execute_receivesOK_withRequestErrorAndResponseBody_forTypeWithoutRequestError() throws Exception {
+        debugServer.respondWith(NanoHTTPD.Response.Status.OK, "{\"name\":\"Test\",\"requestError\":{\"serviceException\":{\"messageId\":\"2\",\"text\":\"Some error\"}}}");
+
+        try {
+            apiClient.execute(HttpMethod.POST, "http://127.0.0.1:" + debugServer.getListeningPort(), null, null, MapUtils.map(), null, null, SomeApiRequest.class);
+            Assert.fail("Expected exception ApiBackendExceptionWithContent is not thrown");
+        } catch (ApiBackendExceptionWithContent error) {
+            Assert.assertEquals("2", error.getCode());
+            Assert.assertEquals("Some error", error.getMessage());
+            Assert.assertEquals("Test", ((SomeApiRequest) error.getContent()).getName());
+        }
+    }
+
     @Test
     public void execute_withRequestInterceptors_interceptorsShouldReceiveAllData() throws Exception {
         Map<String, Collection<Object>> givenQueryParams = new HashMap<String, Collection<Object>>() {{
@@ -0,0 +1,162 @@
+package org.infobip.mobile.messaging.api.support.http.client;
+
+import org.infobip.mobile.messaging.api.support.util.MapUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import fi.iki.elonen.NanoHTTPD;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GzipCompressionTest {
+
+    private GzipServer server;
+    private String url;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new GzipServer();
+        server.start();
+        url = "http://127.0.0.1:" + server.getListeningPort();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void execute_withRequestCompression_shouldSendGzippedBody_whenAboveThreshold() throws Exception {
+        server.responseJson = "{}";
+        Map<String, Object> body = bodyWithAttributes(200);
+
+        apiClient(true, 1024).execute(HttpMethod.POST, url, null, null, MapUtils.map(), null, body, Void.class);
+
+        String expectedJson = DefaultApiClient.JSON_SERIALIZER.serialize(body);
+        int plainSize = expectedJson.getBytes("UTF-8").length;
+        assertEquals("gzip", server.requestContentEncoding);
+        assertEquals(expectedJson, new String(gunzip(server.requestBytes), "UTF-8"));
+        assertTrue("Expected compressed body to be smaller: " + server.requestBytes.length + " vs " + plainSize,
+                server.requestBytes.length < plainSize / 2);
+    }
+
+    @Test
+    public void execute_withRequestCompression_shouldSendPlainBody_whenBelowThreshold() throws Exception {
+        server.responseJson = "{}";
+        Map<String, Object> body = bodyWithAttributes(1);
+
+        apiClient(true, 1024).execute(HttpMethod.POST, url, null, null, MapUtils.map(), null, body, Void.class);
+
+        assertNull(server.requestContentEncoding);
+        assertEquals(DefaultApiClient.JSON_SERIALIZER.serialize(body), new String(server.requestBytes, "UTF-8"));
+    }
+
+    @Test
+    public void execute_withResponseCompression_shouldReceiveGzippedResponse() throws Exception {
+        server.responseJson = DefaultApiClient.JSON_SERIALIZER.serialize(bodyWithAttributes(200));
+
+        Map<?, ?> response = apiClient(true, DefaultApiClient.NO_REQUEST_COMPRESSION).execute(HttpMethod.GET, url, null, null, MapUtils.map(), null, null, Map.class);
+
+        int plainSize = server.responseJson.getBytes("UTF-8").length;
+        assertEquals("gzip", server.requestAcceptEncoding);
+        assertEquals(200, response.size());
+        assertTrue("Expected compressed response to be smaller: " + server.responseBytesSent + " vs " + plainSize,
+                server.responseBytesSent < plainSize / 2);
+    }
+
+    @Test
+    public void execute_withoutResponseCompression_shouldNotAskForGzip() throws Exception {
+        server.responseJson = DefaultApiClient.JSON_SERIALIZER.serialize(bodyWithAttributes(10));
+
+        Map<?, ?> response = apiClient(false, DefaultApiClient.NO_REQUEST_COMPRESSION).execute(HttpMethod.GET, url, null, null, MapUtils.map(), null, null, Map.class);
+
+        assertNull(server.requestAcceptEncoding);
+        assertEquals(10, response.size());
+        assertEquals(server.responseJson.getBytes("UTF-8").length, server.responseBytesSent);
+    }
+
+    private DefaultApiClient apiClient(boolean responseCompression, int requestCompressionThreshold) {
+        return new DefaultApiClient.Builder()
+                .withResponseCompression(responseCompression)
+                .withRequestCompressionThreshold(requestCompressionThreshold)
+                .build();
+    }
+
+    private static Map<String, Object> bodyWithAttributes(int count) {
+        Map<String, Object> body = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            body.put("customAttribute" + i, "some repeating custom attribute value " + i);
+        }
+        return body;
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        return readAll(new GZIPInputStream(new ByteArrayInputStream(bytes)), -1);
+    }
+
+    private static byte[] readAll(InputStream inputStream, long length) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        long remaining = length < 0 ? Long.MAX_VALUE : length;
+        int read;
+        while (remaining > 0 && (read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+            outputStream.write(buffer, 0, read);
+            remaining -= read;
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static class GzipServer extends NanoHTTPD {
+        private String responseJson;
+        private String requestContentEncoding;
+        private String requestAcceptEncoding;
+        private byte[] requestBytes;
+        private int responseBytesSent;
+
+        GzipServer() {
+            super(0);
+        }
+
+        @Override
+        public Response serve(IHTTPSession session) {
+            Map<String, String> headers = session.getHeaders();
+            requestContentEncoding = headers.get("content-encoding");
+            requestAcceptEncoding = headers.get("accept-encoding");
+            try {
+                String contentLength = headers.get("content-length");
+                requestBytes = readAll(session.getInputStream(), contentLength != null ? Long.parseLong(contentLength) : 0);
+
+                byte[] responseBytes = responseJson.getBytes("UTF-8");
+                boolean gzip = requestAcceptEncoding != null && requestAcceptEncoding.contains("gzip");
+                if (gzip) {
+                    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                    GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed);
+                    gzipOutputStream.write(responseBytes);
+                    gzipOutputStream.close();
+                    responseBytes = compressed.toByteArray();
+                }
+                responseBytesSent = responseBytes.length;
+
+                Response response = new Response(Response.Status.OK, "application/json", new ByteArrayInputStream(responseBytes));
+                if (gzip) {
+                    response.addHeader("Content-Encoding", "gzip");
+                }
+                return response;
+            } catch (IOException e) {
+                return new Response(Response.Status.INTERNAL_ERROR, "text/plain", e.toString());
+            }
+        }
+    }
+}
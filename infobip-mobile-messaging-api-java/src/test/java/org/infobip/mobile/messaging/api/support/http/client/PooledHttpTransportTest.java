@@ -0,0 +1,129 @@
+package org.infobip.mobile.messaging.api.support.http.client;
+
+import org.infobip.mobile.messaging.api.support.util.MapUtils;
+import org.infobip.mobile.messaging.api.tools.DebugServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.security.cert.Certificate;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+
+import fi.iki.elonen.NanoHTTPD;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class PooledHttpTransportTest {
+
+    private DebugServer debugServer;
+    private PooledHttpTransport transport;
+    private URL url;
+
+    @Before
+    public void setUp() throws Exception {
+        debugServer = new DebugServer();
+        debugServer.start();
+
+        transport = new PooledHttpTransport.Builder()
+                .withMaxConnectionsPerHost(1)
+                .withAcquireTimeout(100)
+                .build();
+        url = new URL("http://127.0.0.1:" + debugServer.getListeningPort() + "/");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        debugServer.stop();
+    }
+
+    @Test
+    public void open_shouldWaitForFreeConnection_whenHostLimitReached() throws Exception {
+        HttpURLConnection connection = transport.open(url, false);
+        assertEquals(1, transport.getLeasedConnections(url));
+
+        try {
+            transport.open(url, false);
+            fail("Expected IOException when no free connection");
+        } catch (IOException ignored) {
+        }
+
+        transport.release(connection, false);
+        assertEquals(0, transport.getLeasedConnections(url));
+        transport.release(transport.open(url, false), false);
+    }
+
+    @Test
+    public void open_shouldReleasePermit_whenConnectionSetupFails() throws Exception {
+        URL failingUrl = new URL("https", "127.0.0.1", debugServer.getListeningPort(), "/", new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL u) {
+                return new HttpsURLConnection(u) {
+                    @Override
+                    public void setSSLSocketFactory(SSLSocketFactory sf) {
+                        throw new IllegalStateException("Socket factory rejected");
+                    }
+
+                    @Override
+                    public String getCipherSuite() {
+                        return null;
+                    }
+
+                    @Override
+                    public Certificate[] getLocalCertificates() {
+                        return null;
+                    }
+
+                    @Override
+                    public Certificate[] getServerCertificates() {
+                        return null;
+                    }
+
+                    @Override
+                    public void disconnect() {
+                    }
+
+                    @Override
+                    public boolean usingProxy() {
+                        return false;
+                    }
+
+                    @Override
+                    public void connect() {
+                    }
+                };
+            }
+        });
+
+        try {
+            transport.open(failingUrl, false);
+            fail("Expected IllegalStateException from connection setup");
+        } catch (IllegalStateException ignored) {
+        }
+
+        assertEquals(0, transport.getLeasedConnections(failingUrl));
+        transport.release(transport.open(url, false), false);
+    }
+
+    @Test
+    public void execute_shouldReleaseConnection_afterEachRequest() throws Exception {
+        debugServer.respondWith(NanoHTTPD.Response.Status.OK, "{}");
+        DefaultApiClient apiClient = new DefaultApiClient.Builder()
+                .withHttpTransport(transport)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            apiClient.execute(HttpMethod.GET, url.toString(), null, null, MapUtils.map(), null, null, Void.class);
+        }
+
+        assertEquals(3, debugServer.getRequestCount());
+        assertEquals(0, transport.getLeasedConnections(url));
+    }
+}
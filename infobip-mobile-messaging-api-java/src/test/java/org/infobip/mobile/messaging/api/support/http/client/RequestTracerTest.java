@@ -0,0 +1,151 @@
+package org.infobip.mobile.messaging.api.support.http.client;
+
+import org.infobip.mobile.messaging.api.support.ApiException;
+import org.infobip.mobile.messaging.api.support.Generator;
+import org.infobip.mobile.messaging.api.support.http.Body;
+import org.infobip.mobile.messaging.api.support.http.HttpRequest;
+import org.infobip.mobile.messaging.api.support.http.Path;
+import org.infobip.mobile.messaging.api.support.util.MapUtils;
+import org.infobip.mobile.messaging.api.tools.DebugServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import fi.iki.elonen.NanoHTTPD;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestTracerTest {
+
+    private DebugServer debugServer;
+    private InMemoryRequestTracer tracer;
+    private String url;
+
+    @HttpRequest("/items")
+    public interface ItemsApi {
+        @HttpRequest(method = HttpMethod.GET, value = "{id}")
+        Map get(@Path(name = "id") String id);
+
+        @HttpRequest(method = HttpMethod.POST)
+        Map post(@Body Map body);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        debugServer = new DebugServer();
+        debugServer.start();
+        url = "http://127.0.0.1:" + debugServer.getListeningPort();
+        tracer = new InMemoryRequestTracer();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        debugServer.stop();
+    }
+
+    @Test
+    public void execute_shouldReportSpan_taggedWithPathTemplate() throws Exception {
+        debugServer.respondWith(NanoHTTPD.Response.Status.OK, "{\"name\":\"value\"}");
+        ItemsApi api = new Generator.Builder()
+                .withBaseUrl(url)
+                .withRequestTracer(tracer)
+                .build()
+                .create(ItemsApi.class);
+
+        api.get("1");
+        api.get("2");
+        api.post(Collections.singletonMap("key", "value"));
+
+        List<RequestSpan> getSpans = tracer.getSpans("/items/{id}");
+        assertEquals(2, getSpans.size());
+        assertEquals(url + "/items/2", getSpans.get(1).getUri());
+        RequestSpan get = getSpans.get(0);
+        assertEquals(HttpMethod.GET, get.getMethod());
+        assertEquals(200, get.getResponseCode());
+        assertTrue(get.isSuccessful());
+        assertEquals(0, get.getPhaseNanos(RequestSpan.Phase.SERIALIZATION));
+        assertEquals(0, get.getPhaseNanos(RequestSpan.Phase.REQUEST_BODY));
+        assertTrue(get.getPhaseNanos(RequestSpan.Phase.CONNECT) > 0);
+        assertTrue(get.getPhaseNanos(RequestSpan.Phase.TIME_TO_FIRST_BYTE) > 0);
+        assertTrue(get.getPhaseNanos(RequestSpan.Phase.RESPONSE_BODY) > 0);
+        assertTrue(get.getPhaseNanos(RequestSpan.Phase.PARSE) >= 0);
+        assertTrue(get.getDurationNanos() >= sumOfPhases(get));
+
+        RequestSpan post = tracer.getSpans("/items").get(0);
+        assertEquals(HttpMethod.POST, post.getMethod());
+        assertTrue(post.getPhaseNanos(RequestSpan.Phase.SERIALIZATION) > 0);
+        assertTrue(post.getPhaseNanos(RequestSpan.Phase.REQUEST_BODY) > 0);
+        assertEquals(3, tracer.getSpans().size());
+    }
+
+    @Test
+    public void execute_shouldReportSpan_forFailedRequest() throws Exception {
+        debugServer.respondWith(NanoHTTPD.Response.Status.BAD_REQUEST, null);
+
+        try {
+            apiClient(tracer).execute(HttpMethod.GET, url, null, null, MapUtils.map(), null, null, Map.class);
+            fail();
+        } catch (ApiException ignored) {
+        }
+
+        RequestSpan span = tracer.getSpans().get(0);
+        assertEquals(url, span.getPathTemplate());
+        assertEquals(400, span.getResponseCode());
+        assertTrue(span.getError() instanceof ApiException);
+    }
+
+    @Test
+    public void execute_shouldKeepOnlyLatestSpans() throws Exception {
+        debugServer.respondWith(NanoHTTPD.Response.Status.OK, "{}");
+        InMemoryRequestTracer smallTracer = new InMemoryRequestTracer(2);
+        DefaultApiClient apiClient = apiClient(smallTracer);
+
+        for (int i = 0; i < 3; i++) {
+            apiClient.execute(HttpMethod.GET, url + "/" + i, null, null, MapUtils.map(), null, null, Map.class);
+        }
+
+        List<RequestSpan> spans = smallTracer.getSpans();
+        assertEquals(2, spans.size());
+        assertEquals(url + "/1", spans.get(0).getUri());
+        assertEquals(url + "/2", spans.get(1).getUri());
+    }
+
+    @Test
+    public void execute_shouldNotReportSpans_byDefault() throws Exception {
+        debugServer.respondWith(NanoHTTPD.Response.Status.OK, "{}");
+        final RequestSpan[] reported = new RequestSpan[1];
+        RequestTracer disabledTracer = new RequestTracer() {
+            @Override
+            public void onSpan(RequestSpan span) {
+                reported[0] = span;
+            }
+        };
+
+        apiClient(disabledTracer).execute(HttpMethod.GET, url, null, null, MapUtils.map(), null, null, Map.class);
+
+        assertNull(reported[0]);
+        assertEquals(-1, RequestSpan.DISABLED.getResponseCode());
+    }
+
+    private static DefaultApiClient apiClient(RequestTracer requestTracer) {
+        return new DefaultApiClient.Builder()
+                .withResponseCompression(true)
+                .withRequestTracer(requestTracer)
+                .build();
+    }
+
+    private static long sumOfPhases(RequestSpan span) {
+        long sum = 0;
+        for (RequestSpan.Phase phase : RequestSpan.Phase.values()) {
+            sum += span.getPhaseNanos(phase);
+        }
+        return sum;
+    }
+}